@@ -10,14 +10,82 @@ public class DistributedSystemConfiguration extends Configuration {
     public static final int UNIQUE_ID_UDP_SIZE = 16;
     // Max protobuf message size is 16kB
     public static final int MAX_MSG_SIZE = 16384;
-    // Heapsize set as 64mb
-    public static final int JVM_HEAP_SIZE_KB = 64000;
-    // Out of memory threshold triggers at 3.75% free memory remaining in verbose mode
-    // set as 6.25% when VERBOSE is false
-    public static final double OUT_OF_MEMORY_THRESHOLD = 0.05;
     public static final int MAX_HOPS = 13;
+    // Longer keys are refused with "invalid key" (0x06)
+    public static final int MAX_KEY_SIZE = 32;
     public static final int UDP_SERVER_THREAD_POOL_NTHREADS = 30;
+    // Requests running at once when each request gets its own virtual thread
+    public static final int VIRTUAL_THREAD_MAX_CONCURRENCY = 1024;
+    // Admission control: requests waiting for a worker beyond the capacity are answered with
+    // "system overload" (0x03) right away, as are requests that waited longer than the deadline,
+    // which is below the client's first 100ms timeout so the reply arrives before it retries
+    public static final int REQUEST_QUEUE_CAPACITY = 1024;
+    public static final int REQUEST_QUEUE_DEADLINE_MS = 50;
+    // Heap buffers of MAX_MSG_SIZE kept for the nio transport, more are allocated under bursts
+    public static final int NIO_BUFFER_POOL_SIZE = 128;
+    // Entries per batch command, so the keys and error codes of a full batch fit in one response
+    public static final int MAX_BATCH_KEYS = 128;
+    // How long a batch waits for the other owners' sub-batches, all of them together. Added to the
+    // request queue deadline it stays below the client's first 100ms timeout, so the client sees
+    // "owner unreachable" (0x22) for the entries of an owner that did not answer before it retries
+    public static final int BATCH_OWNER_TIMEOUT_MS = 40;
     public static final int CLIENT_TARGET_PORT = 10696;
     public static final int MAX_REP_PAYLOAD_SIZE= 15500;
     public static final int REP_FACTOR = 3;
+    // How long a QUORUM or ALL request waits for the replicas to acknowledge, covering a few of the
+    // client's retransmissions to a replica. The client retries sooner, its retries wait for the
+    // run under way, see ConsistencyCoordinator
+    public static final int CONSISTENCY_TIMEOUT_MS = 500;
+    // Whether a QUORUM or ALL get pushes the highest version it saw to the replicas that answered
+    // with an older one, once every replica has answered
+    public static final boolean READ_REPAIR = true;
+    // Versions from another node's hybrid logical clock further ahead of the local wall clock than
+    // this are applied but do not move the local clock
+    public static final int HLC_MAX_DRIFT_MS = 60000;
+    // Removals are remembered as versioned tombstones for this long after the time in their
+    // version, so a delayed or retried older write cannot bring the key back. A replica that has
+    // not heard of a removal by then, through replication, hints or anti-entropy, may keep the key
+    public static final int TOMBSTONE_GRACE_MS = 600000;
+    // Tombstones kept at most, the oldest are dropped first, about 200 bytes of heap each
+    public static final int MAX_TOMBSTONES = 32768;
+    // Hinted handoff: off-heap bytes of hinted keys kept per down node, and how many of them are
+    // replayed to a node that is live again every HINT_REPLAY_INTERVAL_MS
+    public static final int HINT_BUFFER_KB = 256;
+    public static final int HINT_REPLAY_BATCH = 256;
+    public static final int HINT_REPLAY_INTERVAL_MS = 200;
+    // Recent puts and removes remembered for delta replication; a peer whose acknowledged position
+    // is older than this many changes is sent a full transfer instead
+    public static final int CHANGE_LOG_CAPACITY = 65536;
+    // Anti-entropy: each ring range keeps a Merkle tree of MERKLE_LEAVES leaves, a power of two,
+    // and owners compare their trees with the replicas every ANTI_ENTROPY_INTERVAL_MS
+    public static final int MERKLE_LEAVES = 64;
+    public static final int ANTI_ENTROPY_INTERVAL_MS = 10000;
+    // Tokens each node places on the hash ring per unit of weight; more virtual nodes spread the
+    // keyspace more evenly. Weights are set per node in the nodes file as "ip:port:weight"
+    public static final int VIRTUAL_NODES = 64;
+    // Off-heap storage engine limits, direct memory must be raised to match with
+    // -XX:MaxDirectMemorySize since it defaults to the heap size
+    public static final int OFF_HEAP_CAPACITY_MB = 256;
+    public static final int OFF_HEAP_SLAB_SIZE_KB = 1024;
+    // Bytes of keys, values and per-entry overhead the heap engine may hold, leaving the rest of
+    // the 64mb heap for request handling
+    public static final int HEAP_STORE_CAPACITY_MB = 48;
+    // Fractions of an engine's capacity: puts are refused with "out of memory" once stored bytes
+    // would pass the high watermark, and accepted again once removals bring them under the low one
+    public static final double MEMORY_HIGH_WATERMARK = 0.90;
+    public static final double MEMORY_LOW_WATERMARK = 0.80;
+    // Cache mode eviction: share of the memory budget kept in the segmented LRU's protected segment
+    public static final double SLRU_PROTECTED_FRACTION = 0.8;
+    // Expired keys are treated as absent when read and reclaimed in the background, a bounded
+    // number of entries scanned every interval
+    public static final int EXPIRY_SWEEP_INTERVAL_MS = 100;
+    public static final int EXPIRY_SWEEP_ENTRIES = 1000;
+    // Write-ahead log group commit: fsync at least every interval, or once this many bytes are
+    // pending. When waiting for sync, mutations are acknowledged only once they are on disk
+    public static final int WAL_SYNC_INTERVAL_MS = 5;
+    public static final int WAL_SYNC_BYTES = 256 * 1024;
+    public static final boolean WAL_WAIT_FOR_SYNC = true;
+    // Snapshots are taken every interval; entries are grouped in blocks that are loaded in parallel
+    public static final int SNAPSHOT_INTERVAL_MS = 60000;
+    public static final int SNAPSHOT_BLOCK_ENTRIES = 4096;
 }
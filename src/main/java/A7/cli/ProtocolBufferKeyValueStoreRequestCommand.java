@@ -5,12 +5,23 @@ import static A7.utils.ByteRepresentation.bytesToHex;
 import static A7.utils.ByteRepresentation.hexToBytes;
 import static A7.utils.UniqueIdentifier.generateUniqueID;
 
+import A7.client.SmartUDPClient;
 import A7.client.UDPClient;
+import A7.proto.KeyValueRequest.Consistency;
+import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.Membership.Member;
+import A7.proto.Membership.MembershipView;
 import A7.proto.Message.Msg;
+import A7.proto.StoreStatistics.StoreStats;
 import A7.resources.ProtocolBufferKeyValueStoreRequest;
 import A7.resources.ProtocolBufferKeyValueStoreResponse;
 import com.google.protobuf.ByteString;
 import io.dropwizard.setup.Bootstrap;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import net.sourceforge.argparse4j.impl.Arguments;
 import net.sourceforge.argparse4j.inf.Namespace;
 import net.sourceforge.argparse4j.inf.Subparser;
 
@@ -30,6 +41,9 @@ public class ProtocolBufferKeyValueStoreRequestCommand extends io.dropwizard.cli
     0x07 - GetPID: the node is expected to reply with the processID of the Java process
     [Note: We may add some more management operations]
     anything > 0x20. Your own commands if you want.  They may be useful for debugging.
+    0x21 - Membership: replies with the node's view of the ring
+    0x22 - BatchGet, 0x23 - BatchPut, 0x24 - BatchRemove: several keys at once
+    0x25 - Stats: replies with the node's store size and cache counters
     2. Field “key” with tag number two is the identification of the value in the key-value store
     and it is up to 32 bytes long.
     3. Field “value” with tag number three is only used with “put” operation.
@@ -61,13 +75,33 @@ public class ProtocolBufferKeyValueStoreRequestCommand extends io.dropwizard.cli
             .dest("key")
             .type(String.class)
             .required(false)
-            .help("Key to send");
+            .help("Key to send, comma separated for batch commands");
 
         subparser.addArgument("-value")
             .dest("value")
             .type(String.class)
             .required(false)
-            .help("Value to send");
+            .help("Value to send, comma separated for batchPut");
+
+        subparser.addArgument("-ttl")
+            .dest("ttl")
+            .type(Integer.class)
+            .setDefault(0)
+            .required(false)
+            .help("Milliseconds until a put's entry expires, never if omitted");
+
+        subparser.addArgument("-consistency")
+            .dest("consistency")
+            .type(String.class)
+            .choices("ONE", "QUORUM", "ALL")
+            .setDefault("ONE")
+            .required(false)
+            .help("Replicas that must acknowledge a put, get or remove before the reply");
+
+        subparser.addArgument("-route")
+            .dest("route")
+            .action(Arguments.storeTrue())
+            .help("Fetch the ring from the node and send the request straight to the key's owner");
     }
 
     @Override
@@ -77,6 +111,9 @@ public class ProtocolBufferKeyValueStoreRequestCommand extends io.dropwizard.cli
         String cmd = namespace.getString("cmd");
         String key = namespace.getString("key");
         String value = namespace.getString("value");
+        int ttl = namespace.getInt("ttl");
+        Consistency consistency = Consistency.valueOf(namespace.getString("consistency"));
+        boolean route = namespace.getBoolean("route");
 
         if (VERBOSE > 0) {
             System.out.println("IP Address: " + ip);
@@ -95,6 +132,7 @@ public class ProtocolBufferKeyValueStoreRequestCommand extends io.dropwizard.cli
                 msg = ProtocolBufferKeyValueStoreRequest.generatePutRequest(
                     ByteString.copyFrom(hexToBytes(key)),
                     ByteString.copyFrom(hexToBytes(value)),
+                    ttl,
                     ByteString.copyFrom(messageID)
                 );
                 break;
@@ -122,10 +160,33 @@ public class ProtocolBufferKeyValueStoreRequestCommand extends io.dropwizard.cli
                 msg = ProtocolBufferKeyValueStoreRequest.generateGetPIDRequest(
                     ByteString.copyFrom(messageID));
                 break;
+            case "membership":
+                msg = ProtocolBufferKeyValueStoreRequest.generateMembershipRequest(
+                    ByteString.copyFrom(messageID));
+                break;
+            case "stats":
+                msg = ProtocolBufferKeyValueStoreRequest.generateStatsRequest(
+                    ByteString.copyFrom(messageID));
+                break;
+            case "batchGet":
+                msg = ProtocolBufferKeyValueStoreRequest.generateBatchGetRequest(
+                    hexList(key), ByteString.copyFrom(messageID));
+                break;
+            case "batchPut":
+                msg = ProtocolBufferKeyValueStoreRequest.generateBatchPutRequest(
+                    hexList(key), hexList(value), ByteString.copyFrom(messageID));
+                break;
+            case "batchRemove":
+                msg = ProtocolBufferKeyValueStoreRequest.generateBatchRemoveRequest(
+                    hexList(key), ByteString.copyFrom(messageID));
+                break;
             default :
                 System.out.println("Invalid command entered. Please try again");
                 return;
         }
+        if (consistency != Consistency.ONE) {
+            msg = ProtocolBufferKeyValueStoreRequest.withConsistency(msg, consistency);
+        }
 
         if (VERBOSE > 0) {
             System.out.println("Request HEX String: " + bytesToHex(msg.toByteArray()));
@@ -135,8 +196,41 @@ public class ProtocolBufferKeyValueStoreRequestCommand extends io.dropwizard.cli
         }
 
 
-        // client sends request, res is the response
-        byte[] res = UDPClient.sendProtocolBufferRequest(msg.toByteArray(), ip, port, messageID);
+        byte[] res;
+        if (route) {
+            // learn the ring from the node, then send to the owner of the key directly
+            try (SmartUDPClient client = new SmartUDPClient(new InetSocketAddress(ip, port))) {
+                client.refresh().get();
+                res = client.send(KVRequest.parseFrom(msg.getPayload())).get().toByteArray();
+            }
+        } else {
+            // client sends request, res is the response
+            res = UDPClient.sendProtocolBufferRequest(msg.toByteArray(), ip, port, messageID);
+        }
         ProtocolBufferKeyValueStoreResponse.parseResponse(ByteString.copyFrom(res));
+
+        if (cmd.equals("membership")) {
+            MembershipView view = MembershipView.parseFrom(KVResponse.parseFrom(res).getValue());
+            System.out.println("Routing table version: " + view.getVersion());
+            for (Member member : view.getMembersList()) {
+                System.out.println(member.getIp() + ":" + member.getPort() + " vnodes="
+                    + member.getVnodes() + (member.getLive() ? " live" : " down"));
+            }
+        } else if (cmd.equals("stats")) {
+            StoreStats stats = StoreStats.parseFrom(KVResponse.parseFrom(res).getValue());
+            System.out.println("Entries: " + stats.getEntries());
+            System.out.println("Stored bytes: " + stats.getUsedBytes() + " of "
+                + stats.getHighWatermark());
+            System.out.println("Hits: " + stats.getHits() + " Misses: " + stats.getMisses()
+                + " Evictions: " + stats.getEvictions());
+        }
+    }
+
+    private static List<ByteString> hexList(String hex) {
+        List<ByteString> list = new ArrayList<>();
+        for (String item : hex.split(",")) {
+            list.add(ByteString.copyFrom(hexToBytes(item)));
+        }
+        return list;
     }
 }
@@ -2,10 +2,21 @@ package A7.cli;
 
 import static A7.DistributedSystemConfiguration.VERBOSE;
 
+import A7.core.HybridLogicalClock;
+import A7.core.KeyValueStoreSingleton;
+import A7.core.StorageEngine;
+import A7.core.StoreSnapshot;
+import A7.core.WriteAheadLog;
+import A7.server.AntiEntropyThread;
+import A7.server.ExpirationSweeperThread;
+import A7.server.HintedHandoffThread;
 import A7.server.GossipReceiverThread;
 import A7.server.GossipSenderThread;
+import A7.server.SnapshotThread;
 import A7.server.UDPServerThreadPool;
 import io.dropwizard.setup.Bootstrap;
+import java.io.File;
+import net.sourceforge.argparse4j.impl.Arguments;
 import net.sourceforge.argparse4j.inf.Namespace;
 import net.sourceforge.argparse4j.inf.Subparser;
 
@@ -35,6 +46,51 @@ public class UDPServerThreadSpawnCommand extends io.dropwizard.cli.Command {
             .type(String.class)
             .required(true)
             .help("File containing list of nodes to connect with");
+
+        subparser.addArgument("-storage")
+            .dest("storage")
+            .type(String.class)
+            .choices("heap", "offheap")
+            .setDefault("heap")
+            .required(false)
+            .help("Storage engine for key value pairs");
+
+        subparser.addArgument("-evict")
+            .dest("evict")
+            .action(Arguments.storeTrue())
+            .help("Cache mode, puts on a full node evict the coldest keys instead of failing");
+
+        subparser.addArgument("-dataDir")
+            .dest("dataDir")
+            .type(String.class)
+            .required(false)
+            .help("Directory for the write-ahead log and snapshots, writes are not persisted if "
+                + "omitted");
+
+        subparser.addArgument("-transport")
+            .dest("transport")
+            .type(String.class)
+            .choices("socket", "nio")
+            .setDefault("socket")
+            .required(false)
+            .help("Transport for KV requests, DatagramSocket or DatagramChannel with pooled "
+                + "buffers");
+
+        subparser.addArgument("-receivers")
+            .dest("receivers")
+            .type(Integer.class)
+            .setDefault(1)
+            .required(false)
+            .help("Number of receiver channels sharing the port through SO_REUSEPORT, nio "
+                + "transport only");
+
+        subparser.addArgument("-executor")
+            .dest("executor")
+            .type(String.class)
+            .choices("platform", "virtual")
+            .setDefault("platform")
+            .required(false)
+            .help("Threads running requests, a fixed pool or a virtual thread per request");
     }
 
     @Override
@@ -42,14 +98,42 @@ public class UDPServerThreadSpawnCommand extends io.dropwizard.cli.Command {
         int port = namespace.getInt("port");
         String name = namespace.getString("name");
         String nodes = namespace.getString("nodes");
+        String storage = namespace.getString("storage");
+        boolean evict = namespace.getBoolean("evict");
+        String dataDir = namespace.getString("dataDir");
+        String transport = namespace.getString("transport");
+        int receivers = namespace.getInt("receivers");
+        String executor = namespace.getString("executor");
         
         if (VERBOSE > 0) {
             System.out.println("Name: " + name);
             System.out.println("Port: " + port);
             System.out.println("Nodes: " + nodes);
+            System.out.println("Storage: " + storage);
+            System.out.println("Evict: " + evict);
+            System.out.println("Data directory: " + dataDir);
+            System.out.println("Transport: " + transport);
+            System.out.println("Receivers: " + receivers);
+            System.out.println("Executor: " + executor);
         }
 
-        UDPServerThreadPool.initialize(port);
+        KeyValueStoreSingleton.initialize(storage, evict);
+        if (dataDir != null) {
+            // restore the store from the last snapshot and the log before accepting requests
+            File directory = new File(dataDir);
+            StorageEngine store = KeyValueStoreSingleton.getInstance().getStore();
+            long generation = StoreSnapshot.load(StoreSnapshot.snapshotFile(directory, port), store);
+            WriteAheadLog.getInstance().open(directory, port, store, generation);
+            new SnapshotThread(name + "-snapshot-thread", directory, port).start();
+        }
+        new ExpirationSweeperThread(name + "-expiration-sweeper-thread").start();
+        new HintedHandoffThread(name + "-hinted-handoff-thread").start();
+        if (!evict) {
+            new AntiEntropyThread(name + "-anti-entropy-thread").start();
+        }
+        UDPServerThreadPool.initializeExecutor(executor);
+        UDPServerThreadPool.initialize(port, transport, receivers);
+        HybridLogicalClock.getInstance().setNode(UDPServerThreadPool.localAddress, port);
         new GossipReceiverThread(name + "-gossip-receiver-thread", port).start();
         new GossipSenderThread(name + "-gossip-sender-thread", nodes, port).start();
         UDPServerThreadPool.getInstance().receive();
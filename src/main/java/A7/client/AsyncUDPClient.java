@@ -0,0 +1,200 @@
+package A7.client;
+
+import static A7.DistributedSystemConfiguration.MAX_MSG_SIZE;
+import static A7.DistributedSystemConfiguration.VERBOSE;
+import static A7.client.UDPClient.MAX_RETRIES;
+import static A7.client.UDPClient.TIMEOUT;
+import static A7.utils.Checksum.calculateProtocolBufferChecksum;
+import static A7.utils.ProtocolBuffers.wrapMessage;
+
+import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.Message.Msg;
+import A7.utils.TimerWheel;
+import A7.utils.UniqueIdentifier;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+// Long-lived client that keeps many requests in flight over a single channel. Requests are keyed
+// by messageID, a single receiver thread completes their futures and retries are driven by a timer
+// wheel, so no caller thread ever blocks on the network.
+public class AsyncUDPClient implements AutoCloseable {
+    private static final int TIMER_TICK_MS = 10;
+    private static final int TIMER_WHEEL_SIZE = 512;
+
+    private final DatagramChannel channel;
+    private final ConcurrentHashMap<ByteString, PendingRequest> pending = new ConcurrentHashMap<>();
+    private final TimerWheel timer;
+    private final Thread receiver;
+    private volatile boolean closed = false;
+
+    private class PendingRequest implements Runnable {
+        private final ByteString messageID;
+        private final byte[] msg;
+        private final InetSocketAddress address;
+        private final CompletableFuture<KVResponse> future = new CompletableFuture<>();
+        private int attempt = 0;
+        private int timeoutMs = TIMEOUT;
+        private volatile TimerWheel.Timeout timeout;
+
+        private PendingRequest(ByteString messageID, byte[] msg, InetSocketAddress address) {
+            this.messageID = messageID;
+            this.msg = msg;
+            this.address = address;
+        }
+
+        private void transmit() {
+            try {
+                timeout = timer.schedule(this, timeoutMs);
+                channel.send(ByteBuffer.wrap(msg), address);
+            } catch (IOException e) {
+                if (pending.remove(messageID, this)) {
+                    timeout.cancel();
+                    future.completeExceptionally(e);
+                }
+            }
+        }
+
+        // timer callback, only ever runs on the timer thread
+        public void run() {
+            if (pending.get(messageID) != this) {
+                return;
+            }
+            if (attempt < MAX_RETRIES) {
+                if (VERBOSE > 0) {
+                    System.out.format("Exceeded timeout of %d ms, retrying...\n", timeoutMs);
+                }
+                attempt++;
+                timeoutMs *= 2;
+                transmit();
+            } else if (pending.remove(messageID, this)) {
+                future.completeExceptionally(
+                        new TimeoutException("Failed to receive message after max retries attempted."));
+            }
+        }
+    }
+
+    // The node's client for requests to other nodes: batch fan-out, consistency levels,
+    // replication, hinted handoff and anti-entropy. Created on first use, so a node that never
+    // sends any of them runs no client threads
+    private static class SharedHolder {
+        static final AsyncUDPClient client = newClient();
+
+        private static AsyncUDPClient newClient() {
+            try {
+                return new AsyncUDPClient();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public static AsyncUDPClient shared() {
+        return SharedHolder.client;
+    }
+
+    public AsyncUDPClient() throws IOException {
+        channel = DatagramChannel.open();
+        channel.bind(new InetSocketAddress(0));
+        timer = new TimerWheel("async-client-timer", TIMER_TICK_MS, TIMER_WHEEL_SIZE);
+        timer.start();
+        receiver = new Thread(this::receive, "async-client-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    public CompletableFuture<KVResponse> send(KVRequest request, InetSocketAddress address) {
+        ByteString messageID = ByteString.copyFrom(UniqueIdentifier.generateUniqueID());
+        return send(wrapMessage(messageID, request.toByteString()), address);
+    }
+
+    public CompletableFuture<KVResponse> send(Msg msg, InetSocketAddress address) {
+        PendingRequest request = new PendingRequest(msg.getMessageID(), msg.toByteArray(), address);
+        if (closed) {
+            request.future.completeExceptionally(new ClosedChannelException());
+            return request.future;
+        }
+        if (pending.putIfAbsent(request.messageID, request) != null) {
+            request.future.completeExceptionally(
+                    new IllegalStateException("Duplicate messageID already in flight"));
+            return request.future;
+        }
+        // drop the entry if the caller gives up on the future
+        request.future.whenComplete((res, e) -> {
+            if (pending.remove(request.messageID, request) && request.timeout != null) {
+                request.timeout.cancel();
+            }
+        });
+        request.transmit();
+        return request.future;
+    }
+
+    public int inFlight() {
+        return pending.size();
+    }
+
+    private void receive() {
+        // a heap buffer: protobuf 3.1 cannot parse a direct buffer safely on newer JDKs
+        ByteBuffer buf = ByteBuffer.allocate(MAX_MSG_SIZE);
+        while (!closed) {
+            try {
+                buf.clear();
+                channel.receive(buf);
+                buf.flip();
+                Msg responseMsg = Msg.parseFrom(CodedInputStream.newInstance(
+                        buf.array(), buf.arrayOffset(), buf.limit()));
+
+                // verify checksum
+                if (responseMsg.getCheckSum() != calculateProtocolBufferChecksum(
+                        responseMsg.getMessageID(), responseMsg.getPayload())) {
+                    if (VERBOSE > 0) {
+                        System.out.format("Invalid checksum detected in the response, dropping...\n");
+                    }
+                    continue;
+                }
+
+                // late duplicates of already completed requests are dropped here
+                PendingRequest request = pending.remove(responseMsg.getMessageID());
+                if (request == null) {
+                    continue;
+                }
+                request.timeout.cancel();
+                try {
+                    request.future.complete(KVResponse.parseFrom(responseMsg.getPayload()));
+                } catch (IOException e) {
+                    request.future.completeExceptionally(e);
+                }
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (VERBOSE > 0) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    public void close() {
+        closed = true;
+        try {
+            channel.close();
+            receiver.join();
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+        }
+        timer.close();
+        for (PendingRequest request : pending.values()) {
+            request.future.completeExceptionally(new ClosedChannelException());
+        }
+        pending.clear();
+    }
+}
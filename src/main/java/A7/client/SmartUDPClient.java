@@ -0,0 +1,136 @@
+package A7.client;
+
+import static A7.DistributedSystemConfiguration.REP_FACTOR;
+import static A7.DistributedSystemConfiguration.VERBOSE;
+
+import A7.core.ConsistentHashRing;
+import A7.core.RoutingTable;
+import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.Membership.Member;
+import A7.proto.Membership.MembershipView;
+import A7.utils.MsgWrapper;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+// Topology-aware client that sends requests straight to the node owning the key instead of letting
+// the receiving node forward them. The membership view is fetched from a seed node with the 0x21
+// command and rebuilt into the same RoutingTable the nodes use. Routed requests are flagged so a
+// node that disagrees replies "not owner" (0x21) and the client refreshes its view from that node.
+public class SmartUDPClient implements AutoCloseable {
+    private static final int MEMBERSHIP_COMMAND = 0x21;
+    private static final int NOT_OWNER = 0x21;
+    // after this many refreshes the request is sent unflagged to the seed, which forwards it
+    private static final int MAX_REDIRECTS = 2;
+
+    private final AsyncUDPClient client;
+    private final InetSocketAddress seed;
+    private volatile RoutingTable routingTable = new RoutingTable();
+
+    public SmartUDPClient(InetSocketAddress seed) throws IOException {
+        this.client = new AsyncUDPClient();
+        this.seed = seed;
+    }
+
+    // Replaces the cached view with the given node's view of the ring
+    public CompletableFuture<RoutingTable> refresh(InetSocketAddress node) {
+        KVRequest request = KVRequest.newBuilder().setCommand(MEMBERSHIP_COMMAND).build();
+        return client.send(request, node).thenApply(response -> {
+            try {
+                MembershipView view = MembershipView.parseFrom(response.getValue());
+                RoutingTable table = buildRoutingTable(view);
+                routingTable = table;
+                if (VERBOSE > 0) {
+                    System.out.println("Refreshed membership from " + node + ", "
+                        + table.size() + " tokens");
+                }
+                return table;
+            } catch (InvalidProtocolBufferException | UnknownHostException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    public CompletableFuture<RoutingTable> refresh() {
+        return refresh(seed);
+    }
+
+    public static RoutingTable buildRoutingTable(MembershipView view) throws UnknownHostException {
+        Set<InetAddress> liveNodes = new HashSet<>();
+        for (Member member : view.getMembersList()) {
+            if (member.getLive()) {
+                liveNodes.add(InetAddress.getByName(member.getIp()));
+            }
+        }
+        RoutingTable table = new RoutingTable();
+        for (Member member : view.getMembersList()) {
+            MsgWrapper node = new MsgWrapper(null, InetAddress.getByName(member.getIp()),
+                member.getPort());
+            table = table.withNode(
+                ConsistentHashRing.nodeTokens(member.getIp(), member.getPort(), member.getVnodes()),
+                node, liveNodes, REP_FACTOR);
+        }
+        return table;
+    }
+
+    // Live owner of the key in the cached view, or null if it cannot be routed locally
+    public InetSocketAddress getOwner(ByteString key) {
+        RoutingTable table = routingTable;
+        if (table.isEmpty() || key == null || key.isEmpty()) {
+            return null;
+        }
+        int index = table.ceilingIndex(ConsistentHashRing.hash(key));
+        if (table.preferenceSize(index) == 0) {
+            return null;
+        }
+        MsgWrapper owner = table.node(table.preference(index, 0));
+        return new InetSocketAddress(owner.getAddress(), owner.getPort());
+    }
+
+    public CompletableFuture<KVResponse> send(KVRequest request) {
+        return send(request, 0);
+    }
+
+    private CompletableFuture<KVResponse> send(KVRequest request, int redirects) {
+        InetSocketAddress owner = getOwner(request.getKey());
+        if (owner == null) {
+            // requests without a key are served by whichever node receives them, and with no
+            // live owner in the view the seed decides
+            return client.send(request, seed);
+        }
+        if (redirects >= MAX_REDIRECTS) {
+            return client.send(request, seed);
+        }
+        KVRequest routed = request.toBuilder().setClientRouted(true).build();
+        return client.send(routed, owner).handle((response, e) -> {
+            if (e == null && response.getErrCode() != NOT_OWNER) {
+                return CompletableFuture.completedFuture(response);
+            }
+            if (e != null && !(unwrap(e) instanceof TimeoutException)) {
+                CompletableFuture<KVResponse> failed = new CompletableFuture<>();
+                failed.completeExceptionally(unwrap(e));
+                return failed;
+            }
+            // a node rejecting the key has a newer view, ask the seed if the owner is unreachable
+            InetSocketAddress source = e == null ? owner : seed;
+            return refresh(source).thenCompose(table -> send(request, redirects + 1));
+        }).thenCompose(future -> future);
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    public void close() {
+        client.close();
+    }
+}
@@ -15,8 +15,8 @@ import java.net.SocketTimeoutException;
 import java.util.Arrays;
 
 public class UDPClient {
-    private static final int TIMEOUT = 100; // default timeout of 100ms
-    private static final int MAX_RETRIES = 3;
+    static final int TIMEOUT = 100; // default timeout of 100ms
+    static final int MAX_RETRIES = 3;
     private static final int RES_UDP_SIZE = 36; // response size is 36 bytes
 
     public static byte[] sendRawBytesRequest(byte[] req, String ip, int port, byte[] uniqueID)
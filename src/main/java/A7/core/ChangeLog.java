@@ -0,0 +1,85 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.CHANGE_LOG_CAPACITY;
+
+import com.google.protobuf.ByteString;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Sequence-numbered record of the keys mutated on this node, kept in a ring of the last
+// CHANGE_LOG_CAPACITY changes. Only keys are logged: replication reads their current value from
+// the store when it ships them, so a key changed many times is shipped once, and a key no longer
+// in the store is shipped as a removal at the version of its tombstone.
+//
+// Appends take a sequence number from a counter and then fill its slot, without a lock. A reader
+// that finds a slot not filled yet stops there; one that finds a slot already reused for a later
+// sequence knows the changes it asked for have aged out of the log.
+public class ChangeLog {
+    private static ChangeLog instance = new ChangeLog(CHANGE_LOG_CAPACITY);
+
+    private final int mask;
+    private final AtomicReferenceArray<Change> slots;
+    private final AtomicLong next = new AtomicLong();
+    // changes before this sequence are no longer complete, e.g. after a deleteAll
+    private volatile long truncated = 0;
+
+    // capacity is rounded up to a power of two
+    public ChangeLog(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        mask = size - 1;
+        slots = new AtomicReferenceArray<>(size);
+    }
+
+    public static ChangeLog getInstance() {
+        return instance;
+    }
+
+    public void append(ByteString key) {
+        long sequence = next.getAndIncrement();
+        slots.set((int) (sequence & mask), new Change(sequence, key));
+    }
+
+    // Sequence the next change will get; a peer holding every change before it is up to date
+    public long head() {
+        return next.get();
+    }
+
+    // Makes every change so far unavailable, so peers fall back to a full transfer
+    public void truncate() {
+        truncated = next.get();
+    }
+
+    // Adds the keys changed from sequence from onwards to keys. Returns the sequence the keys were
+    // collected up to, which a peer sent them holds every change before, or -1 if changes after
+    // from have aged out of the log
+    public long keysSince(long from, Collection<ByteString> keys) {
+        long to = next.get();
+        if (from < truncated || to - from > slots.length()) {
+            return -1;
+        }
+        for (long sequence = from; sequence < to; sequence++) {
+            Change change = slots.get((int) (sequence & mask));
+            if (change == null || change.sequence < sequence) {
+                // still being appended
+                return sequence;
+            }
+            if (change.sequence > sequence) {
+                return -1;
+            }
+            keys.add(change.key);
+        }
+        // the oldest slots may have been reused while they were read
+        return next.get() - from > slots.length() ? -1 : to;
+    }
+
+    private static class Change {
+        final long sequence;
+        final ByteString key;
+
+        Change(long sequence, ByteString key) {
+            this.sequence = sequence;
+            this.key = key;
+        }
+    }
+}
@@ -1,38 +1,50 @@
 package A7.core;
 
 
+import static A7.DistributedSystemConfiguration.REP_FACTOR;
 import static A7.DistributedSystemConfiguration.VERBOSE;
+import static A7.DistributedSystemConfiguration.VIRTUAL_NODES;
 
+import A7.proto.Membership.Member;
+import A7.proto.Membership.MembershipView;
 import A7.server.UDPServerThreadPool;
 import A7.utils.MsgWrapper;
-import A7.utils.UniqueIdentifier;
+import A7.utils.XXHash64;
 import com.google.protobuf.ByteString;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.SortedMap;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.Set;
 
 public class ConsistentHashRing {
     private NodesList nodesList;
 
-    private static ConsistentHashRing instance = new ConsistentHashRing();
-    
-    private final ConcurrentSkipListMap<String, MsgWrapper> hashRing;
-    
+    // Created on first use, so clients can use the static hashing helpers without building a ring
+    private static class InstanceHolder {
+        private static final ConsistentHashRing instance = new ConsistentHashRing();
+    }
+
+    // Replaced as a whole when nodes are added or removed or gossip changes the live nodes,
+    // readers never lock
+    private volatile RoutingTable routingTable;
+
     private ConsistentHashRing() {
-        hashRing = new ConcurrentSkipListMap<>();
+        routingTable = new RoutingTable();
         nodesList = NodesList.getInstance();
         initializeNodes();
+        nodesList.addMembershipListener(this::refreshLiveNodes);
     }
 
     public static ConsistentHashRing getInstance() {
-        return instance;
+        return InstanceHolder.instance;
     }
-    
+
     private void initializeNodes() {
         try {
             for (Iterator<Map.Entry<String, Integer>> iter
@@ -43,117 +55,249 @@ public class ConsistentHashRing {
             }
             // add itself to ring
             addNode(InetAddress.getLocalHost().getHostAddress(), UDPServerThreadPool.localPort);
-        } catch (NoSuchAlgorithmException|UnknownHostException e) {
+        } catch (UnknownHostException e) {
             e.printStackTrace();
         }
     }
 
+    // Position of a key on the ring
+    public static long hash(ByteString key) {
+        return XXHash64.hash(key);
+    }
+
+    // Position of a node's first virtual node on the ring, the hash of "ip:port"
+    public static long nodeToken(String ip, int port) {
+        return XXHash64.hash(ByteString.copyFromUtf8(ip + ":" + port));
+    }
+
+    // Positions of a node's virtual nodes, the first one is nodeToken and the i-th one the hash
+    // of "ip:port#i"
+    public static long[] nodeTokens(String ip, int port, int count) {
+        long[] tokens = new long[count];
+        tokens[0] = nodeToken(ip, port);
+        for (int i = 1; i < count; i++) {
+            tokens[i] = XXHash64.hash(ByteString.copyFromUtf8(ip + ":" + port + "#" + i));
+        }
+        return tokens;
+    }
+
+    // Positions of a node's virtual nodes, VIRTUAL_NODES for every unit of the node's weight
+    public long[] getNodeTokens(String ip, int port) {
+        int weight = Math.max(1, nodesList.getWeight(ip + ":" + port));
+        return nodeTokens(ip, port, VIRTUAL_NODES * weight);
+    }
+
     // Add a server and port to the hash ring
     // TODO: Handle redistributing content on node addition
-    public void addNode(String ip, int port) throws NoSuchAlgorithmException {
-        String hashKey = UniqueIdentifier.MD5Hash(ip + ":" + port);
+    public synchronized void addNode(String ip, int port) {
         try {
-            InetAddress address = InetAddress.getByName(ip);
-            hashRing.put(hashKey, new MsgWrapper(null, address, port));
+            MsgWrapper node = new MsgWrapper(null, InetAddress.getByName(ip), port);
+            Set<InetAddress> liveNodes = liveNodes();
+            // replaces the node's tokens if it was already added with another weight
+            routingTable = routingTable.withoutNode(node, liveNodes, REP_FACTOR)
+                .withNode(getNodeTokens(ip, port), node, liveNodes, REP_FACTOR);
         } catch (UnknownHostException e) {
             e.printStackTrace();
         }
     }
-    
+
     // Remove a server and port from the hash ring
     // TODO: Handle redistributing content on node removal
-    public void removeNode(String address, int port) throws NoSuchAlgorithmException {
-        String key = UniqueIdentifier.MD5Hash(address + ":" + port);
-        hashRing.remove(key);
+    public synchronized void removeNode(String ip, int port) {
+        try {
+            routingTable = routingTable.withoutNode(
+                new MsgWrapper(null, InetAddress.getByName(ip), port), liveNodes(), REP_FACTOR);
+        } catch (UnknownHostException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Recomputes the preference lists, called by NodesList when a node joins or leaves
+    public synchronized void refreshLiveNodes() {
+        routingTable = routingTable.withLiveNodes(liveNodes(), REP_FACTOR);
+    }
+
+    private Set<InetAddress> liveNodes() {
+        Map<InetAddress, Integer> liveNodes = nodesList.getLiveNodes();
+        if (liveNodes == null) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(liveNodes.keySet());
     }
 
     // Determines the node and port that the key resides on
     // Result passed into forwarding queue, dequeued in RequestsCache to build response
     // Function returns msgWrapper with correct address and port that to send response
     // Function returns an empty MsgWrapper if current machine can service response
-    public MsgWrapper getNode(ByteString key) throws NoSuchAlgorithmException {
+    public MsgWrapper getNode(ByteString key) {
+        RoutingTable table = routingTable;
         if (VERBOSE > 0) {
             System.out.println("HASH RING CONTENTS");
             System.out.println("==========");
-            for (Iterator<Entry<String, MsgWrapper>> iter = hashRing.entrySet().iterator();
-                iter.hasNext();) {
-                Map.Entry<String, MsgWrapper> entry = iter.next();
-                MsgWrapper value = entry.getValue();
-                System.out.println(entry.getKey());
+            for (int i = 0; i < table.size(); i++) {
+                MsgWrapper value = table.node(i);
+                System.out.println(Long.toHexString(table.token(i)));
                 System.out.println(value.getAddress().getHostAddress() + ":" + value.getPort());
             }
         }
-        
-        if (hashRing.isEmpty() || key == null || key.isEmpty()) {
+
+        if (table.isEmpty() || key == null || key.isEmpty()) {
             return new MsgWrapper(null, null, 0);
         }
-        String hashKey = UniqueIdentifier.MD5Hash(key.toStringUtf8());
-        
-        // If key not contained in hash ring, use successor node (use first node if no successor)
-        // Ultimately, if no successor is found, it will at least return itself as destination node
-        if (!hashRing.containsKey(hashKey)
-            || !nodesList.getLiveNodes().containsKey(hashRing.get(hashKey).getAddress())) {
-            MsgWrapper target = null;
-            while (target == null) {
-                SortedMap<String, MsgWrapper> tailMap = hashRing.tailMap(hashKey, false);
-                hashKey = tailMap.isEmpty() ? hashRing.firstKey() : tailMap.firstKey();
-                target = hashRing.get(hashKey);
-                if (!NodesList.getInstance().getLiveNodes().containsKey(target.getAddress())) {
-                    target = null;
-                }
-            }
-            if (target.getAddress().equals(UDPServerThreadPool.localAddress)
-                    && target.getPort() == UDPServerThreadPool.localPort) {
-                // Command applies to current node
-                return new MsgWrapper(null, null, 0);
-            }
+
+        // Use the first live node at or after the key, precomputed in the preference list
+        // Ultimately, if no other node is live, the current node services the request
+        int index = table.ceilingIndex(hash(key));
+        if (table.preferenceSize(index) == 0) {
+            return new MsgWrapper(null, null, 0);
         }
-        return hashRing.get(hashKey);
+        MsgWrapper target = table.node(table.preference(index, 0));
+        if (target.getAddress().equals(UDPServerThreadPool.localAddress)
+                && target.getPort() == UDPServerThreadPool.localPort) {
+            // Command applies to current node
+            return new MsgWrapper(null, null, 0);
+        }
+        return target;
     }
 
-    // returns the key of the node "responsible" for the hashed key
-    public String getKey(ByteString key) throws NoSuchAlgorithmException {
-        if (hashRing.isEmpty() || key.isEmpty()) {
-            return null;
+    // Live physical nodes holding the key, the owner first followed by up to REP_FACTOR - 1
+    // successors. Empty if the ring is empty or no node is live
+    public MsgWrapper[] getPreferenceList(ByteString key) {
+        RoutingTable table = routingTable;
+        if (table.isEmpty()) {
+            return new MsgWrapper[0];
+        }
+        int index = table.ceilingIndex(hash(key));
+        MsgWrapper[] nodes = new MsgWrapper[table.preferenceSize(index)];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = table.node(table.preference(index, i));
         }
-        String hashKey = UniqueIdentifier.MD5Hash(key.toStringUtf8());
+        return nodes;
+    }
 
-        // If next key not contained in live nodes, use successor node ("loops" around)
-        // Ultimately, if no successor is found, it will return its own key
-        if (!hashRing.containsKey(hashKey)
-            || !nodesList.getLiveNodes().containsKey(hashRing.get(hashKey).getAddress())) {
-            MsgWrapper target = null;
-            while (target == null) {
-                SortedMap<String, MsgWrapper> tailMap = hashRing.tailMap(hashKey, false);
-                hashKey = tailMap.isEmpty() ? hashRing.firstKey() : tailMap.firstKey();
-                target = hashRing.get(hashKey);
-                if (!NodesList.getInstance().getLiveNodes().containsKey(target.getAddress())) {
-                    target = null;
-                }
+    // Nodes among the first REP_FACTOR physical nodes at or after the key that are down, i.e. the
+    // replicas the preference list skips. Empty if the ring is empty
+    public List<MsgWrapper> getDownReplicas(ByteString key) {
+        RoutingTable table = routingTable;
+        List<MsgWrapper> replicas = new ArrayList<>();
+        if (table.isEmpty()) {
+            return replicas;
+        }
+        int start = table.ceilingIndex(hash(key));
+        int index = start;
+        for (int step = 0; step < table.size() && replicas.size() < REP_FACTOR; step++) {
+            if (!replicas.contains(table.node(index))) {
+                replicas.add(table.node(index));
             }
+            index = table.next(index);
         }
-        return hashKey;
+        // a live replica is always among the first REP_FACTOR live nodes
+        for (int n = 0; n < table.preferenceSize(start); n++) {
+            replicas.remove(table.node(table.preference(start, n)));
+        }
+        return replicas;
     }
 
-    // given a key, return the successor node's key
-    public String getSuccessorKey(String hashKey) throws NoSuchAlgorithmException {
-        if (hashRing.isEmpty() || hashKey.isEmpty()) {
-            return null;
+    // returns the token of the node "responsible" for the key, the key must not be empty
+    public long getKey(ByteString key) {
+        RoutingTable table = routingTable;
+        if (table.isEmpty()) {
+            throw new IllegalStateException("Hash ring is empty");
         }
-        MsgWrapper target = null;
 
-        while (target == null) {
-            SortedMap<String, MsgWrapper> tailMap = hashRing.tailMap(hashKey, false);
-            hashKey = tailMap.isEmpty() ? hashRing.firstKey() : tailMap.firstKey();
-            target = hashRing.get(hashKey);
-            if (!NodesList.getInstance().getLiveNodes().containsKey(target.getAddress())) {
-                target = null;
+        // If next token not contained in live nodes, use successor node ("loops" around)
+        // Ultimately, if no node is live, it will return the token the key falls on
+        int index = table.ceilingIndex(hash(key));
+        return table.token(table.preferenceSize(index) == 0 ? index : table.preference(index, 0));
+    }
+
+    // given a node token, return the token of the next live physical node, skipping the other
+    // virtual nodes of the token's own node. Returns the token itself if there is none
+    public long getSuccessorKey(long token) {
+        long[] successors = getSuccessorKeys(token, 1);
+        return successors.length == 0 ? token : successors[0];
+    }
+
+    // given a node token, return the tokens of the next count live physical nodes after it, each
+    // node appearing once and never the token's own node. Fewer are returned if fewer are live
+    public long[] getSuccessorKeys(long token, int count) {
+        RoutingTable table = routingTable;
+        if (table.isEmpty()) {
+            throw new IllegalStateException("Hash ring is empty");
+        }
+        int index = table.indexOf(token);
+        if (index >= 0) {
+            // the preference list starts with the token's own node when it is live
+            int first = table.preferenceSize(index) > 0
+                && table.node(table.preference(index, 0)).equals(table.node(index)) ? 1 : 0;
+            int available = table.preferenceSize(index) - first;
+            // a short list already holds every live node, a full one may be too short for count
+            if (count <= available || table.preferenceSize(index) < REP_FACTOR) {
+                long[] successors = new long[Math.min(count, available)];
+                for (int i = 0; i < successors.length; i++) {
+                    successors[i] = table.token(table.preference(index, first + i));
+                }
+                return successors;
             }
         }
-        return hashKey;
+        return walkSuccessorKeys(table, token, count);
     }
 
-    public ConcurrentSkipListMap<String, MsgWrapper> getHashRing() {
-        return this.hashRing;
+    // Walks the ring for successors beyond the precomputed preference lists
+    private long[] walkSuccessorKeys(RoutingTable table, long token, int count) {
+        Map<InetAddress, Integer> liveNodes = nodesList.getLiveNodes();
+        MsgWrapper[] chosen = new MsgWrapper[count + 1];
+        chosen[0] = table.get(token);
+        long[] successors = new long[count];
+        int found = 0;
+        int index = table.higherIndex(token);
+        for (int i = 0; i < table.size() && found < count; i++) {
+            MsgWrapper node = table.node(index);
+            if (liveNodes.containsKey(node.getAddress())
+                    && !Arrays.asList(chosen).subList(0, found + 1).contains(node)) {
+                successors[found++] = table.token(index);
+                chosen[found] = node;
+            }
+            index = table.next(index);
+        }
+        return Arrays.copyOf(successors, found);
+    }
+
+    // Node owning the exact token, or null if it is not on the ring
+    public MsgWrapper getNodeByToken(long token) {
+        return routingTable.get(token);
+    }
+
+    public RoutingTable getRoutingTable() {
+        return routingTable;
+    }
+
+    // Every physical node on the ring with its number of virtual nodes and liveness, enough for a
+    // client to rebuild the same routing table with nodeTokens
+    public MembershipView getMembershipView() {
+        RoutingTable table = routingTable;
+        Set<InetAddress> liveNodes = liveNodes();
+        List<MsgWrapper> nodes = new ArrayList<>();
+        List<Integer> vnodes = new ArrayList<>();
+        for (int i = 0; i < table.size(); i++) {
+            int index = nodes.indexOf(table.node(i));
+            if (index < 0) {
+                nodes.add(table.node(i));
+                vnodes.add(1);
+            } else {
+                vnodes.set(index, vnodes.get(index) + 1);
+            }
+        }
+        MembershipView.Builder view = MembershipView.newBuilder();
+        view.setVersion(table.getVersion());
+        for (int i = 0; i < nodes.size(); i++) {
+            MsgWrapper node = nodes.get(i);
+            view.addMembers(Member.newBuilder()
+                .setIp(node.getAddress().getHostAddress())
+                .setPort(node.getPort())
+                .setVnodes(vnodes.get(i))
+                .setLive(liveNodes.contains(node.getAddress())));
+        }
+        return view.build();
     }
 }
@@ -0,0 +1,279 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.SLRU_PROTECTED_FRACTION;
+
+import com.google.protobuf.ByteString;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+// Cache mode: wraps another engine and, when its memory budget refuses a put, evicts the coldest
+// keys until the put fits instead of answering "out of memory". Keys are ordered by a segmented
+// LRU: new keys enter the probation segment and move to the protected segment when they are read or
+// overwritten, so a scan of one-off keys only pushes out other one-off keys. The protected segment
+// holds at most SLRU_PROTECTED_FRACTION of the budget, its least recently used keys are demoted
+// back to probation. Victims are taken from the cold end of probation first.
+//
+// Reads do not take the lock: a hit is recorded in a lossy ring buffer that whoever holds the lock
+// next replays into the segments, as Caffeine does; a full or contended buffer drops the hit. A
+// put that has to evict takes the lock again for each victim, so readers and other writers get in
+// between.
+public class EvictingStorageEngine implements StorageEngine {
+    // Slots of the read buffer, a power of two, and the reads after which a reader drains it
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+
+    private final StorageEngine delegate;
+    private final long protectedCapacity;
+    // Keys in LRU order with the bytes charged for their entries, guarded by lock. Every mutation
+    // also holds the lock so the segments always hold exactly the delegate's keys
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<ByteString, Long> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<ByteString, Long> protect = new LinkedHashMap<>(16, 0.75f, true);
+    private long protectedBytes = 0;
+
+    // Keys read since the last drain. Readers claim slot readsClaimed, the drain replays slots
+    // from readsDrained, written under the lock, up to the first one not yet filled in
+    private final AtomicReferenceArray<ByteString> readBuffer =
+        new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong readsClaimed = new AtomicLong();
+    private volatile long readsDrained = 0;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public EvictingStorageEngine(StorageEngine delegate) {
+        this.delegate = delegate;
+        // evict only until the put fits, not down to the low watermark
+        delegate.getMemoryBudget().setHysteresis(false);
+        protectedCapacity = (long) (delegate.getMemoryBudget().getHighWatermark()
+            * SLRU_PROTECTED_FRACTION);
+    }
+
+    @Override
+    public VersionedValue get(ByteString key) {
+        VersionedValue value = delegate.get(key);
+        if (value == null || value.isExpired(System.currentTimeMillis())) {
+            // the caller treats an expired value as absent
+            misses.increment();
+            return value;
+        }
+        hits.increment();
+        recordRead(key);
+        return value;
+    }
+
+    @Override
+    public boolean put(ByteString key, VersionedValue value) {
+        while (true) {
+            lock.lock();
+            try {
+                drainReads();
+                if (delegate.put(key, value)) {
+                    long size = delegate.getMemoryBudget().entrySize(key, value.getValue());
+                    if (untrack(key)) {
+                        promote(key, size);
+                    } else {
+                        probation.put(key, size);
+                    }
+                    return true;
+                }
+                // only a full budget is worth evicting for, the entry may also be too large for
+                // the engine
+                if (!delegate.getMemoryBudget().isFull() || !evictOne(key)) {
+                    return false;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public VersionedValue remove(ByteString key) {
+        lock.lock();
+        try {
+            untrack(key);
+            return delegate.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeExpired(ByteString key, long now) {
+        lock.lock();
+        try {
+            if (!delegate.removeExpired(key, now)) {
+                return false;
+            }
+            untrack(key);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<ByteString> sweepExpired(long now, int maxEntries) {
+        lock.lock();
+        try {
+            List<ByteString> expired = delegate.sweepExpired(now, maxEntries);
+            for (ByteString key : expired) {
+                untrack(key);
+            }
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(ByteString key) {
+        return delegate.containsKey(key);
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            drainReads();
+            probation.clear();
+            protect.clear();
+            protectedBytes = 0;
+            delegate.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer<ByteString, VersionedValue> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public ConcurrentHashMap<ByteString, VersionedValue> asMap() {
+        return delegate.asMap();
+    }
+
+    @Override
+    public MemoryBudget getMemoryBudget() {
+        return delegate.getMemoryBudget();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    // Claims a slot for the key unless the buffer is full, and drains the buffer once enough reads
+    // are pending and the lock is free
+    private void recordRead(ByteString key) {
+        long claimed = readsClaimed.get();
+        long pending = claimed - readsDrained;
+        if (pending < READ_BUFFER_SIZE && readsClaimed.compareAndSet(claimed, claimed + 1)) {
+            readBuffer.lazySet((int) (claimed & (READ_BUFFER_SIZE - 1)), key);
+            pending++;
+        }
+        if (pending >= READ_DRAIN_THRESHOLD && lock.tryLock()) {
+            try {
+                drainReads();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Must be called while holding the lock, as must the methods below. Moves the keys read to
+    // the hot end of the protected segment, a key may have been removed since it was read
+    private void drainReads() {
+        long drained = readsDrained;
+        long claimed = readsClaimed.get();
+        for (; drained < claimed; drained++) {
+            int slot = (int) (drained & (READ_BUFFER_SIZE - 1));
+            ByteString key = readBuffer.get(slot);
+            if (key == null) {
+                // claimed but not filled in yet, replayed by the next drain
+                break;
+            }
+            readBuffer.lazySet(slot, null);
+            if (protect.get(key) == null) {
+                Long size = probation.remove(key);
+                if (size != null) {
+                    promote(key, size);
+                }
+            }
+        }
+        readsDrained = drained;
+    }
+
+    private void promote(ByteString key, long size) {
+        protect.put(key, size);
+        protectedBytes += size;
+        Iterator<Map.Entry<ByteString, Long>> coldest = protect.entrySet().iterator();
+        while (protectedBytes > protectedCapacity && coldest.hasNext()) {
+            Map.Entry<ByteString, Long> demoted = coldest.next();
+            coldest.remove();
+            protectedBytes -= demoted.getValue();
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+    }
+
+    // Returns false if the key was not tracked
+    private boolean untrack(ByteString key) {
+        if (probation.remove(key) != null) {
+            return true;
+        }
+        Long size = protect.remove(key);
+        if (size == null) {
+            return false;
+        }
+        protectedBytes -= size;
+        return true;
+    }
+
+    // Evicts the coldest key other than the one being put, returns false if there is none
+    private boolean evictOne(ByteString putKey) {
+        ByteString victim = coldest(probation, putKey);
+        if (victim == null) {
+            victim = coldest(protect, putKey);
+        }
+        if (victim == null) {
+            return false;
+        }
+        untrack(victim);
+        delegate.remove(victim);
+        evictions.increment();
+        return true;
+    }
+
+    private static ByteString coldest(LinkedHashMap<ByteString, Long> segment, ByteString skip) {
+        for (ByteString key : segment.keySet()) {
+            if (!key.equals(skip)) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,133 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.HEAP_STORE_CAPACITY_MB;
+import static A7.DistributedSystemConfiguration.MEMORY_HIGH_WATERMARK;
+import static A7.DistributedSystemConfiguration.MEMORY_LOW_WATERMARK;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+// Default engine, stores every entry as ByteString/VersionedValue objects on the JVM heap
+public class HeapStorageEngine implements StorageEngine {
+    // Estimated heap bytes per entry besides the key and value contents: the map node, both
+    // ByteStrings with their array headers and the VersionedValue on a 64-bit JVM
+    static final int ENTRY_OVERHEAD = 128;
+
+    private final ConcurrentHashMap<ByteString, VersionedValue> map;
+    private final MemoryBudget budget;
+    // Position of the expiration sweeper, only used by the sweeper thread
+    private Iterator<Map.Entry<ByteString, VersionedValue>> sweepCursor;
+
+    public HeapStorageEngine() {
+        this((long) HEAP_STORE_CAPACITY_MB * 1024 * 1024);
+    }
+
+    public HeapStorageEngine(long capacityBytes) {
+        map = new ConcurrentHashMap<>();
+        budget = MemoryBudget.ofCapacity(capacityBytes, MEMORY_HIGH_WATERMARK,
+            MEMORY_LOW_WATERMARK, ENTRY_OVERHEAD);
+    }
+
+    @Override
+    public VersionedValue get(ByteString key) {
+        return map.get(key);
+    }
+
+    @Override
+    public boolean put(ByteString key, VersionedValue value) {
+        long size = budget.entrySize(key, value.getValue());
+        boolean[] stored = {false};
+        // the bytes of the value taken out of the map are released by whoever takes it out, so
+        // concurrent puts and removes of one key release each value exactly once. An overwrite is
+        // only charged the bytes it adds, so one that does not grow the entry is never refused
+        map.compute(key, (k, replaced) -> {
+            long added = replaced == null ? size : size - budget.entrySize(k, replaced.getValue());
+            if (added > 0 && !budget.reserve(added)) {
+                return replaced;
+            }
+            if (added < 0) {
+                budget.release(-added);
+            }
+            stored[0] = true;
+            return value;
+        });
+        return stored[0];
+    }
+
+    @Override
+    public VersionedValue remove(ByteString key) {
+        VersionedValue removed = map.remove(key);
+        if (removed != null) {
+            budget.release(budget.entrySize(key, removed.getValue()));
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean removeExpired(ByteString key, long now) {
+        VersionedValue value = map.get(key);
+        if (value == null || !value.isExpired(now) || !map.remove(key, value)) {
+            return false;
+        }
+        budget.release(budget.entrySize(key, value.getValue()));
+        return true;
+    }
+
+    @Override
+    public List<ByteString> sweepExpired(long now, int maxEntries) {
+        List<ByteString> expired = new ArrayList<>();
+        if (sweepCursor == null) {
+            sweepCursor = map.entrySet().iterator();
+        }
+        for (int scanned = 0; scanned < maxEntries; scanned++) {
+            if (!sweepCursor.hasNext()) {
+                // the next sweep starts a new pass over the map
+                sweepCursor = null;
+                break;
+            }
+            Map.Entry<ByteString, VersionedValue> entry = sweepCursor.next();
+            if (entry.getValue().isExpired(now) && removeExpired(entry.getKey(), now)) {
+                expired.add(entry.getKey());
+            }
+        }
+        return expired;
+    }
+
+    @Override
+    public boolean containsKey(ByteString key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public void clear() {
+        // entry by entry, so puts racing with the clear stay accounted for
+        for (ByteString key : map.keySet()) {
+            remove(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer<ByteString, VersionedValue> action) {
+        map.forEach(action);
+    }
+
+    @Override
+    public ConcurrentHashMap<ByteString, VersionedValue> asMap() {
+        return map;
+    }
+
+    @Override
+    public MemoryBudget getMemoryBudget() {
+        return budget;
+    }
+}
@@ -0,0 +1,124 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.HINT_BUFFER_KB;
+
+import A7.utils.MsgWrapper;
+import com.google.protobuf.ByteString;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Hinted handoff: keys written while one of their replicas was down, kept per down node until it
+// is live again. A hint is just the key, as [short length][key] in an off-heap buffer of
+// HINT_BUFFER_KB per node; the value is read from the store when the hint is replayed, or its
+// tombstone sent as a removal if the key is gone. A node whose buffer fills up is marked
+// overflowed and gets a full copy of the store instead.
+public class HintStore {
+    private static HintStore instance = new HintStore(HINT_BUFFER_KB * 1024);
+
+    private final int capacity;
+    // by "address:port"
+    private final ConcurrentHashMap<String, Hints> hints = new ConcurrentHashMap<>();
+
+    public HintStore(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public static HintStore getInstance() {
+        return instance;
+    }
+
+    // Hints the key for each of its replicas that is down
+    public void hintDownReplicas(ByteString key) {
+        for (MsgWrapper node : ConsistentHashRing.getInstance().getDownReplicas(key)) {
+            add(node, key);
+        }
+    }
+
+    public void add(MsgWrapper node, ByteString key) {
+        hints.computeIfAbsent(node.getAddress().getHostAddress() + ":" + node.getPort(),
+            peer -> new Hints(node, capacity)).add(key);
+    }
+
+    public Collection<Hints> getHints() {
+        return hints.values();
+    }
+
+    public static class Hints {
+        private final MsgWrapper node;
+        private final int capacity;
+        // allocated with the first hint, records fill [0, end)
+        private ByteBuffer buffer;
+        private int end = 0;
+        private boolean overflowed = false;
+
+        Hints(MsgWrapper node, int capacity) {
+            this.node = node;
+            this.capacity = capacity;
+        }
+
+        public MsgWrapper getNode() {
+            return node;
+        }
+
+        synchronized void add(ByteString key) {
+            if (overflowed) {
+                return;
+            }
+            if (end + 2 + key.size() > capacity) {
+                overflowed = true;
+                return;
+            }
+            if (buffer == null) {
+                buffer = ByteBuffer.allocateDirect(capacity);
+            }
+            buffer.putShort(end, (short) key.size());
+            ByteBuffer record = buffer.duplicate();
+            record.position(end + 2);
+            key.copyTo(record);
+            end += 2 + key.size();
+        }
+
+        public synchronized boolean isEmpty() {
+            return end == 0 && !overflowed;
+        }
+
+        public synchronized boolean isOverflowed() {
+            return overflowed;
+        }
+
+        // Oldest hints first, at most maxKeys of them; they stay until removeFirst
+        public synchronized List<ByteString> peek(int maxKeys) {
+            List<ByteString> keys = new ArrayList<>();
+            for (int offset = 0; offset < end && keys.size() < maxKeys;) {
+                int length = buffer.getShort(offset);
+                ByteBuffer record = buffer.duplicate();
+                record.position(offset + 2).limit(offset + 2 + length);
+                keys.add(ByteString.copyFrom(record));
+                offset += 2 + length;
+            }
+            return keys;
+        }
+
+        // Drops the given number of oldest hints, once they have been delivered
+        public synchronized void removeFirst(int count) {
+            int offset = 0;
+            for (int i = 0; i < count && offset < end; i++) {
+                offset += 2 + buffer.getShort(offset);
+            }
+            // hints added meanwhile are moved to the front
+            ByteBuffer rest = buffer.duplicate();
+            rest.position(offset).limit(end);
+            rest.compact();
+            end -= offset;
+        }
+
+        // Forgets every hint, once the node has been sent a full copy instead
+        public synchronized void clear() {
+            end = 0;
+            overflowed = false;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.HLC_MAX_DRIFT_MS;
+
+import java.net.InetAddress;
+
+// Hybrid logical clock used as the version of every write. The node owning a key stamps each put
+// with now(), and every node observes the versions it applies or loads at startup, so a write
+// always gets a higher version than any write it could have seen, even when wall clocks disagree
+// a little. The owner also stamps a put above the version it replaces, in case that version was
+// too far ahead to be observed. Replicas keep the entry with the highest version (last writer
+// wins), which makes replication safe to retry and to deliver out of order.
+//
+// Timestamp layout, from the high bit down:
+//   [41 bits wall clock millis since EPOCH][12 bits logical counter][10 bits node id]
+// so timestamps order by wall clock, then by counter, and the node id breaks ties between nodes.
+// The sign bit stays clear until 2089.
+public class HybridLogicalClock {
+    // 2020-01-01T00:00:00Z
+    static final long EPOCH = 1577836800000L;
+    private static final int NODE_BITS = 10;
+    private static final int LOGICAL_BITS = 12;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+
+    private static HybridLogicalClock instance = new HybridLogicalClock();
+
+    // wall clock and logical counter of the latest timestamp issued or observed, guarded by this
+    private long latest = 0;
+    private volatile long nodeId = 0;
+
+    public static HybridLogicalClock getInstance() {
+        return instance;
+    }
+
+    public void setNode(InetAddress address, int port) {
+        nodeId = (address.getHostAddress() + ":" + port).hashCode() & NODE_MASK;
+    }
+
+    // Timestamp for a local write, higher than every timestamp issued or observed so far
+    public long now() {
+        return now(System.currentTimeMillis());
+    }
+
+    synchronized long now(long wallMillis) {
+        // a full counter carries into the wall clock part, running slightly ahead for a moment
+        latest = Math.max(latest + 1, (wallMillis - EPOCH) << LOGICAL_BITS);
+        return latest << NODE_BITS | nodeId;
+    }
+
+    // Moves the clock past a version written elsewhere. A version further than HLC_MAX_DRIFT_MS
+    // ahead of the wall clock is not followed, so one node with a bad clock cannot drag the
+    // versions of every node along; versions from before the clock, e.g. -1, are ignored
+    public void observe(long version) {
+        observe(version, System.currentTimeMillis());
+    }
+
+    synchronized void observe(long version, long wallMillis) {
+        if (version < 0 || wallMillisOf(version) - wallMillis > HLC_MAX_DRIFT_MS) {
+            return;
+        }
+        latest = Math.max(latest, version >>> NODE_BITS);
+    }
+
+    public static long wallMillisOf(long version) {
+        return (version >>> (NODE_BITS + LOGICAL_BITS)) + EPOCH;
+    }
+}
@@ -23,18 +23,46 @@ public class KeyValueStoreSingleton {
 
     // eagerly created thread-safe instance to improve performance of multithreaded getInstance
     private static KeyValueStoreSingleton instance = new KeyValueStoreSingleton();
-    ConcurrentHashMap<ByteString, VersionedValue> map;
+    private volatile StorageEngine store;
     
     private KeyValueStoreSingleton(){
-        map = new ConcurrentHashMap<>();
+        store = new HeapStorageEngine();
     }
 
     public static KeyValueStoreSingleton getInstance() {
         return instance;
     }
 
+    // Select the storage engine ("heap" or "offheap"), must be called before serving requests
+    public static void initialize(String engine) {
+        initialize(engine, false);
+    }
+
+    // With evict set, puts on a full store evict the coldest keys instead of failing. Otherwise
+    // the store keeps Merkle trees of its entries for anti-entropy; a cache's replicas evict
+    // different keys, so repairing them would only undo evictions
+    public static void initialize(String engine, boolean evict) {
+        StorageEngine store;
+        switch (engine) {
+            case "heap":
+                store = new HeapStorageEngine();
+                break;
+            case "offheap":
+                store = new OffHeapStorageEngine();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown storage engine: " + engine);
+        }
+        instance.store = evict ? new EvictingStorageEngine(store) : new MerkleStorageEngine(store);
+    }
+
+    public StorageEngine getStore() {
+        return store;
+    }
+
+    // Live map for the heap engine, a point-in-time copy for other engines
     public ConcurrentHashMap<ByteString, VersionedValue> getMap() {
-        return map;
+        return store.asMap();
     }
 
 }
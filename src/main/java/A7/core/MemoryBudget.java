@@ -0,0 +1,86 @@
+package A7.core;
+
+import com.google.protobuf.ByteString;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bytes held by a storage engine's entries: key, value and a fixed per-entry overhead for the
+// engine's own bookkeeping, updated atomically on every put, overwrite and remove. Once usage would
+// pass the high watermark puts are refused, and they are accepted again only after removals bring
+// usage under the low watermark, so the out of space decision does not flap around one threshold.
+public class MemoryBudget {
+    private final long highWatermark;
+    private final long lowWatermark;
+    private final int entryOverhead;
+    private final AtomicLong used = new AtomicLong();
+    private volatile boolean full = false;
+    private volatile boolean hysteresis = true;
+
+    public MemoryBudget(long highWatermark, long lowWatermark, int entryOverhead) {
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.entryOverhead = entryOverhead;
+    }
+
+    // Budget of an engine holding at most capacity bytes, with watermarks as fractions of it
+    public static MemoryBudget ofCapacity(long capacity, double high, double low,
+        int entryOverhead) {
+        return new MemoryBudget((long) (capacity * high), (long) (capacity * low), entryOverhead);
+    }
+
+    public long entrySize(ByteString key, ByteString value) {
+        return entrySize(key.size(), value.size());
+    }
+
+    public long entrySize(int keyLength, int valueLength) {
+        return (long) keyLength + valueLength + entryOverhead;
+    }
+
+    // Charges the bytes of a new entry, returns false without charging if there is no room
+    public boolean reserve(long bytes) {
+        if (full) {
+            if (hysteresis && used.get() > lowWatermark) {
+                return false;
+            }
+            full = false;
+        }
+        if (used.addAndGet(bytes) > highWatermark) {
+            used.addAndGet(-bytes);
+            full = true;
+            return false;
+        }
+        return true;
+    }
+
+    // Without hysteresis a refused reserve only marks the budget full until the next one fits under
+    // the high watermark. Cache mode evicts for every refused put, so waiting for the low watermark
+    // would make one put evict everything between the two watermarks
+    public void setHysteresis(boolean hysteresis) {
+        this.hysteresis = hysteresis;
+    }
+
+    // Returns the bytes of a removed or overwritten entry
+    public void release(long bytes) {
+        used.addAndGet(-bytes);
+    }
+
+    public void reset() {
+        used.set(0);
+        full = false;
+    }
+
+    public long getUsed() {
+        return used.get();
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public long getHighWatermark() {
+        return highWatermark;
+    }
+
+    public long getLowWatermark() {
+        return lowWatermark;
+    }
+}
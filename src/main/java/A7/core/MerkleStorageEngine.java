@@ -0,0 +1,137 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.MERKLE_LEAVES;
+
+import com.google.protobuf.ByteString;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+// Wraps another engine and keeps a Merkle tree per ring range of its entries up to date on every
+// put and remove, for anti-entropy between replicas. Writes of the same key are serialized by a
+// striped lock so the trees always see each value replaced by the next. The trees are rebuilt
+// from the store when the ring's tokens change, with writes held off meanwhile.
+public class MerkleStorageEngine implements StorageEngine {
+    private static final int STRIPES = 256;
+
+    private final StorageEngine delegate;
+    private final Object[] stripes = new Object[STRIPES];
+    // writes share the lock, a rebuild takes it exclusively
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private volatile MerkleTrees trees = new MerkleTrees(new long[0], MERKLE_LEAVES);
+
+    public MerkleStorageEngine(StorageEngine delegate) {
+        this.delegate = delegate;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    private Object stripe(ByteString key) {
+        return stripes[(key.hashCode() & 0x7FFFFFFF) % STRIPES];
+    }
+
+    @Override
+    public VersionedValue get(ByteString key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public boolean put(ByteString key, VersionedValue value) {
+        rebuildLock.readLock().lock();
+        try {
+            synchronized (stripe(key)) {
+                VersionedValue previous = delegate.get(key);
+                if (!delegate.put(key, value)) {
+                    return false;
+                }
+                trees.update(key, previous, value);
+                return true;
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public VersionedValue remove(ByteString key) {
+        rebuildLock.readLock().lock();
+        try {
+            synchronized (stripe(key)) {
+                VersionedValue removed = delegate.remove(key);
+                trees.update(key, removed, null);
+                return removed;
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    // Entries with a ttl are not in the trees, so expiring them leaves the trees unchanged
+    @Override
+    public boolean removeExpired(ByteString key, long now) {
+        return delegate.removeExpired(key, now);
+    }
+
+    @Override
+    public List<ByteString> sweepExpired(long now, int maxEntries) {
+        return delegate.sweepExpired(now, maxEntries);
+    }
+
+    @Override
+    public boolean containsKey(ByteString key) {
+        return delegate.containsKey(key);
+    }
+
+    @Override
+    public void clear() {
+        rebuildLock.writeLock().lock();
+        try {
+            delegate.clear();
+            trees.clear();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer<ByteString, VersionedValue> action) {
+        delegate.forEach(action);
+    }
+
+    // Writes through the map bypass the trees as well as the memory budget
+    @Override
+    public ConcurrentHashMap<ByteString, VersionedValue> asMap() {
+        return delegate.asMap();
+    }
+
+    @Override
+    public MemoryBudget getMemoryBudget() {
+        return delegate.getMemoryBudget();
+    }
+
+    // Trees of the ranges ending at the table's tokens, rebuilt first if the tokens changed
+    public MerkleTrees getTrees(RoutingTable table) {
+        long[] tokens = MerkleTrees.tokensOf(table);
+        if (trees.hasTokens(tokens)) {
+            return trees;
+        }
+        rebuildLock.writeLock().lock();
+        try {
+            if (!trees.hasTokens(tokens)) {
+                MerkleTrees rebuilt = new MerkleTrees(tokens, MERKLE_LEAVES);
+                delegate.forEach((key, value) -> rebuilt.update(key, null, value));
+                trees = rebuilt;
+            }
+            return trees;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+}
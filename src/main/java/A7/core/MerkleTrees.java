@@ -0,0 +1,132 @@
+package A7.core;
+
+import A7.utils.XXHash64;
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// One Merkle tree per range of the hash ring, the range ending at each ring token. Replicas of a
+// range hold the same keys, so comparing trees range by range finds where two replicas differ.
+// A tree has a fixed number of leaves, keys spread over them by their ring hash, under a single
+// root. A leaf digest is the sum of its entries' digests, so a put or remove updates it by adding
+// and subtracting without rehashing the leaf; the root is computed over the leaves when asked for.
+//
+// Entries with a ttl are left out: replicas expire them on their own, and leaving them in would
+// make every expiry a difference to repair.
+public class MerkleTrees {
+    private final int leaves;
+    private final long[] tokens;
+    private final AtomicLongArray digests;
+
+    // tokens must be sorted, as in a RoutingTable
+    public MerkleTrees(long[] tokens, int leaves) {
+        if (Integer.bitCount(leaves) != 1) {
+            throw new IllegalArgumentException("Leaves must be a power of two: " + leaves);
+        }
+        this.leaves = leaves;
+        this.tokens = tokens;
+        digests = new AtomicLongArray(tokens.length * leaves);
+    }
+
+    public static long[] tokensOf(RoutingTable table) {
+        long[] tokens = new long[table.size()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = table.token(i);
+        }
+        return tokens;
+    }
+
+    public boolean hasTokens(long[] other) {
+        return Arrays.equals(tokens, other);
+    }
+
+    public int size() {
+        return tokens.length;
+    }
+
+    public int getLeaves() {
+        return leaves;
+    }
+
+    public long token(int range) {
+        return tokens[range];
+    }
+
+    // Index of the range ending at the exact token, or -1 if it is not one of the trees' tokens
+    public int rangeOfToken(long token) {
+        int range = Arrays.binarySearch(tokens, token);
+        return range >= 0 ? range : -1;
+    }
+
+    // Range holding a ring hash, as RoutingTable.ceilingIndex
+    public int range(long hash) {
+        int range = Arrays.binarySearch(tokens, hash);
+        if (range >= 0) {
+            return range;
+        }
+        int insertion = -range - 1;
+        return insertion == tokens.length ? 0 : insertion;
+    }
+
+    public int leaf(long hash) {
+        return (int) (hash & (leaves - 1));
+    }
+
+    public static boolean isTracked(VersionedValue value) {
+        return value != null && value.getExpiresAt() == 0;
+    }
+
+    public static long digest(ByteString key, VersionedValue value) {
+        long h = XXHash64.hash(key) ^ Long.rotateLeft(XXHash64.hash(value.getValue()), 29)
+            ^ value.getVersion() * 0x9E3779B97F4A7C15L;
+        // murmur3 finalizer, so digests summed into a leaf do not cancel out
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    // Replaces the key's previous value with the updated one, either may be null. Callers must
+    // not update the same key concurrently
+    public void update(ByteString key, VersionedValue previous, VersionedValue updated) {
+        if (tokens.length == 0 || (!isTracked(previous) && !isTracked(updated))) {
+            return;
+        }
+        long hash = ConsistentHashRing.hash(key);
+        int index = range(hash) * leaves + leaf(hash);
+        long delta = 0;
+        if (isTracked(previous)) {
+            delta -= digest(key, previous);
+        }
+        if (isTracked(updated)) {
+            delta += digest(key, updated);
+        }
+        digests.addAndGet(index, delta);
+    }
+
+    public long[] leaves(int range) {
+        long[] leafDigests = new long[leaves];
+        for (int i = 0; i < leaves; i++) {
+            leafDigests[i] = digests.get(range * leaves + i);
+        }
+        return leafDigests;
+    }
+
+    public long root(int range) {
+        return root(leaves(range));
+    }
+
+    public static long root(long[] leafDigests) {
+        long h = leafDigests.length;
+        for (long leaf : leafDigests) {
+            h = (h ^ leaf) * 0x100000001B3L;
+            h ^= h >>> 29;
+        }
+        return h;
+    }
+
+    public void clear() {
+        for (int i = 0; i < digests.length(); i++) {
+            digests.set(i, 0);
+        }
+    }
+}
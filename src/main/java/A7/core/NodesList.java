@@ -6,13 +6,19 @@ import static A7.DistributedSystemConfiguration.MAX_HOPS;
 import A7.server.UDPServerThreadPool;
 import java.net.InetAddress;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class NodesList {
     private static NodesList instance = new NodesList();
     private NodesList() {}
     private Map<InetAddress, Integer> liveNodes;
     private Map<String, Integer> allNodes;
+    // Relative capacity of each "ip:port", nodes not listed have weight 1
+    private Map<String, Integer> nodeWeights;
+    // Notified whenever a node joins or leaves the live nodes, but not on hop count updates
+    private final List<Runnable> membershipListeners = new CopyOnWriteArrayList<>();
 
     public static NodesList getInstance() {
         return instance;
@@ -28,27 +34,56 @@ public class NodesList {
 
     public void setLiveNodes(Map<InetAddress, Integer> liveNodes) {
         this.liveNodes = liveNodes;
+        membershipChanged();
     }
 
     public void setAllNodes(Map<String, Integer> allNodes) {
         this.allNodes = allNodes;
     }
 
+    public void setNodeWeights(Map<String, Integer> nodeWeights) {
+        this.nodeWeights = nodeWeights;
+    }
+
+    public int getWeight(String address) {
+        if (nodeWeights == null) {
+            return 1;
+        }
+        Integer weight = nodeWeights.get(address);
+        return weight == null ? 1 : weight;
+    }
+
     public void addLiveNode(InetAddress addr, int hops) {
-        liveNodes.put(addr, hops);
+        if (liveNodes.put(addr, hops) == null) {
+            membershipChanged();
+        }
     }
 
     // Increment hops and clear old entries
     public void refreshLiveNodes() {
-        liveNodes.put(UDPServerThreadPool.localAddress, 0);
+        boolean changed = liveNodes.put(UDPServerThreadPool.localAddress, 0) == null;
         for (Iterator<Map.Entry<InetAddress, Integer>> iter = liveNodes.entrySet().iterator();
             iter.hasNext();) {
             Map.Entry<InetAddress, Integer> entry = iter.next();
             if (entry.getValue() > MAX_HOPS) {
                 iter.remove();
+                changed = true;
             } else {
                 liveNodes.put(entry.getKey(), entry.getValue() + 1);
             }
         }
+        if (changed) {
+            membershipChanged();
+        }
+    }
+
+    public void addMembershipListener(Runnable listener) {
+        membershipListeners.add(listener);
+    }
+
+    private void membershipChanged() {
+        for (Runnable listener : membershipListeners) {
+            listener.run();
+        }
     }
 }
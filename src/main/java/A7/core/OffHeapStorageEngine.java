@@ -0,0 +1,441 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.MEMORY_HIGH_WATERMARK;
+import static A7.DistributedSystemConfiguration.MEMORY_LOW_WATERMARK;
+import static A7.DistributedSystemConfiguration.OFF_HEAP_CAPACITY_MB;
+import static A7.DistributedSystemConfiguration.OFF_HEAP_SLAB_SIZE_KB;
+
+import com.google.protobuf.ByteString;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+// Keeps keys, values and versions outside the JVM heap. Each entry is one record in a
+// SlabAllocator chunk:
+//
+//   [long version][byte key length][unsigned short value length][long expiresAt][key][value]
+//
+// expiresAt is only present for entries with a time to live, marked by the high bit of the key
+// length byte, so entries that never expire do not pay for it. Records are found through an
+// open-addressing (linear probing) index of chunk handles, split into segments that are locked
+// independently. The only heap memory per entry is one slot in each of the index arrays, so a put
+// allocates nothing that outlives the request.
+public class OffHeapStorageEngine implements StorageEngine {
+    private static final int HEADER_SIZE = 11;
+    private static final int KEY_LENGTH_OFFSET = 8;
+    private static final int VALUE_LENGTH_OFFSET = 9;
+    private static final int EXPIRES_FLAG = 0x80;
+    private static final int EXPIRES_SIZE = 8;
+    private static final int MAX_KEY_LENGTH = 0x7F;
+    private static final int MAX_VALUE_LENGTH = 0xFFFF;
+
+    private static final int SEGMENT_SHIFT = 4;
+    private static final int NUM_SEGMENTS = 1 << SEGMENT_SHIFT;
+    private static final int INITIAL_SEGMENT_CAPACITY = 256;
+    private static final long EMPTY = -1;
+    // Record header plus the handle and hash slots in the index
+    private static final int ENTRY_OVERHEAD = HEADER_SIZE + 12;
+
+    private final SlabAllocator allocator;
+    private final Segment[] segments;
+    private final MemoryBudget budget;
+    // Position of the expiration sweeper, only used by the sweeper thread
+    private int sweepSegment = 0;
+    private int sweepSlot = 0;
+
+    public OffHeapStorageEngine() {
+        this((long) OFF_HEAP_CAPACITY_MB * 1024 * 1024, OFF_HEAP_SLAB_SIZE_KB * 1024);
+    }
+
+    public OffHeapStorageEngine(long capacityBytes, int slabSize) {
+        allocator = new SlabAllocator(capacityBytes, slabSize);
+        budget = MemoryBudget.ofCapacity(capacityBytes, MEMORY_HIGH_WATERMARK,
+            MEMORY_LOW_WATERMARK, ENTRY_OVERHEAD);
+        segments = new Segment[NUM_SEGMENTS];
+        for (int i = 0; i < NUM_SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @Override
+    public VersionedValue get(ByteString key) {
+        int hash = spread(key.hashCode());
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(key, hash);
+            if (slot < 0) {
+                return null;
+            }
+            return readValue(segment.handles[slot]);
+        }
+    }
+
+    @Override
+    public boolean put(ByteString key, VersionedValue value) {
+        int keyLength = key.size();
+        int valueLength = value.getValue().size();
+        if (keyLength > MAX_KEY_LENGTH || valueLength > MAX_VALUE_LENGTH) {
+            return false;
+        }
+        boolean expires = value.getExpiresAt() != 0;
+        int recordSize = HEADER_SIZE + (expires ? EXPIRES_SIZE : 0) + keyLength + valueLength;
+        int hash = spread(key.hashCode());
+        Segment segment = segmentFor(hash);
+        long entrySize = budget.entrySize(keyLength, valueLength);
+        // Chunks are only allocated and freed under a segment lock, so clear() can reset the
+        // allocator once it holds every segment lock
+        synchronized (segment) {
+            // an overwrite is only charged the bytes it adds, so one that does not grow the entry
+            // is never refused by the budget
+            int slot = segment.find(key, hash);
+            long added = slot < 0 ? entrySize : entrySize - entrySize(segment.handles[slot]);
+            if (added > 0 && !budget.reserve(added)) {
+                return false;
+            }
+            long handle = allocator.allocate(recordSize);
+            if (handle == EMPTY) {
+                // slab fragmentation can run out of chunks before the budget runs out
+                if (added > 0) {
+                    budget.release(added);
+                }
+                return false;
+            }
+            ByteBuffer record = allocator.slab(handle).duplicate();
+            record.position(SlabAllocator.offset(handle));
+            record.putLong(value.getVersion());
+            record.put((byte) (expires ? keyLength | EXPIRES_FLAG : keyLength));
+            record.putChar((char) valueLength);
+            if (expires) {
+                record.putLong(value.getExpiresAt());
+            }
+            key.copyTo(record);
+            value.getValue().copyTo(record);
+
+            long replaced = segment.insert(key, hash, handle);
+            if (replaced != EMPTY) {
+                if (added < 0) {
+                    budget.release(-added);
+                }
+                allocator.free(replaced, recordSize(replaced));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public VersionedValue remove(ByteString key) {
+        int hash = spread(key.hashCode());
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(key, hash);
+            if (slot < 0) {
+                return null;
+            }
+            VersionedValue removed = readValue(segment.handles[slot]);
+            delete(segment, slot);
+            return removed;
+        }
+    }
+
+    @Override
+    public boolean removeExpired(ByteString key, long now) {
+        int hash = spread(key.hashCode());
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(key, hash);
+            if (slot < 0 || !isExpired(segment.handles[slot], now)) {
+                return false;
+            }
+            delete(segment, slot);
+            return true;
+        }
+    }
+
+    @Override
+    public List<ByteString> sweepExpired(long now, int maxEntries) {
+        List<ByteString> expired = new ArrayList<>();
+        int scanned = 0;
+        while (scanned < maxEntries) {
+            Segment segment = segments[sweepSegment];
+            synchronized (segment) {
+                while (scanned < maxEntries && sweepSlot < segment.handles.length) {
+                    long handle = segment.handles[sweepSlot];
+                    scanned++;
+                    if (handle != EMPTY && isExpired(handle, now)) {
+                        expired.add(readKey(handle));
+                        // backward shift deletion may move another entry into this slot, so
+                        // the slot is checked again
+                        delete(segment, sweepSlot);
+                    } else {
+                        sweepSlot++;
+                    }
+                }
+                if (sweepSlot < segment.handles.length) {
+                    break;
+                }
+            }
+            sweepSlot = 0;
+            sweepSegment = (sweepSegment + 1) % NUM_SEGMENTS;
+            if (sweepSegment == 0) {
+                // end of a pass over every segment
+                break;
+            }
+        }
+        return expired;
+    }
+
+    @Override
+    public boolean containsKey(ByteString key) {
+        int hash = spread(key.hashCode());
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            return segment.find(key, hash) >= 0;
+        }
+    }
+
+    @Override
+    public void clear() {
+        // Hold every segment lock so no put or remove touches a chunk while the slabs are reset
+        clearSegments(0);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void forEach(BiConsumer<ByteString, VersionedValue> action) {
+        List<ByteString> keys = new ArrayList<>();
+        List<VersionedValue> values = new ArrayList<>();
+        for (Segment segment : segments) {
+            // Copy one segment at a time so the action never runs under a segment lock
+            synchronized (segment) {
+                for (long handle : segment.handles) {
+                    if (handle != EMPTY) {
+                        keys.add(readKey(handle));
+                        values.add(readValue(handle));
+                    }
+                }
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                action.accept(keys.get(i), values.get(i));
+            }
+            keys.clear();
+            values.clear();
+        }
+    }
+
+    @Override
+    public ConcurrentHashMap<ByteString, VersionedValue> asMap() {
+        ConcurrentHashMap<ByteString, VersionedValue> copy = new ConcurrentHashMap<>();
+        forEach(copy::put);
+        return copy;
+    }
+
+    @Override
+    public MemoryBudget getMemoryBudget() {
+        return budget;
+    }
+
+    private void clearSegments(int from) {
+        if (from == NUM_SEGMENTS) {
+            allocator.reset();
+            budget.reset();
+            return;
+        }
+        synchronized (segments[from]) {
+            segments[from].reset();
+            clearSegments(from + 1);
+        }
+    }
+
+    // Must be called while holding the segment lock
+    private void delete(Segment segment, int slot) {
+        long handle = segment.handles[slot];
+        segment.delete(slot);
+        budget.release(entrySize(handle));
+        allocator.free(handle, recordSize(handle));
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> (32 - SEGMENT_SHIFT)];
+    }
+
+    // Murmur3 finalizer so that both the segment bits and the slot bits are well mixed
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private int recordSize(long handle) {
+        ByteBuffer slab = allocator.slab(handle);
+        int offset = SlabAllocator.offset(handle);
+        return keyOffset(slab, offset) - offset + keyLength(slab, offset)
+            + valueLength(slab, offset);
+    }
+
+    private long entrySize(long handle) {
+        ByteBuffer slab = allocator.slab(handle);
+        int offset = SlabAllocator.offset(handle);
+        return budget.entrySize(keyLength(slab, offset), valueLength(slab, offset));
+    }
+
+    private static int keyLength(ByteBuffer slab, int offset) {
+        return slab.get(offset + KEY_LENGTH_OFFSET) & MAX_KEY_LENGTH;
+    }
+
+    private static int valueLength(ByteBuffer slab, int offset) {
+        return slab.getChar(offset + VALUE_LENGTH_OFFSET);
+    }
+
+    private static boolean expires(ByteBuffer slab, int offset) {
+        return (slab.get(offset + KEY_LENGTH_OFFSET) & EXPIRES_FLAG) != 0;
+    }
+
+    private static long expiresAt(ByteBuffer slab, int offset) {
+        return expires(slab, offset) ? slab.getLong(offset + HEADER_SIZE) : 0;
+    }
+
+    private static int keyOffset(ByteBuffer slab, int offset) {
+        return offset + HEADER_SIZE + (expires(slab, offset) ? EXPIRES_SIZE : 0);
+    }
+
+    private boolean isExpired(long handle, long now) {
+        long expiresAt = expiresAt(allocator.slab(handle), SlabAllocator.offset(handle));
+        return expiresAt != 0 && now >= expiresAt;
+    }
+
+    private boolean keyEquals(long handle, ByteString key) {
+        ByteBuffer slab = allocator.slab(handle);
+        int offset = SlabAllocator.offset(handle);
+        int length = keyLength(slab, offset);
+        if (length != key.size()) {
+            return false;
+        }
+        int keyOffset = keyOffset(slab, offset);
+        for (int i = 0; i < length; i++) {
+            if (slab.get(keyOffset + i) != key.byteAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ByteString readKey(long handle) {
+        ByteBuffer slab = allocator.slab(handle);
+        int offset = SlabAllocator.offset(handle);
+        ByteBuffer record = slab.duplicate();
+        record.position(keyOffset(slab, offset));
+        return ByteString.copyFrom(record, keyLength(slab, offset));
+    }
+
+    private VersionedValue readValue(long handle) {
+        ByteBuffer slab = allocator.slab(handle);
+        int offset = SlabAllocator.offset(handle);
+        ByteBuffer record = slab.duplicate();
+        record.position(keyOffset(slab, offset) + keyLength(slab, offset));
+        return new VersionedValue(ByteString.copyFrom(record, valueLength(slab, offset)),
+            slab.getLong(offset), expiresAt(slab, offset));
+    }
+
+    // One lock domain of the index. All methods must be called while holding the segment lock.
+    private class Segment {
+        long[] handles;
+        int[] hashes;
+        int size;
+
+        Segment() {
+            reset();
+        }
+
+        void reset() {
+            handles = new long[INITIAL_SEGMENT_CAPACITY];
+            hashes = new int[INITIAL_SEGMENT_CAPACITY];
+            Arrays.fill(handles, EMPTY);
+            size = 0;
+        }
+
+        int find(ByteString key, int hash) {
+            int mask = handles.length - 1;
+            for (int slot = hash & mask; handles[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && keyEquals(handles[slot], key)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        // Returns the handle that was replaced, or EMPTY if the key is new
+        long insert(ByteString key, int hash, long handle) {
+            int slot = find(key, hash);
+            if (slot >= 0) {
+                long replaced = handles[slot];
+                handles[slot] = handle;
+                return replaced;
+            }
+            if ((size + 1) * 4 > handles.length * 3) {
+                grow();
+            }
+            place(hash, handle);
+            size++;
+            return EMPTY;
+        }
+
+        // Backward shift deletion, keeps probe sequences intact without tombstones
+        void delete(int slot) {
+            int mask = handles.length - 1;
+            int hole = slot;
+            for (int next = (hole + 1) & mask; handles[next] != EMPTY; next = (next + 1) & mask) {
+                int home = hashes[next] & mask;
+                // move the entry into the hole unless its home slot lies cyclically in (hole, next]
+                boolean homeBetween = hole <= next
+                    ? hole < home && home <= next
+                    : hole < home || home <= next;
+                if (!homeBetween) {
+                    handles[hole] = handles[next];
+                    hashes[hole] = hashes[next];
+                    hole = next;
+                }
+            }
+            handles[hole] = EMPTY;
+            size--;
+        }
+
+        private void place(int hash, long handle) {
+            int mask = handles.length - 1;
+            int slot = hash & mask;
+            while (handles[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            handles[slot] = handle;
+            hashes[slot] = hash;
+        }
+
+        private void grow() {
+            long[] oldHandles = handles;
+            int[] oldHashes = hashes;
+            handles = new long[oldHandles.length * 2];
+            hashes = new int[oldHashes.length * 2];
+            Arrays.fill(handles, EMPTY);
+            for (int i = 0; i < oldHandles.length; i++) {
+                if (oldHandles[i] != EMPTY) {
+                    place(oldHashes[i], oldHandles[i]);
+                }
+            }
+        }
+    }
+}
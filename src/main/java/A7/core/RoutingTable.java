@@ -0,0 +1,187 @@
+package A7.core;
+
+import A7.utils.MsgWrapper;
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+// Immutable sorted array of ring tokens and the node owning each token. ConsistentHashRing
+// publishes a new table on every membership change, so lookups never lock or allocate.
+// A physical node owns several tokens (virtual nodes), all mapped to the same MsgWrapper.
+// Index navigation wraps around the ring.
+//
+// Every token also has a precomputed preference list: the indices of the first live token of
+// each of the next replicas distinct live physical nodes, starting at the token itself. Its first
+// entry is the live owner of the token's range. Lists are computed once per table, so a lookup is
+// one binary search plus an array read. The version increases with every table published.
+public class RoutingTable {
+    private final long[] tokens;
+    private final MsgWrapper[] nodes;
+    private final int[][] preferences;
+    private final long version;
+
+    public RoutingTable() {
+        this(new long[0], new MsgWrapper[0], Collections.<InetAddress>emptySet(), 1, 0);
+    }
+
+    private RoutingTable(long[] tokens, MsgWrapper[] nodes, Set<InetAddress> liveNodes,
+        int replicas, long version) {
+        this.tokens = tokens;
+        this.nodes = nodes;
+        this.preferences = buildPreferences(tokens, nodes, liveNodes, replicas);
+        this.version = version;
+    }
+
+    private static int[][] buildPreferences(long[] tokens, MsgWrapper[] nodes,
+        Set<InetAddress> liveNodes, int replicas) {
+        int[][] preferences = new int[tokens.length][];
+        int[] found = new int[replicas];
+        for (int i = 0; i < tokens.length; i++) {
+            int count = 0;
+            int index = i;
+            for (int step = 0; step < tokens.length && count < replicas; step++) {
+                if (liveNodes.contains(nodes[index].getAddress())
+                        && !containsNode(nodes, found, count, nodes[index])) {
+                    found[count++] = index;
+                }
+                index = index + 1 == tokens.length ? 0 : index + 1;
+            }
+            preferences[i] = Arrays.copyOf(found, count);
+        }
+        return preferences;
+    }
+
+    private static boolean containsNode(MsgWrapper[] nodes, int[] indices, int count,
+        MsgWrapper node) {
+        for (int i = 0; i < count; i++) {
+            if (nodes[indices[i]].equals(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return tokens.length;
+    }
+
+    public boolean isEmpty() {
+        return tokens.length == 0;
+    }
+
+    public long token(int index) {
+        return tokens[index];
+    }
+
+    public MsgWrapper node(int index) {
+        return nodes[index];
+    }
+
+    // Index of the exact token, or -1 if it is not on the ring
+    public int indexOf(long token) {
+        int index = Arrays.binarySearch(tokens, token);
+        return index >= 0 ? index : -1;
+    }
+
+    // Node owning the exact token, or null if it is not on the ring
+    public MsgWrapper get(long token) {
+        int index = indexOf(token);
+        return index >= 0 ? nodes[index] : null;
+    }
+
+    // First token at or after the hash, i.e. the token whose range contains the hash
+    public int ceilingIndex(long hash) {
+        int index = Arrays.binarySearch(tokens, hash);
+        if (index >= 0) {
+            return index;
+        }
+        int insertion = -index - 1;
+        return insertion == tokens.length ? 0 : insertion;
+    }
+
+    // First token strictly after the given one
+    public int higherIndex(long token) {
+        int index = Arrays.binarySearch(tokens, token);
+        int higher = index >= 0 ? index + 1 : -index - 1;
+        return higher == tokens.length ? 0 : higher;
+    }
+
+    // Last token strictly before the given one
+    public int lowerIndex(long token) {
+        int index = Arrays.binarySearch(tokens, token);
+        int lower = (index >= 0 ? index : -index - 1) - 1;
+        return lower < 0 ? tokens.length - 1 : lower;
+    }
+
+    // Number of live physical nodes in the preference list of the token at index
+    public int preferenceSize(int index) {
+        return preferences[index].length;
+    }
+
+    // Index of the n-th live physical node in the preference list of the token at index
+    public int preference(int index, int n) {
+        return preferences[index][n];
+    }
+
+    public int next(int index) {
+        return index + 1 == tokens.length ? 0 : index + 1;
+    }
+
+    public int previous(int index) {
+        return index == 0 ? tokens.length - 1 : index - 1;
+    }
+
+    // Copy of this table with preference lists of the given length computed for the live nodes
+    public RoutingTable withLiveNodes(Set<InetAddress> liveNodes, int replicas) {
+        return new RoutingTable(tokens, nodes, liveNodes, replicas, version + 1);
+    }
+
+    // Copy of this table with the node's tokens added, tokens already present are reassigned
+    public RoutingTable withNode(long[] nodeTokens, MsgWrapper node, Set<InetAddress> liveNodes,
+        int replicas) {
+        long[] added = nodeTokens.clone();
+        Arrays.sort(added);
+        long[] newTokens = new long[tokens.length + added.length];
+        MsgWrapper[] newNodes = new MsgWrapper[tokens.length + added.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < tokens.length || j < added.length) {
+            if (j == added.length || (i < tokens.length && tokens[i] < added[j])) {
+                newTokens[size] = tokens[i];
+                newNodes[size++] = nodes[i++];
+            } else {
+                if (i < tokens.length && tokens[i] == added[j]) {
+                    i++;
+                }
+                if (size == 0 || newTokens[size - 1] != added[j]) {
+                    newTokens[size] = added[j];
+                    newNodes[size++] = node;
+                }
+                j++;
+            }
+        }
+        return new RoutingTable(Arrays.copyOf(newTokens, size), Arrays.copyOf(newNodes, size),
+            liveNodes, replicas, version + 1);
+    }
+
+    // Copy of this table without any of the node's tokens
+    public RoutingTable withoutNode(MsgWrapper node, Set<InetAddress> liveNodes, int replicas) {
+        long[] newTokens = new long[tokens.length];
+        MsgWrapper[] newNodes = new MsgWrapper[nodes.length];
+        int size = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            if (!nodes[i].equals(node)) {
+                newTokens[size] = tokens[i];
+                newNodes[size++] = nodes[i];
+            }
+        }
+        return new RoutingTable(Arrays.copyOf(newTokens, size), Arrays.copyOf(newNodes, size),
+            liveNodes, replicas, version + 1);
+    }
+}
@@ -0,0 +1,164 @@
+package A7.core;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Hands out fixed-size chunks carved from direct ByteBuffer slabs. Chunks come in power of two
+// size classes from MIN_CHUNK_SIZE to MAX_CHUNK_SIZE; a slab is dedicated to one size class the
+// first time that class runs out of chunks, and freed chunks are kept on a per-class free list.
+//
+// Chunks are addressed by a long handle: slab index in the upper 32 bits, byte offset of the
+// chunk within the slab in the lower 32 bits.
+public class SlabAllocator {
+    public static final int MIN_CHUNK_SIZE = 64;
+    // Large enough for a 32 byte key, a 10,000 byte value and the record header
+    public static final int MAX_CHUNK_SIZE = 16384;
+    private static final int MIN_CHUNK_SHIFT = Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE);
+    private static final int NUM_CLASSES =
+        Integer.numberOfTrailingZeros(MAX_CHUNK_SIZE) - MIN_CHUNK_SHIFT + 1;
+
+    private final int slabSize;
+    private final ByteBuffer[] slabs;
+    private int slabCount;
+
+    private final SizeClass[] classes;
+
+    public SlabAllocator(long capacityBytes, int slabSize) {
+        if (slabSize < MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Slab size must hold at least one max size chunk");
+        }
+        this.slabSize = slabSize;
+        this.slabs = new ByteBuffer[(int) Math.max(1, capacityBytes / slabSize)];
+        this.classes = new SizeClass[NUM_CLASSES];
+        for (int i = 0; i < NUM_CLASSES; i++) {
+            classes[i] = new SizeClass(MIN_CHUNK_SIZE << i);
+        }
+    }
+
+    // Returns the size of the chunk that would be used for a record of the given size,
+    // or -1 if the record is larger than MAX_CHUNK_SIZE
+    public static int chunkSize(int recordSize) {
+        int sizeClass = sizeClassOf(recordSize);
+        return sizeClass < 0 ? -1 : MIN_CHUNK_SIZE << sizeClass;
+    }
+
+    // Returns a handle to a chunk of at least size bytes, or -1 if the allocator is full
+    public long allocate(int size) {
+        int sizeClass = sizeClassOf(size);
+        if (sizeClass < 0) {
+            return -1;
+        }
+        return classes[sizeClass].allocate();
+    }
+
+    // Returns the chunk to the free list of its size class, size must match the allocated size
+    public void free(long handle, int size) {
+        classes[sizeClassOf(size)].free(handle);
+    }
+
+    // Slab holding the chunk; callers must not change its position or limit
+    public ByteBuffer slab(long handle) {
+        return slabs[(int) (handle >>> 32)];
+    }
+
+    public static int offset(long handle) {
+        return (int) handle;
+    }
+
+    // Drops every chunk; slabs stay assigned to their size class and are carved again from the start
+    public void reset() {
+        for (SizeClass sizeClass : classes) {
+            sizeClass.reset();
+        }
+    }
+
+    public synchronized long allocatedBytes() {
+        return (long) slabCount * slabSize;
+    }
+
+    private static int sizeClassOf(int size) {
+        if (size > MAX_CHUNK_SIZE) {
+            return -1;
+        }
+        if (size <= MIN_CHUNK_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_CHUNK_SHIFT;
+    }
+
+    // Claims a new slab for a size class, returns its index or -1 once capacity is reached
+    private synchronized int newSlab() {
+        if (slabCount == slabs.length) {
+            return -1;
+        }
+        try {
+            slabs[slabCount] = ByteBuffer.allocateDirect(slabSize);
+        } catch (OutOfMemoryError e) {
+            // direct memory limit (-XX:MaxDirectMemorySize) reached before configured capacity
+            return -1;
+        }
+        return slabCount++;
+    }
+
+    private class SizeClass {
+        private final int chunkSize;
+        private long[] freeList = new long[16];
+        private int freeCount;
+        // slabs owned by this class, carved in order
+        private int[] ownedSlabs = new int[4];
+        private int ownedCount;
+        private int carveSlab = -1;
+        private int carveOffset;
+
+        SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        synchronized long allocate() {
+            if (freeCount > 0) {
+                return freeList[--freeCount];
+            }
+            if (carveSlab < 0 || carveOffset + chunkSize > slabSize) {
+                if (!nextSlab()) {
+                    return -1;
+                }
+            }
+            long handle = ((long) ownedSlabs[carveSlab] << 32) | carveOffset;
+            carveOffset += chunkSize;
+            return handle;
+        }
+
+        synchronized void free(long handle) {
+            if (freeCount == freeList.length) {
+                freeList = Arrays.copyOf(freeList, freeList.length * 2);
+            }
+            freeList[freeCount++] = handle;
+        }
+
+        synchronized void reset() {
+            freeCount = 0;
+            carveSlab = ownedCount > 0 ? 0 : -1;
+            carveOffset = 0;
+        }
+
+        // Moves carving to the next owned slab, claiming a new one if all are used up
+        private boolean nextSlab() {
+            if (carveSlab + 1 < ownedCount) {
+                carveSlab++;
+                carveOffset = 0;
+                return true;
+            }
+            int slab = newSlab();
+            if (slab < 0) {
+                return false;
+            }
+            if (ownedCount == ownedSlabs.length) {
+                ownedSlabs = Arrays.copyOf(ownedSlabs, ownedSlabs.length * 2);
+            }
+            ownedSlabs[ownedCount] = slab;
+            carveSlab = ownedCount++;
+            carveOffset = 0;
+            return true;
+        }
+    }
+}
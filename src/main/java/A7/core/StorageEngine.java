@@ -0,0 +1,43 @@
+package A7.core;
+
+import com.google.protobuf.ByteString;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+// Backing store for KeyValueStoreSingleton. Implementations must be thread-safe, since every
+// UDPServerThreadPool worker reads and writes the store concurrently.
+public interface StorageEngine {
+    // Returns null if the key is not stored
+    VersionedValue get(ByteString key);
+
+    // Inserts or overwrites the entry, returns false if there is no space left for it
+    boolean put(ByteString key, VersionedValue value);
+
+    // Returns the removed value, or null if the key was not stored
+    VersionedValue remove(ByteString key);
+
+    // Removes the entry only if it has expired by now, so a concurrent put of a fresh value is
+    // kept. Returns true if the entry was removed
+    boolean removeExpired(ByteString key, long now);
+
+    // Scans up to maxEntries entries onwards from where the previous sweep stopped and removes
+    // the expired ones, returns their keys. Called from a single sweeper thread
+    List<ByteString> sweepExpired(long now, int maxEntries);
+
+    boolean containsKey(ByteString key);
+
+    void clear();
+
+    int size();
+
+    // Visits every entry; entries modified concurrently may or may not be visited
+    void forEach(BiConsumer<ByteString, VersionedValue> action);
+
+    // Heap engines return their live backing map, other engines return a point-in-time copy.
+    // Writes through the map bypass the memory budget
+    ConcurrentHashMap<ByteString, VersionedValue> asMap();
+
+    // Bytes held by the stored entries, checked on every put
+    MemoryBudget getMemoryBudget();
+}
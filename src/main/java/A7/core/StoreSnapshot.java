@@ -0,0 +1,215 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.SNAPSHOT_BLOCK_ENTRIES;
+import static A7.DistributedSystemConfiguration.VERBOSE;
+
+import com.google.protobuf.ByteString;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Point-in-time image of the store used for fast restarts.
+//
+// The image is fuzzy: entries are copied while workers keep serving requests, so the write-ahead
+// log is rolled to a new generation first and that generation is recorded in the snapshot.
+// Replaying the log from that generation on top of the snapshot restores every later mutation.
+//
+// File layout:
+//   entries:  [short key length][key][long version][long expiresAt][int value length][value],
+//             grouped in blocks of SNAPSHOT_BLOCK_ENTRIES entries. The tombstones of removed keys
+//             follow the entries, with a value length of -1 and no value
+//   footer:   [long offset of each block][int block count][long entry count]
+//             [long log generation][int MAGIC]
+public class StoreSnapshot {
+    private static final int MAGIC = 0x4B565345;
+    private static final int FOOTER_SIZE = 4 + 8 + 8 + 4;
+
+    public static File snapshotFile(File directory, int port) {
+        return new File(directory, "kvstore-" + port + ".snapshot");
+    }
+
+    // Rolls the log, writes the snapshot and deletes the log generations it covers
+    public static void take(File directory, int port, StorageEngine store, WriteAheadLog wal)
+        throws IOException {
+        long generation = wal.roll();
+        File file = snapshotFile(directory, port);
+        long entries = write(store, file, generation);
+        wal.deleteGenerationsBefore(generation);
+        if (VERBOSE > 0) {
+            System.out.println("Snapshot of " + entries + " entries written to " + file);
+        }
+    }
+
+    // Writes the snapshot to a temporary file and moves it over the previous snapshot once it is
+    // on disk, so a crash part way through never leaves a truncated snapshot behind
+    public static long write(StorageEngine store, File file, long logGeneration)
+        throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        SnapshotWriter writer = new SnapshotWriter(tmp);
+        try {
+            store.forEach(writer::append);
+            Tombstones.getInstance().forEach(writer::appendRemoved);
+            writer.finish(logGeneration);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            writer.close();
+        }
+        try (FileChannel channel = FileChannel.open(tmp.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        return writer.entries;
+    }
+
+    // Loads the snapshot into the store, decoding blocks in parallel across all cores.
+    // Returns the log generation to replay from, or 0 if there is no snapshot.
+    public static long load(File file, StorageEngine store) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < FOOTER_SIZE) {
+                throw new IOException("Snapshot " + file + " is truncated");
+            }
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            channel.read(footer, size - FOOTER_SIZE);
+            footer.flip();
+            int blockCount = footer.getInt();
+            long entryCount = footer.getLong();
+            long logGeneration = footer.getLong();
+            int magic = footer.getInt();
+            if (magic != MAGIC) {
+                throw new IOException("Snapshot " + file + " is corrupt");
+            }
+
+            long indexOffset = size - FOOTER_SIZE - 8L * blockCount;
+            ByteBuffer index = ByteBuffer.allocate(8 * blockCount);
+            channel.read(index, indexOffset);
+            index.flip();
+            // block boundaries, with the end of the last block appended
+            long[] blocks = new long[blockCount + 1];
+            for (int i = 0; i < blockCount; i++) {
+                blocks[i] = index.getLong();
+            }
+            blocks[blockCount] = indexOffset;
+
+            int threads = Math.max(1, Math.min(blockCount,
+                Runtime.getRuntime().availableProcessors()));
+            ExecutorService loaders = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> results = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    // contiguous run of blocks per thread, mapped separately so each region
+                    // stays below the 2GB limit of a single mapping
+                    long start = blocks[blockCount * t / threads];
+                    long end = blocks[blockCount * (t + 1) / threads];
+                    MappedByteBuffer region =
+                        channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                    results.add(loaders.submit(() -> decode(region, store)));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } catch (Exception e) {
+                throw new IOException("Failed to load snapshot " + file, e);
+            } finally {
+                loaders.shutdown();
+            }
+
+            if (VERBOSE > 0) {
+                System.out.println("Loaded " + entryCount + " entries from " + file);
+            }
+            return logGeneration;
+        }
+    }
+
+    private static void decode(ByteBuffer region, StorageEngine store) {
+        while (region.hasRemaining()) {
+            ByteString key = ByteString.copyFrom(region, region.getShort() & 0xFFFF);
+            long version = region.getLong();
+            long expiresAt = region.getLong();
+            int length = region.getInt();
+            if (length < 0) {
+                Tombstones.getInstance().add(key, version);
+            } else {
+                store.put(key, new VersionedValue(ByteString.copyFrom(region, length), version,
+                    expiresAt));
+            }
+            HybridLogicalClock.getInstance().observe(version);
+        }
+    }
+
+    private static class SnapshotWriter {
+        private final DataOutputStream out;
+        private final List<Long> blocks = new ArrayList<>();
+        private long position;
+        private long entries;
+
+        SnapshotWriter(File file) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 65536));
+        }
+
+        void append(ByteString key, VersionedValue value) {
+            append(key, value.getVersion(), value.getExpiresAt(), value.getValue());
+        }
+
+        void appendRemoved(ByteString key, long version) {
+            append(key, version, 0, null);
+        }
+
+        private void append(ByteString key, long version, long expiresAt, ByteString value) {
+            try {
+                if (entries % SNAPSHOT_BLOCK_ENTRIES == 0) {
+                    blocks.add(position);
+                }
+                out.writeShort(key.size());
+                key.writeTo(out);
+                out.writeLong(version);
+                out.writeLong(expiresAt);
+                if (value == null) {
+                    out.writeInt(-1);
+                } else {
+                    out.writeInt(value.size());
+                    value.writeTo(out);
+                }
+                position += 2 + key.size() + 8 + 8 + 4 + (value == null ? 0 : value.size());
+                entries++;
+            } catch (IOException e) {
+                // forEach takes no checked exceptions, unwrapped again by write
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish(long logGeneration) throws IOException {
+            for (long block : blocks) {
+                out.writeLong(block);
+            }
+            out.writeInt(blocks.size());
+            out.writeLong(entries);
+            out.writeLong(logGeneration);
+            out.writeInt(MAGIC);
+            out.flush();
+        }
+
+        void close() throws IOException {
+            out.close();
+        }
+    }
+}
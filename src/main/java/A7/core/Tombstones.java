@@ -0,0 +1,120 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.MAX_TOMBSTONES;
+import static A7.DistributedSystemConfiguration.TOMBSTONE_GRACE_MS;
+
+import com.google.protobuf.ByteString;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.BiConsumer;
+
+// Versions of recently removed keys. A removal is ordered against puts by last writer wins like a
+// put is: a write older than the removal is refused, and the removal is shipped with its version
+// to replicas that missed it. A tombstone is dropped TOMBSTONE_GRACE_MS after the wall clock time
+// in its version, or once a newer put of the key is stored. At most capacity tombstones are kept,
+// past that the oldest are dropped early, as if their grace period had ended.
+public class Tombstones {
+    private static Tombstones instance = new Tombstones(MAX_TOMBSTONES);
+
+    private final ConcurrentHashMap<ByteString, Long> versions = new ConcurrentHashMap<>();
+    // the same tombstones oldest first, updated with the key's entry in versions
+    private final ConcurrentSkipListSet<Tombstone> byVersion = new ConcurrentSkipListSet<>();
+    private final int capacity;
+
+    Tombstones(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public static Tombstones getInstance() {
+        return instance;
+    }
+
+    public void add(ByteString key, long version) {
+        versions.compute(key, (k, old) -> {
+            if (old != null && old >= version) {
+                return old;
+            }
+            if (old != null) {
+                byVersion.remove(new Tombstone(k, old));
+            }
+            byVersion.add(new Tombstone(k, version));
+            return version;
+        });
+        while (versions.size() > capacity) {
+            Tombstone oldest = byVersion.pollFirst();
+            if (oldest == null) {
+                break;
+            }
+            versions.remove(oldest.key, oldest.version);
+        }
+    }
+
+    // Version the key was last removed at, or -1 if there is no tombstone for it
+    public long version(ByteString key) {
+        Long version = versions.get(key);
+        return version == null ? -1 : version;
+    }
+
+    public void remove(ByteString key) {
+        versions.computeIfPresent(key, (k, old) -> {
+            byVersion.remove(new Tombstone(k, old));
+            return null;
+        });
+    }
+
+    public void clear() {
+        versions.clear();
+        byVersion.clear();
+    }
+
+    public int size() {
+        return versions.size();
+    }
+
+    public void forEach(BiConsumer<ByteString, Long> consumer) {
+        versions.forEach(consumer);
+    }
+
+    // Drops the tombstones past their grace period, returns how many were dropped
+    public int purge(long now) {
+        int purged = 0;
+        for (Tombstone oldest : byVersion) {
+            if (HybridLogicalClock.wallMillisOf(oldest.version) + TOMBSTONE_GRACE_MS > now) {
+                // every later tombstone is younger
+                break;
+            }
+            byVersion.remove(oldest);
+            if (versions.remove(oldest.key, oldest.version)) {
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    // Ordered by version, then by key so tombstones of the same version are distinct
+    private static class Tombstone implements Comparable<Tombstone> {
+        final ByteString key;
+        final long version;
+
+        Tombstone(ByteString key, long version) {
+            this.key = key;
+            this.version = version;
+        }
+
+        @Override
+        public int compareTo(Tombstone other) {
+            int order = Long.compare(version, other.version);
+            if (order != 0) {
+                return order;
+            }
+            int length = Math.min(key.size(), other.key.size());
+            for (int i = 0; i < length; i++) {
+                order = Integer.compare(key.byteAt(i) & 0xFF, other.key.byteAt(i) & 0xFF);
+                if (order != 0) {
+                    return order;
+                }
+            }
+            return Integer.compare(key.size(), other.key.size());
+        }
+    }
+}
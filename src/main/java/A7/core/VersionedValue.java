@@ -1,19 +1,35 @@
 package A7.core;
 
-import java.io.Serializable;
-
 import com.google.protobuf.ByteString;
 
-public class VersionedValue implements Serializable {
-	private int version;
+public class VersionedValue {
+	private long version;
 	private ByteString value;
+	// Wall clock time in milliseconds at which the entry expires, 0 if it never does
+	private long expiresAt;
 	
-	public VersionedValue(ByteString value, int version) {
+	public VersionedValue(ByteString value, long version) {
+		this(value, version, 0);
+	}
+
+	public VersionedValue(ByteString value, long version, long expiresAt) {
 		this.version = version;
 		this.value = value;
+		this.expiresAt = expiresAt;
+	}
+
+	// Stands in for a removal at the version where an entry is expected, e.g. as the write a stale
+	// put lost to
+	public static VersionedValue removed(long version) {
+		return new VersionedValue(null, version);
+	}
+
+	// Expiry time of an entry put now with a time to live in milliseconds, 0 (never) if ttl is 0
+	public static long expiryOf(long ttl, long now) {
+		return ttl > 0 ? now + ttl : 0;
 	}
 	
-	public int getVersion() {
+	public long getVersion() {
 		return this.version;
 	}
 
@@ -21,6 +37,19 @@ public class VersionedValue implements Serializable {
 		return this.value;
 	}
 
+	public long getExpiresAt() {
+		return this.expiresAt;
+	}
+
+	public boolean isRemoved() {
+		return this.value == null;
+	}
+
+	// Expired entries are treated as absent and removed lazily or by the expiration sweeper
+	public boolean isExpired(long now) {
+		return expiresAt != 0 && now >= expiresAt;
+	}
+
     @Override
     public boolean equals(Object obj) {
         if (obj == null || !VersionedValue.class.isAssignableFrom(obj.getClass())) {
@@ -40,6 +69,10 @@ public class VersionedValue implements Serializable {
             return false;
         }
 
+        if (this.getExpiresAt() != other.getExpiresAt()) {
+            return false;
+        }
+
         return true;
     }
 }
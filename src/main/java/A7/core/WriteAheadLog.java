@@ -0,0 +1,491 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.MAX_MSG_SIZE;
+import static A7.DistributedSystemConfiguration.VERBOSE;
+import static A7.DistributedSystemConfiguration.WAL_SYNC_BYTES;
+import static A7.DistributedSystemConfiguration.WAL_SYNC_INTERVAL_MS;
+import static A7.DistributedSystemConfiguration.WAL_WAIT_FOR_SYNC;
+
+import com.google.protobuf.ByteString;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+// Append-only log of store mutations, replayed into the store when a node is spawned.
+// The log is split into numbered generations; StoreSnapshot rolls to a new generation before it
+// copies the store, so older generations can be deleted once the snapshot is written. Writers
+// hold startApply/finishApply from logging a mutation until the store has applied it, so a
+// mutation logged to an older generation is always in the store the snapshot copies.
+//
+// Appends only write to the file channel; a background sync thread forces the channel to disk
+// every WAL_SYNC_INTERVAL_MS, or sooner once WAL_SYNC_BYTES are pending, so one fsync covers every
+// request appended in between (group commit). Each append returns the log position its record
+// ends at; with WAL_WAIT_FOR_SYNC the request waits in awaitSync for the fsync that covers that
+// position before it is acknowledged, after it has released any lock held for the append.
+//
+// Record layout: [int body length][int CRC32 of body][body], where body is
+//   PUT:    [byte op][short key length][key][long version][long expiresAt][int value length]
+//           [value], expiresAt is 0 for entries that never expire
+//   REMOVE: [byte op][short key length][key][long version], version is -1 for a removal that
+//           leaves no tombstone
+//   CLEAR:  [byte op]
+// Key lengths are unsigned, any key that fits in a request fits in a short.
+//
+// Appenders and waiters block on ReentrantLocks and Conditions rather than monitors, so with the
+// virtual thread executor a request waiting for an append or a sync does not pin its carrier.
+public class WriteAheadLog {
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final byte OP_CLEAR = 3;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private static WriteAheadLog instance = new WriteAheadLog();
+
+    // Reused per thread, a record never exceeds the size of the request that produced it
+    private static final ThreadLocal<ByteBuffer> recordBuffer =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocate(MAX_MSG_SIZE + RECORD_HEADER_SIZE));
+    private static final ThreadLocal<CRC32> recordChecksum = ThreadLocal.withInitial(CRC32::new);
+
+    private static final String LOG_PREFIX = "kvstore-";
+    private static final String LOG_SUFFIX = ".wal";
+
+    private volatile FileChannel channel;
+    private File directory;
+    private int port;
+    // guards channel changes, generation and writtenPosition
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // generation of the log file currently appended to
+    private long generation;
+    // Bytes appended since open across all generations
+    private long writtenPosition;
+    // Prefix of writtenPosition known to be on disk, guarded by syncLock. The sync thread waits on
+    // syncRequested, appenders waiting for their records to be on disk on synced
+    private long syncedPosition;
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition syncRequested = syncLock.newCondition();
+    private final Condition synced = syncLock.newCondition();
+    // held while forcing or closing the channel, so a close never races an in-flight fsync. Only
+    // the sync thread, roll and close take it, never a request worker
+    private final Object forceLock = new Object();
+    // writers share the lock between logging a mutation and applying it, a roll takes it
+    // exclusively
+    private final ReentrantReadWriteLock rollLock = new ReentrantReadWriteLock();
+
+    private WriteAheadLog() {}
+
+    public static WriteAheadLog getInstance() {
+        return instance;
+    }
+
+    public boolean isOpen() {
+        return channel != null;
+    }
+
+    // Replays log generations fromGeneration onwards into the store, then opens the newest one
+    // for appending. Older generations are already covered by a snapshot and are deleted.
+    // Until open is called every append is a no-op.
+    public void open(File directory, int port, StorageEngine store, long fromGeneration)
+        throws IOException {
+        appendLock.lock();
+        try {
+            openLocked(directory, port, store, fromGeneration);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void openLocked(File directory, int port, StorageEngine store, long fromGeneration)
+        throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create data directory " + directory);
+        }
+        this.directory = directory;
+        this.port = port;
+
+        List<Long> generations = listGenerations(directory, port);
+        FileChannel fileChannel = null;
+        generation = fromGeneration;
+        for (long existing : generations) {
+            if (existing < fromGeneration) {
+                Files.delete(logFile(directory, port, existing).toPath());
+                continue;
+            }
+            if (fileChannel != null) {
+                fileChannel.close();
+            }
+            generation = existing;
+            fileChannel = openGeneration(generation);
+            long validLength = replay(fileChannel, store);
+            // drop a torn record left behind by a crash so new records follow the last valid one
+            fileChannel.truncate(validLength);
+            fileChannel.position(validLength);
+        }
+        if (fileChannel == null) {
+            fileChannel = openGeneration(generation);
+        }
+
+        writtenPosition = 0;
+        syncedPosition = 0;
+        channel = fileChannel;
+        new SyncThread().start();
+    }
+
+    // Called by a writer before it logs a mutation, finishApply once the store has applied it
+    public void startApply() {
+        rollLock.readLock().lock();
+    }
+
+    public void finishApply() {
+        rollLock.readLock().unlock();
+    }
+
+    // Starts a new log generation and returns its number. Every record appended before the roll
+    // is forced to disk, belongs to an older generation and has been applied to the store.
+    public long roll() throws IOException {
+        rollLock.writeLock().lock();
+        appendLock.lock();
+        try {
+            if (channel == null) {
+                return generation;
+            }
+            FileChannel next = openGeneration(generation + 1);
+            synchronized (forceLock) {
+                channel.force(false);
+                channel.close();
+            }
+            channel = next;
+            generation++;
+            markSynced(writtenPosition);
+            return generation;
+        } finally {
+            appendLock.unlock();
+            rollLock.writeLock().unlock();
+        }
+    }
+
+    // Deletes generations older than the given one, once a snapshot covers them
+    public void deleteGenerationsBefore(long oldest) throws IOException {
+        appendLock.lock();
+        try {
+            if (directory == null) {
+                return;
+            }
+            for (long existing : listGenerations(directory, port)) {
+                if (existing < oldest) {
+                    Files.delete(logFile(directory, port, existing).toPath());
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public static File logFile(File directory, int port, long generation) {
+        return new File(directory, LOG_PREFIX + port + "-" + generation + LOG_SUFFIX);
+    }
+
+    private FileChannel openGeneration(long generation) throws IOException {
+        return FileChannel.open(logFile(directory, port, generation).toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // Generation numbers of the log files for this node, in ascending order
+    private static List<Long> listGenerations(File directory, int port) {
+        List<Long> generations = new ArrayList<>();
+        String prefix = LOG_PREFIX + port + "-";
+        String[] names = directory.list();
+        if (names == null) {
+            return generations;
+        }
+        for (String name : names) {
+            if (name.startsWith(prefix) && name.endsWith(LOG_SUFFIX)) {
+                try {
+                    generations.add(Long.parseLong(
+                        name.substring(prefix.length(), name.length() - LOG_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    // Forces outstanding records to disk and stops the sync thread
+    public void close() {
+        FileChannel fileChannel;
+        appendLock.lock();
+        try {
+            fileChannel = channel;
+            channel = null;
+        } finally {
+            appendLock.unlock();
+        }
+        if (fileChannel == null) {
+            return;
+        }
+        try {
+            synchronized (forceLock) {
+                fileChannel.force(false);
+                fileChannel.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        // waiters see the log closed, the sync thread stops
+        syncLock.lock();
+        try {
+            synced.signalAll();
+            syncRequested.signal();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // The log* methods return the position the record ends at, for awaitSync, or 0 if the log is
+    // not open
+    public long logPut(ByteString key, VersionedValue value) throws IOException {
+        if (channel == null) {
+            return 0;
+        }
+        ByteBuffer record = startRecord(OP_PUT);
+        record.putShort((short) key.size());
+        key.copyTo(record);
+        record.putLong(value.getVersion());
+        record.putLong(value.getExpiresAt());
+        record.putInt(value.getValue().size());
+        value.getValue().copyTo(record);
+        return append(record);
+    }
+
+    public long logRemove(ByteString key, long version) throws IOException {
+        if (channel == null) {
+            return 0;
+        }
+        ByteBuffer record = startRecord(OP_REMOVE);
+        record.putShort((short) key.size());
+        key.copyTo(record);
+        record.putLong(version);
+        return append(record);
+    }
+
+    public long logClear() throws IOException {
+        if (channel == null) {
+            return 0;
+        }
+        return append(startRecord(OP_CLEAR));
+    }
+
+    private static ByteBuffer startRecord(byte op) {
+        ByteBuffer record = recordBuffer.get();
+        record.clear();
+        record.position(RECORD_HEADER_SIZE);
+        record.put(op);
+        return record;
+    }
+
+    private long append(ByteBuffer record) throws IOException {
+        int bodyLength = record.position() - RECORD_HEADER_SIZE;
+        CRC32 crc32 = recordChecksum.get();
+        crc32.reset();
+        crc32.update(record.array(), RECORD_HEADER_SIZE, bodyLength);
+        record.putInt(0, bodyLength);
+        record.putInt(4, (int) crc32.getValue());
+        record.flip();
+
+        long end;
+        appendLock.lock();
+        try {
+            FileChannel fileChannel = channel;
+            if (fileChannel == null) {
+                return 0;
+            }
+            while (record.hasRemaining()) {
+                fileChannel.write(record);
+            }
+            writtenPosition += record.limit();
+            end = writtenPosition;
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (end - syncedPosition() >= WAL_SYNC_BYTES) {
+            syncLock.lock();
+            try {
+                syncRequested.signal();
+            } finally {
+                syncLock.unlock();
+            }
+        }
+        return end;
+    }
+
+    private long syncedPosition() {
+        syncLock.lock();
+        try {
+            return syncedPosition;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Wakes up the appenders waiting for the log to be on disk up to the position
+    private void markSynced(long position) {
+        syncLock.lock();
+        try {
+            syncedPosition = Math.max(syncedPosition, position);
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // With WAL_WAIT_FOR_SYNC, waits until the log is on disk up to the position an append returned
+    public void awaitSync(long position) throws IOException {
+        if (!WAL_WAIT_FOR_SYNC) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            while (syncedPosition < position && channel != null) {
+                synced.await(WAL_SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for log sync", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Applies every intact record to the store, returns the length of the valid prefix of the log
+    private static long replay(FileChannel fileChannel, StorageEngine store) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        ByteBuffer body = ByteBuffer.allocate(MAX_MSG_SIZE);
+        CRC32 crc32 = new CRC32();
+        long position = 0;
+        long size = fileChannel.size();
+        int records = 0;
+
+        while (position + RECORD_HEADER_SIZE <= size) {
+            header.clear();
+            fileChannel.read(header, position);
+            int bodyLength = header.getInt(0);
+            int checksum = header.getInt(4);
+            if (bodyLength <= 0 || bodyLength > body.capacity()
+                || position + RECORD_HEADER_SIZE + bodyLength > size) {
+                break;
+            }
+            body.clear();
+            body.limit(bodyLength);
+            while (body.hasRemaining()) {
+                if (fileChannel.read(body, position + RECORD_HEADER_SIZE + body.position()) < 0) {
+                    break;
+                }
+            }
+            crc32.reset();
+            crc32.update(body.array(), 0, bodyLength);
+            if ((int) crc32.getValue() != checksum) {
+                break;
+            }
+            body.flip();
+            apply(body, store);
+            position += RECORD_HEADER_SIZE + bodyLength;
+            records++;
+        }
+
+        if (VERBOSE > 0) {
+            System.out.println("Replayed " + records + " write-ahead log records");
+        }
+        return position;
+    }
+
+    private static void apply(ByteBuffer body, StorageEngine store) {
+        byte op = body.get();
+        if (op == OP_CLEAR) {
+            store.clear();
+            Tombstones.getInstance().clear();
+            return;
+        }
+        ByteString key = ByteString.copyFrom(body, body.getShort() & 0xFFFF);
+        if (op == OP_PUT) {
+            long version = body.getLong();
+            long expiresAt = body.getLong();
+            ByteString value = ByteString.copyFrom(body, body.getInt());
+            // entries that expired while the node was down are swept after it starts
+            store.put(key, new VersionedValue(value, version, expiresAt));
+            Tombstones.getInstance().remove(key);
+            // writes after a restart get higher versions than the ones they replace
+            HybridLogicalClock.getInstance().observe(version);
+        } else if (op == OP_REMOVE) {
+            long version = body.getLong();
+            store.remove(key);
+            if (version >= 0) {
+                Tombstones.getInstance().add(key, version);
+                HybridLogicalClock.getInstance().observe(version);
+            }
+        }
+    }
+
+    // Forces appended records to disk in batches and wakes up appenders waiting on them
+    private class SyncThread extends Thread {
+        SyncThread() {
+            super("wal-sync-thread");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                syncLock.lock();
+                try {
+                    syncRequested.await(WAL_SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                } finally {
+                    syncLock.unlock();
+                }
+
+                long position;
+                FileChannel fileChannel;
+                appendLock.lock();
+                try {
+                    position = writtenPosition;
+                    fileChannel = channel;
+                } finally {
+                    appendLock.unlock();
+                }
+                if (fileChannel == null) {
+                    return;
+                }
+                if (position == syncedPosition()) {
+                    continue;
+                }
+                try {
+                    synchronized (forceLock) {
+                        // closed by roll() or close(), which force the channel themselves
+                        if (!fileChannel.isOpen()) {
+                            continue;
+                        }
+                        fileChannel.force(false);
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    continue;
+                }
+                markSynced(position);
+            }
+        }
+    }
+}
@@ -0,0 +1,3397 @@
+package A7.proto;
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: AntiEntropy.proto
+
+public final class AntiEntropy {
+  private AntiEntropy() {}
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistryLite registry) {
+  }
+
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (com.google.protobuf.ExtensionRegistryLite) registry);
+  }
+  public interface MerkleExchangeOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:MerkleExchange)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>repeated .RangeDigest ranges = 1;</code>
+     */
+    java.util.List<AntiEntropy.RangeDigest> 
+        getRangesList();
+    /**
+     * <code>repeated .RangeDigest ranges = 1;</code>
+     */
+    AntiEntropy.RangeDigest getRanges(int index);
+    /**
+     * <code>repeated .RangeDigest ranges = 1;</code>
+     */
+    int getRangesCount();
+    /**
+     * <code>repeated .RangeDigest ranges = 1;</code>
+     */
+    java.util.List<? extends AntiEntropy.RangeDigestOrBuilder> 
+        getRangesOrBuilderList();
+    /**
+     * <code>repeated .RangeDigest ranges = 1;</code>
+     */
+    AntiEntropy.RangeDigestOrBuilder getRangesOrBuilder(
+        int index);
+
+    /**
+     * <code>repeated .LeafKeys leaves = 2;</code>
+     */
+    java.util.List<AntiEntropy.LeafKeys> 
+        getLeavesList();
+    /**
+     * <code>repeated .LeafKeys leaves = 2;</code>
+     */
+    AntiEntropy.LeafKeys getLeaves(int index);
+    /**
+     * <code>repeated .LeafKeys leaves = 2;</code>
+     */
+    int getLeavesCount();
+    /**
+     * <code>repeated .LeafKeys leaves = 2;</code>
+     */
+    java.util.List<? extends AntiEntropy.LeafKeysOrBuilder> 
+        getLeavesOrBuilderList();
+    /**
+     * <code>repeated .LeafKeys leaves = 2;</code>
+     */
+    AntiEntropy.LeafKeysOrBuilder getLeavesOrBuilder(
+        int index);
+
+    /**
+     * <code>repeated bytes pull = 3;</code>
+     */
+    java.util.List<com.google.protobuf.ByteString> getPullList();
+    /**
+     * <code>repeated bytes pull = 3;</code>
+     */
+    int getPullCount();
+    /**
+     * <code>repeated bytes pull = 3;</code>
+     */
+    com.google.protobuf.ByteString getPull(int index);
+
+    /**
+     * <code>repeated .ReplicatedEntry entries = 4;</code>
+     */
+    java.util.List<Replication.ReplicatedEntry> 
+        getEntriesList();
+    /**
+     * <code>repeated .ReplicatedEntry entries = 4;</code>
+     */
+    Replication.ReplicatedEntry getEntries(int index);
+    /**
+     * <code>repeated .ReplicatedEntry entries = 4;</code>
+     */
+    int getEntriesCount();
+    /**
+     * <code>repeated .ReplicatedEntry entries = 4;</code>
+     */
+    java.util.List<? extends Replication.ReplicatedEntryOrBuilder> 
+        getEntriesOrBuilderList();
+    /**
+     * <code>repeated .ReplicatedEntry entries = 4;</code>
+     */
+    Replication.ReplicatedEntryOrBuilder getEntriesOrBuilder(
+        int index);
+  }
+  /**
+   * <pre>
+   * Carried by antiEntropy requests (command 0x26) and their replies. The owner of ring ranges sends
+   * the roots of its trees and the replica replies with the leaves of the trees that differ. The
+   * owner then sends the leaves that differ, the replica replies with its keys in them and their
+   * digests, and the owner ships the entries that differ as putDupes requests. Keys the replica
+   * holds but the owner does not are pulled: the owner names them and the replica replies with its
+   * entries for them.
+   * </pre>
+   *
+   * Protobuf type {@code MerkleExchange}
+   */
+  public  static final class MerkleExchange extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:MerkleExchange)
+      MerkleExchangeOrBuilder {
+    // Use MerkleExchange.newBuilder() to construct.
+    private MerkleExchange(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private MerkleExchange() {
+      ranges_ = java.util.Collections.emptyList();
+      leaves_ = java.util.Collections.emptyList();
+      pull_ = java.util.Collections.emptyList();
+      entries_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private MerkleExchange(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+                ranges_ = new java.util.ArrayList<AntiEntropy.RangeDigest>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              ranges_.add(
+                  input.readMessage(AntiEntropy.RangeDigest.PARSER, extensionRegistry));
+              break;
+            }
+            case 18: {
+              if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                leaves_ = new java.util.ArrayList<AntiEntropy.LeafKeys>();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              leaves_.add(
+                  input.readMessage(AntiEntropy.LeafKeys.PARSER, extensionRegistry));
+              break;
+            }
+            case 26: {
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                pull_ = new java.util.ArrayList<com.google.protobuf.ByteString>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              pull_.add(input.readBytes());
+              break;
+            }
+            case 34: {
+              if (!((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+                entries_ = new java.util.ArrayList<Replication.ReplicatedEntry>();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              entries_.add(
+                  input.readMessage(Replication.ReplicatedEntry.PARSER, extensionRegistry));
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+          ranges_ = java.util.Collections.unmodifiableList(ranges_);
+        }
+        if (((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+          leaves_ = java.util.Collections.unmodifiableList(leaves_);
+        }
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          pull_ = java.util.Collections.unmodifiableList(pull_);
+        }
+        if (((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+          entries_ = java.util.Collections.unmodifiableList(entries_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return AntiEntropy.internal_static_MerkleExchange_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return AntiEntropy.internal_static_MerkleExchange_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              AntiEntropy.MerkleExchange.class, AntiEntropy.MerkleExchange.Builder.class);
+    }
+
+    public static final int RANGES_FIELD_NUMBER = 1;
+    private java.util.List<AntiEntropy.RangeDigest> ranges_;
+    /**
+     * <code>repeated .RangeDigest ranges = 1;</code>
+     */
+    public java.util.List<AntiEntropy.RangeDigest> getRangesList() {
+      return ranges_;
+    }
+    /**
+     * <code>repeated .RangeDigest ranges = 1;</code>
+     */
+    public java.util.List<? extends AntiEntropy.RangeDigestOrBuilder> 
+        getRangesOrBuilderList() {
+      return ranges_;
+    }
+    /**
+     * <code>repeated .RangeDigest ranges = 1;</code>
+     */
+    public int getRangesCount() {
+      return ranges_.size();
+    }
+    /**
+     * <code>repeated .RangeDigest ranges = 1;</code>
+     */
+    public AntiEntropy.RangeDigest getRanges(int index) {
+      return ranges_.get(index);
+    }
+    /**
+     * <code>repeated .RangeDigest ranges = 1;</code>
+     */
+    public AntiEntropy.RangeDigestOrBuilder getRangesOrBuilder(
+        int index) {
+      return ranges_.get(index);
+    }
+
+    public static final int LEAVES_FIELD_NUMBER = 2;
+    private java.util.List<AntiEntropy.LeafKeys> leaves_;
+    /**
+     * <code>repeated .LeafKeys leaves = 2;</code>
+     */
+    public java.util.List<AntiEntropy.LeafKeys> getLeavesList() {
+      return leaves_;
+    }
+    /**
+     * <code>repeated .LeafKeys leaves = 2;</code>
+     */
+    public java.util.List<? extends AntiEntropy.LeafKeysOrBuilder> 
+        getLeavesOrBuilderList() {
+      return leaves_;
+    }
+    /**
+     * <code>repeated .LeafKeys leaves = 2;</code>
+     */
+    public int getLeavesCount() {
+      return leaves_.size();
+    }
+    /**
+     * <code>repeated .LeafKeys leaves = 2;</code>
+     */
+    public AntiEntropy.LeafKeys getLeaves(int index) {
+      return leaves_.get(index);
+    }
+    /**
+     * <code>repeated .LeafKeys leaves = 2;</code>
+     */
+    public AntiEntropy.LeafKeysOrBuilder getLeavesOrBuilder(
+        int index) {
+      return leaves_.get(index);
+    }
+
+    public static final int PULL_FIELD_NUMBER = 3;
+    private java.util.List<com.google.protobuf.ByteString> pull_;
+    /**
+     * <code>repeated bytes pull = 3;</code>
+     */
+    public java.util.List<com.google.protobuf.ByteString>
+        getPullList() {
+      return pull_;
+    }
+    /**
+     * <code>repeated bytes pull = 3;</code>
+     */
+    public int getPullCount() {
+      return pull_.size();
+    }
+    /**
+     * <code>repeated bytes pull = 3;</code>
+     */
+    public com.google.protobuf.ByteString getPull(int index) {
+      return pull_.get(index);
+    }
+
+    public static final int ENTRIES_FIELD_NUMBER = 4;
+    private java.util.List<Replication.ReplicatedEntry> entries_;
+    /**
+     * <code>repeated .ReplicatedEntry entries = 4;</code>
+     */
+    public java.util.List<Replication.ReplicatedEntry> getEntriesList() {
+      return entries_;
+    }
+    /**
+     * <code>repeated .ReplicatedEntry entries = 4;</code>
+     */
+    public java.util.List<? extends Replication.ReplicatedEntryOrBuilder> 
+        getEntriesOrBuilderList() {
+      return entries_;
+    }
+    /**
+     * <code>repeated .ReplicatedEntry entries = 4;</code>
+     */
+    public int getEntriesCount() {
+      return entries_.size();
+    }
+    /**
+     * <code>repeated .ReplicatedEntry entries = 4;</code>
+     */
+    public Replication.ReplicatedEntry getEntries(int index) {
+      return entries_.get(index);
+    }
+    /**
+     * <code>repeated .ReplicatedEntry entries = 4;</code>
+     */
+    public Replication.ReplicatedEntryOrBuilder getEntriesOrBuilder(
+        int index) {
+      return entries_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      for (int i = 0; i < getRangesCount(); i++) {
+        if (!getRanges(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      for (int i = 0; i < getLeavesCount(); i++) {
+        if (!getLeaves(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      for (int i = 0; i < getEntriesCount(); i++) {
+        if (!getEntries(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      for (int i = 0; i < ranges_.size(); i++) {
+        output.writeMessage(1, ranges_.get(i));
+      }
+      for (int i = 0; i < leaves_.size(); i++) {
+        output.writeMessage(2, leaves_.get(i));
+      }
+      for (int i = 0; i < pull_.size(); i++) {
+        output.writeBytes(3, pull_.get(i));
+      }
+      for (int i = 0; i < entries_.size(); i++) {
+        output.writeMessage(4, entries_.get(i));
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < ranges_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, ranges_.get(i));
+      }
+      for (int i = 0; i < leaves_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, leaves_.get(i));
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < pull_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(pull_.get(i));
+        }
+        size += dataSize;
+        size += 1 * getPullList().size();
+      }
+      for (int i = 0; i < entries_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(4, entries_.get(i));
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof AntiEntropy.MerkleExchange)) {
+        return super.equals(obj);
+      }
+      AntiEntropy.MerkleExchange other = (AntiEntropy.MerkleExchange) obj;
+
+      boolean result = true;
+      result = result && getRangesList()
+          .equals(other.getRangesList());
+      result = result && getLeavesList()
+          .equals(other.getLeavesList());
+      result = result && getPullList()
+          .equals(other.getPullList());
+      result = result && getEntriesList()
+          .equals(other.getEntriesList());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (getRangesCount() > 0) {
+        hash = (37 * hash) + RANGES_FIELD_NUMBER;
+        hash = (53 * hash) + getRangesList().hashCode();
+      }
+      if (getLeavesCount() > 0) {
+        hash = (37 * hash) + LEAVES_FIELD_NUMBER;
+        hash = (53 * hash) + getLeavesList().hashCode();
+      }
+      if (getPullCount() > 0) {
+        hash = (37 * hash) + PULL_FIELD_NUMBER;
+        hash = (53 * hash) + getPullList().hashCode();
+      }
+      if (getEntriesCount() > 0) {
+        hash = (37 * hash) + ENTRIES_FIELD_NUMBER;
+        hash = (53 * hash) + getEntriesList().hashCode();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static AntiEntropy.MerkleExchange parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static AntiEntropy.MerkleExchange parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static AntiEntropy.MerkleExchange parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static AntiEntropy.MerkleExchange parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static AntiEntropy.MerkleExchange parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static AntiEntropy.MerkleExchange parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static AntiEntropy.MerkleExchange parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static AntiEntropy.MerkleExchange parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static AntiEntropy.MerkleExchange parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static AntiEntropy.MerkleExchange parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(AntiEntropy.MerkleExchange prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * Carried by antiEntropy requests (command 0x26) and their replies. The owner of ring ranges sends
+     * the roots of its trees and the replica replies with the leaves of the trees that differ. The
+     * owner then sends the leaves that differ, the replica replies with its keys in them and their
+     * digests, and the owner ships the entries that differ as putDupes requests. Keys the replica
+     * holds but the owner does not are pulled: the owner names them and the replica replies with its
+     * entries for them.
+     * </pre>
+     *
+     * Protobuf type {@code MerkleExchange}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:MerkleExchange)
+        AntiEntropy.MerkleExchangeOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return AntiEntropy.internal_static_MerkleExchange_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return AntiEntropy.internal_static_MerkleExchange_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                AntiEntropy.MerkleExchange.class, AntiEntropy.MerkleExchange.Builder.class);
+      }
+
+      // Construct using AntiEntropy.MerkleExchange.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+          getRangesFieldBuilder();
+          getLeavesFieldBuilder();
+          getEntriesFieldBuilder();
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        if (rangesBuilder_ == null) {
+          ranges_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          rangesBuilder_.clear();
+        }
+        if (leavesBuilder_ == null) {
+          leaves_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+        } else {
+          leavesBuilder_.clear();
+        }
+        pull_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        if (entriesBuilder_ == null) {
+          entries_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000008);
+        } else {
+          entriesBuilder_.clear();
+        }
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return AntiEntropy.internal_static_MerkleExchange_descriptor;
+      }
+
+      public AntiEntropy.MerkleExchange getDefaultInstanceForType() {
+        return AntiEntropy.MerkleExchange.getDefaultInstance();
+      }
+
+      public AntiEntropy.MerkleExchange build() {
+        AntiEntropy.MerkleExchange result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public AntiEntropy.MerkleExchange buildPartial() {
+        AntiEntropy.MerkleExchange result = new AntiEntropy.MerkleExchange(this);
+        int from_bitField0_ = bitField0_;
+        if (rangesBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            ranges_ = java.util.Collections.unmodifiableList(ranges_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.ranges_ = ranges_;
+        } else {
+          result.ranges_ = rangesBuilder_.build();
+        }
+        if (leavesBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002)) {
+            leaves_ = java.util.Collections.unmodifiableList(leaves_);
+            bitField0_ = (bitField0_ & ~0x00000002);
+          }
+          result.leaves_ = leaves_;
+        } else {
+          result.leaves_ = leavesBuilder_.build();
+        }
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          pull_ = java.util.Collections.unmodifiableList(pull_);
+          bitField0_ = (bitField0_ & ~0x00000004);
+        }
+        result.pull_ = pull_;
+        if (entriesBuilder_ == null) {
+          if (((bitField0_ & 0x00000008) == 0x00000008)) {
+            entries_ = java.util.Collections.unmodifiableList(entries_);
+            bitField0_ = (bitField0_ & ~0x00000008);
+          }
+          result.entries_ = entries_;
+        } else {
+          result.entries_ = entriesBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof AntiEntropy.MerkleExchange) {
+          return mergeFrom((AntiEntropy.MerkleExchange)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(AntiEntropy.MerkleExchange other) {
+        if (other == AntiEntropy.MerkleExchange.getDefaultInstance()) return this;
+        if (rangesBuilder_ == null) {
+          if (!other.ranges_.isEmpty()) {
+            if (ranges_.isEmpty()) {
+              ranges_ = other.ranges_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureRangesIsMutable();
+              ranges_.addAll(other.ranges_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.ranges_.isEmpty()) {
+            if (rangesBuilder_.isEmpty()) {
+              rangesBuilder_.dispose();
+              rangesBuilder_ = null;
+              ranges_ = other.ranges_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              rangesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getRangesFieldBuilder() : null;
+            } else {
+              rangesBuilder_.addAllMessages(other.ranges_);
+            }
+          }
+        }
+        if (leavesBuilder_ == null) {
+          if (!other.leaves_.isEmpty()) {
+            if (leaves_.isEmpty()) {
+              leaves_ = other.leaves_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+            } else {
+              ensureLeavesIsMutable();
+              leaves_.addAll(other.leaves_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.leaves_.isEmpty()) {
+            if (leavesBuilder_.isEmpty()) {
+              leavesBuilder_.dispose();
+              leavesBuilder_ = null;
+              leaves_ = other.leaves_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+              leavesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getLeavesFieldBuilder() : null;
+            } else {
+              leavesBuilder_.addAllMessages(other.leaves_);
+            }
+          }
+        }
+        if (!other.pull_.isEmpty()) {
+          if (pull_.isEmpty()) {
+            pull_ = other.pull_;
+            bitField0_ = (bitField0_ & ~0x00000004);
+          } else {
+            ensurePullIsMutable();
+            pull_.addAll(other.pull_);
+          }
+          onChanged();
+        }
+        if (entriesBuilder_ == null) {
+          if (!other.entries_.isEmpty()) {
+            if (entries_.isEmpty()) {
+              entries_ = other.entries_;
+              bitField0_ = (bitField0_ & ~0x00000008);
+            } else {
+              ensureEntriesIsMutable();
+              entries_.addAll(other.entries_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.entries_.isEmpty()) {
+            if (entriesBuilder_.isEmpty()) {
+              entriesBuilder_.dispose();
+              entriesBuilder_ = null;
+              entries_ = other.entries_;
+              bitField0_ = (bitField0_ & ~0x00000008);
+              entriesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getEntriesFieldBuilder() : null;
+            } else {
+              entriesBuilder_.addAllMessages(other.entries_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        for (int i = 0; i < getRangesCount(); i++) {
+          if (!getRanges(i).isInitialized()) {
+            return false;
+          }
+        }
+        for (int i = 0; i < getLeavesCount(); i++) {
+          if (!getLeaves(i).isInitialized()) {
+            return false;
+          }
+        }
+        for (int i = 0; i < getEntriesCount(); i++) {
+          if (!getEntries(i).isInitialized()) {
+            return false;
+          }
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        AntiEntropy.MerkleExchange parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (AntiEntropy.MerkleExchange) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.util.List<AntiEntropy.RangeDigest> ranges_ =
+        java.util.Collections.emptyList();
+      private void ensureRangesIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          ranges_ = new java.util.ArrayList<AntiEntropy.RangeDigest>(ranges_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          AntiEntropy.RangeDigest, AntiEntropy.RangeDigest.Builder, AntiEntropy.RangeDigestOrBuilder> rangesBuilder_;
+
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public java.util.List<AntiEntropy.RangeDigest> getRangesList() {
+        if (rangesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(ranges_);
+        } else {
+          return rangesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public int getRangesCount() {
+        if (rangesBuilder_ == null) {
+          return ranges_.size();
+        } else {
+          return rangesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public AntiEntropy.RangeDigest getRanges(int index) {
+        if (rangesBuilder_ == null) {
+          return ranges_.get(index);
+        } else {
+          return rangesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public Builder setRanges(
+          int index, AntiEntropy.RangeDigest value) {
+        if (rangesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRangesIsMutable();
+          ranges_.set(index, value);
+          onChanged();
+        } else {
+          rangesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public Builder setRanges(
+          int index, AntiEntropy.RangeDigest.Builder builderForValue) {
+        if (rangesBuilder_ == null) {
+          ensureRangesIsMutable();
+          ranges_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          rangesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public Builder addRanges(AntiEntropy.RangeDigest value) {
+        if (rangesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRangesIsMutable();
+          ranges_.add(value);
+          onChanged();
+        } else {
+          rangesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public Builder addRanges(
+          int index, AntiEntropy.RangeDigest value) {
+        if (rangesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRangesIsMutable();
+          ranges_.add(index, value);
+          onChanged();
+        } else {
+          rangesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public Builder addRanges(
+          AntiEntropy.RangeDigest.Builder builderForValue) {
+        if (rangesBuilder_ == null) {
+          ensureRangesIsMutable();
+          ranges_.add(builderForValue.build());
+          onChanged();
+        } else {
+          rangesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public Builder addRanges(
+          int index, AntiEntropy.RangeDigest.Builder builderForValue) {
+        if (rangesBuilder_ == null) {
+          ensureRangesIsMutable();
+          ranges_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          rangesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public Builder addAllRanges(
+          java.lang.Iterable<? extends AntiEntropy.RangeDigest> values) {
+        if (rangesBuilder_ == null) {
+          ensureRangesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, ranges_);
+          onChanged();
+        } else {
+          rangesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public Builder clearRanges() {
+        if (rangesBuilder_ == null) {
+          ranges_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          rangesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public Builder removeRanges(int index) {
+        if (rangesBuilder_ == null) {
+          ensureRangesIsMutable();
+          ranges_.remove(index);
+          onChanged();
+        } else {
+          rangesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public AntiEntropy.RangeDigest.Builder getRangesBuilder(
+          int index) {
+        return getRangesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public AntiEntropy.RangeDigestOrBuilder getRangesOrBuilder(
+          int index) {
+        if (rangesBuilder_ == null) {
+          return ranges_.get(index);  } else {
+          return rangesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public java.util.List<? extends AntiEntropy.RangeDigestOrBuilder> 
+           getRangesOrBuilderList() {
+        if (rangesBuilder_ != null) {
+          return rangesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(ranges_);
+        }
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public AntiEntropy.RangeDigest.Builder addRangesBuilder() {
+        return getRangesFieldBuilder().addBuilder(
+            AntiEntropy.RangeDigest.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public AntiEntropy.RangeDigest.Builder addRangesBuilder(
+          int index) {
+        return getRangesFieldBuilder().addBuilder(
+            index, AntiEntropy.RangeDigest.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .RangeDigest ranges = 1;</code>
+       */
+      public java.util.List<AntiEntropy.RangeDigest.Builder> 
+           getRangesBuilderList() {
+        return getRangesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          AntiEntropy.RangeDigest, AntiEntropy.RangeDigest.Builder, AntiEntropy.RangeDigestOrBuilder> 
+          getRangesFieldBuilder() {
+        if (rangesBuilder_ == null) {
+          rangesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              AntiEntropy.RangeDigest, AntiEntropy.RangeDigest.Builder, AntiEntropy.RangeDigestOrBuilder>(
+                  ranges_,
+                  ((bitField0_ & 0x00000001) == 0x00000001),
+                  getParentForChildren(),
+                  isClean());
+          ranges_ = null;
+        }
+        return rangesBuilder_;
+      }
+
+      private java.util.List<AntiEntropy.LeafKeys> leaves_ =
+        java.util.Collections.emptyList();
+      private void ensureLeavesIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          leaves_ = new java.util.ArrayList<AntiEntropy.LeafKeys>(leaves_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          AntiEntropy.LeafKeys, AntiEntropy.LeafKeys.Builder, AntiEntropy.LeafKeysOrBuilder> leavesBuilder_;
+
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public java.util.List<AntiEntropy.LeafKeys> getLeavesList() {
+        if (leavesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(leaves_);
+        } else {
+          return leavesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public int getLeavesCount() {
+        if (leavesBuilder_ == null) {
+          return leaves_.size();
+        } else {
+          return leavesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public AntiEntropy.LeafKeys getLeaves(int index) {
+        if (leavesBuilder_ == null) {
+          return leaves_.get(index);
+        } else {
+          return leavesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public Builder setLeaves(
+          int index, AntiEntropy.LeafKeys value) {
+        if (leavesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureLeavesIsMutable();
+          leaves_.set(index, value);
+          onChanged();
+        } else {
+          leavesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public Builder setLeaves(
+          int index, AntiEntropy.LeafKeys.Builder builderForValue) {
+        if (leavesBuilder_ == null) {
+          ensureLeavesIsMutable();
+          leaves_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          leavesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public Builder addLeaves(AntiEntropy.LeafKeys value) {
+        if (leavesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureLeavesIsMutable();
+          leaves_.add(value);
+          onChanged();
+        } else {
+          leavesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public Builder addLeaves(
+          int index, AntiEntropy.LeafKeys value) {
+        if (leavesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureLeavesIsMutable();
+          leaves_.add(index, value);
+          onChanged();
+        } else {
+          leavesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public Builder addLeaves(
+          AntiEntropy.LeafKeys.Builder builderForValue) {
+        if (leavesBuilder_ == null) {
+          ensureLeavesIsMutable();
+          leaves_.add(builderForValue.build());
+          onChanged();
+        } else {
+          leavesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public Builder addLeaves(
+          int index, AntiEntropy.LeafKeys.Builder builderForValue) {
+        if (leavesBuilder_ == null) {
+          ensureLeavesIsMutable();
+          leaves_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          leavesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public Builder addAllLeaves(
+          java.lang.Iterable<? extends AntiEntropy.LeafKeys> values) {
+        if (leavesBuilder_ == null) {
+          ensureLeavesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, leaves_);
+          onChanged();
+        } else {
+          leavesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public Builder clearLeaves() {
+        if (leavesBuilder_ == null) {
+          leaves_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+          onChanged();
+        } else {
+          leavesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public Builder removeLeaves(int index) {
+        if (leavesBuilder_ == null) {
+          ensureLeavesIsMutable();
+          leaves_.remove(index);
+          onChanged();
+        } else {
+          leavesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public AntiEntropy.LeafKeys.Builder getLeavesBuilder(
+          int index) {
+        return getLeavesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public AntiEntropy.LeafKeysOrBuilder getLeavesOrBuilder(
+          int index) {
+        if (leavesBuilder_ == null) {
+          return leaves_.get(index);  } else {
+          return leavesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public java.util.List<? extends AntiEntropy.LeafKeysOrBuilder> 
+           getLeavesOrBuilderList() {
+        if (leavesBuilder_ != null) {
+          return leavesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(leaves_);
+        }
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public AntiEntropy.LeafKeys.Builder addLeavesBuilder() {
+        return getLeavesFieldBuilder().addBuilder(
+            AntiEntropy.LeafKeys.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public AntiEntropy.LeafKeys.Builder addLeavesBuilder(
+          int index) {
+        return getLeavesFieldBuilder().addBuilder(
+            index, AntiEntropy.LeafKeys.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .LeafKeys leaves = 2;</code>
+       */
+      public java.util.List<AntiEntropy.LeafKeys.Builder> 
+           getLeavesBuilderList() {
+        return getLeavesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          AntiEntropy.LeafKeys, AntiEntropy.LeafKeys.Builder, AntiEntropy.LeafKeysOrBuilder> 
+          getLeavesFieldBuilder() {
+        if (leavesBuilder_ == null) {
+          leavesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              AntiEntropy.LeafKeys, AntiEntropy.LeafKeys.Builder, AntiEntropy.LeafKeysOrBuilder>(
+                  leaves_,
+                  ((bitField0_ & 0x00000002) == 0x00000002),
+                  getParentForChildren(),
+                  isClean());
+          leaves_ = null;
+        }
+        return leavesBuilder_;
+      }
+
+      private java.util.List<com.google.protobuf.ByteString> pull_ = java.util.Collections.emptyList();
+      private void ensurePullIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          pull_ = new java.util.ArrayList<com.google.protobuf.ByteString>(pull_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      /**
+       * <code>repeated bytes pull = 3;</code>
+       */
+      public java.util.List<com.google.protobuf.ByteString>
+          getPullList() {
+        return java.util.Collections.unmodifiableList(pull_);
+      }
+      /**
+       * <code>repeated bytes pull = 3;</code>
+       */
+      public int getPullCount() {
+        return pull_.size();
+      }
+      /**
+       * <code>repeated bytes pull = 3;</code>
+       */
+      public com.google.protobuf.ByteString getPull(int index) {
+        return pull_.get(index);
+      }
+      /**
+       * <code>repeated bytes pull = 3;</code>
+       */
+      public Builder setPull(
+          int index, com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensurePullIsMutable();
+        pull_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes pull = 3;</code>
+       */
+      public Builder addPull(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensurePullIsMutable();
+        pull_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes pull = 3;</code>
+       */
+      public Builder addAllPull(
+          java.lang.Iterable<? extends com.google.protobuf.ByteString> values) {
+        ensurePullIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, pull_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes pull = 3;</code>
+       */
+      public Builder clearPull() {
+        pull_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<Replication.ReplicatedEntry> entries_ =
+        java.util.Collections.emptyList();
+      private void ensureEntriesIsMutable() {
+        if (!((bitField0_ & 0x00000008) == 0x00000008)) {
+          entries_ = new java.util.ArrayList<Replication.ReplicatedEntry>(entries_);
+          bitField0_ |= 0x00000008;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          Replication.ReplicatedEntry, Replication.ReplicatedEntry.Builder, Replication.ReplicatedEntryOrBuilder> entriesBuilder_;
+
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public java.util.List<Replication.ReplicatedEntry> getEntriesList() {
+        if (entriesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(entries_);
+        } else {
+          return entriesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public int getEntriesCount() {
+        if (entriesBuilder_ == null) {
+          return entries_.size();
+        } else {
+          return entriesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Replication.ReplicatedEntry getEntries(int index) {
+        if (entriesBuilder_ == null) {
+          return entries_.get(index);
+        } else {
+          return entriesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Builder setEntries(
+          int index, Replication.ReplicatedEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEntriesIsMutable();
+          entries_.set(index, value);
+          onChanged();
+        } else {
+          entriesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Builder setEntries(
+          int index, Replication.ReplicatedEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Builder addEntries(Replication.ReplicatedEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEntriesIsMutable();
+          entries_.add(value);
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Builder addEntries(
+          int index, Replication.ReplicatedEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEntriesIsMutable();
+          entries_.add(index, value);
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Builder addEntries(
+          Replication.ReplicatedEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.add(builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Builder addEntries(
+          int index, Replication.ReplicatedEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Builder addAllEntries(
+          java.lang.Iterable<? extends Replication.ReplicatedEntry> values) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, entries_);
+          onChanged();
+        } else {
+          entriesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Builder clearEntries() {
+        if (entriesBuilder_ == null) {
+          entries_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000008);
+          onChanged();
+        } else {
+          entriesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Builder removeEntries(int index) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.remove(index);
+          onChanged();
+        } else {
+          entriesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Replication.ReplicatedEntry.Builder getEntriesBuilder(
+          int index) {
+        return getEntriesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Replication.ReplicatedEntryOrBuilder getEntriesOrBuilder(
+          int index) {
+        if (entriesBuilder_ == null) {
+          return entries_.get(index);  } else {
+          return entriesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public java.util.List<? extends Replication.ReplicatedEntryOrBuilder> 
+           getEntriesOrBuilderList() {
+        if (entriesBuilder_ != null) {
+          return entriesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(entries_);
+        }
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Replication.ReplicatedEntry.Builder addEntriesBuilder() {
+        return getEntriesFieldBuilder().addBuilder(
+            Replication.ReplicatedEntry.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public Replication.ReplicatedEntry.Builder addEntriesBuilder(
+          int index) {
+        return getEntriesFieldBuilder().addBuilder(
+            index, Replication.ReplicatedEntry.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .ReplicatedEntry entries = 4;</code>
+       */
+      public java.util.List<Replication.ReplicatedEntry.Builder> 
+           getEntriesBuilderList() {
+        return getEntriesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          Replication.ReplicatedEntry, Replication.ReplicatedEntry.Builder, Replication.ReplicatedEntryOrBuilder> 
+          getEntriesFieldBuilder() {
+        if (entriesBuilder_ == null) {
+          entriesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              Replication.ReplicatedEntry, Replication.ReplicatedEntry.Builder, Replication.ReplicatedEntryOrBuilder>(
+                  entries_,
+                  ((bitField0_ & 0x00000008) == 0x00000008),
+                  getParentForChildren(),
+                  isClean());
+          entries_ = null;
+        }
+        return entriesBuilder_;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:MerkleExchange)
+    }
+
+    // @@protoc_insertion_point(class_scope:MerkleExchange)
+    private static final AntiEntropy.MerkleExchange DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new AntiEntropy.MerkleExchange();
+    }
+
+    public static AntiEntropy.MerkleExchange getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<MerkleExchange>
+        PARSER = new com.google.protobuf.AbstractParser<MerkleExchange>() {
+      public MerkleExchange parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new MerkleExchange(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<MerkleExchange> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<MerkleExchange> getParserForType() {
+      return PARSER;
+    }
+
+    public AntiEntropy.MerkleExchange getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface RangeDigestOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:RangeDigest)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required fixed64 token = 1;</code>
+     */
+    boolean hasToken();
+    /**
+     * <code>required fixed64 token = 1;</code>
+     */
+    long getToken();
+
+    /**
+     * <code>optional fixed64 root = 2;</code>
+     */
+    boolean hasRoot();
+    /**
+     * <code>optional fixed64 root = 2;</code>
+     */
+    long getRoot();
+
+    /**
+     * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+     */
+    java.util.List<java.lang.Long> getLeavesList();
+    /**
+     * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+     */
+    int getLeavesCount();
+    /**
+     * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+     */
+    long getLeaves(int index);
+  }
+  /**
+   * <pre>
+   * A range is named by the ring token it ends at
+   * </pre>
+   *
+   * Protobuf type {@code RangeDigest}
+   */
+  public  static final class RangeDigest extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:RangeDigest)
+      RangeDigestOrBuilder {
+    // Use RangeDigest.newBuilder() to construct.
+    private RangeDigest(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private RangeDigest() {
+      token_ = 0L;
+      root_ = 0L;
+      leaves_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private RangeDigest(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 9: {
+              bitField0_ |= 0x00000001;
+              token_ = input.readFixed64();
+              break;
+            }
+            case 17: {
+              bitField0_ |= 0x00000002;
+              root_ = input.readFixed64();
+              break;
+            }
+            case 25: {
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                leaves_ = new java.util.ArrayList<java.lang.Long>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              leaves_.add(input.readFixed64());
+              break;
+            }
+            case 26: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004) && input.getBytesUntilLimit() > 0) {
+                leaves_ = new java.util.ArrayList<java.lang.Long>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                leaves_.add(input.readFixed64());
+              }
+              input.popLimit(limit);
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          leaves_ = java.util.Collections.unmodifiableList(leaves_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return AntiEntropy.internal_static_RangeDigest_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return AntiEntropy.internal_static_RangeDigest_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              AntiEntropy.RangeDigest.class, AntiEntropy.RangeDigest.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int TOKEN_FIELD_NUMBER = 1;
+    private long token_;
+    /**
+     * <code>required fixed64 token = 1;</code>
+     */
+    public boolean hasToken() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required fixed64 token = 1;</code>
+     */
+    public long getToken() {
+      return token_;
+    }
+
+    public static final int ROOT_FIELD_NUMBER = 2;
+    private long root_;
+    /**
+     * <code>optional fixed64 root = 2;</code>
+     */
+    public boolean hasRoot() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional fixed64 root = 2;</code>
+     */
+    public long getRoot() {
+      return root_;
+    }
+
+    public static final int LEAVES_FIELD_NUMBER = 3;
+    private java.util.List<java.lang.Long> leaves_;
+    /**
+     * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+     */
+    public java.util.List<java.lang.Long>
+        getLeavesList() {
+      return leaves_;
+    }
+    /**
+     * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+     */
+    public int getLeavesCount() {
+      return leaves_.size();
+    }
+    /**
+     * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+     */
+    public long getLeaves(int index) {
+      return leaves_.get(index);
+    }
+    private int leavesMemoizedSerializedSize = -1;
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasToken()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeFixed64(1, token_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeFixed64(2, root_);
+      }
+      if (getLeavesList().size() > 0) {
+        output.writeUInt32NoTag(26);
+        output.writeUInt32NoTag(leavesMemoizedSerializedSize);
+      }
+      for (int i = 0; i < leaves_.size(); i++) {
+        output.writeFixed64NoTag(leaves_.get(i));
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeFixed64Size(1, token_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeFixed64Size(2, root_);
+      }
+      {
+        int dataSize = 0;
+        dataSize = 8 * getLeavesList().size();
+        size += dataSize;
+        if (!getLeavesList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        leavesMemoizedSerializedSize = dataSize;
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof AntiEntropy.RangeDigest)) {
+        return super.equals(obj);
+      }
+      AntiEntropy.RangeDigest other = (AntiEntropy.RangeDigest) obj;
+
+      boolean result = true;
+      result = result && (hasToken() == other.hasToken());
+      if (hasToken()) {
+        result = result && (getToken()
+            == other.getToken());
+      }
+      result = result && (hasRoot() == other.hasRoot());
+      if (hasRoot()) {
+        result = result && (getRoot()
+            == other.getRoot());
+      }
+      result = result && getLeavesList()
+          .equals(other.getLeavesList());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (hasToken()) {
+        hash = (37 * hash) + TOKEN_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getToken());
+      }
+      if (hasRoot()) {
+        hash = (37 * hash) + ROOT_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getRoot());
+      }
+      if (getLeavesCount() > 0) {
+        hash = (37 * hash) + LEAVES_FIELD_NUMBER;
+        hash = (53 * hash) + getLeavesList().hashCode();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static AntiEntropy.RangeDigest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static AntiEntropy.RangeDigest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static AntiEntropy.RangeDigest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static AntiEntropy.RangeDigest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static AntiEntropy.RangeDigest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static AntiEntropy.RangeDigest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static AntiEntropy.RangeDigest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static AntiEntropy.RangeDigest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static AntiEntropy.RangeDigest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static AntiEntropy.RangeDigest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(AntiEntropy.RangeDigest prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * A range is named by the ring token it ends at
+     * </pre>
+     *
+     * Protobuf type {@code RangeDigest}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:RangeDigest)
+        AntiEntropy.RangeDigestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return AntiEntropy.internal_static_RangeDigest_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return AntiEntropy.internal_static_RangeDigest_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                AntiEntropy.RangeDigest.class, AntiEntropy.RangeDigest.Builder.class);
+      }
+
+      // Construct using AntiEntropy.RangeDigest.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        token_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        root_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        leaves_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return AntiEntropy.internal_static_RangeDigest_descriptor;
+      }
+
+      public AntiEntropy.RangeDigest getDefaultInstanceForType() {
+        return AntiEntropy.RangeDigest.getDefaultInstance();
+      }
+
+      public AntiEntropy.RangeDigest build() {
+        AntiEntropy.RangeDigest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public AntiEntropy.RangeDigest buildPartial() {
+        AntiEntropy.RangeDigest result = new AntiEntropy.RangeDigest(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.token_ = token_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.root_ = root_;
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          leaves_ = java.util.Collections.unmodifiableList(leaves_);
+          bitField0_ = (bitField0_ & ~0x00000004);
+        }
+        result.leaves_ = leaves_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof AntiEntropy.RangeDigest) {
+          return mergeFrom((AntiEntropy.RangeDigest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(AntiEntropy.RangeDigest other) {
+        if (other == AntiEntropy.RangeDigest.getDefaultInstance()) return this;
+        if (other.hasToken()) {
+          setToken(other.getToken());
+        }
+        if (other.hasRoot()) {
+          setRoot(other.getRoot());
+        }
+        if (!other.leaves_.isEmpty()) {
+          if (leaves_.isEmpty()) {
+            leaves_ = other.leaves_;
+            bitField0_ = (bitField0_ & ~0x00000004);
+          } else {
+            ensureLeavesIsMutable();
+            leaves_.addAll(other.leaves_);
+          }
+          onChanged();
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasToken()) {
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        AntiEntropy.RangeDigest parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (AntiEntropy.RangeDigest) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private long token_ ;
+      /**
+       * <code>required fixed64 token = 1;</code>
+       */
+      public boolean hasToken() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required fixed64 token = 1;</code>
+       */
+      public long getToken() {
+        return token_;
+      }
+      /**
+       * <code>required fixed64 token = 1;</code>
+       */
+      public Builder setToken(long value) {
+        bitField0_ |= 0x00000001;
+        token_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required fixed64 token = 1;</code>
+       */
+      public Builder clearToken() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        token_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long root_ ;
+      /**
+       * <code>optional fixed64 root = 2;</code>
+       */
+      public boolean hasRoot() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional fixed64 root = 2;</code>
+       */
+      public long getRoot() {
+        return root_;
+      }
+      /**
+       * <code>optional fixed64 root = 2;</code>
+       */
+      public Builder setRoot(long value) {
+        bitField0_ |= 0x00000002;
+        root_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional fixed64 root = 2;</code>
+       */
+      public Builder clearRoot() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        root_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<java.lang.Long> leaves_ = java.util.Collections.emptyList();
+      private void ensureLeavesIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          leaves_ = new java.util.ArrayList<java.lang.Long>(leaves_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      /**
+       * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+       */
+      public java.util.List<java.lang.Long>
+          getLeavesList() {
+        return java.util.Collections.unmodifiableList(leaves_);
+      }
+      /**
+       * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+       */
+      public int getLeavesCount() {
+        return leaves_.size();
+      }
+      /**
+       * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+       */
+      public long getLeaves(int index) {
+        return leaves_.get(index);
+      }
+      /**
+       * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+       */
+      public Builder setLeaves(
+          int index, long value) {
+        ensureLeavesIsMutable();
+        leaves_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+       */
+      public Builder addLeaves(long value) {
+        ensureLeavesIsMutable();
+        leaves_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+       */
+      public Builder addAllLeaves(
+          java.lang.Iterable<? extends java.lang.Long> values) {
+        ensureLeavesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, leaves_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated fixed64 leaves = 3 [packed = true];</code>
+       */
+      public Builder clearLeaves() {
+        leaves_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:RangeDigest)
+    }
+
+    // @@protoc_insertion_point(class_scope:RangeDigest)
+    private static final AntiEntropy.RangeDigest DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new AntiEntropy.RangeDigest();
+    }
+
+    public static AntiEntropy.RangeDigest getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<RangeDigest>
+        PARSER = new com.google.protobuf.AbstractParser<RangeDigest>() {
+      public RangeDigest parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new RangeDigest(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<RangeDigest> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<RangeDigest> getParserForType() {
+      return PARSER;
+    }
+
+    public AntiEntropy.RangeDigest getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface LeafKeysOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:LeafKeys)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required fixed64 token = 1;</code>
+     */
+    boolean hasToken();
+    /**
+     * <code>required fixed64 token = 1;</code>
+     */
+    long getToken();
+
+    /**
+     * <code>required uint32 leaf = 2;</code>
+     */
+    boolean hasLeaf();
+    /**
+     * <code>required uint32 leaf = 2;</code>
+     */
+    int getLeaf();
+
+    /**
+     * <code>repeated bytes keys = 3;</code>
+     */
+    java.util.List<com.google.protobuf.ByteString> getKeysList();
+    /**
+     * <code>repeated bytes keys = 3;</code>
+     */
+    int getKeysCount();
+    /**
+     * <code>repeated bytes keys = 3;</code>
+     */
+    com.google.protobuf.ByteString getKeys(int index);
+
+    /**
+     * <code>repeated fixed64 digests = 4 [packed = true];</code>
+     */
+    java.util.List<java.lang.Long> getDigestsList();
+    /**
+     * <code>repeated fixed64 digests = 4 [packed = true];</code>
+     */
+    int getDigestsCount();
+    /**
+     * <code>repeated fixed64 digests = 4 [packed = true];</code>
+     */
+    long getDigests(int index);
+  }
+  /**
+   * Protobuf type {@code LeafKeys}
+   */
+  public  static final class LeafKeys extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:LeafKeys)
+      LeafKeysOrBuilder {
+    // Use LeafKeys.newBuilder() to construct.
+    private LeafKeys(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private LeafKeys() {
+      token_ = 0L;
+      leaf_ = 0;
+      keys_ = java.util.Collections.emptyList();
+      digests_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private LeafKeys(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 9: {
+              bitField0_ |= 0x00000001;
+              token_ = input.readFixed64();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              leaf_ = input.readUInt32();
+              break;
+            }
+            case 26: {
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                keys_ = new java.util.ArrayList<com.google.protobuf.ByteString>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              keys_.add(input.readBytes());
+              break;
+            }
+            case 33: {
+              if (!((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+                digests_ = new java.util.ArrayList<java.lang.Long>();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              digests_.add(input.readFixed64());
+              break;
+            }
+            case 34: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000008) == 0x00000008) && input.getBytesUntilLimit() > 0) {
+                digests_ = new java.util.ArrayList<java.lang.Long>();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                digests_.add(input.readFixed64());
+              }
+              input.popLimit(limit);
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          keys_ = java.util.Collections.unmodifiableList(keys_);
+        }
+        if (((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+          digests_ = java.util.Collections.unmodifiableList(digests_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return AntiEntropy.internal_static_LeafKeys_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return AntiEntropy.internal_static_LeafKeys_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              AntiEntropy.LeafKeys.class, AntiEntropy.LeafKeys.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int TOKEN_FIELD_NUMBER = 1;
+    private long token_;
+    /**
+     * <code>required fixed64 token = 1;</code>
+     */
+    public boolean hasToken() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required fixed64 token = 1;</code>
+     */
+    public long getToken() {
+      return token_;
+    }
+
+    public static final int LEAF_FIELD_NUMBER = 2;
+    private int leaf_;
+    /**
+     * <code>required uint32 leaf = 2;</code>
+     */
+    public boolean hasLeaf() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>required uint32 leaf = 2;</code>
+     */
+    public int getLeaf() {
+      return leaf_;
+    }
+
+    public static final int KEYS_FIELD_NUMBER = 3;
+    private java.util.List<com.google.protobuf.ByteString> keys_;
+    /**
+     * <code>repeated bytes keys = 3;</code>
+     */
+    public java.util.List<com.google.protobuf.ByteString>
+        getKeysList() {
+      return keys_;
+    }
+    /**
+     * <code>repeated bytes keys = 3;</code>
+     */
+    public int getKeysCount() {
+      return keys_.size();
+    }
+    /**
+     * <code>repeated bytes keys = 3;</code>
+     */
+    public com.google.protobuf.ByteString getKeys(int index) {
+      return keys_.get(index);
+    }
+
+    public static final int DIGESTS_FIELD_NUMBER = 4;
+    private java.util.List<java.lang.Long> digests_;
+    /**
+     * <code>repeated fixed64 digests = 4 [packed = true];</code>
+     */
+    public java.util.List<java.lang.Long>
+        getDigestsList() {
+      return digests_;
+    }
+    /**
+     * <code>repeated fixed64 digests = 4 [packed = true];</code>
+     */
+    public int getDigestsCount() {
+      return digests_.size();
+    }
+    /**
+     * <code>repeated fixed64 digests = 4 [packed = true];</code>
+     */
+    public long getDigests(int index) {
+      return digests_.get(index);
+    }
+    private int digestsMemoizedSerializedSize = -1;
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasToken()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasLeaf()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeFixed64(1, token_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeUInt32(2, leaf_);
+      }
+      for (int i = 0; i < keys_.size(); i++) {
+        output.writeBytes(3, keys_.get(i));
+      }
+      if (getDigestsList().size() > 0) {
+        output.writeUInt32NoTag(34);
+        output.writeUInt32NoTag(digestsMemoizedSerializedSize);
+      }
+      for (int i = 0; i < digests_.size(); i++) {
+        output.writeFixed64NoTag(digests_.get(i));
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeFixed64Size(1, token_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(2, leaf_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < keys_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(keys_.get(i));
+        }
+        size += dataSize;
+        size += 1 * getKeysList().size();
+      }
+      {
+        int dataSize = 0;
+        dataSize = 8 * getDigestsList().size();
+        size += dataSize;
+        if (!getDigestsList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        digestsMemoizedSerializedSize = dataSize;
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof AntiEntropy.LeafKeys)) {
+        return super.equals(obj);
+      }
+      AntiEntropy.LeafKeys other = (AntiEntropy.LeafKeys) obj;
+
+      boolean result = true;
+      result = result && (hasToken() == other.hasToken());
+      if (hasToken()) {
+        result = result && (getToken()
+            == other.getToken());
+      }
+      result = result && (hasLeaf() == other.hasLeaf());
+      if (hasLeaf()) {
+        result = result && (getLeaf()
+            == other.getLeaf());
+      }
+      result = result && getKeysList()
+          .equals(other.getKeysList());
+      result = result && getDigestsList()
+          .equals(other.getDigestsList());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (hasToken()) {
+        hash = (37 * hash) + TOKEN_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getToken());
+      }
+      if (hasLeaf()) {
+        hash = (37 * hash) + LEAF_FIELD_NUMBER;
+        hash = (53 * hash) + getLeaf();
+      }
+      if (getKeysCount() > 0) {
+        hash = (37 * hash) + KEYS_FIELD_NUMBER;
+        hash = (53 * hash) + getKeysList().hashCode();
+      }
+      if (getDigestsCount() > 0) {
+        hash = (37 * hash) + DIGESTS_FIELD_NUMBER;
+        hash = (53 * hash) + getDigestsList().hashCode();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static AntiEntropy.LeafKeys parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static AntiEntropy.LeafKeys parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static AntiEntropy.LeafKeys parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static AntiEntropy.LeafKeys parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static AntiEntropy.LeafKeys parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static AntiEntropy.LeafKeys parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static AntiEntropy.LeafKeys parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static AntiEntropy.LeafKeys parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static AntiEntropy.LeafKeys parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static AntiEntropy.LeafKeys parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(AntiEntropy.LeafKeys prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code LeafKeys}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:LeafKeys)
+        AntiEntropy.LeafKeysOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return AntiEntropy.internal_static_LeafKeys_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return AntiEntropy.internal_static_LeafKeys_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                AntiEntropy.LeafKeys.class, AntiEntropy.LeafKeys.Builder.class);
+      }
+
+      // Construct using AntiEntropy.LeafKeys.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        token_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        leaf_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        keys_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        digests_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return AntiEntropy.internal_static_LeafKeys_descriptor;
+      }
+
+      public AntiEntropy.LeafKeys getDefaultInstanceForType() {
+        return AntiEntropy.LeafKeys.getDefaultInstance();
+      }
+
+      public AntiEntropy.LeafKeys build() {
+        AntiEntropy.LeafKeys result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public AntiEntropy.LeafKeys buildPartial() {
+        AntiEntropy.LeafKeys result = new AntiEntropy.LeafKeys(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.token_ = token_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.leaf_ = leaf_;
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          keys_ = java.util.Collections.unmodifiableList(keys_);
+          bitField0_ = (bitField0_ & ~0x00000004);
+        }
+        result.keys_ = keys_;
+        if (((bitField0_ & 0x00000008) == 0x00000008)) {
+          digests_ = java.util.Collections.unmodifiableList(digests_);
+          bitField0_ = (bitField0_ & ~0x00000008);
+        }
+        result.digests_ = digests_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof AntiEntropy.LeafKeys) {
+          return mergeFrom((AntiEntropy.LeafKeys)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(AntiEntropy.LeafKeys other) {
+        if (other == AntiEntropy.LeafKeys.getDefaultInstance()) return this;
+        if (other.hasToken()) {
+          setToken(other.getToken());
+        }
+        if (other.hasLeaf()) {
+          setLeaf(other.getLeaf());
+        }
+        if (!other.keys_.isEmpty()) {
+          if (keys_.isEmpty()) {
+            keys_ = other.keys_;
+            bitField0_ = (bitField0_ & ~0x00000004);
+          } else {
+            ensureKeysIsMutable();
+            keys_.addAll(other.keys_);
+          }
+          onChanged();
+        }
+        if (!other.digests_.isEmpty()) {
+          if (digests_.isEmpty()) {
+            digests_ = other.digests_;
+            bitField0_ = (bitField0_ & ~0x00000008);
+          } else {
+            ensureDigestsIsMutable();
+            digests_.addAll(other.digests_);
+          }
+          onChanged();
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasToken()) {
+          return false;
+        }
+        if (!hasLeaf()) {
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        AntiEntropy.LeafKeys parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (AntiEntropy.LeafKeys) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private long token_ ;
+      /**
+       * <code>required fixed64 token = 1;</code>
+       */
+      public boolean hasToken() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required fixed64 token = 1;</code>
+       */
+      public long getToken() {
+        return token_;
+      }
+      /**
+       * <code>required fixed64 token = 1;</code>
+       */
+      public Builder setToken(long value) {
+        bitField0_ |= 0x00000001;
+        token_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required fixed64 token = 1;</code>
+       */
+      public Builder clearToken() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        token_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private int leaf_ ;
+      /**
+       * <code>required uint32 leaf = 2;</code>
+       */
+      public boolean hasLeaf() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>required uint32 leaf = 2;</code>
+       */
+      public int getLeaf() {
+        return leaf_;
+      }
+      /**
+       * <code>required uint32 leaf = 2;</code>
+       */
+      public Builder setLeaf(int value) {
+        bitField0_ |= 0x00000002;
+        leaf_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required uint32 leaf = 2;</code>
+       */
+      public Builder clearLeaf() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        leaf_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<com.google.protobuf.ByteString> keys_ = java.util.Collections.emptyList();
+      private void ensureKeysIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          keys_ = new java.util.ArrayList<com.google.protobuf.ByteString>(keys_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      /**
+       * <code>repeated bytes keys = 3;</code>
+       */
+      public java.util.List<com.google.protobuf.ByteString>
+          getKeysList() {
+        return java.util.Collections.unmodifiableList(keys_);
+      }
+      /**
+       * <code>repeated bytes keys = 3;</code>
+       */
+      public int getKeysCount() {
+        return keys_.size();
+      }
+      /**
+       * <code>repeated bytes keys = 3;</code>
+       */
+      public com.google.protobuf.ByteString getKeys(int index) {
+        return keys_.get(index);
+      }
+      /**
+       * <code>repeated bytes keys = 3;</code>
+       */
+      public Builder setKeys(
+          int index, com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureKeysIsMutable();
+        keys_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes keys = 3;</code>
+       */
+      public Builder addKeys(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureKeysIsMutable();
+        keys_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes keys = 3;</code>
+       */
+      public Builder addAllKeys(
+          java.lang.Iterable<? extends com.google.protobuf.ByteString> values) {
+        ensureKeysIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, keys_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes keys = 3;</code>
+       */
+      public Builder clearKeys() {
+        keys_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<java.lang.Long> digests_ = java.util.Collections.emptyList();
+      private void ensureDigestsIsMutable() {
+        if (!((bitField0_ & 0x00000008) == 0x00000008)) {
+          digests_ = new java.util.ArrayList<java.lang.Long>(digests_);
+          bitField0_ |= 0x00000008;
+         }
+      }
+      /**
+       * <code>repeated fixed64 digests = 4 [packed = true];</code>
+       */
+      public java.util.List<java.lang.Long>
+          getDigestsList() {
+        return java.util.Collections.unmodifiableList(digests_);
+      }
+      /**
+       * <code>repeated fixed64 digests = 4 [packed = true];</code>
+       */
+      public int getDigestsCount() {
+        return digests_.size();
+      }
+      /**
+       * <code>repeated fixed64 digests = 4 [packed = true];</code>
+       */
+      public long getDigests(int index) {
+        return digests_.get(index);
+      }
+      /**
+       * <code>repeated fixed64 digests = 4 [packed = true];</code>
+       */
+      public Builder setDigests(
+          int index, long value) {
+        ensureDigestsIsMutable();
+        digests_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated fixed64 digests = 4 [packed = true];</code>
+       */
+      public Builder addDigests(long value) {
+        ensureDigestsIsMutable();
+        digests_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated fixed64 digests = 4 [packed = true];</code>
+       */
+      public Builder addAllDigests(
+          java.lang.Iterable<? extends java.lang.Long> values) {
+        ensureDigestsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, digests_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated fixed64 digests = 4 [packed = true];</code>
+       */
+      public Builder clearDigests() {
+        digests_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:LeafKeys)
+    }
+
+    // @@protoc_insertion_point(class_scope:LeafKeys)
+    private static final AntiEntropy.LeafKeys DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new AntiEntropy.LeafKeys();
+    }
+
+    public static AntiEntropy.LeafKeys getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<LeafKeys>
+        PARSER = new com.google.protobuf.AbstractParser<LeafKeys>() {
+      public LeafKeys parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new LeafKeys(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<LeafKeys> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<LeafKeys> getParserForType() {
+      return PARSER;
+    }
+
+    public AntiEntropy.LeafKeys getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_MerkleExchange_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_MerkleExchange_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_RangeDigest_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_RangeDigest_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_LeafKeys_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_LeafKeys_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\021AntiEntropy.proto\032\026ReplicationBatch.pr" +
+      "oto\"z\n\016MerkleExchange\022\034\n\006ranges\030\001 \003(\0132\014." +
+      "RangeDigest\022\031\n\006leaves\030\002 \003(\0132\t.LeafKeys\022\014" +
+      "\n\004pull\030\003 \003(\014\022!\n\007entries\030\004 \003(\0132\020.Replicat" +
+      "edEntry\">\n\013RangeDigest\022\r\n\005token\030\001 \002(\006\022\014\n" +
+      "\004root\030\002 \001(\006\022\022\n\006leaves\030\003 \003(\006B\002\020\001\"J\n\010LeafK" +
+      "eys\022\r\n\005token\030\001 \002(\006\022\014\n\004leaf\030\002 \002(\r\022\014\n\004keys" +
+      "\030\003 \003(\014\022\023\n\007digests\030\004 \003(\006B\002\020\001B\rB\013AntiEntro" +
+      "py"
+    };
+    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
+        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
+          public com.google.protobuf.ExtensionRegistry assignDescriptors(
+              com.google.protobuf.Descriptors.FileDescriptor root) {
+            descriptor = root;
+            return null;
+          }
+        };
+    com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+          Replication.getDescriptor(),
+        }, assigner);
+    internal_static_MerkleExchange_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_MerkleExchange_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_MerkleExchange_descriptor,
+        new java.lang.String[] { "Ranges", "Leaves", "Pull", "Entries", });
+    internal_static_RangeDigest_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_RangeDigest_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_RangeDigest_descriptor,
+        new java.lang.String[] { "Token", "Root", "Leaves", });
+    internal_static_LeafKeys_descriptor =
+      getDescriptor().getMessageTypes().get(2);
+    internal_static_LeafKeys_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_LeafKeys_descriptor,
+        new java.lang.String[] { "Token", "Leaf", "Keys", "Digests", });
+    Replication.getDescriptor();
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
@@ -13,6 +13,109 @@ public final class KeyValueRequest {
     registerAllExtensions(
         (com.google.protobuf.ExtensionRegistryLite) registry);
   }
+  /**
+   * <pre>
+   * Replicas, the coordinator included, that must answer a put, get or remove before it succeeds
+   * </pre>
+   *
+   * Protobuf enum {@code Consistency}
+   */
+  public enum Consistency
+      implements com.google.protobuf.ProtocolMessageEnum {
+    /**
+     * <code>ONE = 1;</code>
+     */
+    ONE(1),
+    /**
+     * <code>QUORUM = 2;</code>
+     */
+    QUORUM(2),
+    /**
+     * <code>ALL = 3;</code>
+     */
+    ALL(3),
+    ;
+
+    /**
+     * <code>ONE = 1;</code>
+     */
+    public static final int ONE_VALUE = 1;
+    /**
+     * <code>QUORUM = 2;</code>
+     */
+    public static final int QUORUM_VALUE = 2;
+    /**
+     * <code>ALL = 3;</code>
+     */
+    public static final int ALL_VALUE = 3;
+
+
+    public final int getNumber() {
+      return value;
+    }
+
+    /**
+     * @deprecated Use {@link #forNumber(int)} instead.
+     */
+    @java.lang.Deprecated
+    public static Consistency valueOf(int value) {
+      return forNumber(value);
+    }
+
+    public static Consistency forNumber(int value) {
+      switch (value) {
+        case 1: return ONE;
+        case 2: return QUORUM;
+        case 3: return ALL;
+        default: return null;
+      }
+    }
+
+    public static com.google.protobuf.Internal.EnumLiteMap<Consistency>
+        internalGetValueMap() {
+      return internalValueMap;
+    }
+    private static final com.google.protobuf.Internal.EnumLiteMap<
+        Consistency> internalValueMap =
+          new com.google.protobuf.Internal.EnumLiteMap<Consistency>() {
+            public Consistency findValueByNumber(int number) {
+              return Consistency.forNumber(number);
+            }
+          };
+
+    public final com.google.protobuf.Descriptors.EnumValueDescriptor
+        getValueDescriptor() {
+      return getDescriptor().getValues().get(ordinal());
+    }
+    public final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptorForType() {
+      return getDescriptor();
+    }
+    public static final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptor() {
+      return KeyValueRequest.getDescriptor().getEnumTypes().get(0);
+    }
+
+    private static final Consistency[] VALUES = values();
+
+    public static Consistency valueOf(
+        com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+      if (desc.getType() != getDescriptor()) {
+        throw new java.lang.IllegalArgumentException(
+          "EnumValueDescriptor is not for this type.");
+      }
+      return VALUES[desc.getIndex()];
+    }
+
+    private final int value;
+
+    private Consistency(int value) {
+      this.value = value;
+    }
+
+    // @@protoc_insertion_point(enum_scope:Consistency)
+  }
+
   public interface KVRequestOrBuilder extends
       // @@protoc_insertion_point(interface_extends:KVRequest)
       com.google.protobuf.MessageOrBuilder {
@@ -45,13 +148,21 @@ public final class KeyValueRequest {
     com.google.protobuf.ByteString getValue();
 
     /**
-     * <code>optional int32 version = 4;</code>
+     * <pre>
+     * hybrid logical clock timestamp, assigned to puts by the node owning the key
+     * </pre>
+     *
+     * <code>optional int64 version = 4;</code>
      */
     boolean hasVersion();
     /**
-     * <code>optional int32 version = 4;</code>
+     * <pre>
+     * hybrid logical clock timestamp, assigned to puts by the node owning the key
+     * </pre>
+     *
+     * <code>optional int64 version = 4;</code>
      */
-    int getVersion();
+    long getVersion();
 
     /**
      * <code>optional bool notReplicated = 5;</code>
@@ -61,6 +172,57 @@ public final class KeyValueRequest {
      * <code>optional bool notReplicated = 5;</code>
      */
     boolean getNotReplicated();
+
+    /**
+     * <code>optional bool clientRouted = 6;</code>
+     */
+    boolean hasClientRouted();
+    /**
+     * <code>optional bool clientRouted = 6;</code>
+     */
+    boolean getClientRouted();
+
+    /**
+     * <code>repeated .KVEntry entries = 7;</code>
+     */
+    java.util.List<KeyValueRequest.KVEntry> 
+        getEntriesList();
+    /**
+     * <code>repeated .KVEntry entries = 7;</code>
+     */
+    KeyValueRequest.KVEntry getEntries(int index);
+    /**
+     * <code>repeated .KVEntry entries = 7;</code>
+     */
+    int getEntriesCount();
+    /**
+     * <code>repeated .KVEntry entries = 7;</code>
+     */
+    java.util.List<? extends KeyValueRequest.KVEntryOrBuilder> 
+        getEntriesOrBuilderList();
+    /**
+     * <code>repeated .KVEntry entries = 7;</code>
+     */
+    KeyValueRequest.KVEntryOrBuilder getEntriesOrBuilder(
+        int index);
+
+    /**
+     * <code>optional uint32 ttl = 8;</code>
+     */
+    boolean hasTtl();
+    /**
+     * <code>optional uint32 ttl = 8;</code>
+     */
+    int getTtl();
+
+    /**
+     * <code>optional .Consistency consistency = 9 [default = ONE];</code>
+     */
+    boolean hasConsistency();
+    /**
+     * <code>optional .Consistency consistency = 9 [default = ONE];</code>
+     */
+    KeyValueRequest.Consistency getConsistency();
   }
   /**
    * Protobuf type {@code KVRequest}
@@ -77,8 +239,12 @@ public final class KeyValueRequest {
       command_ = 0;
       key_ = com.google.protobuf.ByteString.EMPTY;
       value_ = com.google.protobuf.ByteString.EMPTY;
-      version_ = 0;
+      version_ = 0L;
       notReplicated_ = false;
+      clientRouted_ = false;
+      entries_ = java.util.Collections.emptyList();
+      ttl_ = 0;
+      consistency_ = 1;
     }
 
     @java.lang.Override
@@ -126,7 +292,7 @@ public final class KeyValueRequest {
             }
             case 32: {
               bitField0_ |= 0x00000008;
-              version_ = input.readInt32();
+              version_ = input.readInt64();
               break;
             }
             case 40: {
@@ -134,6 +300,36 @@ public final class KeyValueRequest {
               notReplicated_ = input.readBool();
               break;
             }
+            case 48: {
+              bitField0_ |= 0x00000020;
+              clientRouted_ = input.readBool();
+              break;
+            }
+            case 58: {
+              if (!((mutable_bitField0_ & 0x00000040) == 0x00000040)) {
+                entries_ = new java.util.ArrayList<KeyValueRequest.KVEntry>();
+                mutable_bitField0_ |= 0x00000040;
+              }
+              entries_.add(
+                  input.readMessage(KeyValueRequest.KVEntry.PARSER, extensionRegistry));
+              break;
+            }
+            case 64: {
+              bitField0_ |= 0x00000040;
+              ttl_ = input.readUInt32();
+              break;
+            }
+            case 72: {
+              int rawValue = input.readEnum();
+              KeyValueRequest.Consistency value = KeyValueRequest.Consistency.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(9, rawValue);
+              } else {
+                bitField0_ |= 0x00000080;
+                consistency_ = rawValue;
+              }
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -142,6 +338,9 @@ public final class KeyValueRequest {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000040) == 0x00000040)) {
+          entries_ = java.util.Collections.unmodifiableList(entries_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -205,17 +404,25 @@ public final class KeyValueRequest {
     }
 
     public static final int VERSION_FIELD_NUMBER = 4;
-    private int version_;
+    private long version_;
     /**
-     * <code>optional int32 version = 4;</code>
+     * <pre>
+     * hybrid logical clock timestamp, assigned to puts by the node owning the key
+     * </pre>
+     *
+     * <code>optional int64 version = 4;</code>
      */
     public boolean hasVersion() {
       return ((bitField0_ & 0x00000008) == 0x00000008);
     }
     /**
-     * <code>optional int32 version = 4;</code>
+     * <pre>
+     * hybrid logical clock timestamp, assigned to puts by the node owning the key
+     * </pre>
+     *
+     * <code>optional int64 version = 4;</code>
      */
-    public int getVersion() {
+    public long getVersion() {
       return version_;
     }
 
@@ -234,6 +441,87 @@ public final class KeyValueRequest {
       return notReplicated_;
     }
 
+    public static final int CLIENTROUTED_FIELD_NUMBER = 6;
+    private boolean clientRouted_;
+    /**
+     * <code>optional bool clientRouted = 6;</code>
+     */
+    public boolean hasClientRouted() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
+    }
+    /**
+     * <code>optional bool clientRouted = 6;</code>
+     */
+    public boolean getClientRouted() {
+      return clientRouted_;
+    }
+
+    public static final int ENTRIES_FIELD_NUMBER = 7;
+    private java.util.List<KeyValueRequest.KVEntry> entries_;
+    /**
+     * <code>repeated .KVEntry entries = 7;</code>
+     */
+    public java.util.List<KeyValueRequest.KVEntry> getEntriesList() {
+      return entries_;
+    }
+    /**
+     * <code>repeated .KVEntry entries = 7;</code>
+     */
+    public java.util.List<? extends KeyValueRequest.KVEntryOrBuilder> 
+        getEntriesOrBuilderList() {
+      return entries_;
+    }
+    /**
+     * <code>repeated .KVEntry entries = 7;</code>
+     */
+    public int getEntriesCount() {
+      return entries_.size();
+    }
+    /**
+     * <code>repeated .KVEntry entries = 7;</code>
+     */
+    public KeyValueRequest.KVEntry getEntries(int index) {
+      return entries_.get(index);
+    }
+    /**
+     * <code>repeated .KVEntry entries = 7;</code>
+     */
+    public KeyValueRequest.KVEntryOrBuilder getEntriesOrBuilder(
+        int index) {
+      return entries_.get(index);
+    }
+
+    public static final int TTL_FIELD_NUMBER = 8;
+    private int ttl_;
+    /**
+     * <code>optional uint32 ttl = 8;</code>
+     */
+    public boolean hasTtl() {
+      return ((bitField0_ & 0x00000040) == 0x00000040);
+    }
+    /**
+     * <code>optional uint32 ttl = 8;</code>
+     */
+    public int getTtl() {
+      return ttl_;
+    }
+
+    public static final int CONSISTENCY_FIELD_NUMBER = 9;
+    private int consistency_;
+    /**
+     * <code>optional .Consistency consistency = 9 [default = ONE];</code>
+     */
+    public boolean hasConsistency() {
+      return ((bitField0_ & 0x00000080) == 0x00000080);
+    }
+    /**
+     * <code>optional .Consistency consistency = 9 [default = ONE];</code>
+     */
+    public KeyValueRequest.Consistency getConsistency() {
+      KeyValueRequest.Consistency result = KeyValueRequest.Consistency.valueOf(consistency_);
+      return result == null ? KeyValueRequest.Consistency.ONE : result;
+    }
+
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
@@ -244,6 +532,12 @@ public final class KeyValueRequest {
         memoizedIsInitialized = 0;
         return false;
       }
+      for (int i = 0; i < getEntriesCount(); i++) {
+        if (!getEntries(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -260,11 +554,23 @@ public final class KeyValueRequest {
         output.writeBytes(3, value_);
       }
       if (((bitField0_ & 0x00000008) == 0x00000008)) {
-        output.writeInt32(4, version_);
+        output.writeInt64(4, version_);
       }
       if (((bitField0_ & 0x00000010) == 0x00000010)) {
         output.writeBool(5, notReplicated_);
       }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        output.writeBool(6, clientRouted_);
+      }
+      for (int i = 0; i < entries_.size(); i++) {
+        output.writeMessage(7, entries_.get(i));
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        output.writeUInt32(8, ttl_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        output.writeEnum(9, consistency_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -287,12 +593,28 @@ public final class KeyValueRequest {
       }
       if (((bitField0_ & 0x00000008) == 0x00000008)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeInt32Size(4, version_);
+          .computeInt64Size(4, version_);
       }
       if (((bitField0_ & 0x00000010) == 0x00000010)) {
         size += com.google.protobuf.CodedOutputStream
           .computeBoolSize(5, notReplicated_);
       }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(6, clientRouted_);
+      }
+      for (int i = 0; i < entries_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(7, entries_.get(i));
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(8, ttl_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(9, consistency_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -335,6 +657,22 @@ public final class KeyValueRequest {
         result = result && (getNotReplicated()
             == other.getNotReplicated());
       }
+      result = result && (hasClientRouted() == other.hasClientRouted());
+      if (hasClientRouted()) {
+        result = result && (getClientRouted()
+            == other.getClientRouted());
+      }
+      result = result && getEntriesList()
+          .equals(other.getEntriesList());
+      result = result && (hasTtl() == other.hasTtl());
+      if (hasTtl()) {
+        result = result && (getTtl()
+            == other.getTtl());
+      }
+      result = result && (hasConsistency() == other.hasConsistency());
+      if (hasConsistency()) {
+        result = result && consistency_ == other.consistency_;
+      }
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -360,13 +698,31 @@ public final class KeyValueRequest {
       }
       if (hasVersion()) {
         hash = (37 * hash) + VERSION_FIELD_NUMBER;
-        hash = (53 * hash) + getVersion();
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getVersion());
       }
       if (hasNotReplicated()) {
         hash = (37 * hash) + NOTREPLICATED_FIELD_NUMBER;
         hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
             getNotReplicated());
       }
+      if (hasClientRouted()) {
+        hash = (37 * hash) + CLIENTROUTED_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+            getClientRouted());
+      }
+      if (getEntriesCount() > 0) {
+        hash = (37 * hash) + ENTRIES_FIELD_NUMBER;
+        hash = (53 * hash) + getEntriesList().hashCode();
+      }
+      if (hasTtl()) {
+        hash = (37 * hash) + TTL_FIELD_NUMBER;
+        hash = (53 * hash) + getTtl();
+      }
+      if (hasConsistency()) {
+        hash = (37 * hash) + CONSISTENCY_FIELD_NUMBER;
+        hash = (53 * hash) + consistency_;
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -481,6 +837,7 @@ public final class KeyValueRequest {
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessageV3
                 .alwaysUseFieldBuilders) {
+          getEntriesFieldBuilder();
         }
       }
       public Builder clear() {
@@ -491,10 +848,22 @@ public final class KeyValueRequest {
         bitField0_ = (bitField0_ & ~0x00000002);
         value_ = com.google.protobuf.ByteString.EMPTY;
         bitField0_ = (bitField0_ & ~0x00000004);
-        version_ = 0;
+        version_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000008);
         notReplicated_ = false;
         bitField0_ = (bitField0_ & ~0x00000010);
+        clientRouted_ = false;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        if (entriesBuilder_ == null) {
+          entries_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000040);
+        } else {
+          entriesBuilder_.clear();
+        }
+        ttl_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000080);
+        consistency_ = 1;
+        bitField0_ = (bitField0_ & ~0x00000100);
         return this;
       }
 
@@ -539,6 +908,27 @@ public final class KeyValueRequest {
           to_bitField0_ |= 0x00000010;
         }
         result.notReplicated_ = notReplicated_;
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000020;
+        }
+        result.clientRouted_ = clientRouted_;
+        if (entriesBuilder_ == null) {
+          if (((bitField0_ & 0x00000040) == 0x00000040)) {
+            entries_ = java.util.Collections.unmodifiableList(entries_);
+            bitField0_ = (bitField0_ & ~0x00000040);
+          }
+          result.entries_ = entries_;
+        } else {
+          result.entries_ = entriesBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
+          to_bitField0_ |= 0x00000040;
+        }
+        result.ttl_ = ttl_;
+        if (((from_bitField0_ & 0x00000100) == 0x00000100)) {
+          to_bitField0_ |= 0x00000080;
+        }
+        result.consistency_ = consistency_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -596,6 +986,41 @@ public final class KeyValueRequest {
         if (other.hasNotReplicated()) {
           setNotReplicated(other.getNotReplicated());
         }
+        if (other.hasClientRouted()) {
+          setClientRouted(other.getClientRouted());
+        }
+        if (entriesBuilder_ == null) {
+          if (!other.entries_.isEmpty()) {
+            if (entries_.isEmpty()) {
+              entries_ = other.entries_;
+              bitField0_ = (bitField0_ & ~0x00000040);
+            } else {
+              ensureEntriesIsMutable();
+              entries_.addAll(other.entries_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.entries_.isEmpty()) {
+            if (entriesBuilder_.isEmpty()) {
+              entriesBuilder_.dispose();
+              entriesBuilder_ = null;
+              entries_ = other.entries_;
+              bitField0_ = (bitField0_ & ~0x00000040);
+              entriesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getEntriesFieldBuilder() : null;
+            } else {
+              entriesBuilder_.addAllMessages(other.entries_);
+            }
+          }
+        }
+        if (other.hasTtl()) {
+          setTtl(other.getTtl());
+        }
+        if (other.hasConsistency()) {
+          setConsistency(other.getConsistency());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -605,6 +1030,11 @@ public final class KeyValueRequest {
         if (!hasCommand()) {
           return false;
         }
+        for (int i = 0; i < getEntriesCount(); i++) {
+          if (!getEntries(i).isInitialized()) {
+            return false;
+          }
+        }
         return true;
       }
 
@@ -729,34 +1159,50 @@ public final class KeyValueRequest {
         return this;
       }
 
-      private int version_ ;
+      private long version_ ;
       /**
-       * <code>optional int32 version = 4;</code>
+       * <pre>
+       * hybrid logical clock timestamp, assigned to puts by the node owning the key
+       * </pre>
+       *
+       * <code>optional int64 version = 4;</code>
        */
       public boolean hasVersion() {
         return ((bitField0_ & 0x00000008) == 0x00000008);
       }
       /**
-       * <code>optional int32 version = 4;</code>
+       * <pre>
+       * hybrid logical clock timestamp, assigned to puts by the node owning the key
+       * </pre>
+       *
+       * <code>optional int64 version = 4;</code>
        */
-      public int getVersion() {
+      public long getVersion() {
         return version_;
       }
       /**
-       * <code>optional int32 version = 4;</code>
+       * <pre>
+       * hybrid logical clock timestamp, assigned to puts by the node owning the key
+       * </pre>
+       *
+       * <code>optional int64 version = 4;</code>
        */
-      public Builder setVersion(int value) {
+      public Builder setVersion(long value) {
         bitField0_ |= 0x00000008;
         version_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>optional int32 version = 4;</code>
+       * <pre>
+       * hybrid logical clock timestamp, assigned to puts by the node owning the key
+       * </pre>
+       *
+       * <code>optional int64 version = 4;</code>
        */
       public Builder clearVersion() {
         bitField0_ = (bitField0_ & ~0x00000008);
-        version_ = 0;
+        version_ = 0L;
         onChanged();
         return this;
       }
@@ -792,82 +1238,1173 @@ public final class KeyValueRequest {
         onChanged();
         return this;
       }
-      public final Builder setUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.setUnknownFields(unknownFields);
-      }
 
-      public final Builder mergeUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.mergeUnknownFields(unknownFields);
+      private boolean clientRouted_ ;
+      /**
+       * <code>optional bool clientRouted = 6;</code>
+       */
+      public boolean hasClientRouted() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
       }
-
-
-      // @@protoc_insertion_point(builder_scope:KVRequest)
-    }
-
-    // @@protoc_insertion_point(class_scope:KVRequest)
-    private static final KeyValueRequest.KVRequest DEFAULT_INSTANCE;
-    static {
-      DEFAULT_INSTANCE = new KeyValueRequest.KVRequest();
-    }
-
-    public static KeyValueRequest.KVRequest getDefaultInstance() {
-      return DEFAULT_INSTANCE;
-    }
-
-    @java.lang.Deprecated public static final com.google.protobuf.Parser<KVRequest>
-        PARSER = new com.google.protobuf.AbstractParser<KVRequest>() {
-      public KVRequest parsePartialFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws com.google.protobuf.InvalidProtocolBufferException {
-          return new KVRequest(input, extensionRegistry);
+      /**
+       * <code>optional bool clientRouted = 6;</code>
+       */
+      public boolean getClientRouted() {
+        return clientRouted_;
+      }
+      /**
+       * <code>optional bool clientRouted = 6;</code>
+       */
+      public Builder setClientRouted(boolean value) {
+        bitField0_ |= 0x00000020;
+        clientRouted_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool clientRouted = 6;</code>
+       */
+      public Builder clearClientRouted() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        clientRouted_ = false;
+        onChanged();
+        return this;
       }
-    };
-
-    public static com.google.protobuf.Parser<KVRequest> parser() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.google.protobuf.Parser<KVRequest> getParserForType() {
-      return PARSER;
-    }
-
-    public KeyValueRequest.KVRequest getDefaultInstanceForType() {
-      return DEFAULT_INSTANCE;
-    }
 
-  }
+      private java.util.List<KeyValueRequest.KVEntry> entries_ =
+        java.util.Collections.emptyList();
+      private void ensureEntriesIsMutable() {
+        if (!((bitField0_ & 0x00000040) == 0x00000040)) {
+          entries_ = new java.util.ArrayList<KeyValueRequest.KVEntry>(entries_);
+          bitField0_ |= 0x00000040;
+         }
+      }
 
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_KVRequest_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_KVRequest_fieldAccessorTable;
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          KeyValueRequest.KVEntry, KeyValueRequest.KVEntry.Builder, KeyValueRequest.KVEntryOrBuilder> entriesBuilder_;
 
-  public static com.google.protobuf.Descriptors.FileDescriptor
-      getDescriptor() {
-    return descriptor;
-  }
-  private static  com.google.protobuf.Descriptors.FileDescriptor
-      descriptor;
-  static {
-    java.lang.String[] descriptorData = {
-      "\n\025KeyValueRequest.proto\"`\n\tKVRequest\022\017\n\007" +
-      "command\030\001 \002(\r\022\013\n\003key\030\002 \001(\014\022\r\n\005value\030\003 \001(" +
-      "\014\022\017\n\007version\030\004 \001(\005\022\025\n\rnotReplicated\030\005 \001(" +
-      "\010B\021B\017KeyValueRequest"
-    };
-    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
-        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
-          public com.google.protobuf.ExtensionRegistry assignDescriptors(
-              com.google.protobuf.Descriptors.FileDescriptor root) {
-            descriptor = root;
-            return null;
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public java.util.List<KeyValueRequest.KVEntry> getEntriesList() {
+        if (entriesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(entries_);
+        } else {
+          return entriesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public int getEntriesCount() {
+        if (entriesBuilder_ == null) {
+          return entries_.size();
+        } else {
+          return entriesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public KeyValueRequest.KVEntry getEntries(int index) {
+        if (entriesBuilder_ == null) {
+          return entries_.get(index);
+        } else {
+          return entriesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public Builder setEntries(
+          int index, KeyValueRequest.KVEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
           }
-        };
+          ensureEntriesIsMutable();
+          entries_.set(index, value);
+          onChanged();
+        } else {
+          entriesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public Builder setEntries(
+          int index, KeyValueRequest.KVEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public Builder addEntries(KeyValueRequest.KVEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEntriesIsMutable();
+          entries_.add(value);
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public Builder addEntries(
+          int index, KeyValueRequest.KVEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEntriesIsMutable();
+          entries_.add(index, value);
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public Builder addEntries(
+          KeyValueRequest.KVEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.add(builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public Builder addEntries(
+          int index, KeyValueRequest.KVEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public Builder addAllEntries(
+          java.lang.Iterable<? extends KeyValueRequest.KVEntry> values) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, entries_);
+          onChanged();
+        } else {
+          entriesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public Builder clearEntries() {
+        if (entriesBuilder_ == null) {
+          entries_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000040);
+          onChanged();
+        } else {
+          entriesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public Builder removeEntries(int index) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.remove(index);
+          onChanged();
+        } else {
+          entriesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public KeyValueRequest.KVEntry.Builder getEntriesBuilder(
+          int index) {
+        return getEntriesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public KeyValueRequest.KVEntryOrBuilder getEntriesOrBuilder(
+          int index) {
+        if (entriesBuilder_ == null) {
+          return entries_.get(index);  } else {
+          return entriesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public java.util.List<? extends KeyValueRequest.KVEntryOrBuilder> 
+           getEntriesOrBuilderList() {
+        if (entriesBuilder_ != null) {
+          return entriesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(entries_);
+        }
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public KeyValueRequest.KVEntry.Builder addEntriesBuilder() {
+        return getEntriesFieldBuilder().addBuilder(
+            KeyValueRequest.KVEntry.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public KeyValueRequest.KVEntry.Builder addEntriesBuilder(
+          int index) {
+        return getEntriesFieldBuilder().addBuilder(
+            index, KeyValueRequest.KVEntry.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .KVEntry entries = 7;</code>
+       */
+      public java.util.List<KeyValueRequest.KVEntry.Builder> 
+           getEntriesBuilderList() {
+        return getEntriesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          KeyValueRequest.KVEntry, KeyValueRequest.KVEntry.Builder, KeyValueRequest.KVEntryOrBuilder> 
+          getEntriesFieldBuilder() {
+        if (entriesBuilder_ == null) {
+          entriesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              KeyValueRequest.KVEntry, KeyValueRequest.KVEntry.Builder, KeyValueRequest.KVEntryOrBuilder>(
+                  entries_,
+                  ((bitField0_ & 0x00000040) == 0x00000040),
+                  getParentForChildren(),
+                  isClean());
+          entries_ = null;
+        }
+        return entriesBuilder_;
+      }
+
+      private int ttl_ ;
+      /**
+       * <code>optional uint32 ttl = 8;</code>
+       */
+      public boolean hasTtl() {
+        return ((bitField0_ & 0x00000080) == 0x00000080);
+      }
+      /**
+       * <code>optional uint32 ttl = 8;</code>
+       */
+      public int getTtl() {
+        return ttl_;
+      }
+      /**
+       * <code>optional uint32 ttl = 8;</code>
+       */
+      public Builder setTtl(int value) {
+        bitField0_ |= 0x00000080;
+        ttl_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional uint32 ttl = 8;</code>
+       */
+      public Builder clearTtl() {
+        bitField0_ = (bitField0_ & ~0x00000080);
+        ttl_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private int consistency_ = 1;
+      /**
+       * <code>optional .Consistency consistency = 9 [default = ONE];</code>
+       */
+      public boolean hasConsistency() {
+        return ((bitField0_ & 0x00000100) == 0x00000100);
+      }
+      /**
+       * <code>optional .Consistency consistency = 9 [default = ONE];</code>
+       */
+      public KeyValueRequest.Consistency getConsistency() {
+        KeyValueRequest.Consistency result = KeyValueRequest.Consistency.valueOf(consistency_);
+        return result == null ? KeyValueRequest.Consistency.ONE : result;
+      }
+      /**
+       * <code>optional .Consistency consistency = 9 [default = ONE];</code>
+       */
+      public Builder setConsistency(KeyValueRequest.Consistency value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        bitField0_ |= 0x00000100;
+        consistency_ = value.getNumber();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional .Consistency consistency = 9 [default = ONE];</code>
+       */
+      public Builder clearConsistency() {
+        bitField0_ = (bitField0_ & ~0x00000100);
+        consistency_ = 1;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:KVRequest)
+    }
+
+    // @@protoc_insertion_point(class_scope:KVRequest)
+    private static final KeyValueRequest.KVRequest DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new KeyValueRequest.KVRequest();
+    }
+
+    public static KeyValueRequest.KVRequest getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<KVRequest>
+        PARSER = new com.google.protobuf.AbstractParser<KVRequest>() {
+      public KVRequest parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new KVRequest(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<KVRequest> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<KVRequest> getParserForType() {
+      return PARSER;
+    }
+
+    public KeyValueRequest.KVRequest getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface KVEntryOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:KVEntry)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required bytes key = 1;</code>
+     */
+    boolean hasKey();
+    /**
+     * <code>required bytes key = 1;</code>
+     */
+    com.google.protobuf.ByteString getKey();
+
+    /**
+     * <code>optional bytes value = 2;</code>
+     */
+    boolean hasValue();
+    /**
+     * <code>optional bytes value = 2;</code>
+     */
+    com.google.protobuf.ByteString getValue();
+
+    /**
+     * <code>optional int64 version = 3;</code>
+     */
+    boolean hasVersion();
+    /**
+     * <code>optional int64 version = 3;</code>
+     */
+    long getVersion();
+
+    /**
+     * <code>optional uint32 ttl = 4;</code>
+     */
+    boolean hasTtl();
+    /**
+     * <code>optional uint32 ttl = 4;</code>
+     */
+    int getTtl();
+  }
+  /**
+   * Protobuf type {@code KVEntry}
+   */
+  public  static final class KVEntry extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:KVEntry)
+      KVEntryOrBuilder {
+    // Use KVEntry.newBuilder() to construct.
+    private KVEntry(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private KVEntry() {
+      key_ = com.google.protobuf.ByteString.EMPTY;
+      value_ = com.google.protobuf.ByteString.EMPTY;
+      version_ = 0L;
+      ttl_ = 0;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private KVEntry(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              bitField0_ |= 0x00000001;
+              key_ = input.readBytes();
+              break;
+            }
+            case 18: {
+              bitField0_ |= 0x00000002;
+              value_ = input.readBytes();
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              version_ = input.readInt64();
+              break;
+            }
+            case 32: {
+              bitField0_ |= 0x00000008;
+              ttl_ = input.readUInt32();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return KeyValueRequest.internal_static_KVEntry_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return KeyValueRequest.internal_static_KVEntry_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              KeyValueRequest.KVEntry.class, KeyValueRequest.KVEntry.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int KEY_FIELD_NUMBER = 1;
+    private com.google.protobuf.ByteString key_;
+    /**
+     * <code>required bytes key = 1;</code>
+     */
+    public boolean hasKey() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required bytes key = 1;</code>
+     */
+    public com.google.protobuf.ByteString getKey() {
+      return key_;
+    }
+
+    public static final int VALUE_FIELD_NUMBER = 2;
+    private com.google.protobuf.ByteString value_;
+    /**
+     * <code>optional bytes value = 2;</code>
+     */
+    public boolean hasValue() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional bytes value = 2;</code>
+     */
+    public com.google.protobuf.ByteString getValue() {
+      return value_;
+    }
+
+    public static final int VERSION_FIELD_NUMBER = 3;
+    private long version_;
+    /**
+     * <code>optional int64 version = 3;</code>
+     */
+    public boolean hasVersion() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional int64 version = 3;</code>
+     */
+    public long getVersion() {
+      return version_;
+    }
+
+    public static final int TTL_FIELD_NUMBER = 4;
+    private int ttl_;
+    /**
+     * <code>optional uint32 ttl = 4;</code>
+     */
+    public boolean hasTtl() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>optional uint32 ttl = 4;</code>
+     */
+    public int getTtl() {
+      return ttl_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasKey()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, key_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, value_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeInt64(3, version_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeUInt32(4, ttl_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, key_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, value_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(3, version_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(4, ttl_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof KeyValueRequest.KVEntry)) {
+        return super.equals(obj);
+      }
+      KeyValueRequest.KVEntry other = (KeyValueRequest.KVEntry) obj;
+
+      boolean result = true;
+      result = result && (hasKey() == other.hasKey());
+      if (hasKey()) {
+        result = result && getKey()
+            .equals(other.getKey());
+      }
+      result = result && (hasValue() == other.hasValue());
+      if (hasValue()) {
+        result = result && getValue()
+            .equals(other.getValue());
+      }
+      result = result && (hasVersion() == other.hasVersion());
+      if (hasVersion()) {
+        result = result && (getVersion()
+            == other.getVersion());
+      }
+      result = result && (hasTtl() == other.hasTtl());
+      if (hasTtl()) {
+        result = result && (getTtl()
+            == other.getTtl());
+      }
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (hasKey()) {
+        hash = (37 * hash) + KEY_FIELD_NUMBER;
+        hash = (53 * hash) + getKey().hashCode();
+      }
+      if (hasValue()) {
+        hash = (37 * hash) + VALUE_FIELD_NUMBER;
+        hash = (53 * hash) + getValue().hashCode();
+      }
+      if (hasVersion()) {
+        hash = (37 * hash) + VERSION_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getVersion());
+      }
+      if (hasTtl()) {
+        hash = (37 * hash) + TTL_FIELD_NUMBER;
+        hash = (53 * hash) + getTtl();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static KeyValueRequest.KVEntry parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static KeyValueRequest.KVEntry parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static KeyValueRequest.KVEntry parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static KeyValueRequest.KVEntry parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static KeyValueRequest.KVEntry parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static KeyValueRequest.KVEntry parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static KeyValueRequest.KVEntry parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static KeyValueRequest.KVEntry parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static KeyValueRequest.KVEntry parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static KeyValueRequest.KVEntry parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(KeyValueRequest.KVEntry prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code KVEntry}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:KVEntry)
+        KeyValueRequest.KVEntryOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return KeyValueRequest.internal_static_KVEntry_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return KeyValueRequest.internal_static_KVEntry_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                KeyValueRequest.KVEntry.class, KeyValueRequest.KVEntry.Builder.class);
+      }
+
+      // Construct using KeyValueRequest.KVEntry.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        key_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        value_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        version_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        ttl_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return KeyValueRequest.internal_static_KVEntry_descriptor;
+      }
+
+      public KeyValueRequest.KVEntry getDefaultInstanceForType() {
+        return KeyValueRequest.KVEntry.getDefaultInstance();
+      }
+
+      public KeyValueRequest.KVEntry build() {
+        KeyValueRequest.KVEntry result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public KeyValueRequest.KVEntry buildPartial() {
+        KeyValueRequest.KVEntry result = new KeyValueRequest.KVEntry(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.key_ = key_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.value_ = value_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.version_ = version_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.ttl_ = ttl_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof KeyValueRequest.KVEntry) {
+          return mergeFrom((KeyValueRequest.KVEntry)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(KeyValueRequest.KVEntry other) {
+        if (other == KeyValueRequest.KVEntry.getDefaultInstance()) return this;
+        if (other.hasKey()) {
+          setKey(other.getKey());
+        }
+        if (other.hasValue()) {
+          setValue(other.getValue());
+        }
+        if (other.hasVersion()) {
+          setVersion(other.getVersion());
+        }
+        if (other.hasTtl()) {
+          setTtl(other.getTtl());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasKey()) {
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        KeyValueRequest.KVEntry parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (KeyValueRequest.KVEntry) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private com.google.protobuf.ByteString key_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>required bytes key = 1;</code>
+       */
+      public boolean hasKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required bytes key = 1;</code>
+       */
+      public com.google.protobuf.ByteString getKey() {
+        return key_;
+      }
+      /**
+       * <code>required bytes key = 1;</code>
+       */
+      public Builder setKey(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required bytes key = 1;</code>
+       */
+      public Builder clearKey() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        key_ = getDefaultInstance().getKey();
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.ByteString value_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes value = 2;</code>
+       */
+      public boolean hasValue() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional bytes value = 2;</code>
+       */
+      public com.google.protobuf.ByteString getValue() {
+        return value_;
+      }
+      /**
+       * <code>optional bytes value = 2;</code>
+       */
+      public Builder setValue(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes value = 2;</code>
+       */
+      public Builder clearValue() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        value_ = getDefaultInstance().getValue();
+        onChanged();
+        return this;
+      }
+
+      private long version_ ;
+      /**
+       * <code>optional int64 version = 3;</code>
+       */
+      public boolean hasVersion() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional int64 version = 3;</code>
+       */
+      public long getVersion() {
+        return version_;
+      }
+      /**
+       * <code>optional int64 version = 3;</code>
+       */
+      public Builder setVersion(long value) {
+        bitField0_ |= 0x00000004;
+        version_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 version = 3;</code>
+       */
+      public Builder clearVersion() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        version_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private int ttl_ ;
+      /**
+       * <code>optional uint32 ttl = 4;</code>
+       */
+      public boolean hasTtl() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional uint32 ttl = 4;</code>
+       */
+      public int getTtl() {
+        return ttl_;
+      }
+      /**
+       * <code>optional uint32 ttl = 4;</code>
+       */
+      public Builder setTtl(int value) {
+        bitField0_ |= 0x00000008;
+        ttl_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional uint32 ttl = 4;</code>
+       */
+      public Builder clearTtl() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        ttl_ = 0;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:KVEntry)
+    }
+
+    // @@protoc_insertion_point(class_scope:KVEntry)
+    private static final KeyValueRequest.KVEntry DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new KeyValueRequest.KVEntry();
+    }
+
+    public static KeyValueRequest.KVEntry getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<KVEntry>
+        PARSER = new com.google.protobuf.AbstractParser<KVEntry>() {
+      public KVEntry parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new KVEntry(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<KVEntry> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<KVEntry> getParserForType() {
+      return PARSER;
+    }
+
+    public KeyValueRequest.KVEntry getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_KVRequest_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_KVRequest_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_KVEntry_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_KVEntry_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\025KeyValueRequest.proto\"\306\001\n\tKVRequest\022\017\n" +
+      "\007command\030\001 \002(\r\022\013\n\003key\030\002 \001(\014\022\r\n\005value\030\003 \001" +
+      "(\014\022\017\n\007version\030\004 \001(\003\022\025\n\rnotReplicated\030\005 \001" +
+      "(\010\022\024\n\014clientRouted\030\006 \001(\010\022\031\n\007entries\030\007 \003(" +
+      "\0132\010.KVEntry\022\013\n\003ttl\030\010 \001(\r\022&\n\013consistency\030" +
+      "\t \001(\0162\014.Consistency:\003ONE\"C\n\007KVEntry\022\013\n\003k" +
+      "ey\030\001 \002(\014\022\r\n\005value\030\002 \001(\014\022\017\n\007version\030\003 \001(\003" +
+      "\022\013\n\003ttl\030\004 \001(\r*+\n\013Consistency\022\007\n\003ONE\020\001\022\n\n" +
+      "\006QUORUM\020\002\022\007\n\003ALL\020\003B\021B\017KeyValueRequest"
+    };
+    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
+        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
+          public com.google.protobuf.ExtensionRegistry assignDescriptors(
+              com.google.protobuf.Descriptors.FileDescriptor root) {
+            descriptor = root;
+            return null;
+          }
+        };
     com.google.protobuf.Descriptors.FileDescriptor
       .internalBuildGeneratedFileFrom(descriptorData,
         new com.google.protobuf.Descriptors.FileDescriptor[] {
@@ -877,7 +2414,13 @@ public final class KeyValueRequest {
     internal_static_KVRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_KVRequest_descriptor,
-        new java.lang.String[] { "Command", "Key", "Value", "Version", "NotReplicated", });
+        new java.lang.String[] { "Command", "Key", "Value", "Version", "NotReplicated", "ClientRouted", "Entries", "Ttl", "Consistency", });
+    internal_static_KVEntry_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_KVEntry_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_KVEntry_descriptor,
+        new java.lang.String[] { "Key", "Value", "Version", "Ttl", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
@@ -45,13 +45,54 @@ public final class KeyValueResponse {
     int getPid();
 
     /**
-     * <code>optional int32 version = 4;</code>
+     * <code>optional int64 version = 4;</code>
      */
     boolean hasVersion();
     /**
-     * <code>optional int32 version = 4;</code>
+     * <code>optional int64 version = 4;</code>
      */
-    int getVersion();
+    long getVersion();
+
+    /**
+     * <code>repeated .KVResult results = 5;</code>
+     */
+    java.util.List<KeyValueResponse.KVResult> 
+        getResultsList();
+    /**
+     * <code>repeated .KVResult results = 5;</code>
+     */
+    KeyValueResponse.KVResult getResults(int index);
+    /**
+     * <code>repeated .KVResult results = 5;</code>
+     */
+    int getResultsCount();
+    /**
+     * <code>repeated .KVResult results = 5;</code>
+     */
+    java.util.List<? extends KeyValueResponse.KVResultOrBuilder> 
+        getResultsOrBuilderList();
+    /**
+     * <code>repeated .KVResult results = 5;</code>
+     */
+    KeyValueResponse.KVResultOrBuilder getResultsOrBuilder(
+        int index);
+
+    /**
+     * <pre>
+     * of a get, milliseconds until the entry expires, absent if it never does
+     * </pre>
+     *
+     * <code>optional uint32 ttl = 6;</code>
+     */
+    boolean hasTtl();
+    /**
+     * <pre>
+     * of a get, milliseconds until the entry expires, absent if it never does
+     * </pre>
+     *
+     * <code>optional uint32 ttl = 6;</code>
+     */
+    int getTtl();
   }
   /**
    * Protobuf type {@code KVResponse}
@@ -68,7 +109,9 @@ public final class KeyValueResponse {
       errCode_ = 0;
       value_ = com.google.protobuf.ByteString.EMPTY;
       pid_ = 0;
-      version_ = 0;
+      version_ = 0L;
+      results_ = java.util.Collections.emptyList();
+      ttl_ = 0;
     }
 
     @java.lang.Override
@@ -116,7 +159,21 @@ public final class KeyValueResponse {
             }
             case 32: {
               bitField0_ |= 0x00000008;
-              version_ = input.readInt32();
+              version_ = input.readInt64();
+              break;
+            }
+            case 42: {
+              if (!((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+                results_ = new java.util.ArrayList<KeyValueResponse.KVResult>();
+                mutable_bitField0_ |= 0x00000010;
+              }
+              results_.add(
+                  input.readMessage(KeyValueResponse.KVResult.PARSER, extensionRegistry));
+              break;
+            }
+            case 48: {
+              bitField0_ |= 0x00000010;
+              ttl_ = input.readUInt32();
               break;
             }
           }
@@ -127,6 +184,9 @@ public final class KeyValueResponse {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+          results_ = java.util.Collections.unmodifiableList(results_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -190,20 +250,78 @@ public final class KeyValueResponse {
     }
 
     public static final int VERSION_FIELD_NUMBER = 4;
-    private int version_;
+    private long version_;
     /**
-     * <code>optional int32 version = 4;</code>
+     * <code>optional int64 version = 4;</code>
      */
     public boolean hasVersion() {
       return ((bitField0_ & 0x00000008) == 0x00000008);
     }
     /**
-     * <code>optional int32 version = 4;</code>
+     * <code>optional int64 version = 4;</code>
      */
-    public int getVersion() {
+    public long getVersion() {
       return version_;
     }
 
+    public static final int RESULTS_FIELD_NUMBER = 5;
+    private java.util.List<KeyValueResponse.KVResult> results_;
+    /**
+     * <code>repeated .KVResult results = 5;</code>
+     */
+    public java.util.List<KeyValueResponse.KVResult> getResultsList() {
+      return results_;
+    }
+    /**
+     * <code>repeated .KVResult results = 5;</code>
+     */
+    public java.util.List<? extends KeyValueResponse.KVResultOrBuilder> 
+        getResultsOrBuilderList() {
+      return results_;
+    }
+    /**
+     * <code>repeated .KVResult results = 5;</code>
+     */
+    public int getResultsCount() {
+      return results_.size();
+    }
+    /**
+     * <code>repeated .KVResult results = 5;</code>
+     */
+    public KeyValueResponse.KVResult getResults(int index) {
+      return results_.get(index);
+    }
+    /**
+     * <code>repeated .KVResult results = 5;</code>
+     */
+    public KeyValueResponse.KVResultOrBuilder getResultsOrBuilder(
+        int index) {
+      return results_.get(index);
+    }
+
+    public static final int TTL_FIELD_NUMBER = 6;
+    private int ttl_;
+    /**
+     * <pre>
+     * of a get, milliseconds until the entry expires, absent if it never does
+     * </pre>
+     *
+     * <code>optional uint32 ttl = 6;</code>
+     */
+    public boolean hasTtl() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    /**
+     * <pre>
+     * of a get, milliseconds until the entry expires, absent if it never does
+     * </pre>
+     *
+     * <code>optional uint32 ttl = 6;</code>
+     */
+    public int getTtl() {
+      return ttl_;
+    }
+
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
@@ -214,6 +332,12 @@ public final class KeyValueResponse {
         memoizedIsInitialized = 0;
         return false;
       }
+      for (int i = 0; i < getResultsCount(); i++) {
+        if (!getResults(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -230,7 +354,13 @@ public final class KeyValueResponse {
         output.writeInt32(3, pid_);
       }
       if (((bitField0_ & 0x00000008) == 0x00000008)) {
-        output.writeInt32(4, version_);
+        output.writeInt64(4, version_);
+      }
+      for (int i = 0; i < results_.size(); i++) {
+        output.writeMessage(5, results_.get(i));
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeUInt32(6, ttl_);
       }
       unknownFields.writeTo(output);
     }
@@ -254,7 +384,15 @@ public final class KeyValueResponse {
       }
       if (((bitField0_ & 0x00000008) == 0x00000008)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeInt32Size(4, version_);
+          .computeInt64Size(4, version_);
+      }
+      for (int i = 0; i < results_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(5, results_.get(i));
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(6, ttl_);
       }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
@@ -293,6 +431,13 @@ public final class KeyValueResponse {
         result = result && (getVersion()
             == other.getVersion());
       }
+      result = result && getResultsList()
+          .equals(other.getResultsList());
+      result = result && (hasTtl() == other.hasTtl());
+      if (hasTtl()) {
+        result = result && (getTtl()
+            == other.getTtl());
+      }
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -318,7 +463,16 @@ public final class KeyValueResponse {
       }
       if (hasVersion()) {
         hash = (37 * hash) + VERSION_FIELD_NUMBER;
-        hash = (53 * hash) + getVersion();
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getVersion());
+      }
+      if (getResultsCount() > 0) {
+        hash = (37 * hash) + RESULTS_FIELD_NUMBER;
+        hash = (53 * hash) + getResultsList().hashCode();
+      }
+      if (hasTtl()) {
+        hash = (37 * hash) + TTL_FIELD_NUMBER;
+        hash = (53 * hash) + getTtl();
       }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
@@ -434,6 +588,7 @@ public final class KeyValueResponse {
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessageV3
                 .alwaysUseFieldBuilders) {
+          getResultsFieldBuilder();
         }
       }
       public Builder clear() {
@@ -444,8 +599,16 @@ public final class KeyValueResponse {
         bitField0_ = (bitField0_ & ~0x00000002);
         pid_ = 0;
         bitField0_ = (bitField0_ & ~0x00000004);
-        version_ = 0;
+        version_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000008);
+        if (resultsBuilder_ == null) {
+          results_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000010);
+        } else {
+          resultsBuilder_.clear();
+        }
+        ttl_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000020);
         return this;
       }
 
@@ -486,6 +649,19 @@ public final class KeyValueResponse {
           to_bitField0_ |= 0x00000008;
         }
         result.version_ = version_;
+        if (resultsBuilder_ == null) {
+          if (((bitField0_ & 0x00000010) == 0x00000010)) {
+            results_ = java.util.Collections.unmodifiableList(results_);
+            bitField0_ = (bitField0_ & ~0x00000010);
+          }
+          result.results_ = results_;
+        } else {
+          result.results_ = resultsBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.ttl_ = ttl_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -540,6 +716,35 @@ public final class KeyValueResponse {
         if (other.hasVersion()) {
           setVersion(other.getVersion());
         }
+        if (resultsBuilder_ == null) {
+          if (!other.results_.isEmpty()) {
+            if (results_.isEmpty()) {
+              results_ = other.results_;
+              bitField0_ = (bitField0_ & ~0x00000010);
+            } else {
+              ensureResultsIsMutable();
+              results_.addAll(other.results_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.results_.isEmpty()) {
+            if (resultsBuilder_.isEmpty()) {
+              resultsBuilder_.dispose();
+              resultsBuilder_ = null;
+              results_ = other.results_;
+              bitField0_ = (bitField0_ & ~0x00000010);
+              resultsBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getResultsFieldBuilder() : null;
+            } else {
+              resultsBuilder_.addAllMessages(other.results_);
+            }
+          }
+        }
+        if (other.hasTtl()) {
+          setTtl(other.getTtl());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -549,6 +754,11 @@ public final class KeyValueResponse {
         if (!hasErrCode()) {
           return false;
         }
+        for (int i = 0; i < getResultsCount(); i++) {
+          if (!getResults(i).isInitialized()) {
+            return false;
+          }
+        }
         return true;
       }
 
@@ -670,34 +880,322 @@ public final class KeyValueResponse {
         return this;
       }
 
-      private int version_ ;
+      private long version_ ;
       /**
-       * <code>optional int32 version = 4;</code>
+       * <code>optional int64 version = 4;</code>
        */
       public boolean hasVersion() {
         return ((bitField0_ & 0x00000008) == 0x00000008);
       }
       /**
-       * <code>optional int32 version = 4;</code>
+       * <code>optional int64 version = 4;</code>
        */
-      public int getVersion() {
+      public long getVersion() {
         return version_;
       }
       /**
-       * <code>optional int32 version = 4;</code>
+       * <code>optional int64 version = 4;</code>
        */
-      public Builder setVersion(int value) {
+      public Builder setVersion(long value) {
         bitField0_ |= 0x00000008;
         version_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>optional int32 version = 4;</code>
+       * <code>optional int64 version = 4;</code>
        */
       public Builder clearVersion() {
         bitField0_ = (bitField0_ & ~0x00000008);
-        version_ = 0;
+        version_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<KeyValueResponse.KVResult> results_ =
+        java.util.Collections.emptyList();
+      private void ensureResultsIsMutable() {
+        if (!((bitField0_ & 0x00000010) == 0x00000010)) {
+          results_ = new java.util.ArrayList<KeyValueResponse.KVResult>(results_);
+          bitField0_ |= 0x00000010;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          KeyValueResponse.KVResult, KeyValueResponse.KVResult.Builder, KeyValueResponse.KVResultOrBuilder> resultsBuilder_;
+
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public java.util.List<KeyValueResponse.KVResult> getResultsList() {
+        if (resultsBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(results_);
+        } else {
+          return resultsBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public int getResultsCount() {
+        if (resultsBuilder_ == null) {
+          return results_.size();
+        } else {
+          return resultsBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public KeyValueResponse.KVResult getResults(int index) {
+        if (resultsBuilder_ == null) {
+          return results_.get(index);
+        } else {
+          return resultsBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public Builder setResults(
+          int index, KeyValueResponse.KVResult value) {
+        if (resultsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureResultsIsMutable();
+          results_.set(index, value);
+          onChanged();
+        } else {
+          resultsBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public Builder setResults(
+          int index, KeyValueResponse.KVResult.Builder builderForValue) {
+        if (resultsBuilder_ == null) {
+          ensureResultsIsMutable();
+          results_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          resultsBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public Builder addResults(KeyValueResponse.KVResult value) {
+        if (resultsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureResultsIsMutable();
+          results_.add(value);
+          onChanged();
+        } else {
+          resultsBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public Builder addResults(
+          int index, KeyValueResponse.KVResult value) {
+        if (resultsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureResultsIsMutable();
+          results_.add(index, value);
+          onChanged();
+        } else {
+          resultsBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public Builder addResults(
+          KeyValueResponse.KVResult.Builder builderForValue) {
+        if (resultsBuilder_ == null) {
+          ensureResultsIsMutable();
+          results_.add(builderForValue.build());
+          onChanged();
+        } else {
+          resultsBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public Builder addResults(
+          int index, KeyValueResponse.KVResult.Builder builderForValue) {
+        if (resultsBuilder_ == null) {
+          ensureResultsIsMutable();
+          results_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          resultsBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public Builder addAllResults(
+          java.lang.Iterable<? extends KeyValueResponse.KVResult> values) {
+        if (resultsBuilder_ == null) {
+          ensureResultsIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, results_);
+          onChanged();
+        } else {
+          resultsBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public Builder clearResults() {
+        if (resultsBuilder_ == null) {
+          results_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000010);
+          onChanged();
+        } else {
+          resultsBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public Builder removeResults(int index) {
+        if (resultsBuilder_ == null) {
+          ensureResultsIsMutable();
+          results_.remove(index);
+          onChanged();
+        } else {
+          resultsBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public KeyValueResponse.KVResult.Builder getResultsBuilder(
+          int index) {
+        return getResultsFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public KeyValueResponse.KVResultOrBuilder getResultsOrBuilder(
+          int index) {
+        if (resultsBuilder_ == null) {
+          return results_.get(index);  } else {
+          return resultsBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public java.util.List<? extends KeyValueResponse.KVResultOrBuilder> 
+           getResultsOrBuilderList() {
+        if (resultsBuilder_ != null) {
+          return resultsBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(results_);
+        }
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public KeyValueResponse.KVResult.Builder addResultsBuilder() {
+        return getResultsFieldBuilder().addBuilder(
+            KeyValueResponse.KVResult.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public KeyValueResponse.KVResult.Builder addResultsBuilder(
+          int index) {
+        return getResultsFieldBuilder().addBuilder(
+            index, KeyValueResponse.KVResult.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .KVResult results = 5;</code>
+       */
+      public java.util.List<KeyValueResponse.KVResult.Builder> 
+           getResultsBuilderList() {
+        return getResultsFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          KeyValueResponse.KVResult, KeyValueResponse.KVResult.Builder, KeyValueResponse.KVResultOrBuilder> 
+          getResultsFieldBuilder() {
+        if (resultsBuilder_ == null) {
+          resultsBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              KeyValueResponse.KVResult, KeyValueResponse.KVResult.Builder, KeyValueResponse.KVResultOrBuilder>(
+                  results_,
+                  ((bitField0_ & 0x00000010) == 0x00000010),
+                  getParentForChildren(),
+                  isClean());
+          results_ = null;
+        }
+        return resultsBuilder_;
+      }
+
+      private int ttl_ ;
+      /**
+       * <pre>
+       * of a get, milliseconds until the entry expires, absent if it never does
+       * </pre>
+       *
+       * <code>optional uint32 ttl = 6;</code>
+       */
+      public boolean hasTtl() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
+      }
+      /**
+       * <pre>
+       * of a get, milliseconds until the entry expires, absent if it never does
+       * </pre>
+       *
+       * <code>optional uint32 ttl = 6;</code>
+       */
+      public int getTtl() {
+        return ttl_;
+      }
+      /**
+       * <pre>
+       * of a get, milliseconds until the entry expires, absent if it never does
+       * </pre>
+       *
+       * <code>optional uint32 ttl = 6;</code>
+       */
+      public Builder setTtl(int value) {
+        bitField0_ |= 0x00000020;
+        ttl_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * of a get, milliseconds until the entry expires, absent if it never does
+       * </pre>
+       *
+       * <code>optional uint32 ttl = 6;</code>
+       */
+      public Builder clearTtl() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        ttl_ = 0;
         onChanged();
         return this;
       }
@@ -750,42 +1248,804 @@ public final class KeyValueResponse {
 
   }
 
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_KVResponse_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_KVResponse_fieldAccessorTable;
+  public interface KVResultOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:KVResult)
+      com.google.protobuf.MessageOrBuilder {
 
-  public static com.google.protobuf.Descriptors.FileDescriptor
-      getDescriptor() {
-    return descriptor;
+    /**
+     * <code>required bytes key = 1;</code>
+     */
+    boolean hasKey();
+    /**
+     * <code>required bytes key = 1;</code>
+     */
+    com.google.protobuf.ByteString getKey();
+
+    /**
+     * <code>required uint32 errCode = 2;</code>
+     */
+    boolean hasErrCode();
+    /**
+     * <code>required uint32 errCode = 2;</code>
+     */
+    int getErrCode();
+
+    /**
+     * <code>optional bytes value = 3;</code>
+     */
+    boolean hasValue();
+    /**
+     * <code>optional bytes value = 3;</code>
+     */
+    com.google.protobuf.ByteString getValue();
+
+    /**
+     * <code>optional int64 version = 4;</code>
+     */
+    boolean hasVersion();
+    /**
+     * <code>optional int64 version = 4;</code>
+     */
+    long getVersion();
   }
-  private static  com.google.protobuf.Descriptors.FileDescriptor
-      descriptor;
-  static {
-    java.lang.String[] descriptorData = {
-      "\n\026KeyValueResponse.proto\"J\n\nKVResponse\022\017" +
-      "\n\007errCode\030\001 \002(\r\022\r\n\005value\030\002 \001(\014\022\013\n\003pid\030\003 " +
-      "\001(\005\022\017\n\007version\030\004 \001(\005B\022B\020KeyValueResponse"
-    };
-    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
-        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
-          public com.google.protobuf.ExtensionRegistry assignDescriptors(
-              com.google.protobuf.Descriptors.FileDescriptor root) {
-            descriptor = root;
-            return null;
-          }
-        };
-    com.google.protobuf.Descriptors.FileDescriptor
-      .internalBuildGeneratedFileFrom(descriptorData,
-        new com.google.protobuf.Descriptors.FileDescriptor[] {
-        }, assigner);
-    internal_static_KVResponse_descriptor =
-      getDescriptor().getMessageTypes().get(0);
-    internal_static_KVResponse_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_KVResponse_descriptor,
-        new java.lang.String[] { "ErrCode", "Value", "Pid", "Version", });
+  /**
+   * Protobuf type {@code KVResult}
+   */
+  public  static final class KVResult extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:KVResult)
+      KVResultOrBuilder {
+    // Use KVResult.newBuilder() to construct.
+    private KVResult(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private KVResult() {
+      key_ = com.google.protobuf.ByteString.EMPTY;
+      errCode_ = 0;
+      value_ = com.google.protobuf.ByteString.EMPTY;
+      version_ = 0L;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private KVResult(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              bitField0_ |= 0x00000001;
+              key_ = input.readBytes();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              errCode_ = input.readUInt32();
+              break;
+            }
+            case 26: {
+              bitField0_ |= 0x00000004;
+              value_ = input.readBytes();
+              break;
+            }
+            case 32: {
+              bitField0_ |= 0x00000008;
+              version_ = input.readInt64();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return KeyValueResponse.internal_static_KVResult_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return KeyValueResponse.internal_static_KVResult_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              KeyValueResponse.KVResult.class, KeyValueResponse.KVResult.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int KEY_FIELD_NUMBER = 1;
+    private com.google.protobuf.ByteString key_;
+    /**
+     * <code>required bytes key = 1;</code>
+     */
+    public boolean hasKey() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required bytes key = 1;</code>
+     */
+    public com.google.protobuf.ByteString getKey() {
+      return key_;
+    }
+
+    public static final int ERRCODE_FIELD_NUMBER = 2;
+    private int errCode_;
+    /**
+     * <code>required uint32 errCode = 2;</code>
+     */
+    public boolean hasErrCode() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>required uint32 errCode = 2;</code>
+     */
+    public int getErrCode() {
+      return errCode_;
+    }
+
+    public static final int VALUE_FIELD_NUMBER = 3;
+    private com.google.protobuf.ByteString value_;
+    /**
+     * <code>optional bytes value = 3;</code>
+     */
+    public boolean hasValue() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional bytes value = 3;</code>
+     */
+    public com.google.protobuf.ByteString getValue() {
+      return value_;
+    }
+
+    public static final int VERSION_FIELD_NUMBER = 4;
+    private long version_;
+    /**
+     * <code>optional int64 version = 4;</code>
+     */
+    public boolean hasVersion() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>optional int64 version = 4;</code>
+     */
+    public long getVersion() {
+      return version_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasKey()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasErrCode()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, key_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeUInt32(2, errCode_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBytes(3, value_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeInt64(4, version_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, key_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(2, errCode_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, value_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(4, version_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof KeyValueResponse.KVResult)) {
+        return super.equals(obj);
+      }
+      KeyValueResponse.KVResult other = (KeyValueResponse.KVResult) obj;
+
+      boolean result = true;
+      result = result && (hasKey() == other.hasKey());
+      if (hasKey()) {
+        result = result && getKey()
+            .equals(other.getKey());
+      }
+      result = result && (hasErrCode() == other.hasErrCode());
+      if (hasErrCode()) {
+        result = result && (getErrCode()
+            == other.getErrCode());
+      }
+      result = result && (hasValue() == other.hasValue());
+      if (hasValue()) {
+        result = result && getValue()
+            .equals(other.getValue());
+      }
+      result = result && (hasVersion() == other.hasVersion());
+      if (hasVersion()) {
+        result = result && (getVersion()
+            == other.getVersion());
+      }
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (hasKey()) {
+        hash = (37 * hash) + KEY_FIELD_NUMBER;
+        hash = (53 * hash) + getKey().hashCode();
+      }
+      if (hasErrCode()) {
+        hash = (37 * hash) + ERRCODE_FIELD_NUMBER;
+        hash = (53 * hash) + getErrCode();
+      }
+      if (hasValue()) {
+        hash = (37 * hash) + VALUE_FIELD_NUMBER;
+        hash = (53 * hash) + getValue().hashCode();
+      }
+      if (hasVersion()) {
+        hash = (37 * hash) + VERSION_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getVersion());
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static KeyValueResponse.KVResult parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static KeyValueResponse.KVResult parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static KeyValueResponse.KVResult parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static KeyValueResponse.KVResult parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static KeyValueResponse.KVResult parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static KeyValueResponse.KVResult parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static KeyValueResponse.KVResult parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static KeyValueResponse.KVResult parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static KeyValueResponse.KVResult parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static KeyValueResponse.KVResult parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(KeyValueResponse.KVResult prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code KVResult}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:KVResult)
+        KeyValueResponse.KVResultOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return KeyValueResponse.internal_static_KVResult_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return KeyValueResponse.internal_static_KVResult_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                KeyValueResponse.KVResult.class, KeyValueResponse.KVResult.Builder.class);
+      }
+
+      // Construct using KeyValueResponse.KVResult.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        key_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        errCode_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        value_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        version_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return KeyValueResponse.internal_static_KVResult_descriptor;
+      }
+
+      public KeyValueResponse.KVResult getDefaultInstanceForType() {
+        return KeyValueResponse.KVResult.getDefaultInstance();
+      }
+
+      public KeyValueResponse.KVResult build() {
+        KeyValueResponse.KVResult result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public KeyValueResponse.KVResult buildPartial() {
+        KeyValueResponse.KVResult result = new KeyValueResponse.KVResult(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.key_ = key_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.errCode_ = errCode_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.value_ = value_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.version_ = version_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof KeyValueResponse.KVResult) {
+          return mergeFrom((KeyValueResponse.KVResult)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(KeyValueResponse.KVResult other) {
+        if (other == KeyValueResponse.KVResult.getDefaultInstance()) return this;
+        if (other.hasKey()) {
+          setKey(other.getKey());
+        }
+        if (other.hasErrCode()) {
+          setErrCode(other.getErrCode());
+        }
+        if (other.hasValue()) {
+          setValue(other.getValue());
+        }
+        if (other.hasVersion()) {
+          setVersion(other.getVersion());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasKey()) {
+          return false;
+        }
+        if (!hasErrCode()) {
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        KeyValueResponse.KVResult parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (KeyValueResponse.KVResult) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private com.google.protobuf.ByteString key_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>required bytes key = 1;</code>
+       */
+      public boolean hasKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required bytes key = 1;</code>
+       */
+      public com.google.protobuf.ByteString getKey() {
+        return key_;
+      }
+      /**
+       * <code>required bytes key = 1;</code>
+       */
+      public Builder setKey(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required bytes key = 1;</code>
+       */
+      public Builder clearKey() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        key_ = getDefaultInstance().getKey();
+        onChanged();
+        return this;
+      }
+
+      private int errCode_ ;
+      /**
+       * <code>required uint32 errCode = 2;</code>
+       */
+      public boolean hasErrCode() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>required uint32 errCode = 2;</code>
+       */
+      public int getErrCode() {
+        return errCode_;
+      }
+      /**
+       * <code>required uint32 errCode = 2;</code>
+       */
+      public Builder setErrCode(int value) {
+        bitField0_ |= 0x00000002;
+        errCode_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required uint32 errCode = 2;</code>
+       */
+      public Builder clearErrCode() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        errCode_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.ByteString value_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes value = 3;</code>
+       */
+      public boolean hasValue() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional bytes value = 3;</code>
+       */
+      public com.google.protobuf.ByteString getValue() {
+        return value_;
+      }
+      /**
+       * <code>optional bytes value = 3;</code>
+       */
+      public Builder setValue(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes value = 3;</code>
+       */
+      public Builder clearValue() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        value_ = getDefaultInstance().getValue();
+        onChanged();
+        return this;
+      }
+
+      private long version_ ;
+      /**
+       * <code>optional int64 version = 4;</code>
+       */
+      public boolean hasVersion() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional int64 version = 4;</code>
+       */
+      public long getVersion() {
+        return version_;
+      }
+      /**
+       * <code>optional int64 version = 4;</code>
+       */
+      public Builder setVersion(long value) {
+        bitField0_ |= 0x00000008;
+        version_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 version = 4;</code>
+       */
+      public Builder clearVersion() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        version_ = 0L;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:KVResult)
+    }
+
+    // @@protoc_insertion_point(class_scope:KVResult)
+    private static final KeyValueResponse.KVResult DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new KeyValueResponse.KVResult();
+    }
+
+    public static KeyValueResponse.KVResult getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<KVResult>
+        PARSER = new com.google.protobuf.AbstractParser<KVResult>() {
+      public KVResult parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new KVResult(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<KVResult> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<KVResult> getParserForType() {
+      return PARSER;
+    }
+
+    public KeyValueResponse.KVResult getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_KVResponse_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_KVResponse_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_KVResult_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_KVResult_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\026KeyValueResponse.proto\"s\n\nKVResponse\022\017" +
+      "\n\007errCode\030\001 \002(\r\022\r\n\005value\030\002 \001(\014\022\013\n\003pid\030\003 " +
+      "\001(\005\022\017\n\007version\030\004 \001(\003\022\032\n\007results\030\005 \003(\0132\t." +
+      "KVResult\022\013\n\003ttl\030\006 \001(\r\"H\n\010KVResult\022\013\n\003key" +
+      "\030\001 \002(\014\022\017\n\007errCode\030\002 \002(\r\022\r\n\005value\030\003 \001(\014\022\017" +
+      "\n\007version\030\004 \001(\003B\022B\020KeyValueResponse"
+    };
+    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
+        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
+          public com.google.protobuf.ExtensionRegistry assignDescriptors(
+              com.google.protobuf.Descriptors.FileDescriptor root) {
+            descriptor = root;
+            return null;
+          }
+        };
+    com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+        }, assigner);
+    internal_static_KVResponse_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_KVResponse_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_KVResponse_descriptor,
+        new java.lang.String[] { "ErrCode", "Value", "Pid", "Version", "Results", "Ttl", });
+    internal_static_KVResult_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_KVResult_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_KVResult_descriptor,
+        new java.lang.String[] { "Key", "ErrCode", "Value", "Version", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
@@ -0,0 +1,1005 @@
+package A7.proto;
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: StoreStats.proto
+
+public final class StoreStatistics {
+  private StoreStatistics() {}
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistryLite registry) {
+  }
+
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (com.google.protobuf.ExtensionRegistryLite) registry);
+  }
+  public interface StoreStatsOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:StoreStats)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required uint64 entries = 1;</code>
+     */
+    boolean hasEntries();
+    /**
+     * <code>required uint64 entries = 1;</code>
+     */
+    long getEntries();
+
+    /**
+     * <code>required uint64 usedBytes = 2;</code>
+     */
+    boolean hasUsedBytes();
+    /**
+     * <code>required uint64 usedBytes = 2;</code>
+     */
+    long getUsedBytes();
+
+    /**
+     * <code>required uint64 highWatermark = 3;</code>
+     */
+    boolean hasHighWatermark();
+    /**
+     * <code>required uint64 highWatermark = 3;</code>
+     */
+    long getHighWatermark();
+
+    /**
+     * <code>required uint64 hits = 4;</code>
+     */
+    boolean hasHits();
+    /**
+     * <code>required uint64 hits = 4;</code>
+     */
+    long getHits();
+
+    /**
+     * <code>required uint64 misses = 5;</code>
+     */
+    boolean hasMisses();
+    /**
+     * <code>required uint64 misses = 5;</code>
+     */
+    long getMisses();
+
+    /**
+     * <code>required uint64 evictions = 6;</code>
+     */
+    boolean hasEvictions();
+    /**
+     * <code>required uint64 evictions = 6;</code>
+     */
+    long getEvictions();
+  }
+  /**
+   * Protobuf type {@code StoreStats}
+   */
+  public  static final class StoreStats extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:StoreStats)
+      StoreStatsOrBuilder {
+    // Use StoreStats.newBuilder() to construct.
+    private StoreStats(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private StoreStats() {
+      entries_ = 0L;
+      usedBytes_ = 0L;
+      highWatermark_ = 0L;
+      hits_ = 0L;
+      misses_ = 0L;
+      evictions_ = 0L;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private StoreStats(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              entries_ = input.readUInt64();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              usedBytes_ = input.readUInt64();
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              highWatermark_ = input.readUInt64();
+              break;
+            }
+            case 32: {
+              bitField0_ |= 0x00000008;
+              hits_ = input.readUInt64();
+              break;
+            }
+            case 40: {
+              bitField0_ |= 0x00000010;
+              misses_ = input.readUInt64();
+              break;
+            }
+            case 48: {
+              bitField0_ |= 0x00000020;
+              evictions_ = input.readUInt64();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return StoreStatistics.internal_static_StoreStats_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return StoreStatistics.internal_static_StoreStats_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              StoreStatistics.StoreStats.class, StoreStatistics.StoreStats.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int ENTRIES_FIELD_NUMBER = 1;
+    private long entries_;
+    /**
+     * <code>required uint64 entries = 1;</code>
+     */
+    public boolean hasEntries() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required uint64 entries = 1;</code>
+     */
+    public long getEntries() {
+      return entries_;
+    }
+
+    public static final int USEDBYTES_FIELD_NUMBER = 2;
+    private long usedBytes_;
+    /**
+     * <code>required uint64 usedBytes = 2;</code>
+     */
+    public boolean hasUsedBytes() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>required uint64 usedBytes = 2;</code>
+     */
+    public long getUsedBytes() {
+      return usedBytes_;
+    }
+
+    public static final int HIGHWATERMARK_FIELD_NUMBER = 3;
+    private long highWatermark_;
+    /**
+     * <code>required uint64 highWatermark = 3;</code>
+     */
+    public boolean hasHighWatermark() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>required uint64 highWatermark = 3;</code>
+     */
+    public long getHighWatermark() {
+      return highWatermark_;
+    }
+
+    public static final int HITS_FIELD_NUMBER = 4;
+    private long hits_;
+    /**
+     * <code>required uint64 hits = 4;</code>
+     */
+    public boolean hasHits() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>required uint64 hits = 4;</code>
+     */
+    public long getHits() {
+      return hits_;
+    }
+
+    public static final int MISSES_FIELD_NUMBER = 5;
+    private long misses_;
+    /**
+     * <code>required uint64 misses = 5;</code>
+     */
+    public boolean hasMisses() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    /**
+     * <code>required uint64 misses = 5;</code>
+     */
+    public long getMisses() {
+      return misses_;
+    }
+
+    public static final int EVICTIONS_FIELD_NUMBER = 6;
+    private long evictions_;
+    /**
+     * <code>required uint64 evictions = 6;</code>
+     */
+    public boolean hasEvictions() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
+    }
+    /**
+     * <code>required uint64 evictions = 6;</code>
+     */
+    public long getEvictions() {
+      return evictions_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasEntries()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasUsedBytes()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasHighWatermark()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasHits()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasMisses()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasEvictions()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeUInt64(1, entries_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeUInt64(2, usedBytes_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeUInt64(3, highWatermark_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeUInt64(4, hits_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeUInt64(5, misses_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        output.writeUInt64(6, evictions_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(1, entries_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(2, usedBytes_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(3, highWatermark_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(4, hits_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(5, misses_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(6, evictions_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof StoreStatistics.StoreStats)) {
+        return super.equals(obj);
+      }
+      StoreStatistics.StoreStats other = (StoreStatistics.StoreStats) obj;
+
+      boolean result = true;
+      result = result && (hasEntries() == other.hasEntries());
+      if (hasEntries()) {
+        result = result && (getEntries()
+            == other.getEntries());
+      }
+      result = result && (hasUsedBytes() == other.hasUsedBytes());
+      if (hasUsedBytes()) {
+        result = result && (getUsedBytes()
+            == other.getUsedBytes());
+      }
+      result = result && (hasHighWatermark() == other.hasHighWatermark());
+      if (hasHighWatermark()) {
+        result = result && (getHighWatermark()
+            == other.getHighWatermark());
+      }
+      result = result && (hasHits() == other.hasHits());
+      if (hasHits()) {
+        result = result && (getHits()
+            == other.getHits());
+      }
+      result = result && (hasMisses() == other.hasMisses());
+      if (hasMisses()) {
+        result = result && (getMisses()
+            == other.getMisses());
+      }
+      result = result && (hasEvictions() == other.hasEvictions());
+      if (hasEvictions()) {
+        result = result && (getEvictions()
+            == other.getEvictions());
+      }
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (hasEntries()) {
+        hash = (37 * hash) + ENTRIES_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getEntries());
+      }
+      if (hasUsedBytes()) {
+        hash = (37 * hash) + USEDBYTES_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getUsedBytes());
+      }
+      if (hasHighWatermark()) {
+        hash = (37 * hash) + HIGHWATERMARK_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getHighWatermark());
+      }
+      if (hasHits()) {
+        hash = (37 * hash) + HITS_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getHits());
+      }
+      if (hasMisses()) {
+        hash = (37 * hash) + MISSES_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getMisses());
+      }
+      if (hasEvictions()) {
+        hash = (37 * hash) + EVICTIONS_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getEvictions());
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static StoreStatistics.StoreStats parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static StoreStatistics.StoreStats parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static StoreStatistics.StoreStats parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static StoreStatistics.StoreStats parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static StoreStatistics.StoreStats parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static StoreStatistics.StoreStats parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static StoreStatistics.StoreStats parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static StoreStatistics.StoreStats parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static StoreStatistics.StoreStats parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static StoreStatistics.StoreStats parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(StoreStatistics.StoreStats prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code StoreStats}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:StoreStats)
+        StoreStatistics.StoreStatsOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return StoreStatistics.internal_static_StoreStats_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return StoreStatistics.internal_static_StoreStats_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                StoreStatistics.StoreStats.class, StoreStatistics.StoreStats.Builder.class);
+      }
+
+      // Construct using StoreStatistics.StoreStats.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        entries_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        usedBytes_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        highWatermark_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        hits_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        misses_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        evictions_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return StoreStatistics.internal_static_StoreStats_descriptor;
+      }
+
+      public StoreStatistics.StoreStats getDefaultInstanceForType() {
+        return StoreStatistics.StoreStats.getDefaultInstance();
+      }
+
+      public StoreStatistics.StoreStats build() {
+        StoreStatistics.StoreStats result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public StoreStatistics.StoreStats buildPartial() {
+        StoreStatistics.StoreStats result = new StoreStatistics.StoreStats(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.entries_ = entries_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.usedBytes_ = usedBytes_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.highWatermark_ = highWatermark_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.hits_ = hits_;
+        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.misses_ = misses_;
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000020;
+        }
+        result.evictions_ = evictions_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof StoreStatistics.StoreStats) {
+          return mergeFrom((StoreStatistics.StoreStats)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(StoreStatistics.StoreStats other) {
+        if (other == StoreStatistics.StoreStats.getDefaultInstance()) return this;
+        if (other.hasEntries()) {
+          setEntries(other.getEntries());
+        }
+        if (other.hasUsedBytes()) {
+          setUsedBytes(other.getUsedBytes());
+        }
+        if (other.hasHighWatermark()) {
+          setHighWatermark(other.getHighWatermark());
+        }
+        if (other.hasHits()) {
+          setHits(other.getHits());
+        }
+        if (other.hasMisses()) {
+          setMisses(other.getMisses());
+        }
+        if (other.hasEvictions()) {
+          setEvictions(other.getEvictions());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasEntries()) {
+          return false;
+        }
+        if (!hasUsedBytes()) {
+          return false;
+        }
+        if (!hasHighWatermark()) {
+          return false;
+        }
+        if (!hasHits()) {
+          return false;
+        }
+        if (!hasMisses()) {
+          return false;
+        }
+        if (!hasEvictions()) {
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        StoreStatistics.StoreStats parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (StoreStatistics.StoreStats) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private long entries_ ;
+      /**
+       * <code>required uint64 entries = 1;</code>
+       */
+      public boolean hasEntries() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required uint64 entries = 1;</code>
+       */
+      public long getEntries() {
+        return entries_;
+      }
+      /**
+       * <code>required uint64 entries = 1;</code>
+       */
+      public Builder setEntries(long value) {
+        bitField0_ |= 0x00000001;
+        entries_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required uint64 entries = 1;</code>
+       */
+      public Builder clearEntries() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        entries_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long usedBytes_ ;
+      /**
+       * <code>required uint64 usedBytes = 2;</code>
+       */
+      public boolean hasUsedBytes() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>required uint64 usedBytes = 2;</code>
+       */
+      public long getUsedBytes() {
+        return usedBytes_;
+      }
+      /**
+       * <code>required uint64 usedBytes = 2;</code>
+       */
+      public Builder setUsedBytes(long value) {
+        bitField0_ |= 0x00000002;
+        usedBytes_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required uint64 usedBytes = 2;</code>
+       */
+      public Builder clearUsedBytes() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        usedBytes_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long highWatermark_ ;
+      /**
+       * <code>required uint64 highWatermark = 3;</code>
+       */
+      public boolean hasHighWatermark() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>required uint64 highWatermark = 3;</code>
+       */
+      public long getHighWatermark() {
+        return highWatermark_;
+      }
+      /**
+       * <code>required uint64 highWatermark = 3;</code>
+       */
+      public Builder setHighWatermark(long value) {
+        bitField0_ |= 0x00000004;
+        highWatermark_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required uint64 highWatermark = 3;</code>
+       */
+      public Builder clearHighWatermark() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        highWatermark_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long hits_ ;
+      /**
+       * <code>required uint64 hits = 4;</code>
+       */
+      public boolean hasHits() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>required uint64 hits = 4;</code>
+       */
+      public long getHits() {
+        return hits_;
+      }
+      /**
+       * <code>required uint64 hits = 4;</code>
+       */
+      public Builder setHits(long value) {
+        bitField0_ |= 0x00000008;
+        hits_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required uint64 hits = 4;</code>
+       */
+      public Builder clearHits() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        hits_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long misses_ ;
+      /**
+       * <code>required uint64 misses = 5;</code>
+       */
+      public boolean hasMisses() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
+      }
+      /**
+       * <code>required uint64 misses = 5;</code>
+       */
+      public long getMisses() {
+        return misses_;
+      }
+      /**
+       * <code>required uint64 misses = 5;</code>
+       */
+      public Builder setMisses(long value) {
+        bitField0_ |= 0x00000010;
+        misses_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required uint64 misses = 5;</code>
+       */
+      public Builder clearMisses() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        misses_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long evictions_ ;
+      /**
+       * <code>required uint64 evictions = 6;</code>
+       */
+      public boolean hasEvictions() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
+      }
+      /**
+       * <code>required uint64 evictions = 6;</code>
+       */
+      public long getEvictions() {
+        return evictions_;
+      }
+      /**
+       * <code>required uint64 evictions = 6;</code>
+       */
+      public Builder setEvictions(long value) {
+        bitField0_ |= 0x00000020;
+        evictions_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required uint64 evictions = 6;</code>
+       */
+      public Builder clearEvictions() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        evictions_ = 0L;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:StoreStats)
+    }
+
+    // @@protoc_insertion_point(class_scope:StoreStats)
+    private static final StoreStatistics.StoreStats DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new StoreStatistics.StoreStats();
+    }
+
+    public static StoreStatistics.StoreStats getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<StoreStats>
+        PARSER = new com.google.protobuf.AbstractParser<StoreStats>() {
+      public StoreStats parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new StoreStats(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<StoreStats> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<StoreStats> getParserForType() {
+      return PARSER;
+    }
+
+    public StoreStatistics.StoreStats getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_StoreStats_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_StoreStats_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\020StoreStats.proto\"x\n\nStoreStats\022\017\n\007entr" +
+      "ies\030\001 \002(\004\022\021\n\tusedBytes\030\002 \002(\004\022\025\n\rhighWate" +
+      "rmark\030\003 \002(\004\022\014\n\004hits\030\004 \002(\004\022\016\n\006misses\030\005 \002(" +
+      "\004\022\021\n\tevictions\030\006 \002(\004B\021B\017StoreStatistics"
+    };
+    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
+        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
+          public com.google.protobuf.ExtensionRegistry assignDescriptors(
+              com.google.protobuf.Descriptors.FileDescriptor root) {
+            descriptor = root;
+            return null;
+          }
+        };
+    com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+        }, assigner);
+    internal_static_StoreStats_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_StoreStats_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_StoreStats_descriptor,
+        new java.lang.String[] { "Entries", "UsedBytes", "HighWatermark", "Hits", "Misses", "Evictions", });
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
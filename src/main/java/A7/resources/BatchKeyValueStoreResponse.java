@@ -0,0 +1,229 @@
+package A7.resources;
+
+import static A7.DistributedSystemConfiguration.BATCH_OWNER_TIMEOUT_MS;
+import static A7.DistributedSystemConfiguration.MAX_BATCH_KEYS;
+import static A7.DistributedSystemConfiguration.MAX_KEY_SIZE;
+import static A7.DistributedSystemConfiguration.MAX_MSG_SIZE;
+import static A7.proto.KeyValueResponse.KVResponse.RESULTS_FIELD_NUMBER;
+import static A7.resources.ProtocolBufferKeyValueStoreResponse.generateKvReply;
+import static A7.resources.ProtocolBufferKeyValueStoreResponse.getCode;
+import static A7.utils.ProtocolBuffers.wrapMessage;
+
+import A7.client.AsyncUDPClient;
+import A7.core.ConsistentHashRing;
+import A7.proto.KeyValueRequest.KVEntry;
+import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.KeyValueResponse.KVResult;
+import A7.proto.Message.Msg;
+import A7.server.UDPServerThreadPool;
+import A7.utils.MsgWrapper;
+import A7.utils.UniqueIdentifier;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class BatchKeyValueStoreResponse {
+    /*
+    Batch commands carry up to MAX_BATCH_KEYS entries in the repeated "entries" field:
+       0x22 - BatchGet
+       0x23 - BatchPut: entries carry a value and optionally a version
+       0x24 - BatchRemove
+    The receiving node serves the entries it owns and sends every other owner its entries as one
+    client-routed sub-batch, all owners in parallel. The response has one result per entry in
+    request order, each with its own error code. Gets return values until the response would
+    exceed MAX_MSG_SIZE, the remaining values are left out with error 0x23.
+    */
+    public static final int BATCH_GET = 0x22;
+    public static final int BATCH_PUT = 0x23;
+    public static final int BATCH_REMOVE = 0x24;
+
+    // Msg framing, messageID, checksum and the KVResponse's own fields, rounded up
+    private static final int RESPONSE_OVERHEAD = 64;
+
+    public static boolean isBatchCommand(int cmd) {
+        return cmd == BATCH_GET || cmd == BATCH_PUT || cmd == BATCH_REMOVE;
+    }
+
+    // Blocks the worker until every owner answered or BATCH_OWNER_TIMEOUT_MS passed
+    public static Msg generateBatchResponse(KVRequest request, ByteString messageID) {
+        int pid = UniqueIdentifier.getCurrentPID();
+        if (request.getEntriesCount() > MAX_BATCH_KEYS) {
+            return wrapMessage(messageID,
+                generateKvReply(getCode("too many keys"), null, pid, -1).toByteString());
+        }
+
+        KVResult[] results = new KVResult[request.getEntriesCount()];
+        List<Integer> local = new ArrayList<>();
+        List<MsgWrapper> owners = new ArrayList<>();
+        List<List<Integer>> ownerEntries = new ArrayList<>();
+        for (int i = 0; i < request.getEntriesCount(); i++) {
+            ByteString key = request.getEntries(i).getKey();
+            if (key.size() > MAX_KEY_SIZE) {
+                results[i] = result(key, getCode("invalid key"));
+                continue;
+            }
+            MsgWrapper owner = ConsistentHashRing.getInstance().getNode(key);
+            if (owner.getAddress() == null || owner.getPort() == 0) {
+                local.add(i);
+            } else if (request.getClientRouted()) {
+                // a sub-batch from another node's view, never forwarded again
+                results[i] = result(key, getCode("not owner"));
+            } else {
+                int index = owners.indexOf(owner);
+                if (index < 0) {
+                    index = owners.size();
+                    owners.add(owner);
+                    ownerEntries.add(new ArrayList<>());
+                }
+                ownerEntries.get(index).add(i);
+            }
+        }
+
+        // send the sub-batches first so the owners work while the local entries are served
+        long start = System.nanoTime();
+        List<CompletableFuture<KVResponse>> subBatches = new ArrayList<>();
+        for (int i = 0; i < owners.size(); i++) {
+            KVRequest.Builder subBatch = KVRequest.newBuilder()
+                .setCommand(request.getCommand())
+                .setClientRouted(true);
+            for (int index : ownerEntries.get(i)) {
+                subBatch.addEntries(request.getEntries(index));
+            }
+            subBatches.add(AsyncUDPClient.shared().send(subBatch.build(),
+                new InetSocketAddress(owners.get(i).getAddress(), owners.get(i).getPort())));
+        }
+
+        for (int index : local) {
+            results[index] = serveEntry(request.getCommand(), request.getEntries(index),
+                !request.getNotReplicated());
+        }
+
+        // one deadline for all owners, counted from when the sub-batches were sent
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(BATCH_OWNER_TIMEOUT_MS);
+        for (int i = 0; i < owners.size(); i++) {
+            collectSubBatch(subBatches.get(i), deadline, ownerEntries.get(i), request, results);
+        }
+
+        return wrapMessage(messageID, fitResponse(results, pid).toByteString());
+    }
+
+    private static KVResult serveEntry(int cmd, KVEntry entry, boolean replicate) {
+        KVResponse response;
+        switch (cmd) {
+            case BATCH_GET:
+                response = ProtocolBufferKeyValueStoreResponse.get(entry.getKey());
+                break;
+            case BATCH_PUT:
+                ByteString value = entry.hasValue() ? entry.getValue() : null;
+                // versioned by the owner like a single key put
+                response = replicate
+                    ? ProtocolBufferKeyValueStoreResponse.putAsOwner(entry.getKey(), value,
+                        entry.getTtl())
+                    : ProtocolBufferKeyValueStoreResponse.put(entry.getKey(), value,
+                        entry.getVersion(), entry.getTtl());
+                break;
+            default:
+                response = replicate
+                    ? ProtocolBufferKeyValueStoreResponse.removeAsOwner(entry.getKey())
+                    : ProtocolBufferKeyValueStoreResponse.remove(entry.getKey(),
+                        entry.getVersion());
+        }
+
+        // replicate mutations like their single key put (0x01) and remove (0x03) counterparts,
+        // a remove also when the key was not held here
+        if (replicate && cmd != BATCH_GET && (response.getErrCode() == 0
+                || cmd == BATCH_REMOVE && response.hasVersion())) {
+            UDPServerThreadPool.getInstance().replicate(KVRequest.newBuilder()
+                .setCommand(cmd == BATCH_PUT ? 1 : 3)
+                .setKey(entry.getKey())
+                .setValue(entry.getValue())
+                .setVersion(response.getVersion())
+                .setTtl(entry.getTtl())
+                .build());
+        }
+
+        KVResult.Builder result = KVResult.newBuilder()
+            .setKey(entry.getKey())
+            .setErrCode(response.getErrCode());
+        // puts echo their value in single key responses, batches leave it out to save space
+        if (cmd == BATCH_GET && response.hasValue()) {
+            result.setValue(response.getValue());
+        }
+        if (response.hasVersion()) {
+            result.setVersion(response.getVersion());
+        }
+        return result.build();
+    }
+
+    private static void collectSubBatch(CompletableFuture<KVResponse> subBatch, long deadline,
+        List<Integer> indices, KVRequest request, KVResult[] results) {
+        int errCode;
+        try {
+            KVResponse response =
+                subBatch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (response.getErrCode() == 0 && response.getResultsCount() == indices.size()) {
+                for (int i = 0; i < indices.size(); i++) {
+                    results[indices.get(i)] = response.getResults(i);
+                }
+                return;
+            }
+            // the owner refused the whole sub-batch, e.g. on overload
+            errCode = response.getErrCode() != 0
+                ? response.getErrCode() : getCode("KVStore failure");
+        } catch (ExecutionException e) {
+            errCode = getCode("owner unreachable");
+        } catch (TimeoutException e) {
+            // stops the client's retries, the end client retries the whole batch instead
+            subBatch.cancel(false);
+            errCode = getCode("owner unreachable");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errCode = getCode("KVStore failure");
+        }
+        for (int index : indices) {
+            results[index] = result(request.getEntries(index).getKey(), errCode);
+        }
+    }
+
+    // Keys and error codes always go in, values are added in request order while they fit
+    private static KVResponse fitResponse(KVResult[] results, int pid) {
+        int budget = MAX_MSG_SIZE - RESPONSE_OVERHEAD;
+        for (KVResult result : results) {
+            budget -= CodedOutputStream.computeMessageSize(RESULTS_FIELD_NUMBER,
+                result.toBuilder().clearValue().build());
+        }
+        if (budget < 0) {
+            return generateKvReply(getCode("response too large"), null, pid, -1);
+        }
+
+        KVResponse.Builder response = KVResponse.newBuilder()
+            .setErrCode(getCode("success"))
+            .setPid(pid);
+        for (KVResult result : results) {
+            if (result.hasValue()) {
+                KVResult withoutValue = result.toBuilder().clearValue().build();
+                int valueSize = CodedOutputStream.computeMessageSize(RESULTS_FIELD_NUMBER, result)
+                    - CodedOutputStream.computeMessageSize(RESULTS_FIELD_NUMBER, withoutValue);
+                if (valueSize > budget) {
+                    result = withoutValue.toBuilder()
+                        .setErrCode(getCode("response too large")).build();
+                } else {
+                    budget -= valueSize;
+                }
+            }
+            response.addResults(result);
+        }
+        return response.build();
+    }
+
+    private static KVResult result(ByteString key, int errCode) {
+        return KVResult.newBuilder().setKey(key).setErrCode(errCode).build();
+    }
+}
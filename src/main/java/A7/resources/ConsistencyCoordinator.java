@@ -0,0 +1,289 @@
+package A7.resources;
+
+import static A7.DistributedSystemConfiguration.CONSISTENCY_TIMEOUT_MS;
+import static A7.DistributedSystemConfiguration.READ_REPAIR;
+import static A7.DistributedSystemConfiguration.REP_FACTOR;
+import static A7.DistributedSystemConfiguration.VERBOSE;
+import static A7.resources.ProtocolBufferKeyValueStoreResponse.generateKvReply;
+import static A7.resources.ProtocolBufferKeyValueStoreResponse.getCode;
+import static A7.utils.ProtocolBuffers.wrapMessage;
+
+import A7.client.AsyncUDPClient;
+import A7.core.ConsistentHashRing;
+import A7.core.HintStore;
+import A7.proto.KeyValueRequest.Consistency;
+import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.Message.Msg;
+import A7.server.UDPServerThreadPool;
+import A7.utils.MsgWrapper;
+import A7.utils.UniqueIdentifier;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.ByteString;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Serves a put, get or remove asked for at consistency QUORUM or ALL. The owner applies the request
+// locally and sends it to every other live replica of the key at once, then answers as soon as
+// enough replicas, itself included, have acknowledged: a majority of REP_FACTOR for QUORUM, all
+// REP_FACTOR for ALL. If they have not within CONSISTENCY_TIMEOUT_MS the reply is "insufficient
+// replicas"; the replicas that did acknowledge a write keep it. A get answers with the highest
+// version among the replicas that acknowledged, where a "key does not exist" carries the version
+// of the removal, so a removal newer than a value held elsewhere wins. With READ_REPAIR, once
+// every replica of a get has answered, the highest version, value or removal, is pushed to those
+// that answered with an older one, this node included, without holding up the reply.
+//
+// CONSISTENCY_TIMEOUT_MS is longer than the client's first timeout, so the client may retry a
+// request while it is still being coordinated. The request cache only has the reply once it is
+// sent, so runs are also kept by messageID: a retry waits for the run already under way and
+// returns its reply, rather than versioning the write again and sending it to the replicas again.
+public class ConsistencyCoordinator {
+    private static final int PUT = 1;
+    private static final int GET = 2;
+    private static final int REMOVE = 3;
+
+    // Runs by messageID, kept as long as the request cache keeps replies so a retry finds either
+    private static final Cache<ByteString, CompletableFuture<Msg>> runs = CacheBuilder.newBuilder()
+        .maximumSize(500)
+        .expireAfterWrite(5, TimeUnit.SECONDS)
+        .build();
+
+    public static boolean isCoordinated(KVRequest request) {
+        int cmd = request.getCommand();
+        return request.getConsistency() != Consistency.ONE
+            && (cmd == PUT || cmd == GET || cmd == REMOVE);
+    }
+
+    public static int requiredReplicas(Consistency level) {
+        switch (level) {
+            case QUORUM:
+                return REP_FACTOR / 2 + 1;
+            case ALL:
+                return REP_FACTOR;
+            default:
+                return 1;
+        }
+    }
+
+    // Replies of the replicas, completed once enough of them acknowledged or too many failed.
+    // Replies are kept by source, 0 for this node, until every replica has answered or failed
+    private static class Tally {
+        private final int required;
+        private int pending;
+        private int acks = 0;
+        private KVResponse latest;
+        private final KVResponse[] replies;
+        final CompletableFuture<KVResponse> done = new CompletableFuture<>();
+        final CompletableFuture<KVResponse[]> settled = new CompletableFuture<>();
+
+        Tally(int required, int pending) {
+            this.required = required;
+            this.pending = pending;
+            this.replies = new KVResponse[pending];
+        }
+
+        synchronized void reply(int cmd, int source, KVResponse response) {
+            pending--;
+            replies[source] = response;
+            if (pending == 0) {
+                settled.complete(replies);
+            }
+            if (response != null && isAck(cmd, response)) {
+                acks++;
+                if (latest == null || supersedes(response, latest)) {
+                    latest = response;
+                }
+            }
+            if (acks >= required) {
+                done.complete(latest);
+            } else if (acks + pending < required) {
+                done.completeExceptionally(new IllegalStateException("Too few replicas answered"));
+            }
+        }
+    }
+
+    // a replica that never saw the key still agrees on its absence
+    private static boolean isAck(int cmd, KVResponse response) {
+        int err = response.getErrCode();
+        return err == getCode("success")
+            || (cmd != PUT && err == getCode("key does not exist"));
+    }
+
+    // Version of a value or, for "key does not exist", of the removal; -1 if the key was never
+    // removed there
+    private static long versionOf(KVResponse response) {
+        return response.hasVersion() ? response.getVersion() : -1;
+    }
+
+    // Whether the reply is a later write of the key than the other, a removal wins a tie as a put
+    // of the removal's version is refused
+    private static boolean supersedes(KVResponse reply, KVResponse other) {
+        long version = versionOf(reply);
+        long otherVersion = versionOf(other);
+        return version > otherVersion
+            || (version == otherVersion && reply.getErrCode() != 0 && other.getErrCode() == 0);
+    }
+
+    // Blocks the worker for at most CONSISTENCY_TIMEOUT_MS, a retry of a request being coordinated
+    // waits for its run instead
+    public static Msg coordinate(KVRequest request, ByteString messageID) {
+        CompletableFuture<Msg> run = new CompletableFuture<>();
+        CompletableFuture<Msg> running = runs.asMap().putIfAbsent(messageID, run);
+        if (running != null) {
+            int pid = UniqueIdentifier.getCurrentPID();
+            try {
+                return running.get(CONSISTENCY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                return wrapMessage(messageID,
+                    generateKvReply(getCode("KVStore failure"), null, pid, -1).toByteString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return wrapMessage(messageID,
+                    generateKvReply(getCode("KVStore failure"), null, pid, -1).toByteString());
+            }
+        }
+        try {
+            Msg response = coordinateOnce(request, messageID);
+            run.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            run.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Msg coordinateOnce(KVRequest request, ByteString messageID) {
+        int pid = UniqueIdentifier.getCurrentPID();
+        int cmd = request.getCommand();
+        int required = requiredReplicas(request.getConsistency());
+        MsgWrapper[] preferenceList = ConsistentHashRing.getInstance()
+            .getPreferenceList(request.getKey());
+        // fail fast when too few replicas are live to ever acknowledge
+        if (Math.max(1, preferenceList.length) < required) {
+            return wrapMessage(messageID,
+                generateKvReply(getCode("insufficient replicas"), null, pid, -1).toByteString());
+        }
+
+        KVResponse local = serveLocally(request);
+        if (!isAck(cmd, local)) {
+            // e.g. out of memory, the write is not sent to the other replicas
+            return wrapMessage(messageID, local.toByteString());
+        }
+
+        if (cmd != GET) {
+            // replicas that are down get the write once they are live again
+            HintStore.getInstance().hintDownReplicas(request.getKey());
+        }
+        // the replicas keep the version this node gave the put or remove
+        KVRequest replicaRequest = request.toBuilder()
+            .setNotReplicated(true)
+            .clearConsistency()
+            .setVersion(cmd == GET ? request.getVersion() : local.getVersion())
+            .build();
+        List<MsgWrapper> replicas = new ArrayList<>();
+        for (MsgWrapper replica : preferenceList) {
+            if (!replica.getAddress().equals(UDPServerThreadPool.localAddress)
+                    || replica.getPort() != UDPServerThreadPool.localPort) {
+                replicas.add(replica);
+            }
+        }
+        Tally tally = new Tally(required, replicas.size() + 1);
+        tally.reply(cmd, 0, local);
+        for (int i = 0; i < replicas.size(); i++) {
+            int source = i + 1;
+            AsyncUDPClient.shared().send(replicaRequest,
+                new InetSocketAddress(replicas.get(i).getAddress(), replicas.get(i).getPort()))
+                .whenComplete((response, e) -> tally.reply(cmd, source, response));
+        }
+        if (cmd == GET && READ_REPAIR) {
+            tally.settled.thenAccept(replies -> readRepair(request.getKey(), replicas, replies));
+        }
+
+        KVResponse latest;
+        try {
+            latest = tally.done.get(CONSISTENCY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return wrapMessage(messageID,
+                generateKvReply(getCode("insufficient replicas"), null, pid, -1).toByteString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return wrapMessage(messageID,
+                generateKvReply(getCode("KVStore failure"), null, pid, -1).toByteString());
+        }
+        if (cmd != GET) {
+            return wrapMessage(messageID, local.toByteString());
+        }
+        // the value may come from another replica, the pid stays the coordinator's
+        KVResponse response = latest.getErrCode() == 0
+            ? generateKvReply(0, latest.getValue(), pid, latest.getVersion())
+            : generateKvReply(latest.getErrCode(), null, pid, versionOf(latest));
+        return wrapMessage(messageID, response.toByteString());
+    }
+
+    // Pushes the highest version among the replies to the sources that answered with an older one:
+    // the value as a put, or a removal as a remove of its version. A source that answered "key
+    // does not exist" without a version never saw a removal of the key and gets the value
+    private static void readRepair(ByteString key, List<MsgWrapper> replicas, KVResponse[] replies) {
+        KVResponse latest = null;
+        for (KVResponse reply : replies) {
+            if (reply != null && isAck(GET, reply)
+                    && (latest == null || supersedes(reply, latest))) {
+                latest = reply;
+            }
+        }
+        if (latest == null || versionOf(latest) < 0) {
+            // the key is neither stored nor removed anywhere
+            return;
+        }
+        boolean removed = latest.getErrCode() != 0;
+        KVRequest.Builder repair = KVRequest.newBuilder()
+            .setCommand(removed ? REMOVE : PUT)
+            .setKey(key)
+            .setVersion(latest.getVersion())
+            .setNotReplicated(true);
+        if (!removed) {
+            repair.setValue(latest.getValue()).setTtl(latest.getTtl());
+        }
+        for (int source = 0; source < replies.length; source++) {
+            KVResponse reply = replies[source];
+            if (reply == null || !isAck(GET, reply) || !supersedes(latest, reply)) {
+                continue;
+            }
+            if (source == 0) {
+                if (removed) {
+                    ProtocolBufferKeyValueStoreResponse.remove(key, repair.getVersion());
+                } else {
+                    ProtocolBufferKeyValueStoreResponse.put(key, repair.getValue(),
+                        repair.getVersion(), repair.getTtl());
+                }
+                continue;
+            }
+            MsgWrapper replica = replicas.get(source - 1);
+            // fire and forget, a lost repair is retried by the next read
+            AsyncUDPClient.shared().send(repair.build(),
+                new InetSocketAddress(replica.getAddress(), replica.getPort()));
+            if (VERBOSE > 0) {
+                System.out.println("Read repair of version " + repair.getVersion() + " on "
+                    + replica.getAddress().getHostAddress() + ":" + replica.getPort());
+            }
+        }
+    }
+
+    private static KVResponse serveLocally(KVRequest request) {
+        switch (request.getCommand()) {
+            case PUT:
+                return ProtocolBufferKeyValueStoreResponse.putAsOwner(request.getKey(),
+                    request.getValue(), request.getTtl());
+            case GET:
+                return ProtocolBufferKeyValueStoreResponse.get(request.getKey());
+            default:
+                return ProtocolBufferKeyValueStoreResponse.removeAsOwner(request.getKey());
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package A7.resources;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
 
+import A7.proto.KeyValueRequest.Consistency;
+import A7.proto.KeyValueRequest.KVEntry;
 import A7.proto.KeyValueRequest.KVRequest;
 import A7.proto.Message.Msg;
 
 import static A7.utils.ProtocolBuffers.wrapMessage;
 
 import java.util.HashMap;
+import java.util.List;
 
 public class ProtocolBufferKeyValueStoreRequest {
     /*
@@ -21,11 +25,20 @@ public class ProtocolBufferKeyValueStoreRequest {
        0x07 - GetPID: the node is expected to reply with the processID of the Java process
        [Note: We may add some more management operations]
        anything > 0x20. Your own commands if you want.  They may be useful for debugging.
+       0x21 - Membership: replies with the node's view of the ring as a MembershipView
+       0x22 - BatchGet, 0x23 - BatchPut, 0x24 - BatchRemove: many keys in the "entries" field,
+              see BatchKeyValueStoreResponse
+       0x25 - Stats: replies with the node's store size and cache counters as a StoreStats
+       0x26 - AntiEntropy: Merkle tree exchange between replicas, see AntiEntropyThread
     2. Field “key" with tag number two is the identification of the value in the key-value store
        and it is up to 32 bytes long.
     3. Field “value" with tag number three is only used with “put" operation.
        Its maximum length is 10,000 bytes.
     4. Field ‘version’ for the value, for now left unused.
+    5. Field ‘ttl’ with tag number eight, only used with put: milliseconds until the entry
+       expires, it never expires if omitted or 0.
+    6. Field ‘consistency’ with tag number nine, for put, get and remove: ONE (the default), QUORUM
+       or ALL replicas must acknowledge before the reply.
     */
 
     private static HashMap<String, Integer> commands;
@@ -39,6 +52,12 @@ public class ProtocolBufferKeyValueStoreRequest {
         commands.put("isAlive", 6);
         commands.put("getPID", 7);
         commands.put("putDupes", 8);
+        commands.put("membership", 0x21);
+        commands.put("batchGet", 0x22);
+        commands.put("batchPut", 0x23);
+        commands.put("batchRemove", 0x24);
+        commands.put("stats", 0x25);
+        commands.put("antiEntropy", 0x26);
     }
 
     public static Msg generateDupesRequest(ByteString val, ByteString messageID) {
@@ -53,6 +72,17 @@ public class ProtocolBufferKeyValueStoreRequest {
         return msg;
     }
 
+    // the entry expires ttl milliseconds after the owner stores it, never if ttl is 0
+    public static Msg generatePutRequest(ByteString key, ByteString val, int ttl,
+        ByteString messageID) {
+        KVRequest reqPayload = generateKvRequest(commands.get("put"), key, val);
+        if (ttl > 0) {
+            reqPayload = reqPayload.toBuilder().setTtl(ttl).build();
+        }
+        Msg msg = wrapMessage(messageID, reqPayload.toByteString());
+        return msg;
+    }
+
     public static Msg generateGetRequest(ByteString key, ByteString messageID) {
         KVRequest reqPayload = generateKvRequest(commands.get("get"), key, null);
         Msg msg = wrapMessage(messageID, reqPayload.toByteString());
@@ -89,6 +119,73 @@ public class ProtocolBufferKeyValueStoreRequest {
         return msg;
     }
 
+    public static Msg generateMembershipRequest(ByteString messageID) {
+        KVRequest reqPayload = generateKvRequest(commands.get("membership"), null, null);
+        Msg msg = wrapMessage(messageID, reqPayload.toByteString());
+        return msg;
+    }
+
+    public static Msg generateStatsRequest(ByteString messageID) {
+        KVRequest reqPayload = generateKvRequest(commands.get("stats"), null, null);
+        Msg msg = wrapMessage(messageID, reqPayload.toByteString());
+        return msg;
+    }
+
+    // Copy of a put, get or remove request asking for the given consistency level
+    public static Msg withConsistency(Msg msg, Consistency level) {
+        KVRequest reqPayload;
+        try {
+            reqPayload = KVRequest.parseFrom(msg.getPayload()).toBuilder()
+                .setConsistency(level)
+                .build();
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return wrapMessage(msg.getMessageID(), reqPayload.toByteString());
+    }
+
+    // sent between replicas only, never forwarded to the owner of a key
+    public static Msg generateAntiEntropyRequest(ByteString val, ByteString messageID) {
+        KVRequest reqPayload = generateKvRequest(commands.get("antiEntropy"), null, val)
+            .toBuilder().setNotReplicated(true).build();
+        Msg msg = wrapMessage(messageID, reqPayload.toByteString());
+        return msg;
+    }
+
+    public static Msg generateBatchGetRequest(List<ByteString> keys, ByteString messageID) {
+        KVRequest reqPayload = generateBatchKvRequest(commands.get("batchGet"), keys, null);
+        Msg msg = wrapMessage(messageID, reqPayload.toByteString());
+        return msg;
+    }
+
+    public static Msg generateBatchPutRequest(List<ByteString> keys, List<ByteString> values,
+        ByteString messageID) {
+        KVRequest reqPayload = generateBatchKvRequest(commands.get("batchPut"), keys, values);
+        Msg msg = wrapMessage(messageID, reqPayload.toByteString());
+        return msg;
+    }
+
+    public static Msg generateBatchRemoveRequest(List<ByteString> keys, ByteString messageID) {
+        KVRequest reqPayload = generateBatchKvRequest(commands.get("batchRemove"), keys, null);
+        Msg msg = wrapMessage(messageID, reqPayload.toByteString());
+        return msg;
+    }
+
+    private static KVRequest generateBatchKvRequest(int cmd, List<ByteString> keys,
+        List<ByteString> values) {
+        KVRequest.Builder reqPayload = KVRequest.newBuilder();
+        reqPayload.setCommand(cmd);
+        for (int i = 0; i < keys.size(); i++) {
+            KVEntry.Builder entry = KVEntry.newBuilder();
+            entry.setKey(keys.get(i));
+            if (values != null) {
+                entry.setValue(values.get(i));
+            }
+            reqPayload.addEntries(entry);
+        }
+        return reqPayload.build();
+    }
+
     private static KVRequest generateKvRequest(int cmd, ByteString key, ByteString val) {
         KVRequest.Builder reqPayload = KVRequest.newBuilder();
         reqPayload.setCommand(cmd);
@@ -1,29 +1,42 @@
 package A7.resources;
 
-import static A7.DistributedSystemConfiguration.JVM_HEAP_SIZE_KB;
-import static A7.DistributedSystemConfiguration.OUT_OF_MEMORY_THRESHOLD;
+import static A7.DistributedSystemConfiguration.MAX_KEY_SIZE;
+import static A7.DistributedSystemConfiguration.MAX_REP_PAYLOAD_SIZE;
 import static A7.DistributedSystemConfiguration.SHUTDOWN_NODE;
 import static A7.DistributedSystemConfiguration.VERBOSE;
 import static A7.utils.ByteRepresentation.bytesToHex;
 import static A7.utils.ProtocolBuffers.wrapMessage;
 
+import A7.core.ChangeLog;
 import A7.core.ConsistentHashRing;
+import A7.core.EvictingStorageEngine;
+import A7.core.HybridLogicalClock;
 import A7.core.KeyValueStoreSingleton;
+import A7.core.MerkleStorageEngine;
+import A7.core.MerkleTrees;
+import A7.core.StorageEngine;
+import A7.core.Tombstones;
 import A7.core.VersionedValue;
+import A7.core.WriteAheadLog;
+import A7.proto.AntiEntropy.LeafKeys;
+import A7.proto.AntiEntropy.MerkleExchange;
+import A7.proto.AntiEntropy.RangeDigest;
 import A7.proto.KeyValueRequest.KVRequest;
 import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.KeyValueResponse.KVResult;
 import A7.proto.Message.Msg;
+import A7.proto.Replication.ReplicatedEntry;
+import A7.proto.Replication.ReplicationBatch;
+import A7.proto.StoreStatistics.StoreStats;
 import A7.server.UDPServerThreadPool;
 import A7.utils.MsgWrapper;
 import A7.utils.UniqueIdentifier;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class ProtocolBufferKeyValueStoreResponse {
     /*
@@ -38,6 +51,13 @@ public class ProtocolBufferKeyValueStoreResponse {
     0x07. Invalid value length:  the value length does not match the expected length.
     [possibly more standard codes will get defined here]
     anything > 0x20. Your own error codes. [Define them in your Readme]
+    0x21. Not owner: a client-routed request reached a node that does not own the key, the client
+          should refresh its membership view
+    0x22. Owner unreachable: a batch entry's owning node did not answer
+    0x23. Response too large: the batch result did not fit in one message, retry the entry alone
+    0x24. Insufficient replicas: fewer replicas than the request's consistency level acknowledged
+          in time. A write may still have been applied on the replicas that did
+    0x25. Too many keys: a batch has more than MAX_BATCH_KEYS entries, split it and retry
 
     Note: all requests that return a non-zero (failure) error code should not modify server state
     */
@@ -53,6 +73,193 @@ public class ProtocolBufferKeyValueStoreResponse {
         codes.put("unrecognized command", 5);
         codes.put("invalid key", 6);
         codes.put("invalid value length", 7);
+        codes.put("not owner", 0x21);
+        codes.put("owner unreachable", 0x22);
+        codes.put("response too large", 0x23);
+        codes.put("insufficient replicas", 0x24);
+        codes.put("too many keys", 0x25);
+    }
+
+    static int getCode(String name) {
+        return codes.get(name);
+    }
+
+    // serialize the writes to one key with their log appends, see putIfNewer and removeIfNewer.
+    // Locks rather than monitors, so a virtual thread blocked on one or on the log append it
+    // guards does not pin its carrier thread
+    private static final int WRITE_STRIPES = 256;
+    private static final ReentrantLock[] writeStripes = new ReentrantLock[WRITE_STRIPES];
+    static {
+        for (int i = 0; i < WRITE_STRIPES; i++) {
+            writeStripes[i] = new ReentrantLock();
+        }
+    }
+
+    private static ReentrantLock writeStripe(ByteString key) {
+        return writeStripes[(key.hashCode() & 0x7FFFFFFF) % WRITE_STRIPES];
+    }
+
+    // Stores and logs the entry unless a live entry or a removal of the same or a higher version
+    // is stored (last writer wins), so replicated writes may be retried and arrive in any order.
+    // Every write of a value a replica, a repair or a replication batch sends goes through here.
+    // Returns the write that stands, which is the stored entry or a VersionedValue.removed if the
+    // given entry was stale, or null if the memory budget refused the entry
+    static VersionedValue putIfNewer(ByteString key, VersionedValue value) throws IOException {
+        HybridLogicalClock.getInstance().observe(value.getVersion());
+        StorageEngine store = KeyValueStoreSingleton.getInstance().getStore();
+        long logged;
+        ReentrantLock stripe = writeStripe(key);
+        stripe.lock();
+        try {
+            VersionedValue stored = store.get(key);
+            if (stored != null && !stored.isExpired(System.currentTimeMillis())
+                    && stored.getVersion() >= value.getVersion()) {
+                return stored;
+            }
+            long removed = Tombstones.getInstance().version(key);
+            if (removed >= value.getVersion()) {
+                return VersionedValue.removed(removed);
+            }
+            logged = logAndStore(store, key, value, stored);
+        } finally {
+            stripe.unlock();
+        }
+        return awaitLogged(logged) ? value : null;
+    }
+
+    // Owner side of a put: versions the entry with the clock, and above the stored entry or
+    // removal should that be ahead of the clock, so the put always replaces what it read. Returns
+    // the versioned entry, or null if the memory budget refused it
+    static VersionedValue putStamped(ByteString key, ByteString value, long expiresAt)
+        throws IOException {
+        StorageEngine store = KeyValueStoreSingleton.getInstance().getStore();
+        VersionedValue stamped;
+        long logged;
+        ReentrantLock stripe = writeStripe(key);
+        stripe.lock();
+        try {
+            VersionedValue stored = store.get(key);
+            stamped = new VersionedValue(value, stamp(key, stored), expiresAt);
+            logged = logAndStore(store, key, stamped, stored);
+        } finally {
+            stripe.unlock();
+        }
+        return awaitLogged(logged) ? stamped : null;
+    }
+
+    // Version for a write of the owner, called under the key's stripe lock
+    private static long stamp(ByteString key, VersionedValue stored) {
+        long version = HybridLogicalClock.getInstance().now();
+        if (stored != null) {
+            version = Math.max(version, stored.getVersion() + 1);
+        }
+        return Math.max(version, Tombstones.getInstance().version(key) + 1);
+    }
+
+    // The entry is logged before it is stored, under the key's stripe lock held by the caller, so
+    // the log holds the writes of a key in the order the store applied them and a failed append
+    // leaves the store unchanged. A snapshot does not roll the log in between, see
+    // WriteAheadLog.startApply. Returns the log position to wait for with awaitLogged once the
+    // stripe is released, or -1 if the memory budget refused the entry
+    private static long logAndStore(StorageEngine store, ByteString key, VersionedValue value,
+        VersionedValue stored) throws IOException {
+        WriteAheadLog wal = WriteAheadLog.getInstance();
+        long logged;
+        wal.startApply();
+        try {
+            logged = wal.logPut(key, value);
+            if (!store.put(key, value)) {
+                // the refused entry is already logged, log the entry or removal it was to
+                // replace again
+                if (stored == null) {
+                    wal.logRemove(key, Tombstones.getInstance().version(key));
+                } else {
+                    wal.logPut(key, stored);
+                }
+                return -1;
+            }
+        } finally {
+            wal.finishApply();
+        }
+        Tombstones.getInstance().remove(key);
+        ChangeLog.getInstance().append(key);
+        return logged;
+    }
+
+    // Waits for the fsync covering a write logged at the position, outside of the stripe lock so
+    // the writes of other keys on the stripe join the same group commit. False for a write the
+    // memory budget refused
+    private static boolean awaitLogged(long logged) throws IOException {
+        if (logged < 0) {
+            return false;
+        }
+        WriteAheadLog.getInstance().awaitSync(logged);
+        return true;
+    }
+
+    // Outcome of removeIfNewer
+    static class Removal {
+        // version of the removal, or of the entry kept if the removal was stale
+        final long version;
+        // the live entry removed or, if the removal was stale, the newer entry kept; null if the
+        // key was not stored
+        final VersionedValue entry;
+        final boolean stale;
+
+        Removal(long version, VersionedValue entry, boolean stale) {
+            this.version = version;
+            this.entry = entry;
+            this.stale = stale;
+        }
+    }
+
+    // Removes the key at the version unless a live entry of the same or a higher version is
+    // stored, like putIfNewer, and keeps a tombstone of the removal so older writes that arrive
+    // later are refused. A key that is neither stored nor has an older tombstone here is left
+    // alone, the removal still gets its version. With stamp set the owner versions the removal like
+    // putStamped instead. The removal is logged before the store changes, under the key's stripe
+    // lock
+    static Removal removeIfNewer(ByteString key, long version, boolean stamp) throws IOException {
+        StorageEngine store = KeyValueStoreSingleton.getInstance().getStore();
+        if (!stamp) {
+            HybridLogicalClock.getInstance().observe(version);
+        }
+        Removal removal;
+        long logged = 0;
+        ReentrantLock stripe = writeStripe(key);
+        stripe.lock();
+        try {
+            VersionedValue stored = store.get(key);
+            if (stored != null && stored.isExpired(System.currentTimeMillis())) {
+                // already absent to clients, removed all the same
+                stored = null;
+            }
+            if (stamp) {
+                version = stamp(key, stored);
+            } else if (stored != null && stored.getVersion() >= version) {
+                return new Removal(stored.getVersion(), stored, true);
+            }
+            long removed = Tombstones.getInstance().version(key);
+            // a key neither stored nor removed here gets no tombstone, so removals of unknown
+            // keys cannot fill the heap
+            if ((stored != null || removed >= 0) && removed < version) {
+                WriteAheadLog wal = WriteAheadLog.getInstance();
+                wal.startApply();
+                try {
+                    logged = wal.logRemove(key, version);
+                    store.remove(key);
+                    Tombstones.getInstance().add(key, version);
+                } finally {
+                    wal.finishApply();
+                }
+                ChangeLog.getInstance().append(key);
+            }
+            removal = new Removal(version, stored, false);
+        } finally {
+            stripe.unlock();
+        }
+        awaitLogged(logged);
+        return removal;
     }
 
     // received response to poulate duplicate map
@@ -60,36 +267,54 @@ public class ProtocolBufferKeyValueStoreResponse {
         KVResponse resPayload;
         int pid = UniqueIdentifier.getCurrentPID();
 
-        ConcurrentHashMap<ByteString, VersionedValue> dupeMap =
-            new ConcurrentHashMap<ByteString, VersionedValue>();
-        
-        // Parse byte array to Map
-		try {
-			ByteArrayInputStream byteIn = new ByteArrayInputStream(value.toByteArray());
-	        ObjectInputStream in;
-			in = new ObjectInputStream(byteIn);
-			dupeMap = (ConcurrentHashMap<ByteString, VersionedValue>) in.readObject();
-		} catch (IOException | ClassNotFoundException e) {
-			resPayload = generateKvReply(codes.get("KVStore failure"), null, pid, -1);
-			e.printStackTrace();
-		}
-	
-		if (value == null) {
+        ReplicationBatch batch;
+        try {
+            batch = ReplicationBatch.parseFrom(value);
+        } catch (InvalidProtocolBufferException e) {
+            e.printStackTrace();
             resPayload = generateKvReply(codes.get("KVStore failure"), null, pid, -1);
-        } else {
-		    // TODO: Investigate if this is sufficient
-            if (Runtime.getRuntime().freeMemory() >
-                (JVM_HEAP_SIZE_KB * OUT_OF_MEMORY_THRESHOLD) * 1024) {
-    	        KeyValueStoreSingleton.getInstance().getMap().putAll(dupeMap);
-                resPayload = generateKvReply(codes.get("success"), null, pid, -1);
-            } else {
-                if (VERBOSE > 0) {
-                    System.out.println("Out of memory, remaining: "
-                        + Runtime.getRuntime().freeMemory());
+            return wrapMessage(messageID, resPayload.toByteString());
+        }
+
+        // the storage engine's memory budget refuses entries once it is full
+        try {
+            // entries and removals held here at a higher version are sent back, as far as they
+            // fit, so the sender can catch up; removals as "key does not exist" with their
+            // version. Entries with a ttl are left to expire
+            KVResponse.Builder newer = KVResponse.newBuilder();
+            int newerSize = 0;
+            for (ReplicatedEntry entry : batch.getEntriesList()) {
+                VersionedValue standing;
+                if (entry.getRemoved()) {
+                    Removal removal = removeIfNewer(entry.getKey(), entry.getVersion(), false);
+                    standing = removal.stale ? removal.entry : null;
+                } else {
+                    standing = putIfNewer(entry.getKey(), new VersionedValue(entry.getValue(),
+                        entry.getVersion(), entry.getExpiresAt()));
+                    if (standing == null) {
+                        return generateOutOfMemoryResponse(messageID);
+                    }
+                }
+                if (standing != null && standing.getVersion() > entry.getVersion()
+                        && standing.getExpiresAt() == 0) {
+                    KVResult.Builder result = KVResult.newBuilder()
+                        .setKey(entry.getKey())
+                        .setVersion(standing.getVersion());
+                    if (standing.isRemoved()) {
+                        result.setErrCode(codes.get("key does not exist"));
+                    } else {
+                        result.setErrCode(codes.get("success")).setValue(standing.getValue());
+                    }
+                    newerSize += result.build().getSerializedSize() + 4;
+                    if (newerSize <= MAX_REP_PAYLOAD_SIZE) {
+                        newer.addResults(result);
+                    }
                 }
-                // return out of memory response if GC limit about to be exceeded
-                return generateOutOfMemoryResponse(messageID);
             }
+            resPayload = newer.setErrCode(codes.get("success")).setPid(pid).build();
+        } catch (IOException e) {
+            e.printStackTrace();
+            resPayload = generateKvReply(codes.get("KVStore failure"), null, pid, -1);
         }
         Msg msg = wrapMessage(messageID, resPayload.toByteString());
         return msg;
@@ -97,75 +322,153 @@ public class ProtocolBufferKeyValueStoreResponse {
     
     // note, ConcurrentHashMap throws NullPointerException if specified key or value is null
     public static Msg generatePutResponse(ByteString key, ByteString value, ByteString messageID,
-        int version) {
+        long version) {
+        return generatePutResponse(key, value, messageID, version, 0);
+    }
+
+    // ttl in milliseconds, 0 if the entry never expires
+    public static Msg generatePutResponse(ByteString key, ByteString value, ByteString messageID,
+        long version, int ttl) {
+        Msg msg = wrapMessage(messageID, put(key, value, version, ttl).toByteString());
+        return msg;
+    }
+
+    // applies a put to the local store, shared by single and batch puts. A put older than the
+    // stored entry leaves it in place and answers with it, one older than a removal answers
+    // "key does not exist" with the removal's version
+    public static KVResponse put(ByteString key, ByteString value, long version, int ttl) {
+        return put(key, value, version, ttl, false);
+    }
+
+    // applies a put on the node owning the key, which versions it, see putStamped. The reply
+    // carries the version for the replicas to keep
+    public static KVResponse putAsOwner(ByteString key, ByteString value, int ttl) {
+        return put(key, value, -1, ttl, true);
+    }
+
+    private static KVResponse put(ByteString key, ByteString value, long version, int ttl,
+        boolean stamp) {
         KVResponse resPayload;
         int pid = UniqueIdentifier.getCurrentPID();
         
         if (key == null || value == null) {
             resPayload = generateKvReply(codes.get("KVStore failure"), null, pid, version);
         } else {
-            if (Runtime.getRuntime().freeMemory() >
-                (JVM_HEAP_SIZE_KB * OUT_OF_MEMORY_THRESHOLD) * 1024) {
-                KeyValueStoreSingleton.getInstance().getMap().put(key,
-                    new VersionedValue(value, version));
-                if (VERBOSE > 0) {
-                    System.out.println("Put Value: " + bytesToHex(value.toByteArray()));
+            long expiresAt = VersionedValue.expiryOf(ttl, System.currentTimeMillis());
+            try {
+                VersionedValue standing = stamp ? putStamped(key, value, expiresAt)
+                    : putIfNewer(key, new VersionedValue(value, version, expiresAt));
+                if (standing == null) {
+                    // storage engine's memory budget has no room left for the entry
+                    return generateKvReply(codes.get("out of memory"), null, pid, -1);
+                }
+                if (standing.isRemoved()) {
+                    // a newer removal stands
+                    return generateKvReply(codes.get("key does not exist"), null, pid,
+                        standing.getVersion());
                 }
-                resPayload = generateKvReply(codes.get("success"), value, pid, version);
-            } else {
                 if (VERBOSE > 0) {
-                    System.out.println("Out of memory, remaining: "
-                        + Runtime.getRuntime().freeMemory());
+                    System.out.println("Put Value: " + bytesToHex(value.toByteArray()));
                 }
-                // return out of memory response if GC limit about to be exceeded
-                return generateOutOfMemoryResponse(messageID);
+                resPayload = generateKvReply(codes.get("success"), standing.getValue(), pid,
+                    standing.getVersion());
+            } catch (IOException e) {
+                e.printStackTrace();
+                resPayload = generateKvReply(codes.get("KVStore failure"), null, pid, version);
             }
         }
-        Msg msg = wrapMessage(messageID, resPayload.toByteString());
-        return msg;
+        return resPayload;
     }
 
     public static Msg generateGetResponse(ByteString key, ByteString messageID) {
+        Msg msg = wrapMessage(messageID, get(key).toByteString());
+        return msg;
+    }
+
+    public static KVResponse get(ByteString key) {
         KVResponse resPayload;
         int pid = UniqueIdentifier.getCurrentPID();
 
-        if (KeyValueStoreSingleton.getInstance().getMap().containsKey(key)) {
-            ByteString value = KeyValueStoreSingleton.getInstance().getMap().get(key).getValue();
-            int version = KeyValueStoreSingleton.getInstance().getMap().get(key).getVersion();
+        StorageEngine store = KeyValueStoreSingleton.getInstance().getStore();
+        VersionedValue stored = store.get(key);
+        long now = System.currentTimeMillis();
+        if (stored != null && stored.isExpired(now)) {
+            // lazy expiration, the sweeper reclaims expired keys that are never read again
+            store.removeExpired(key, now);
+            stored = null;
+        }
+        if (stored != null) {
+            ByteString value = stored.getValue();
+            long version = stored.getVersion();
             resPayload = generateKvReply(codes.get("success"), value, pid, version);
+            if (stored.getExpiresAt() != 0) {
+                // lets a read repair give the copy it pushes the same remaining lifetime
+                resPayload = resPayload.toBuilder()
+                    .setTtl((int) Math.max(1, stored.getExpiresAt() - now))
+                    .build();
+            }
             if (VERBOSE > 0) {
                 System.out.println("Get Value: " + bytesToHex(value.toByteArray()));
             }
         } else {
-            resPayload = generateKvReply(codes.get("key does not exist"), null, pid, -1);
+            // with the version of the removal if there is one, so a coordinator weighs it
+            // against the values other replicas answer with
+            resPayload = generateKvReply(codes.get("key does not exist"), null, pid,
+                Tombstones.getInstance().version(key));
             if (VERBOSE > 0) {
                 System.out.println("Attempted Get Key: " + bytesToHex(key.toByteArray())
                     + " does not exist");
             }
         }
-        Msg msg = wrapMessage(messageID, resPayload.toByteString());
+        return resPayload;
+    }
+
+    public static Msg generateRemoveResponse(ByteString key, ByteString messageID,
+        long version) {
+        Msg msg = wrapMessage(messageID, remove(key, version).toByteString());
         return msg;
     }
 
-    public static Msg generateRemoveResponse(ByteString key, ByteString messageID) {
+    // applies a replicated remove at the owner's version, see removeIfNewer. A remove older than
+    // the stored entry leaves it in place and answers with it
+    public static KVResponse remove(ByteString key, long version) {
+        return remove(key, version, false);
+    }
+
+    // applies a remove on the node owning the key, which versions it. The reply carries the
+    // version for the replicas to keep
+    public static KVResponse removeAsOwner(ByteString key) {
+        return remove(key, -1, true);
+    }
+
+    private static KVResponse remove(ByteString key, long version, boolean stamp) {
         KVResponse resPayload;
         int pid = UniqueIdentifier.getCurrentPID();
         
-        if (KeyValueStoreSingleton.getInstance().getMap().containsKey(key)) {
-            KeyValueStoreSingleton.getInstance().getMap().remove(key);
-            resPayload = generateKvReply(codes.get("success"), null, pid, -1);
+        Removal removal;
+        try {
+            removal = removeIfNewer(key, version, stamp);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return generateKvReply(codes.get("KVStore failure"), null, pid, -1);
+        }
+        if (removal.stale) {
+            resPayload = generateKvReply(codes.get("success"), removal.entry.getValue(), pid,
+                removal.version);
+        } else if (removal.entry != null) {
+            resPayload = generateKvReply(codes.get("success"), null, pid, removal.version);
             if (VERBOSE > 0) {
                 System.out.println("Removed Key: " + bytesToHex(key.toByteArray()));
             }
         } else {
-            resPayload = generateKvReply(codes.get("key does not exist"), null, pid, -1);
+            resPayload = generateKvReply(codes.get("key does not exist"), null, pid,
+                removal.version);
             if (VERBOSE > 0) {
                 System.out.println("Failed attempted to remove key: "
                     + bytesToHex(key.toByteArray()) + " does not exist");
             }
         }
-        Msg msg = wrapMessage(messageID, resPayload.toByteString());
-        return msg;
+        return resPayload;
     }
 
     public static Msg generateShutdownResponse(ByteString messageID) {
@@ -178,9 +481,28 @@ public class ProtocolBufferKeyValueStoreResponse {
     }
 
     public static Msg generateDeleteAllResponse(ByteString messageID) {
-        KeyValueStoreSingleton.getInstance().getMap().clear();
         int pid = UniqueIdentifier.getCurrentPID();
-        KVResponse resPayload = generateKvReply(codes.get("success"), null, pid, -1);
+        KVResponse resPayload;
+        WriteAheadLog wal = WriteAheadLog.getInstance();
+        try {
+            // logged first, a failed append leaves the store as it is
+            long logged;
+            wal.startApply();
+            try {
+                logged = wal.logClear();
+                KeyValueStoreSingleton.getInstance().getStore().clear();
+                Tombstones.getInstance().clear();
+            } finally {
+                wal.finishApply();
+            }
+            // removals are not logged key by key, peers get a full transfer next
+            ChangeLog.getInstance().truncate();
+            wal.awaitSync(logged);
+            resPayload = generateKvReply(codes.get("success"), null, pid, -1);
+        } catch (IOException e) {
+            e.printStackTrace();
+            resPayload = generateKvReply(codes.get("KVStore failure"), null, pid, -1);
+        }
         Msg msg = wrapMessage(messageID, resPayload.toByteString());
         return msg;
     }
@@ -196,6 +518,162 @@ public class ProtocolBufferKeyValueStoreResponse {
         return msg;
     }
 
+    // current view of the ring, see ConsistentHashRing.getMembershipView
+    public static Msg generateMembershipResponse(ByteString messageID) {
+        int pid = UniqueIdentifier.getCurrentPID();
+        KVResponse resPayload = generateKvReply(codes.get("success"),
+            ConsistentHashRing.getInstance().getMembershipView().toByteString(), pid, -1);
+        Msg msg = wrapMessage(messageID, resPayload.toByteString());
+        return msg;
+    }
+
+    // size of the local store and, in cache mode, its hit/miss/eviction counters
+    public static Msg generateStatsResponse(ByteString messageID) {
+        int pid = UniqueIdentifier.getCurrentPID();
+        StorageEngine store = KeyValueStoreSingleton.getInstance().getStore();
+        StoreStats.Builder stats = StoreStats.newBuilder()
+            .setEntries(store.size())
+            .setUsedBytes(store.getMemoryBudget().getUsed())
+            .setHighWatermark(store.getMemoryBudget().getHighWatermark())
+            .setHits(0)
+            .setMisses(0)
+            .setEvictions(0);
+        if (store instanceof EvictingStorageEngine) {
+            EvictingStorageEngine cache = (EvictingStorageEngine) store;
+            stats.setHits(cache.getHits())
+                .setMisses(cache.getMisses())
+                .setEvictions(cache.getEvictions());
+        }
+        KVResponse resPayload = generateKvReply(codes.get("success"),
+            stats.build().toByteString(), pid, -1);
+        Msg msg = wrapMessage(messageID, resPayload.toByteString());
+        return msg;
+    }
+
+    // Replica side of anti-entropy. Roots in the request are answered with the leaves of the local
+    // trees that differ, leaves in the request with the local keys in them and their digests, and
+    // pulled keys with the local entries for them. Ranges not on the local ring are skipped, and a
+    // reply that would not fit in one message leaves out the rest, which the next exchange picks up
+    public static Msg generateAntiEntropyResponse(ByteString value, ByteString messageID) {
+        int pid = UniqueIdentifier.getCurrentPID();
+        MerkleExchange request;
+        try {
+            request = MerkleExchange.parseFrom(value);
+        } catch (InvalidProtocolBufferException e) {
+            e.printStackTrace();
+            KVResponse resPayload = generateKvReply(codes.get("KVStore failure"), null, pid, -1);
+            return wrapMessage(messageID, resPayload.toByteString());
+        }
+
+        MerkleExchange.Builder reply = MerkleExchange.newBuilder();
+        StorageEngine store = KeyValueStoreSingleton.getInstance().getStore();
+        // a node without trees, e.g. in cache mode, takes no part and reports no differences
+        if (store instanceof MerkleStorageEngine) {
+            MerkleTrees trees = ((MerkleStorageEngine) store).getTrees(
+                ConsistentHashRing.getInstance().getRoutingTable());
+            for (RangeDigest digest : request.getRangesList()) {
+                int range = trees.rangeOfToken(digest.getToken());
+                if (range < 0) {
+                    continue;
+                }
+                long[] leaves = trees.leaves(range);
+                if (MerkleTrees.root(leaves) != digest.getRoot()) {
+                    RangeDigest.Builder differing = RangeDigest.newBuilder()
+                        .setToken(digest.getToken());
+                    for (long leaf : leaves) {
+                        differing.addLeaves(leaf);
+                    }
+                    if (!addIfFits(reply, differing.build())) {
+                        break;
+                    }
+                }
+            }
+            if (request.getLeavesCount() > 0) {
+                addLeafKeys(store, trees, request, reply);
+            }
+            addPulledEntries(store, request, reply);
+        }
+        KVResponse resPayload = generateKvReply(codes.get("success"),
+            reply.build().toByteString(), pid, -1);
+        return wrapMessage(messageID, resPayload.toByteString());
+    }
+
+    private static boolean addIfFits(MerkleExchange.Builder reply, RangeDigest digest) {
+        if (reply.build().getSerializedSize() + digest.getSerializedSize() + 8
+            > MAX_REP_PAYLOAD_SIZE) {
+            return false;
+        }
+        reply.addRanges(digest);
+        return true;
+    }
+
+    // Lists the local keys of the requested leaves, in one pass over the store
+    private static void addLeafKeys(StorageEngine store, MerkleTrees trees,
+        MerkleExchange request, MerkleExchange.Builder reply) {
+        Map<Long, LeafKeys.Builder> requested = new HashMap<>();
+        for (LeafKeys leaf : request.getLeavesList()) {
+            int range = trees.rangeOfToken(leaf.getToken());
+            if (range >= 0) {
+                requested.put((long) range * trees.getLeaves() + leaf.getLeaf(),
+                    LeafKeys.newBuilder().setToken(leaf.getToken()).setLeaf(leaf.getLeaf()));
+            }
+        }
+        int[] size = {reply.build().getSerializedSize()};
+        store.forEach((key, stored) -> {
+            if (!MerkleTrees.isTracked(stored)) {
+                return;
+            }
+            long hash = ConsistentHashRing.hash(key);
+            LeafKeys.Builder leaf = requested.get(
+                (long) trees.range(hash) * trees.getLeaves() + trees.leaf(hash));
+            // a key takes its length, a digest and their tags
+            if (leaf != null && size[0] + key.size() + 16 <= MAX_REP_PAYLOAD_SIZE) {
+                leaf.addKeys(key).addDigests(MerkleTrees.digest(key, stored));
+                size[0] += key.size() + 16;
+            }
+        });
+        for (LeafKeys.Builder leaf : requested.values()) {
+            reply.addLeaves(leaf);
+        }
+    }
+
+    // Adds the local entries for the pulled keys. Keys held here with a ttl, or not at all, are
+    // left out like in addLeafKeys
+    private static void addPulledEntries(StorageEngine store, MerkleExchange request,
+        MerkleExchange.Builder reply) {
+        int size = reply.build().getSerializedSize();
+        for (ByteString key : request.getPullList()) {
+            VersionedValue stored = store.get(key);
+            if (!MerkleTrees.isTracked(stored)) {
+                continue;
+            }
+            ReplicatedEntry entry = ReplicatedEntry.newBuilder()
+                .setKey(key)
+                .setValue(stored.getValue())
+                .setVersion(stored.getVersion())
+                .build();
+            size += entry.getSerializedSize() + 4;
+            if (size > MAX_REP_PAYLOAD_SIZE) {
+                break;
+            }
+            reply.addEntries(entry);
+        }
+    }
+
+    public static Msg generateNotOwnerResponse(ByteString messageID) {
+        int pid = UniqueIdentifier.getCurrentPID();
+        KVResponse resPayload = generateKvReply(codes.get("not owner"), null, pid, -1);
+        Msg msg = wrapMessage(messageID, resPayload.toByteString());
+        return msg;
+    }
+
+    public static Msg generateInvalidKeyResponse(ByteString messageID) {
+        int pid = UniqueIdentifier.getCurrentPID();
+        KVResponse resPayload = generateKvReply(codes.get("invalid key"), null, pid, -1);
+        Msg msg = wrapMessage(messageID, resPayload.toByteString());
+        return msg;
+    }
+
     public static Msg generateUnrecognizedCommandResponse(ByteString messageID) {
         int pid = UniqueIdentifier.getCurrentPID();
         KVResponse resPayload = generateKvReply(codes.get("unrecognized command"), null, pid, -1);
@@ -203,6 +681,14 @@ public class ProtocolBufferKeyValueStoreResponse {
         return msg;
     }
 
+    // sent instead of serving a request when the node is saturated, the client should back off
+    public static Msg generateOverloadResponse(ByteString messageID) {
+        int pid = UniqueIdentifier.getCurrentPID();
+        KVResponse resPayload = generateKvReply(codes.get("system overload"), null, pid, -1);
+        Msg msg = wrapMessage(messageID, resPayload.toByteString());
+        return msg;
+    }
+
     public static Msg generateOutOfMemoryResponse(ByteString messageID) {
         int pid = UniqueIdentifier.getCurrentPID();
         KVResponse resPayload = generateKvReply(codes.get("out of memory"), null, pid,-1);
@@ -210,7 +696,7 @@ public class ProtocolBufferKeyValueStoreResponse {
         return msg;
     }
 
-    public static KVResponse generateKvReply(int err, ByteString val, int pid, int version) {
+    public static KVResponse generateKvReply(int err, ByteString val, int pid, long version) {
         KVResponse.Builder resPayload = KVResponse.newBuilder();
         resPayload.setErrCode(err);
 
@@ -243,6 +729,11 @@ public class ProtocolBufferKeyValueStoreResponse {
             System.out.println("Error Code: " + reply.getErrCode());
             System.out.println("Value: " + bytesToHex(reply.getValue().toByteArray()));
             System.out.println("PID: " + reply.getPid());
+            for (KVResult result : reply.getResultsList()) {
+                System.out.println("Key: " + bytesToHex(result.getKey().toByteArray())
+                    + " Error Code: " + result.getErrCode()
+                    + " Value: " + bytesToHex(result.getValue().toByteArray()));
+            }
             // Latest protocol buffer definitions removed version field, uncomment once reintroduced
             // System.out.println("Version: " + reply.getVersion());
         }
@@ -259,12 +750,14 @@ public class ProtocolBufferKeyValueStoreResponse {
             e.printStackTrace();
         }
 
-        try {
-        	 if (!request.hasNotReplicated() || request.getNotReplicated() == false) {
-        		forwardRequest = ConsistentHashRing.getInstance().getNode(request.getKey());
-        	}
-        } catch (NoSuchAlgorithmException e) {
-            e.printStackTrace();
+        if (request.getKey().size() > MAX_KEY_SIZE) {
+            // refused before it is forwarded, replicated or logged
+            forwardRequest.setMessage(generateInvalidKeyResponse(req.getMessageID()));
+            return forwardRequest;
+        }
+
+        if (!request.hasNotReplicated() || request.getNotReplicated() == false) {
+            forwardRequest = ConsistentHashRing.getInstance().getNode(request.getKey());
         }
 
         Msg response;
@@ -272,23 +765,52 @@ public class ProtocolBufferKeyValueStoreResponse {
         if (forwardRequest != null && (forwardRequest.getPort() == 0
             || forwardRequest.getAddress() == null)) {
             // process operation on current node and generate response
-            response = generateResponse(
-                request.getCommand(),
-                request.getKey(),
-                request.getValue(),
-                req.getMessageID(),
-                request.getVersion()
-            );
+            boolean applied = true;
+            if (BatchKeyValueStoreResponse.isBatchCommand(request.getCommand())) {
+                response = BatchKeyValueStoreResponse.generateBatchResponse(request,
+                    req.getMessageID());
+            } else if (ConsistencyCoordinator.isCoordinated(request)
+                && !request.getNotReplicated()) {
+                // the coordinator sends the request to the replicas itself
+                response = ConsistencyCoordinator.coordinate(request, req.getMessageID());
+            } else if (request.getCommand() == 1 && !request.getNotReplicated()) {
+                // the owner versions the put, the replicas keep its version
+                KVResponse local = putAsOwner(request.getKey(), request.getValue(),
+                    request.getTtl());
+                response = wrapMessage(req.getMessageID(), local.toByteString());
+                applied = local.getErrCode() == codes.get("success");
+                request = request.toBuilder().setVersion(local.getVersion()).build();
+            } else if (request.getCommand() == 3 && !request.getNotReplicated()) {
+                // and the remove, also of a key it does not hold as the replicas may hold it
+                KVResponse local = removeAsOwner(request.getKey());
+                response = wrapMessage(req.getMessageID(), local.toByteString());
+                applied = local.hasVersion();
+                request = request.toBuilder().setVersion(local.getVersion()).build();
+            } else {
+                response = generateResponse(
+                    request.getCommand(),
+                    request.getKey(),
+                    request.getValue(),
+                    req.getMessageID(),
+                    request.getVersion(),
+                    request.getTtl()
+                );
+            }
             forwardRequest.setMessage(response);
 
             // duplicate request to next two successors to maintain replication factor 3 on put
             // & remove operations but don't replicate if KVRequest's optional notReplicated is true
             if ((!request.hasNotReplicated() || request.getNotReplicated() == false)
-                && (request.getCommand() == 1 || request.getCommand() == 3)) {
+                && (request.getCommand() == 1 || request.getCommand() == 3) && applied
+                && !ConsistencyCoordinator.isCoordinated(request)) {
                 // spin off separate thread to send replicated requests,
                 // so it doesn't block current operations
                 UDPServerThreadPool.getInstance().replicate(request);
             }
+        } else if (request.getClientRouted()) {
+            // the client routed the request itself with a stale view, have it refresh instead of
+            // adding a forwarding hop
+            forwardRequest = new MsgWrapper(generateNotOwnerResponse(req.getMessageID()), null, 0);
         } else {
             forwardRequest.setMessage(req);
         }
@@ -297,18 +819,18 @@ public class ProtocolBufferKeyValueStoreResponse {
     }
 
     private static Msg generateResponse(int cmd, ByteString key, ByteString value,
-        ByteString messageID, int version) {
+        ByteString messageID, long version, int ttl) {
         Msg reply;
 
         switch (cmd) {
             case 1:
-                reply = generatePutResponse(key, value, messageID, version);
+                reply = generatePutResponse(key, value, messageID, version, ttl);
                 break;
             case 2:
                 reply = generateGetResponse(key, messageID);
                 break;
             case 3:
-                reply = generateRemoveResponse(key, messageID);
+                reply = generateRemoveResponse(key, messageID, version);
                 break;
             case 4:
                 reply = generateShutdownResponse(messageID);
@@ -325,6 +847,15 @@ public class ProtocolBufferKeyValueStoreResponse {
             case 8:
                 reply = generatePutDupesResponse(value, messageID);
                 break;
+            case 0x21:
+                reply = generateMembershipResponse(messageID);
+                break;
+            case 0x25:
+                reply = generateStatsResponse(messageID);
+                break;
+            case 0x26:
+                reply = generateAntiEntropyResponse(value, messageID);
+                break;
             default:
                 // return error code 5, unrecognized command
                 reply = generateUnrecognizedCommandResponse(messageID);
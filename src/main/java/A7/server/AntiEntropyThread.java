@@ -0,0 +1,290 @@
+package A7.server;
+
+import static A7.DistributedSystemConfiguration.ANTI_ENTROPY_INTERVAL_MS;
+import static A7.DistributedSystemConfiguration.MAX_REP_PAYLOAD_SIZE;
+import static A7.DistributedSystemConfiguration.VERBOSE;
+import static A7.utils.UniqueIdentifier.generateUniqueID;
+
+import A7.client.AsyncUDPClient;
+import A7.core.ConsistentHashRing;
+import A7.core.KeyValueStoreSingleton;
+import A7.core.MerkleStorageEngine;
+import A7.core.MerkleTrees;
+import A7.core.RoutingTable;
+import A7.core.StorageEngine;
+import A7.core.Tombstones;
+import A7.core.VersionedValue;
+import A7.proto.AntiEntropy.LeafKeys;
+import A7.proto.AntiEntropy.MerkleExchange;
+import A7.proto.AntiEntropy.RangeDigest;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.KeyValueResponse.KVResult;
+import A7.proto.Message.Msg;
+import A7.proto.Replication.ReplicatedEntry;
+import A7.resources.ProtocolBufferKeyValueStoreRequest;
+import A7.resources.ProtocolBufferKeyValueStoreResponse;
+import A7.utils.MsgWrapper;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Repairs replicas that missed writes, e.g. a lost fire-and-forget ReplicaWorker request. Every
+// ANTI_ENTROPY_INTERVAL_MS the node compares the Merkle trees of the ring ranges it owns with each
+// replica of those ranges: roots first, then the leaves of the trees that differ, then the keys of
+// the leaves that differ. Only entries that differ are shipped, as putDupes requests, and keys the
+// replica holds but the owner does not are pulled from it, unless the owner has a tombstone for
+// them, then the removal is shipped. Both sides keep the entries and removals they hold at a
+// higher version, so both end up with the latest write. A key is never removed because one side
+// lacks it, that side may simply have missed the write.
+public class AntiEntropyThread extends Thread {
+    // ranges whose roots one request carries, a root takes about 20 bytes
+    private static final int RANGES_PER_REQUEST = 256;
+    // leaves whose keys one request asks for, the reply stops at MAX_REP_PAYLOAD_SIZE anyway
+    private static final int LEAVES_PER_REQUEST = 64;
+
+    public AntiEntropyThread(String name) {
+        super(name);
+        setDaemon(true);
+    }
+
+    public void run() {
+        while (true) {
+            try {
+                Thread.sleep(ANTI_ENTROPY_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            StorageEngine store = KeyValueStoreSingleton.getInstance().getStore();
+            if (!(store instanceof MerkleStorageEngine)) {
+                continue;
+            }
+            RoutingTable table = ConsistentHashRing.getInstance().getRoutingTable();
+            MerkleTrees trees = ((MerkleStorageEngine) store).getTrees(table);
+            List<MsgWrapper> replicas = new ArrayList<>();
+            List<List<Integer>> ranges = new ArrayList<>();
+            replicasOfOwnedRanges(table, replicas, ranges);
+            for (int i = 0; i < replicas.size(); i++) {
+                MsgWrapper replica = replicas.get(i);
+                try {
+                    int repaired = exchange(store, trees, replica, ranges.get(i));
+                    if (VERBOSE > 0 && repaired > 0) {
+                        System.out.println("Anti-entropy repaired " + repaired + " entries on "
+                            + replica.getAddress().getHostAddress() + ":" + replica.getPort());
+                    }
+                } catch (CompletionException | InvalidProtocolBufferException e) {
+                    // the replica did not answer, the next round tries again
+                    if (VERBOSE > 0) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    // Ranges whose live owner is this node, grouped by the other live replicas of each.
+    // MsgWrapper has no hashCode, so the groups are parallel lists
+    private static void replicasOfOwnedRanges(RoutingTable table, List<MsgWrapper> replicas,
+        List<List<Integer>> ranges) {
+        for (int range = 0; range < table.size(); range++) {
+            if (table.preferenceSize(range) == 0) {
+                continue;
+            }
+            MsgWrapper owner = table.node(table.preference(range, 0));
+            if (!owner.getAddress().equals(UDPServerThreadPool.localAddress)
+                    || owner.getPort() != UDPServerThreadPool.localPort) {
+                continue;
+            }
+            for (int n = 1; n < table.preferenceSize(range); n++) {
+                MsgWrapper replica = table.node(table.preference(range, n));
+                int index = replicas.indexOf(replica);
+                if (index < 0) {
+                    index = replicas.size();
+                    replicas.add(replica);
+                    ranges.add(new ArrayList<>());
+                }
+                ranges.get(index).add(range);
+            }
+        }
+    }
+
+    // Returns the number of entries shipped to the replica
+    static int exchange(StorageEngine store, MerkleTrees trees, MsgWrapper replica,
+        List<Integer> ranges) throws InvalidProtocolBufferException {
+        InetSocketAddress address = new InetSocketAddress(replica.getAddress(), replica.getPort());
+
+        // roots, answered with the leaves of the trees that differ
+        List<LeafKeys> differingLeaves = new ArrayList<>();
+        for (int from = 0; from < ranges.size(); from += RANGES_PER_REQUEST) {
+            MerkleExchange.Builder roots = MerkleExchange.newBuilder();
+            for (int range : ranges.subList(from,
+                Math.min(ranges.size(), from + RANGES_PER_REQUEST))) {
+                roots.addRanges(RangeDigest.newBuilder()
+                    .setToken(trees.token(range))
+                    .setRoot(trees.root(range)));
+            }
+            for (RangeDigest differing : send(roots.build(), address).getRangesList()) {
+                int range = trees.rangeOfToken(differing.getToken());
+                if (range < 0 || differing.getLeavesCount() != trees.getLeaves()) {
+                    continue;
+                }
+                long[] leaves = trees.leaves(range);
+                for (int leaf = 0; leaf < leaves.length; leaf++) {
+                    if (leaves[leaf] != differing.getLeaves(leaf)) {
+                        differingLeaves.add(LeafKeys.newBuilder()
+                            .setToken(differing.getToken())
+                            .setLeaf(leaf)
+                            .build());
+                    }
+                }
+            }
+        }
+
+        // the local keys of every leaf that differs, from a single scan of the store, so a replica
+        // that lacks much of it costs one scan rather than one per request below
+        Map<Long, List<ByteString>> localKeys = new HashMap<>();
+        if (!differingLeaves.isEmpty()) {
+            for (LeafKeys leaf : differingLeaves) {
+                localKeys.put(leafId(trees, leaf), new ArrayList<>());
+            }
+            store.forEach((key, value) -> {
+                if (MerkleTrees.isTracked(value)) {
+                    List<ByteString> keys = localKeys.get(leafId(trees, key));
+                    if (keys != null) {
+                        keys.add(key);
+                    }
+                }
+            });
+        }
+
+        // keys of the leaves that differ, with the digests of the replica's entries
+        int repaired = 0;
+        for (int from = 0; from < differingLeaves.size(); from += LEAVES_PER_REQUEST) {
+            MerkleExchange request = MerkleExchange.newBuilder()
+                .addAllLeaves(differingLeaves.subList(from,
+                    Math.min(differingLeaves.size(), from + LEAVES_PER_REQUEST)))
+                .build();
+            MerkleExchange reply = send(request, address);
+            repaired += repair(store, trees, localKeys, request, reply, address);
+        }
+        return repaired;
+    }
+
+    // Identifies a leaf across the ranges of the trees
+    private static long leafId(MerkleTrees trees, LeafKeys leaf) {
+        return (long) trees.rangeOfToken(leaf.getToken()) * trees.getLeaves() + leaf.getLeaf();
+    }
+
+    private static long leafId(MerkleTrees trees, ByteString key) {
+        long hash = ConsistentHashRing.hash(key);
+        return (long) trees.range(hash) * trees.getLeaves() + trees.leaf(hash);
+    }
+
+    // Ships the local entries of the requested leaves the replica does not hold as they are here,
+    // and pulls the replica's entries for the keys that are not held here, or ships their removals.
+    // localKeys holds the keys of each leaf as of the scan in exchange
+    private static int repair(StorageEngine store, MerkleTrees trees,
+        Map<Long, List<ByteString>> localKeys, MerkleExchange request, MerkleExchange reply,
+        InetSocketAddress address) throws InvalidProtocolBufferException {
+        Map<ByteString, Long> remote = new HashMap<>();
+        for (LeafKeys leaf : reply.getLeavesList()) {
+            for (int i = 0; i < leaf.getKeysCount() && i < leaf.getDigestsCount(); i++) {
+                remote.put(leaf.getKeys(i), leaf.getDigests(i));
+            }
+        }
+
+        List<CompletableFuture<KVResponse>> replies = new ArrayList<>();
+        SendReplication.BatchPacker packer = new SendReplication.BatchPacker(
+            batch -> replies.add(sendDupes(batch, address)));
+        int repaired = 0;
+        for (LeafKeys leaf : request.getLeavesList()) {
+            for (ByteString key : localKeys.get(leafId(trees, leaf))) {
+                VersionedValue value = store.get(key);
+                if (!MerkleTrees.isTracked(value)) {
+                    // removed or given a ttl since the scan, handled below if the replica has it
+                    continue;
+                }
+                Long digest = remote.remove(key);
+                if (digest == null || digest != MerkleTrees.digest(key, value)) {
+                    packer.accept(key, value);
+                    repaired++;
+                }
+            }
+        }
+        List<ByteString> missing = new ArrayList<>();
+        for (ByteString key : remote.keySet()) {
+            VersionedValue value = store.get(key);
+            long removed = Tombstones.getInstance().version(key);
+            if (value == null && removed >= 0) {
+                // the replica keeps its entry if it is newer than the removal, and sends it back
+                packer.acceptRemoved(key, removed);
+                repaired++;
+            } else if (value == null || value.isExpired(System.currentTimeMillis())) {
+                missing.add(key);
+            } else {
+                // written since the scan, or stored here with a ttl
+                packer.accept(key, value);
+                repaired++;
+            }
+        }
+        packer.flush();
+        for (CompletableFuture<KVResponse> dupes : replies) {
+            for (KVResult newer : dupes.join().getResultsList()) {
+                if (newer.getErrCode() == 0) {
+                    ProtocolBufferKeyValueStoreResponse.put(newer.getKey(), newer.getValue(),
+                        newer.getVersion(), 0);
+                } else {
+                    // removed there at a higher version
+                    ProtocolBufferKeyValueStoreResponse.remove(newer.getKey(),
+                        newer.getVersion());
+                }
+            }
+        }
+        return repaired + pull(missing, address);
+    }
+
+    // Asks the replica for its entries for the keys and stores those newer than what is held here
+    // by then. Returns the number of entries received
+    private static int pull(List<ByteString> keys, InetSocketAddress address)
+        throws InvalidProtocolBufferException {
+        int pulled = 0;
+        int from = 0;
+        while (from < keys.size()) {
+            MerkleExchange.Builder request = MerkleExchange.newBuilder();
+            // a key takes its length and a tag, the rest of the request is empty
+            int size = 0;
+            while (from < keys.size()
+                && (size == 0 || size + keys.get(from).size() + 4 <= MAX_REP_PAYLOAD_SIZE)) {
+                size += keys.get(from).size() + 4;
+                request.addPull(keys.get(from++));
+            }
+            for (ReplicatedEntry entry : send(request.build(), address).getEntriesList()) {
+                ProtocolBufferKeyValueStoreResponse.put(entry.getKey(), entry.getValue(),
+                    entry.getVersion(), 0);
+                pulled++;
+            }
+        }
+        return pulled;
+    }
+
+    private static MerkleExchange send(MerkleExchange exchange, InetSocketAddress address)
+        throws InvalidProtocolBufferException {
+        Msg msg = ProtocolBufferKeyValueStoreRequest.generateAntiEntropyRequest(
+            exchange.toByteString(), ByteString.copyFrom(generateUniqueID()));
+        KVResponse reply = AsyncUDPClient.shared().send(msg, address).join();
+        return MerkleExchange.parseFrom(reply.getValue());
+    }
+
+    private static CompletableFuture<KVResponse> sendDupes(ByteString batch,
+        InetSocketAddress address) {
+        Msg msg = ProtocolBufferKeyValueStoreRequest.generateDupesRequest(
+            batch, ByteString.copyFrom(generateUniqueID()));
+        return AsyncUDPClient.shared().send(msg, address);
+    }
+}
@@ -0,0 +1,68 @@
+package A7.server;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs tasks on the delegate with at most maxConcurrency of them running at once. The permit is
+// taken by the task itself, so execute never blocks the caller; with virtual threads a task
+// waiting for a permit only parks its own cheap thread. Once maxWaiting tasks are waiting for a
+// permit, execute rejects new ones like a full ThreadPoolExecutor queue.
+public class BoundedExecutor extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public BoundedExecutor(ExecutorService delegate, int maxConcurrency, int maxWaiting) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxWaiting = maxWaiting;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            throw new RejectedExecutionException("Too many tasks waiting for a permit");
+        }
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            waiting.decrementAndGet();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,48 @@
+package A7.server;
+
+import static A7.DistributedSystemConfiguration.EXPIRY_SWEEP_ENTRIES;
+import static A7.DistributedSystemConfiguration.EXPIRY_SWEEP_INTERVAL_MS;
+import static A7.DistributedSystemConfiguration.TOMBSTONE_GRACE_MS;
+import static A7.DistributedSystemConfiguration.VERBOSE;
+
+import A7.core.KeyValueStoreSingleton;
+import A7.core.Tombstones;
+import com.google.protobuf.ByteString;
+import java.util.List;
+
+// Reclaims expired keys that are never read again. Every tick scans at most EXPIRY_SWEEP_ENTRIES
+// entries, carrying on from where the previous tick stopped, so request threads only ever wait for
+// a segment lock held for one bounded step of the scan. Tombstones past their grace period are
+// dropped every tenth of TOMBSTONE_GRACE_MS.
+public class ExpirationSweeperThread extends Thread {
+    public ExpirationSweeperThread(String name) {
+        super(name);
+        setDaemon(true);
+    }
+
+    public void run() {
+        long nextPurge = 0;
+        while (true) {
+            try {
+                Thread.sleep(EXPIRY_SWEEP_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            List<ByteString> expired = KeyValueStoreSingleton.getInstance().getStore()
+                .sweepExpired(now, EXPIRY_SWEEP_ENTRIES);
+            if (VERBOSE > 0 && !expired.isEmpty()) {
+                System.out.println("Expired " + expired.size() + " keys");
+            }
+
+            if (now >= nextPurge) {
+                nextPurge = now + TOMBSTONE_GRACE_MS / 10;
+                int purged = Tombstones.getInstance().purge(now);
+                if (VERBOSE > 0 && purged > 0) {
+                    System.out.println("Purged " + purged + " tombstones");
+                }
+            }
+        }
+    }
+}
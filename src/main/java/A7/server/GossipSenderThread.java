@@ -5,10 +5,10 @@ import static A7.DistributedSystemConfiguration.REP_FACTOR;
 
 import A7.core.ConsistentHashRing;
 import A7.core.NodesList;
+import A7.core.RoutingTable;
 import A7.proto.LiveHostsRequest.LiveHostsReq;
 import A7.utils.ByteRepresentation;
 import A7.utils.MsgWrapper;
-import A7.utils.UniqueIdentifier;
 
 import com.google.protobuf.ByteString;
 import java.io.File;
@@ -18,9 +18,11 @@ import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
@@ -42,14 +44,20 @@ public class GossipSenderThread extends Thread {
         File file = new File(filename);
         Scanner scanner = new Scanner(file);
 
-        // Populate all nodes list (including itself)
+        Map<String, Integer> nodeWeights = new HashMap<>();
+
+        // Populate all nodes list (including itself), entries are "ip:port" or "ip:port:weight"
         while (scanner.hasNext()) {
-            String address = scanner.next();
-            String[] node = address.split(":");
+            String[] node = scanner.next().split(":");
+            String address = node[0] + ":" + node[1];
             allNodes.put(address, Integer.parseInt(node[1]));
+            if (node.length > 2) {
+                nodeWeights.put(address, Integer.parseInt(node[2]));
+            }
         }
 
         nodesList.setAllNodes(allNodes);
+        nodesList.setNodeWeights(nodeWeights);
         // Add itself to live hosts list
         nodesList.setLiveNodes(liveNodes);
         nodesList.addLiveNode(UDPServerThreadPool.localAddress, 0);
@@ -85,11 +93,7 @@ public class GossipSenderThread extends Thread {
 
             // Increment hops
             nodesList.refreshLiveNodes();
-            try {
-                FailDetection();
-            } catch (NoSuchAlgorithmException | SocketException e1) {
-                e1.printStackTrace();
-            }
+            FailDetection();
             // Build liveHostsReq protobuf
             byte[] serverList = ByteRepresentation.mapToBytes(nodesList.getLiveNodes());
             LiveHostsReq liveHostsReq = LiveHostsReq.newBuilder()
@@ -126,126 +130,150 @@ public class GossipSenderThread extends Thread {
     }
     
     // Returns the ConsistentHashRing entry of node to duplicate KVStore on in event
-    // of node's successor going down.
-    protected static MsgWrapper successorsDuplicate(String currentNodeHash) {
-        Entry<String, MsgWrapper> successor =
-            ConsistentHashRing.getInstance().getHashRing().higherEntry(currentNodeHash);
+    // of node's successor going down. Other virtual nodes of the current node are skipped.
+    protected static MsgWrapper successorsDuplicate(long currentNodeToken) {
+        RoutingTable ring = ConsistentHashRing.getInstance().getRoutingTable();
+        List<MsgWrapper> visited = new ArrayList<>();
+        visited.add(ring.get(currentNodeToken));
+        int successor = nextNode(ring, ring.higherIndex(currentNodeToken), visited);
 
-        if (successor == null) {
-            successor = ConsistentHashRing.getInstance().getHashRing().firstEntry();
-        }
-
-        // if first successor alive, no need to duplicate
-        if (NodesList.getInstance().getLiveNodes()
-                .containsKey(successor.getValue().getAddress())) {
+        // if first successor alive (or the current node is alone), no need to duplicate
+        if (successor < 0 || isLive(ring.node(successor))) {
             return new MsgWrapper(null, null, 0);
         }
 
-        // if no successor found, ends up being itself, as own node belongs in liveNodes
-        while (!NodesList.getInstance().getLiveNodes()
-            .containsKey(successor.getValue().getAddress())) {
-            // successor is down, must send own replication store to next available successor
-            successor =
-                ConsistentHashRing.getInstance().getHashRing().higherEntry(successor.getKey());
-            // loop around to first entry if last node reached
-            if (successor == null) {
-                successor = ConsistentHashRing.getInstance().getHashRing().firstEntry();
-            }
+        // successor is down, must send own replication store to next available successor
+        // (loops around to first entry if last node reached)
+        successor = nextLiveNode(ring, successor, visited);
+        if (successor < 0) {
+            // no other node is live
+            return new MsgWrapper(null, null, 0);
         }
-        return successor.getValue();
+        return ring.node(successor);
     }
     
     // Check if predecessor is down and if down, keeps checking previous predecessor
     // Checks only up to REP_FACTOR - 1 predecessors because REP_FACTOR is inclusive
     // Current node will not have keys that is REP_FACTOR away
-    protected static MsgWrapper[] predessorsDuplicate(String currentNodeHash) {
+    // Predecessors and successors are distinct physical nodes, other virtual nodes of the current
+    // node and of already counted nodes are skipped
+    protected static MsgWrapper[] predessorsDuplicate(long currentNodeToken) {
         int deadPred = 0;
         MsgWrapper[] dupeNodes = null;
-        Entry<String, MsgWrapper> predecessor =
-            ConsistentHashRing.getInstance().getHashRing().lowerEntry(currentNodeHash);
-
-        if (predecessor == null) {
-            predecessor = ConsistentHashRing.getInstance().getHashRing().lastEntry();
-        }
+        RoutingTable ring = ConsistentHashRing.getInstance().getRoutingTable();
+        List<MsgWrapper> visited = new ArrayList<>();
+        visited.add(ring.get(currentNodeToken));
+        int predecessor = previousNode(ring, ring.lowerIndex(currentNodeToken), visited);
 
-        while (!NodesList.getInstance().getLiveNodes()
-            .containsKey(predecessor.getValue().getAddress()) && deadPred < REP_FACTOR - 1) {
+        while (predecessor >= 0 && !isLive(ring.node(predecessor)) && deadPred < REP_FACTOR - 1) {
             // Predecessor is down, see its predecessor is down
             deadPred++;
-            predecessor =
-                ConsistentHashRing.getInstance().getHashRing().lowerEntry(predecessor.getKey());
-            if (predecessor == null) {
-                predecessor = ConsistentHashRing.getInstance().getHashRing().lastEntry();
-            }
+            visited.add(ring.node(predecessor));
+            predecessor = previousNode(ring, predecessor, visited);
         }
 
         if (deadPred > 0) {
             // Navigate to first node that needs duplication if deadPred == 2, 1 node up from
             // current; if deadPread == 1, 2 nodes from current, etc.
-            Entry<String, MsgWrapper> successor =
-                ConsistentHashRing.getInstance().getHashRing().higherEntry(currentNodeHash);
-
-            if (successor == null) {
-                successor = ConsistentHashRing.getInstance().getHashRing().firstEntry();
-            }
+            List<MsgWrapper> skipped = new ArrayList<>();
+            skipped.add(ring.get(currentNodeToken));
+            int successor = nextNode(ring, ring.higherIndex(currentNodeToken), skipped);
 
             // find next successor that's alive since first duplicated node
-            for (int skip = deadPred; skip < REP_FACTOR - 1; skip++) {
-                successor =
-                    ConsistentHashRing.getInstance().getHashRing().higherEntry(successor.getKey());
-                if (successor == null) {
-                    successor = ConsistentHashRing.getInstance().getHashRing().firstEntry();
-                }
+            for (int skip = deadPred; skip < REP_FACTOR - 1 && successor >= 0; skip++) {
+                skipped.add(ring.node(successor));
+                successor = nextNode(ring, successor, skipped);
             }
 
             dupeNodes = new MsgWrapper[deadPred];
-            for (int i = 0; i < deadPred; i++) {
+            int found = 0;
+            while (found < deadPred && successor >= 0) {
                 // if current successor dead, find next live node
-                while (!NodesList.getInstance().getLiveNodes()
-                    .containsKey(successor.getValue().getAddress())) {
-                    // no live successor found yet, check next
-                    successor = ConsistentHashRing.getInstance().getHashRing()
-                        .higherEntry(successor.getKey());
-                    if (successor == null) {
-                        successor = ConsistentHashRing.getInstance().getHashRing().firstEntry();
-                    }
-                }
-
-                dupeNodes[i] = successor.getValue();
-                successor = ConsistentHashRing.getInstance().getHashRing()
-                    .higherEntry(successor.getKey());
-                if(successor == null) {
-                    successor = ConsistentHashRing.getInstance().getHashRing().firstEntry();
+                successor = nextLiveNode(ring, successor, skipped);
+                if (successor < 0) {
+                    break;
                 }
+                dupeNodes[found++] = ring.node(successor);
+                skipped.add(ring.node(successor));
+                successor = nextNode(ring, successor, skipped);
             }
+            dupeNodes = Arrays.copyOf(dupeNodes, found);
         }
         return dupeNodes;
     }
+
+    private static boolean isLive(MsgWrapper node) {
+        return NodesList.getInstance().getLiveNodes().containsKey(node.getAddress());
+    }
+
+    // First index at or after start owned by a node not in excluded, -1 if there is none
+    private static int nextNode(RoutingTable ring, int start, List<MsgWrapper> excluded) {
+        int index = start;
+        for (int i = 0; i < ring.size(); i++) {
+            if (!excluded.contains(ring.node(index))) {
+                return index;
+            }
+            index = ring.next(index);
+        }
+        return -1;
+    }
+
+    // Last index at or before start owned by a node not in excluded, -1 if there is none
+    private static int previousNode(RoutingTable ring, int start, List<MsgWrapper> excluded) {
+        int index = start;
+        for (int i = 0; i < ring.size(); i++) {
+            if (!excluded.contains(ring.node(index))) {
+                return index;
+            }
+            index = ring.previous(index);
+        }
+        return -1;
+    }
+
+    // First index at or after start owned by a live node not in excluded, -1 if there is none
+    private static int nextLiveNode(RoutingTable ring, int start, List<MsgWrapper> excluded) {
+        int index = start;
+        for (int i = 0; i < ring.size(); i++) {
+            if (!excluded.contains(ring.node(index)) && isLive(ring.node(index))) {
+                return index;
+            }
+            index = ring.next(index);
+        }
+        return -1;
+    }
     
     // Finds which node has failed. Run duplication on discovered targets from detecting failure on
-    // successor and predecessor nodes
-    protected static void FailDetection() throws NoSuchAlgorithmException, SocketException {
-        // Check if successor is down
-        String currentNodeHash = UniqueIdentifier.MD5Hash(
-                UDPServerThreadPool.localAddress.getHostAddress()
-                + ":" + UDPServerThreadPool.localPort);
-        MsgWrapper succTarget = successorsDuplicate(currentNodeHash);
-        // send to successor, but don't send if that successor happens to be own node 
-        // or if detected that the successor is not dead
-        if (succTarget != null && succTarget.getPort() != 0 && succTarget.getAddress() != null
-                && !succTarget.getAddress().equals(UDPServerThreadPool.localAddress)) {
-            UDPServerThreadPool.executor.execute(new SendReplication(succTarget));
-        }
-        
-        MsgWrapper[] predTargets = predessorsDuplicate(currentNodeHash);
-        // Don't bother duplicating if no predecessors are dead
-        if (predTargets != null && predTargets.length != 0) {
-            // duplicate to each successor found, but don't send if that successor is own node
-            for (int i = 0; i < predTargets.length; i++) {
-                if (!predTargets[i].getAddress().equals(UDPServerThreadPool.localAddress)) {
-                    UDPServerThreadPool.executor.execute(new SendReplication(predTargets[i]));
+    // successor and predecessor nodes of each of the current node's virtual nodes
+    protected static void FailDetection() {
+        List<MsgWrapper> targets = new ArrayList<>();
+        for (long currentNodeToken : ConsistentHashRing.getInstance().getNodeTokens(
+                UDPServerThreadPool.localAddress.getHostAddress(), UDPServerThreadPool.localPort)) {
+            // Check if successor is down
+            MsgWrapper succTarget = successorsDuplicate(currentNodeToken);
+            // send to successor, but don't send if that successor happens to be own node
+            // or if detected that the successor is not dead
+            if (succTarget != null && succTarget.getPort() != 0 && succTarget.getAddress() != null
+                    && !succTarget.getAddress().equals(UDPServerThreadPool.localAddress)
+                    && !targets.contains(succTarget)) {
+                targets.add(succTarget);
+            }
+
+            MsgWrapper[] predTargets = predessorsDuplicate(currentNodeToken);
+            // Don't bother duplicating if no predecessors are dead
+            if (predTargets != null && predTargets.length != 0) {
+                // duplicate to each successor found, but don't send if that successor is own node
+                for (int i = 0; i < predTargets.length; i++) {
+                    if (!predTargets[i].getAddress().equals(UDPServerThreadPool.localAddress)
+                            && !targets.contains(predTargets[i])) {
+                        targets.add(predTargets[i]);
+                    }
                 }
             }
         }
+        SendReplication.retainPeers(targets);
+        // several virtual nodes may share a target, the store is sent to it once
+        for (MsgWrapper target : targets) {
+            UDPServerThreadPool.executeOrRun(new SendReplication(target));
+        }
     }
 }
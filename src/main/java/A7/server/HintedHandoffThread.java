@@ -0,0 +1,98 @@
+package A7.server;
+
+import static A7.DistributedSystemConfiguration.HINT_REPLAY_BATCH;
+import static A7.DistributedSystemConfiguration.HINT_REPLAY_INTERVAL_MS;
+import static A7.DistributedSystemConfiguration.VERBOSE;
+import static A7.utils.UniqueIdentifier.generateUniqueID;
+
+import A7.client.AsyncUDPClient;
+import A7.core.HintStore;
+import A7.core.KeyValueStoreSingleton;
+import A7.core.NodesList;
+import A7.core.StorageEngine;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.Message.Msg;
+import A7.resources.ProtocolBufferKeyValueStoreRequest;
+import A7.utils.MsgWrapper;
+import com.google.protobuf.ByteString;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Replays hints to nodes that are live again. Every HINT_REPLAY_INTERVAL_MS each such node is sent
+// at most HINT_REPLAY_BATCH hinted keys with their current values as putDupes requests, so a node
+// that just came back is not flooded; the hints are dropped once every batch is acknowledged. A
+// node whose hints overflowed is sent a full copy of the store instead.
+public class HintedHandoffThread extends Thread {
+    public HintedHandoffThread(String name) {
+        super(name);
+        setDaemon(true);
+    }
+
+    public void run() {
+        while (true) {
+            try {
+                Thread.sleep(HINT_REPLAY_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            Map<InetAddress, Integer> liveNodes = NodesList.getInstance().getLiveNodes();
+            if (liveNodes == null) {
+                continue;
+            }
+            for (HintStore.Hints hints : HintStore.getInstance().getHints()) {
+                MsgWrapper node = hints.getNode();
+                if (hints.isEmpty() || !liveNodes.containsKey(node.getAddress())) {
+                    continue;
+                }
+                if (hints.isOverflowed()) {
+                    hints.clear();
+                    UDPServerThreadPool.executeOrRun(new SendReplication(node));
+                    continue;
+                }
+                try {
+                    replay(hints);
+                } catch (CompletionException e) {
+                    // the node did not answer, the hints are kept for the next tick
+                    if (VERBOSE > 0) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    static void replay(HintStore.Hints hints) {
+        List<ByteString> keys = hints.peek(HINT_REPLAY_BATCH);
+        InetSocketAddress address = new InetSocketAddress(hints.getNode().getAddress(),
+            hints.getNode().getPort());
+        List<CompletableFuture<KVResponse>> replies = new ArrayList<>();
+        SendReplication.BatchPacker packer = new SendReplication.BatchPacker(batch -> {
+            Msg msg = ProtocolBufferKeyValueStoreRequest.generateDupesRequest(
+                batch, ByteString.copyFrom(generateUniqueID()));
+            replies.add(AsyncUDPClient.shared().send(msg, address));
+        });
+        StorageEngine store = KeyValueStoreSingleton.getInstance().getStore();
+        // a key written several times while the node was down is sent once
+        for (ByteString key : new LinkedHashSet<>(keys)) {
+            packer.acceptCurrent(key, store);
+        }
+        packer.flush();
+        for (CompletableFuture<KVResponse> reply : replies) {
+            if (reply.join().getErrCode() != 0) {
+                return;
+            }
+        }
+        hints.removeFirst(keys.size());
+        if (VERBOSE > 0) {
+            System.out.println("Replayed " + keys.size() + " hints to "
+                + hints.getNode().getAddress().getHostAddress() + ":" + hints.getNode().getPort());
+        }
+    }
+}
@@ -3,110 +3,205 @@ package A7.server;
 import static A7.DistributedSystemConfiguration.MAX_REP_PAYLOAD_SIZE;
 import static A7.utils.UniqueIdentifier.generateUniqueID;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
-import java.security.NoSuchAlgorithmException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 
-import A7.client.UDPClient;
+import A7.client.AsyncUDPClient;
+import A7.core.ChangeLog;
 import A7.core.KeyValueStoreSingleton;
+import A7.core.StorageEngine;
+import A7.core.Tombstones;
 import A7.core.VersionedValue;
+import A7.proto.KeyValueResponse.KVResponse;
 import A7.proto.Message.Msg;
+import A7.proto.Replication.ReplicatedEntry;
+import A7.proto.Replication.ReplicationBatch;
 import A7.resources.ProtocolBufferKeyValueStoreRequest;
 import A7.utils.MsgWrapper;
 
-public class SendReplication implements Runnable {    
+// Replicates the store to another node as putDupes requests, each carrying a ReplicationBatch.
+// Once a peer has acknowledged every batch of a transfer, later rounds only send the keys changed
+// since, read from the change log; a full copy of the store and its tombstones is sent the first
+// time and whenever the peer's position has aged out of the log.
+public class SendReplication implements Runnable {
+	// position in the change log each peer holds every change before, by "address:port"
+	private static final ConcurrentHashMap<String, Long> acknowledged = new ConcurrentHashMap<>();
+	// peers with a transfer still waiting on replies, a round overlapping it is skipped
+	private static final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
 	MsgWrapper sendLocation;
-	ConcurrentHashMap<ByteString, VersionedValue> copyMap;
+	private final List<CompletableFuture<KVResponse>> replies = new ArrayList<>();
+
 	public SendReplication(MsgWrapper received) {
 		this.sendLocation = received;
-		copyMap = new ConcurrentHashMap<ByteString, VersionedValue>();
-		copyMap.putAll(KeyValueStoreSingleton.getInstance().getMap());
 	}
 
-	// create submap from index "from" to index "to" (exclusive)
-	protected ByteString createSubMap(int from, int to) throws IOException {
-		// Populate new hashMap from ranges provided
-		ConcurrentHashMap<ByteString, VersionedValue> newMap = new ConcurrentHashMap<>();
-		Object[] keySet = copyMap.keySet().toArray();
+	private static String peerOf(MsgWrapper location) {
+		return location.getAddress().getHostAddress() + ":" + location.getPort();
+	}
 
-		// Map has changed since beginning of recursion, abort
-		for (int i = from; i < to; i++) {
-			newMap.put((ByteString) keySet[i],
-					copyMap.get(keySet[i]));
+	// Forgets the positions of peers that are no longer replication targets: a node that stops
+	// being a target may restart empty before it is one again, so it is sent a full copy then
+	public static void retainPeers(List<MsgWrapper> targets) {
+		Set<String> peers = new HashSet<>();
+		for (MsgWrapper target : targets) {
+			peers.add(peerOf(target));
 		}
-		// Nothing in range to serialize; return null
-		// (ie. do not serialize the HashMap object itself if there are no keys inside)
-		if (newMap.size() == 0) {
-			return null;
-		}
-		// Write object to ByteString
-		ByteArrayOutputStream bos = new ByteArrayOutputStream();
-		ObjectOutputStream out = new ObjectOutputStream(bos);
-        out.writeObject(newMap);
-        out.flush();
-        return ByteString.copyFrom(bos.toByteArray());
+		acknowledged.keySet().retainAll(peers);
 	}
 
-	protected void sendDupeRequestMsg(ByteString value) {
-		byte[] messageID = new byte[0];
+	static Long getAcknowledged(MsgWrapper location) {
+		return acknowledged.get(peerOf(location));
+	}
 
-		try {
-			messageID = generateUniqueID();
-		} catch (NoSuchAlgorithmException e) {
-			e.printStackTrace();
+	// Packs entries into ReplicationBatch payloads in a single pass: a batch takes entries until
+	// the next one would push it past MAX_REP_PAYLOAD_SIZE, then it is handed to the sink
+	static class BatchPacker implements BiConsumer<ByteString, VersionedValue> {
+		private final Consumer<ByteString> sink;
+		private final long now = System.currentTimeMillis();
+		private ReplicationBatch.Builder batch = ReplicationBatch.newBuilder();
+		private int size = 0;
+
+		BatchPacker(Consumer<ByteString> sink) {
+			this.sink = sink;
+		}
+
+		@Override
+		public void accept(ByteString key, VersionedValue value) {
+			if (value.isExpired(now)) {
+				return;
+			}
+			ReplicatedEntry.Builder entry = ReplicatedEntry.newBuilder()
+				.setKey(key)
+				.setValue(value.getValue())
+				.setVersion(value.getVersion());
+			if (value.getExpiresAt() != 0) {
+				entry.setExpiresAt(value.getExpiresAt());
+			}
+			add(entry.build());
+		}
+
+		// Adds a removal of a key at the version of its tombstone
+		void acceptRemoved(ByteString key, long version) {
+			add(ReplicatedEntry.newBuilder()
+				.setKey(key)
+				.setValue(ByteString.EMPTY)
+				.setVersion(version)
+				.setRemoved(true)
+				.build());
+		}
+
+		// Adds the key as this node holds it now: its entry, or its removal if the key is gone
+		// and a tombstone remembers the removal
+		void acceptCurrent(ByteString key, StorageEngine store) {
+			VersionedValue value = store.get(key);
+			if (value != null) {
+				accept(key, value);
+				return;
+			}
+			long removed = Tombstones.getInstance().version(key);
+			if (removed >= 0) {
+				acceptRemoved(key, removed);
+			}
 		}
 
+		private void add(ReplicatedEntry built) {
+			// exact encoded size of the entry within the batch, tag and length prefix included
+			int entrySize = CodedOutputStream.computeMessageSize(
+				ReplicationBatch.ENTRIES_FIELD_NUMBER, built);
+			if (size > 0 && size + entrySize > MAX_REP_PAYLOAD_SIZE) {
+				flush();
+			}
+			batch.addEntries(built);
+			size += entrySize;
+		}
+
+		// Hands over the batch being filled, if it holds any entries
+		void flush() {
+			if (size == 0) {
+				return;
+			}
+			sink.accept(batch.build().toByteString());
+			batch = ReplicationBatch.newBuilder();
+			size = 0;
+		}
+	}
+
+	protected void sendDupeRequestMsg(ByteString value) {
+		byte[] messageID = generateUniqueID();
+
 		Msg dupeMsg = ProtocolBufferKeyValueStoreRequest.generateDupesRequest(
 		    value, ByteString.copyFrom(messageID));
 
-		// send duplication request optimistically, doesn't wait for response
+		// replies are collected so the peer's position only advances once every batch is stored
+		replies.add(AsyncUDPClient.shared().send(dupeMsg, new InetSocketAddress(
+			sendLocation.getAddress(), sendLocation.getPort())));
+	}
+
+	@Override
+	public void run() {
+		String peer = peerOf(sendLocation);
+		if (!inFlight.add(peer)) {
+			return;
+		}
 		try {
-			UDPClient.sendReplicaRequest(
-                dupeMsg.toByteArray(),
-                sendLocation.getAddress().getHostAddress(),
-                sendLocation.getPort());
-		} catch (Exception e) {
-			e.printStackTrace();
+			long position = ship(acknowledged.get(peer));
+			if (replies.isEmpty()) {
+				acknowledged.merge(peer, position, Math::max);
+				inFlight.remove(peer);
+				return;
+			}
+			CompletableFuture.allOf(replies.toArray(new CompletableFuture<?>[0]))
+				.whenComplete((done, e) -> {
+					if (e == null && allStored()) {
+						acknowledged.merge(peer, position, Math::max);
+					}
+					// otherwise the next round sends the same changes again
+					inFlight.remove(peer);
+				});
+		} catch (RuntimeException e) {
+			inFlight.remove(peer);
+			throw e;
 		}
 	}
 
-	protected void serveReplication(int from, int mid, int to) {
-		try {
-			ByteString headPayload = createSubMap(from, mid);
-			
-			if (headPayload != null) {
-				if (headPayload.size() > MAX_REP_PAYLOAD_SIZE) {
-					int midKey = from + (mid - from) / 2;
-					serveReplication(from, midKey, mid);
-				} else if (headPayload.size() != 0) {
-					sendDupeRequestMsg(headPayload);
-				}
+	// Sends what the peer is missing and returns the change log position it will then hold
+	private long ship(Long from) {
+		StorageEngine store = KeyValueStoreSingleton.getInstance().getStore();
+		BatchPacker packer = new BatchPacker(this::sendDupeRequestMsg);
+		LinkedHashSet<ByteString> keys = new LinkedHashSet<>();
+		long position = from == null ? -1 : ChangeLog.getInstance().keysSince(from, keys);
+		if (position < 0) {
+			// read the position first, changes made while the store is streamed are sent again
+			// next round
+			position = ChangeLog.getInstance().head();
+			store.forEach(packer);
+			Tombstones.getInstance().forEach(packer::acceptRemoved);
+		} else {
+			for (ByteString key : keys) {
+				packer.acceptCurrent(key, store);
 			}
-			
-			ByteString tailPayload = createSubMap(mid, to);
-			
-			if (tailPayload != null) {
-				if (tailPayload.size() > MAX_REP_PAYLOAD_SIZE) {
-					int midKey = mid + (to - mid) / 2 ;
-					serveReplication(mid, midKey, to);
-				} else if (headPayload.size() != 0) {
-					sendDupeRequestMsg(tailPayload);
-				}
+		}
+		packer.flush();
+		return position;
+	}
+
+	private boolean allStored() {
+		for (CompletableFuture<KVResponse> reply : replies) {
+			if (reply.join().getErrCode() != 0) {
+				return false;
 			}
-		} catch (IOException e) {
-			e.printStackTrace();
 		}
+		return true;
 	}
-	
-    @Override
-    public void run() {
-    	Object[] keySet = copyMap.keySet().toArray();
-    	int from = 0;
-    	int mid = keySet.length;
-    	int to = keySet.length;
-    	serveReplication(from, mid, to);
-    }	
 }
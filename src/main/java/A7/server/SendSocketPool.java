@@ -0,0 +1,52 @@
+package A7.server;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Send sockets for the socket transport's request workers. A worker takes an idle socket, sends its
+// response on it and puts it back, so workers never wait behind each other's sends and no thread
+// sits between a worker and the kernel. A socket is opened when every pooled one is in use, so the
+// pool grows to the number of workers sending at once and each of them has a socket of its own.
+public class SendSocketPool {
+    private final ConcurrentLinkedQueue<DatagramSocket> idle = new ConcurrentLinkedQueue<>();
+    // every socket opened, idle or not, so close reaches the ones in use
+    private final ConcurrentLinkedQueue<DatagramSocket> opened = new ConcurrentLinkedQueue<>();
+
+    public SendSocketPool(int initial) throws SocketException {
+        for (int i = 0; i < initial; i++) {
+            idle.offer(open());
+        }
+    }
+
+    public void send(DatagramPacket packet) throws IOException {
+        DatagramSocket socket = idle.poll();
+        if (socket == null) {
+            socket = open();
+        }
+        try {
+            socket.send(packet);
+        } finally {
+            idle.offer(socket);
+        }
+    }
+
+    // Sockets opened so far, the most workers that have sent at once
+    public int size() {
+        return opened.size();
+    }
+
+    public void close() {
+        for (DatagramSocket socket : opened) {
+            socket.close();
+        }
+    }
+
+    private DatagramSocket open() throws SocketException {
+        DatagramSocket socket = new DatagramSocket();
+        opened.offer(socket);
+        return socket;
+    }
+}
@@ -0,0 +1,40 @@
+package A7.server;
+
+import static A7.DistributedSystemConfiguration.SNAPSHOT_INTERVAL_MS;
+
+import A7.core.KeyValueStoreSingleton;
+import A7.core.StoreSnapshot;
+import A7.core.WriteAheadLog;
+import java.io.File;
+import java.io.IOException;
+
+// Periodically writes a snapshot of the store so a restarted node only replays the log written
+// since the last snapshot. Runs alongside the request workers, which are never paused.
+public class SnapshotThread extends Thread {
+    private File directory;
+    private int port;
+
+    public SnapshotThread(String name, File directory, int port) {
+        super(name);
+        this.directory = directory;
+        this.port = port;
+        setDaemon(true);
+    }
+
+    public void run() {
+        while (true) {
+            try {
+                Thread.sleep(SNAPSHOT_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            try {
+                StoreSnapshot.take(directory, port,
+                    KeyValueStoreSingleton.getInstance().getStore(), WriteAheadLog.getInstance());
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
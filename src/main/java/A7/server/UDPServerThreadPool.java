@@ -1,168 +1,361 @@
 package A7.server;
 
 import static A7.DistributedSystemConfiguration.MAX_MSG_SIZE;
+import static A7.DistributedSystemConfiguration.NIO_BUFFER_POOL_SIZE;
+import static A7.DistributedSystemConfiguration.REQUEST_QUEUE_CAPACITY;
+import static A7.DistributedSystemConfiguration.REQUEST_QUEUE_DEADLINE_MS;
 import static A7.DistributedSystemConfiguration.SHUTDOWN_NODE;
 import static A7.DistributedSystemConfiguration.UDP_SERVER_THREAD_POOL_NTHREADS;
 import static A7.DistributedSystemConfiguration.VERBOSE;
+import static A7.DistributedSystemConfiguration.VIRTUAL_THREAD_MAX_CONCURRENCY;
 import static A7.utils.Checksum.calculateProtocolBufferChecksum;
 import static A7.utils.UniqueIdentifier.generateUniqueID;
 
 import A7.client.UDPClient;
 import A7.core.ConsistentHashRing;
+import A7.core.HintStore;
+import A7.core.KeyValueStoreSingleton;
 import A7.core.RequestCache;
+import A7.core.WriteAheadLog;
 import A7.proto.KeyValueRequest.KVRequest;
 import A7.proto.Message.Msg;
 import A7.resources.ProtocolBufferKeyValueStoreResponse;
+import A7.utils.BufferPool;
 import A7.utils.MsgWrapper;
 import A7.utils.ProtocolBuffers;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketException;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
 import java.net.UnknownHostException;
-import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
-import java.util.Random;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class UDPServerThreadPool {
     private static UDPServerThreadPool instance = new UDPServerThreadPool();
     private static DatagramSocket socket;
-    private static DatagramSocket sendSocket;
-
-    protected static ThreadPoolExecutor executor =
-		(ThreadPoolExecutor) Executors.newFixedThreadPool(UDP_SERVER_THREAD_POOL_NTHREADS);
+    // socket transport: each worker sends its response on a send socket of its own
+    private static SendSocketPool sendSockets;
+    // nio transport: requests are received into pooled heap buffers and replies are sent from
+    // the channel they arrived on, so no per packet arrays are allocated. With several channels
+    // they share the port through SO_REUSEPORT and each has its own receive thread
+    private static DatagramChannel[] channels;
+    private static BufferPool bufferPool;
+
+    // Runs ReceiverWorker, ReplicaWorker and SendReplication tasks. The queue is bounded, requests
+    // that do not fit are answered with "system overload" by the receive thread
+    protected static ExecutorService executor = new ThreadPoolExecutor(
+		UDP_SERVER_THREAD_POOL_NTHREADS, UDP_SERVER_THREAD_POOL_NTHREADS, 0L, TimeUnit.MILLISECONDS,
+		new ArrayBlockingQueue<Runnable>(REQUEST_QUEUE_CAPACITY));
 
     public static InetAddress localAddress;
     public static int localPort;
 
     private UDPServerThreadPool(){}
 
-    public static void initialize(int port) throws SocketException, UnknownHostException {
-        socket = new DatagramSocket(port);
-        sendSocket = new DatagramSocket(new Random().nextInt(10000));
+    public static void initialize(int port) throws IOException {
+        initialize(port, "socket", 1);
+    }
+
+    // transport is "socket" for DatagramSocket with pooled send sockets, or "nio" with the
+    // given number of receiver channels
+    public static void initialize(int port, String transport, int receivers) throws IOException {
+        if (transport.equals("nio")) {
+            channels = new DatagramChannel[receivers];
+            for (int i = 0; i < receivers; i++) {
+                channels[i] = DatagramChannel.open();
+                if (receivers > 1) {
+                    channels[i].setOption(reusePortOption(), true);
+                }
+                channels[i].bind(new InetSocketAddress(port));
+            }
+            bufferPool = new BufferPool(MAX_MSG_SIZE, NIO_BUFFER_POOL_SIZE);
+        } else if (receivers > 1) {
+            throw new IllegalArgumentException("Multiple receivers require the nio transport");
+        } else {
+            socket = new DatagramSocket(port);
+            sendSockets = new SendSocketPool(UDP_SERVER_THREAD_POOL_NTHREADS);
+        }
         localAddress = InetAddress.getLocalHost();
         localPort = port;
     }
 
+    // mode is "platform" for the fixed pool of UDP_SERVER_THREAD_POOL_NTHREADS threads, or
+    // "virtual" for a virtual thread per task with at most VIRTUAL_THREAD_MAX_CONCURRENCY running,
+    // so tasks blocked on forwarding or replica sockets do not hold up other requests. With a
+    // write-ahead log every put and remove also waits for a group commit; the key's write stripe,
+    // the log append and that wait use ReentrantLocks, as a virtual thread blocked in a monitor
+    // pins its carrier and the carriers, not the permits, would then bound the requests running
+    public static void initializeExecutor(String mode) {
+        if (mode.equals("virtual")) {
+            executor.shutdown();
+            executor = new BoundedExecutor(newVirtualThreadPerTaskExecutor(),
+                VIRTUAL_THREAD_MAX_CONCURRENCY, REQUEST_QUEUE_CAPACITY);
+        }
+    }
+
+    // Virtual threads are only in Java 21, looked up so the server still builds for Java 8
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+        }
+    }
+
     public static UDPServerThreadPool getInstance() {
         return instance;
     }
 
+    // SO_REUSEPORT is only in StandardSocketOptions from Java 9, looked up so the server still
+    // builds for and runs on Java 8 with a single receiver
+    @SuppressWarnings("unchecked")
+    private static SocketOption<Boolean> reusePortOption() throws IOException {
+        try {
+            return (SocketOption<Boolean>)
+                StandardSocketOptions.class.getField("SO_REUSEPORT").get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("SO_REUSEPORT requires Java 9 or later", e);
+        }
+    }
+
     // process incoming requests
     public void receive() {
+        if (channels != null) {
+            // the kernel spreads client flows across the channels bound to the port
+            for (int i = 1; i < channels.length; i++) {
+                DatagramChannel channel = channels[i];
+                new Thread(() -> receive(channel), "receiver-thread-" + i).start();
+            }
+            receive(channels[0]);
+            return;
+        }
+
 		while (true) {
             if (SHUTDOWN_NODE) {
-                socket.close();
-                sendSocket.close();
-                System.exit(0);
+                shutdown();
             }
+
             byte[] buf = new byte[MAX_MSG_SIZE];
             
             // receive request
             DatagramPacket reqPacket = new DatagramPacket(buf, buf.length);
             try {
                 socket.receive(reqPacket);
-                executor.execute(new ReceiverWorker(reqPacket));
+                submit(new ReceiverWorker(reqPacket));
             } catch (IOException e) {
                 e.printStackTrace();
             }
         }
 	}
 
+    private void receive(DatagramChannel channel) {
+        while (true) {
+            if (SHUTDOWN_NODE) {
+                shutdown();
+            }
+
+            // receive request into a pooled buffer, the worker returns it to the pool
+            ByteBuffer buffer = bufferPool.acquire();
+            try {
+                InetSocketAddress from = (InetSocketAddress) channel.receive(buffer);
+                buffer.flip();
+                submit(new ReceiverWorker(buffer, from, channel));
+            } catch (IOException e) {
+                bufferPool.release(buffer);
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static synchronized void shutdown() {
+        try {
+            if (channels != null) {
+                for (DatagramChannel channel : channels) {
+                    channel.close();
+                }
+            } else {
+                socket.close();
+                sendSockets.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        WriteAheadLog.getInstance().close();
+        System.exit(0);
+    }
+
 	// duplicate request to two successors for replication
 	public void replicate(KVRequest request) {
-        executor.execute(new ReplicaWorker(request));
+        executeOrRun(new ReplicaWorker(request));
 	}
 
+    // Queues the request for a worker, or answers it with "system overload" on the receive thread
+    // when the queue is full
+    private void submit(ReceiverWorker worker) {
+        try {
+            executor.execute(worker);
+        } catch (RejectedExecutionException e) {
+            worker.shed = true;
+            worker.run();
+        }
+    }
+
+    // Replication is never shed, with a full queue it runs on the calling thread instead
+    static void executeOrRun(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
 	class ReceiverWorker implements Runnable {
 		DatagramPacket reqPacket;
-
-		ReceiverWorker(DatagramPacket received) throws IOException{
+		// set instead of reqPacket for the nio transport, reused for the response and then
+		// returned to the pool. The response is sent from the channel the request arrived on
+		ByteBuffer reqBuffer;
+		InetSocketAddress reqAddress;
+		DatagramChannel reqChannel;
+		// queue time is measured from here, shed is set when the queue had no room at all
+		final long receivedNanos = System.nanoTime();
+		boolean shed = false;
+
+		ReceiverWorker(DatagramPacket received) {
 	    	this.reqPacket = received;
 	    }
 
+		ReceiverWorker(ByteBuffer received, InetSocketAddress from, DatagramChannel channel) {
+			this.reqBuffer = received;
+			this.reqAddress = from;
+			this.reqChannel = channel;
+		}
+
 	    @Override
 	    public void run() {
-	    	Msg request = null;
+	    	try {
+	    		serve();
+	    	} finally {
+	    		if (reqBuffer != null) {
+	    			bufferPool.release(reqBuffer);
+	    		}
+	    	}
+	    }
+
+	    private void serve() {
+	    	Msg request;
 			try {
-				request = Msg.parseFrom(
-			        Arrays.copyOf(reqPacket.getData(), reqPacket.getLength()));
-			} catch (InvalidProtocolBufferException e) {
+				// parse straight from the received bytes, without copying them first
+				request = reqBuffer != null
+					? Msg.parseFrom(CodedInputStream.newInstance(reqBuffer.array(),
+						reqBuffer.arrayOffset() + reqBuffer.position(), reqBuffer.remaining()))
+					: Msg.parseFrom(CodedInputStream.newInstance(
+						reqPacket.getData(), 0, reqPacket.getLength()));
+			} catch (IOException e) {
 			    e.printStackTrace();
+			    return;
 			}
 
 			if (VERBOSE > 0) {
-			    System.out
-			        .println("Available Memory (bytes): " + Runtime.getRuntime().freeMemory());
+			    System.out.println("Stored bytes: " + KeyValueStoreSingleton.getInstance().getStore()
+			        .getMemoryBudget().getUsed());
 			}
 
 			ByteString currentID = request.getMessageID();
-			byte[] payload = request.getPayload().toByteArray();
 
 			// verify checksum
-			if (request != null) {
-			    if (request.getCheckSum() != calculateProtocolBufferChecksum(currentID.toByteArray(),
-			        payload)) {
-			        System.out.format("Invalid checksum detected in the response, retrying...\n");
-			        // TODO: Return self-defined error code
-			        return;
-			    }
-
-				// begin retrieval
-			    InetAddress requestAddress = reqPacket.getAddress();
-				int requestPort = reqPacket.getPort();
-
-				MsgWrapper responseMsg;
-			    MsgWrapper cached = RequestCache.getInstance().getCache().getIfPresent(currentID);
-
-			    if (cached == null) {
-			    	MsgWrapper messageWrap =
-						ProtocolBufferKeyValueStoreResponse.serveRequest(request);
-					if (messageWrap != null && (messageWrap.getPort() == 0
-						|| messageWrap.getAddress() == null)) {
-						if (request.hasFwdPort() && request.hasFwdAddress()) {
-			                try {
-			                	messageWrap.setAddress(
-			                		InetAddress.getByName(request.getFwdAddress().toStringUtf8()));
-			                	messageWrap.setPort(request.getFwdPort());
-			                } catch (UnknownHostException e) {
-			                    e.printStackTrace();
-			                }
-						} else {
-							messageWrap.setAddress(requestAddress);
-							messageWrap.setPort(requestPort);
-						}
-			        } else {
-			        	messageWrap.setMessage(
-							ProtocolBuffers.wrapFwdMessage(
-                            request,
-                            ByteString.copyFromUtf8(requestAddress.getHostAddress()),
-                            requestPort));
-			        }
-
-					responseMsg = messageWrap;
-					RequestCache.getInstance().getCache().put(currentID, messageWrap);
-			    } else {
-			    	responseMsg = cached;
-			    }
-
-				byte[] responseData = responseMsg.getMessage().toByteArray();
-				DatagramPacket responsePacket = new DatagramPacket(
-						responseData, responseData.length,
-						responseMsg.getAddress(), responseMsg.getPort());
-    	        try {
-    	        	// address edge case for two threads trying to send response at same time
-    	        	synchronized(sendSocket) {
-						sendSocket.send(responsePacket);
+		    if (request.getCheckSum() != calculateProtocolBufferChecksum(currentID,
+		        request.getPayload())) {
+		        System.out.format("Invalid checksum detected in the response, retrying...\n");
+		        // TODO: Return self-defined error code
+		        return;
+		    }
+
+			// begin retrieval
+		    InetAddress requestAddress =
+		    	reqBuffer != null ? reqAddress.getAddress() : reqPacket.getAddress();
+			int requestPort = reqBuffer != null ? reqAddress.getPort() : reqPacket.getPort();
+
+			MsgWrapper responseMsg;
+		    MsgWrapper cached = RequestCache.getInstance().getCache().getIfPresent(currentID);
+
+		    if (cached == null) {
+		    	// a request that waited past the deadline is answered without being served, by
+		    	// then the client is about to retry it anyway
+		    	boolean overloaded = shed || System.nanoTime() - receivedNanos
+		    		> TimeUnit.MILLISECONDS.toNanos(REQUEST_QUEUE_DEADLINE_MS);
+		    	if (overloaded && VERBOSE > 0) {
+		    		System.out.println("Shedding request, queue full or deadline exceeded");
+		    	}
+		    	MsgWrapper messageWrap = overloaded
+		    		? new MsgWrapper(
+		    			ProtocolBufferKeyValueStoreResponse.generateOverloadResponse(currentID),
+		    			null, 0)
+		    		: ProtocolBufferKeyValueStoreResponse.serveRequest(request);
+				if (messageWrap != null && (messageWrap.getPort() == 0
+					|| messageWrap.getAddress() == null)) {
+					if (request.hasFwdPort() && request.hasFwdAddress()) {
+		                try {
+		                	messageWrap.setAddress(
+		                		InetAddress.getByName(request.getFwdAddress().toStringUtf8()));
+		                	messageWrap.setPort(request.getFwdPort());
+		                } catch (UnknownHostException e) {
+		                    e.printStackTrace();
+		                }
+					} else {
+						messageWrap.setAddress(requestAddress);
+						messageWrap.setPort(requestPort);
 					}
-				} catch (IOException e) {
-					e.printStackTrace();
+		        } else {
+		        	messageWrap.setMessage(
+						ProtocolBuffers.wrapFwdMessage(
+                        request,
+                        ByteString.copyFromUtf8(requestAddress.getHostAddress()),
+                        requestPort));
+		        }
+
+				responseMsg = messageWrap;
+				// a retry of a shed request gets another chance to be served
+				if (!overloaded) {
+					RequestCache.getInstance().getCache().put(currentID, messageWrap);
 				}
+		    } else {
+		    	responseMsg = cached;
+		    }
+
+	        try {
+	        	if (reqBuffer != null) {
+	        		// the request is fully parsed, encode the response over it
+	        		reqBuffer.clear();
+	        		CodedOutputStream output = CodedOutputStream.newInstance(reqBuffer);
+	        		responseMsg.getMessage().writeTo(output);
+	        		output.flush();
+	        		reqBuffer.flip();
+	        		reqChannel.send(reqBuffer,
+	        			new InetSocketAddress(responseMsg.getAddress(), responseMsg.getPort()));
+	        	} else {
+	        		byte[] responseData = responseMsg.getMessage().toByteArray();
+	        		DatagramPacket responsePacket = new DatagramPacket(
+	        			responseData, responseData.length,
+	        			responseMsg.getAddress(), responseMsg.getPort());
+	        		sendSockets.send(responsePacket);
+	        	}
+			} catch (IOException e) {
+				e.printStackTrace();
 			}
 	    }
 	}
@@ -176,33 +369,23 @@ public class UDPServerThreadPool {
 
 		@Override
 		public void run() {
-			String originKey = null;
-			String firstSuccessorKey = null;
-            String secondSuccessorKey = null;
-
-            try {
-                originKey = ConsistentHashRing.getInstance().getKey(request.getKey());
-                firstSuccessorKey = ConsistentHashRing.getInstance().getSuccessorKey(originKey);
-                secondSuccessorKey = ConsistentHashRing.getInstance()
-                    .getSuccessorKey(firstSuccessorKey);
-            } catch (NoSuchAlgorithmException e) {
-                e.printStackTrace();
-            }
+            // owner of the key followed by its live successors, distinct physical nodes
+            MsgWrapper[] preferenceList = ConsistentHashRing.getInstance()
+                .getPreferenceList(request.getKey());
+            // replicas that are down get the write once they are live again
+            HintStore.getInstance().hintDownReplicas(request.getKey());
 
+            // version and ttl are carried over so the replicas store the same entry as the owner
             KVRequest replicateKVReq = KVRequest.newBuilder()
 				.setCommand(request.getCommand())
 				.setKey(request.getKey())
 				.setValue(request.getValue())
+				.setVersion(request.getVersion())
+				.setTtl(request.getTtl())
 				.setNotReplicated(true)
 				.build();
 
-            byte[] messageID = new byte[0];
-
-            try {
-                messageID = generateUniqueID();
-            } catch (NoSuchAlgorithmException e) {
-                e.printStackTrace();
-            }
+            byte[] messageID = generateUniqueID();
 
             ByteString payload = replicateKVReq.toByteString();
             ByteString messageIDByteString = ByteString.copyFrom(messageID);
@@ -213,22 +396,15 @@ public class UDPServerThreadPool {
 				.setCheckSum(calculateProtocolBufferChecksum(messageIDByteString, payload))
 				.build();
 
-			MsgWrapper firstSuccessorNode = ConsistentHashRing.getInstance()
-				.getHashRing().get(firstSuccessorKey);
-			MsgWrapper secondSuccessorNode = ConsistentHashRing.getInstance()
-				.getHashRing().get(secondSuccessorKey);
-
-			// send out replica requests to two successors optimistically, doesn't wait for response
+			// send out replica requests to the successors optimistically, doesn't wait for response
 			try {
-				UDPClient.sendReplicaRequest(
-                    replicateMsg.toByteArray(),
-                    firstSuccessorNode.getAddress().getHostAddress(),
-                    firstSuccessorNode.getPort());
-
-                UDPClient.sendReplicaRequest(
-                    replicateMsg.toByteArray(),
-                    secondSuccessorNode.getAddress().getHostAddress(),
-                    secondSuccessorNode.getPort());
+				for (int i = 1; i < preferenceList.length; i++) {
+					MsgWrapper successorNode = preferenceList[i];
+					UDPClient.sendReplicaRequest(
+						replicateMsg.toByteArray(),
+						successorNode.getAddress().getHostAddress(),
+						successorNode.getPort());
+				}
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
@@ -0,0 +1,44 @@
+package A7.utils;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pool of reusable heap buffers of a fixed size. Buffers are allocated on demand when the pool
+// is empty, and at most maxPooled of them are kept once released; any more are left to the GC.
+// They are heap rather than direct buffers as protobuf 3.1 cannot parse a direct buffer safely on
+// newer JDKs.
+public class BufferPool {
+    private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final int bufferSize;
+    private final int maxPooled;
+
+    public BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+        for (int i = 0; i < maxPooled; i++) {
+            buffers.offer(ByteBuffer.allocate(bufferSize));
+        }
+        pooled.set(maxPooled);
+    }
+
+    // Cleared buffer, owned by the caller until it is released
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocate(bufferSize);
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        if (pooled.incrementAndGet() <= maxPooled) {
+            buffers.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+}
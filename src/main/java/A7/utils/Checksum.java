@@ -6,6 +6,8 @@ import java.nio.ByteOrder;
 import java.util.zip.CRC32;
 
 public class Checksum {
+    private static final ThreadLocal<CRC32> checksum = ThreadLocal.withInitial(CRC32::new);
+
     public static long calculateProtocolBufferChecksum(byte[] messageID, byte[] payload) {
         CRC32 crc32 = new CRC32();
         ByteBuffer byteBuffer = ByteBuffer.allocate(messageID.length + payload.length);
@@ -17,7 +19,16 @@ public class Checksum {
         return crc32.getValue();
     }
 
+    // Same checksum as above, computed over the ByteStrings in place without concatenating them
     public static long calculateProtocolBufferChecksum(ByteString messageID, ByteString payload) {
-        return calculateProtocolBufferChecksum(messageID.toByteArray(), payload.toByteArray());
+        CRC32 crc32 = checksum.get();
+        crc32.reset();
+        for (ByteBuffer buffer : messageID.asReadOnlyByteBufferList()) {
+            crc32.update(buffer);
+        }
+        for (ByteBuffer buffer : payload.asReadOnlyByteBufferList()) {
+            crc32.update(buffer);
+        }
+        return crc32.getValue();
     }
 }
@@ -0,0 +1,106 @@
+package A7.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Hashed timer wheel driven by a single thread. Timeouts are hashed into a ring of buckets by
+// their deadline tick, so scheduling is O(1) and each tick only touches one bucket; a timeout
+// whose deadline is more than one revolution away stays in its bucket until its round comes up.
+public class TimerWheel extends Thread {
+    private final long tickMs;
+    private final ConcurrentLinkedQueue<Timeout>[] buckets;
+    private final long startNanos;
+    private volatile boolean closed = false;
+
+    public static class Timeout {
+        private final long deadlineTick;
+        private final Runnable task;
+        private volatile boolean cancelled = false;
+
+        private Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    public TimerWheel(String name, long tickMs, int wheelSize) {
+        super(name);
+        this.tickMs = tickMs;
+        // generic arrays cannot be created, only the raw array is
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ConcurrentLinkedQueue<Timeout>[] buckets = new ConcurrentLinkedQueue[wheelSize];
+        this.buckets = buckets;
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.startNanos = System.nanoTime();
+        setDaemon(true);
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - startNanos) / 1000000 / tickMs;
+    }
+
+    // run task after at least delayMs, rounded up to the next tick
+    public Timeout schedule(Runnable task, long delayMs) {
+        long deadlineTick = currentTick() + Math.max(1, (delayMs + tickMs - 1) / tickMs);
+        Timeout timeout = new Timeout(deadlineTick, task);
+        buckets[(int) (deadlineTick % buckets.length)].offer(timeout);
+        return timeout;
+    }
+
+    public void run() {
+        long tick = currentTick();
+        List<Timeout> due = new ArrayList<>();
+        while (!closed) {
+            // process every tick up to now so a late wake-up does not skip buckets
+            long now = currentTick();
+            for (; tick <= now; tick++) {
+                ConcurrentLinkedQueue<Timeout> bucket = buckets[(int) (tick % buckets.length)];
+                int size = bucket.size();
+                for (int i = 0; i < size; i++) {
+                    Timeout timeout = bucket.poll();
+                    if (timeout == null) {
+                        break;
+                    }
+                    if (timeout.cancelled) {
+                        continue;
+                    }
+                    if (timeout.deadlineTick <= tick) {
+                        due.add(timeout);
+                    } else {
+                        // not due in this revolution
+                        bucket.offer(timeout);
+                    }
+                }
+            }
+            for (Timeout timeout : due) {
+                try {
+                    timeout.task.run();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+            due.clear();
+
+            long sleepMs = (tick * tickMs) - (System.nanoTime() - startNanos) / 1000000;
+            if (sleepMs > 0) {
+                try {
+                    Thread.sleep(sleepMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public void close() {
+        closed = true;
+        interrupt();
+    }
+}
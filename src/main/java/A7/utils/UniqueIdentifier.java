@@ -3,13 +3,42 @@ package A7.utils;
 import static A7.DistributedSystemConfiguration.UNIQUE_ID_UDP_SIZE;
 
 import java.lang.management.ManagementFactory;
-import java.math.BigInteger;
-import java.security.MessageDigest;
+import java.nio.ByteBuffer;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class UniqueIdentifier {
-    public static byte[] generateUniqueID() throws NoSuchAlgorithmException {
+    // Random per process, drawn once from the non-blocking SecureRandom
+    private static final int NODE_ID = new SecureRandom().nextInt() ^ getCurrentPID();
+    private static final AtomicInteger threadSlots = new AtomicInteger();
+    private static final ThreadLocal<IdState> idState = ThreadLocal.withInitial(IdState::new);
+
+    // Message ID of [int node id][int thread slot][48 bit timestamp millis][short counter].
+    // Each thread numbers its own IDs, so generating one never blocks or contends.
+    public static byte[] generateUniqueID() {
+        IdState state = idState.get();
+        long now = System.currentTimeMillis();
+        if (now > state.millis) {
+            state.millis = now;
+            state.counter = 0;
+        } else if (++state.counter > 0xFFFF) {
+            // counter exhausted within one millisecond, or the clock went back: borrow the next
+            // millisecond so IDs from this thread never repeat
+            state.millis++;
+            state.counter = 0;
+        }
+
+        byte[] uniqueID = new byte[UNIQUE_ID_UDP_SIZE];
+        ByteBuffer.wrap(uniqueID)
+            .putInt(NODE_ID)
+            .putInt(state.slot)
+            .putLong((state.millis << 16) | state.counter);
+        return uniqueID;
+    }
+
+    // Random message ID from the strong SecureRandom, which may block on the entropy pool
+    public static byte[] generateSecureUniqueID() throws NoSuchAlgorithmException {
         byte[] uniqueID = new byte[UNIQUE_ID_UDP_SIZE];
         SecureRandom.getInstanceStrong().nextBytes(uniqueID);
         return uniqueID;
@@ -21,10 +50,9 @@ public class UniqueIdentifier {
         return Integer.parseInt(parts[0]);
     }
 
-    // MD5 hash
-    public static String MD5Hash(String hash) throws NoSuchAlgorithmException{
-        MessageDigest md = MessageDigest.getInstance("MD5");
-        byte[] messageDigest = md.digest(hash.getBytes());
-        return new BigInteger(1, messageDigest).toString(16);
+    private static class IdState {
+        final int slot = threadSlots.getAndIncrement();
+        long millis;
+        int counter;
     }
 }
@@ -0,0 +1,86 @@
+package A7.utils;
+
+import com.google.protobuf.ByteString;
+
+// xxHash64 (seed 0) over raw bytes. Used to place keys and nodes on the consistent hash ring,
+// where it replaces MD5: it needs no MessageDigest instance and allocates nothing.
+public class XXHash64 {
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    public static long hash(ByteString bytes) {
+        int length = bytes.size();
+        int i = 0;
+        long h;
+
+        if (length >= 32) {
+            long v1 = PRIME64_1 + PRIME64_2;
+            long v2 = PRIME64_2;
+            long v3 = 0;
+            long v4 = -PRIME64_1;
+            for (; i <= length - 32; i += 32) {
+                v1 = round(v1, readLong(bytes, i));
+                v2 = round(v2, readLong(bytes, i + 8));
+                v3 = round(v3, readLong(bytes, i + 16));
+                v4 = round(v4, readLong(bytes, i + 24));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7)
+                + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = mergeRound(h, v1);
+            h = mergeRound(h, v2);
+            h = mergeRound(h, v3);
+            h = mergeRound(h, v4);
+        } else {
+            h = PRIME64_5;
+        }
+
+        h += length;
+
+        for (; i <= length - 8; i += 8) {
+            h ^= round(0, readLong(bytes, i));
+            h = Long.rotateLeft(h, 27) * PRIME64_1 + PRIME64_4;
+        }
+        if (i <= length - 4) {
+            h ^= (readInt(bytes, i) & 0xFFFFFFFFL) * PRIME64_1;
+            h = Long.rotateLeft(h, 23) * PRIME64_2 + PRIME64_3;
+            i += 4;
+        }
+        for (; i < length; i++) {
+            h ^= (bytes.byteAt(i) & 0xFFL) * PRIME64_5;
+            h = Long.rotateLeft(h, 11) * PRIME64_1;
+        }
+
+        h ^= h >>> 33;
+        h *= PRIME64_2;
+        h ^= h >>> 29;
+        h *= PRIME64_3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * PRIME64_2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * PRIME64_1;
+    }
+
+    private static long mergeRound(long acc, long val) {
+        acc ^= round(0, val);
+        return acc * PRIME64_1 + PRIME64_4;
+    }
+
+    // little-endian reads
+    private static long readLong(ByteString bytes, int i) {
+        return (readInt(bytes, i) & 0xFFFFFFFFL) | ((long) readInt(bytes, i + 4) << 32);
+    }
+
+    private static int readInt(ByteString bytes, int i) {
+        return (bytes.byteAt(i) & 0xFF)
+            | (bytes.byteAt(i + 1) & 0xFF) << 8
+            | (bytes.byteAt(i + 2) & 0xFF) << 16
+            | (bytes.byteAt(i + 3) & 0xFF) << 24;
+    }
+}
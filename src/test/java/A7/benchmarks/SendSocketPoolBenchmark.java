@@ -0,0 +1,150 @@
+package A7.benchmarks;
+
+import static A7.DistributedSystemConfiguration.UDP_SERVER_THREAD_POOL_NTHREADS;
+
+import A7.server.SendSocketPool;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Latency of a request worker's response, with every worker of the pool replying at once:
+// synchronized(sendSocket) as before SendSocketPool, against sending on a pooled socket. Both are
+// timed until the datagram has reached a receiver on loopback. SampleTime reports the percentiles,
+// compare p0.99 of the two.
+//
+// Run with:
+//   mvn clean test-compile exec:java -Pbenchmarks -Dexec.classpathScope=test \
+//     -Dexec.mainClass=A7.benchmarks.SendSocketPoolBenchmark
+// The clean keeps the JMH annotation processor from failing on the classes it generated the
+// previous time, when a change makes the compiler plugin recompile every test source.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(UDP_SERVER_THREAD_POOL_NTHREADS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class SendSocketPoolBenchmark {
+    // size of a typical get response
+    private static final int RESPONSE_SIZE = 128;
+    // a datagram lost on loopback ends the wait for it after this long
+    private static final long LOST_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private DatagramSocket sink;
+    private Thread receiver;
+    private DatagramSocket sendSocket;
+    private SendSocketPool sendSockets;
+    private InetAddress address;
+    private int port;
+    // the last sequence number received from each worker, and the worker waiting for it
+    private final AtomicLongArray received = new AtomicLongArray(UDP_SERVER_THREAD_POOL_NTHREADS);
+    private final Thread[] workers = new Thread[UDP_SERVER_THREAD_POOL_NTHREADS];
+    private final AtomicInteger registered = new AtomicInteger();
+
+    // A benchmark thread, its responses carry its id and a sequence number
+    @State(Scope.Thread)
+    public static class Worker {
+        int id;
+        long seq;
+        final byte[] response = new byte[RESPONSE_SIZE];
+
+        @Setup
+        public void setUp(SendSocketPoolBenchmark benchmark) {
+            id = benchmark.registered.getAndIncrement();
+            benchmark.workers[id] = Thread.currentThread();
+        }
+
+        DatagramPacket next(SendSocketPoolBenchmark benchmark) {
+            ByteBuffer.wrap(response).putInt(id).putLong(++seq);
+            return new DatagramPacket(response, response.length, benchmark.address,
+                benchmark.port);
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        address = InetAddress.getLoopbackAddress();
+        sink = new DatagramSocket(0, address);
+        port = sink.getLocalPort();
+        receiver = new Thread(() -> {
+            byte[] buf = new byte[RESPONSE_SIZE];
+            DatagramPacket packet = new DatagramPacket(buf, buf.length);
+            while (!sink.isClosed()) {
+                try {
+                    sink.receive(packet);
+                } catch (IOException e) {
+                    return;
+                }
+                ByteBuffer datagram = ByteBuffer.wrap(buf);
+                int id = datagram.getInt();
+                received.set(id, datagram.getLong());
+                LockSupport.unpark(workers[id]);
+            }
+        }, "benchmark-receiver");
+        receiver.start();
+        sendSocket = new DatagramSocket();
+        sendSockets = new SendSocketPool(UDP_SERVER_THREAD_POOL_NTHREADS);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        sendSockets.close();
+        sendSocket.close();
+        sink.close();
+        receiver.join();
+    }
+
+    // Parks until the receiver has the worker's last datagram
+    private void awaitReceived(Worker worker) {
+        long deadline = System.nanoTime() + LOST_NANOS;
+        while (received.get(worker.id) < worker.seq) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    @Benchmark
+    public void synchronizedSend(Worker worker) throws IOException {
+        DatagramPacket packet = worker.next(this);
+        synchronized (sendSocket) {
+            sendSocket.send(packet);
+        }
+        awaitReceived(worker);
+    }
+
+    @Benchmark
+    public void pooledSend(Worker worker) throws IOException {
+        sendSockets.send(worker.next(this));
+        awaitReceived(worker);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(SendSocketPoolBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
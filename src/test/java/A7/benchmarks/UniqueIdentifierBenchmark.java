@@ -0,0 +1,46 @@
+package A7.benchmarks;
+
+import A7.utils.UniqueIdentifier;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Cost of a message ID from several threads at once: the thread-local generator against the
+// strong SecureRandom it replaced for replication traffic.
+//
+// Run with:
+//   mvn clean test-compile exec:java -Pbenchmarks -Dexec.classpathScope=test \
+//     -Dexec.mainClass=A7.benchmarks.UniqueIdentifierBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UniqueIdentifierBenchmark {
+    @Benchmark
+    public byte[] threadLocal() {
+        return UniqueIdentifier.generateUniqueID();
+    }
+
+    @Benchmark
+    public byte[] secureRandomStrong() throws NoSuchAlgorithmException {
+        return UniqueIdentifier.generateSecureUniqueID();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(UniqueIdentifierBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
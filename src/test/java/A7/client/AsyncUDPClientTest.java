@@ -0,0 +1,127 @@
+package A7.client;
+
+import static A7.DistributedSystemConfiguration.MAX_MSG_SIZE;
+import static A7.utils.ProtocolBuffers.wrapMessage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.Message.Msg;
+import com.google.protobuf.ByteString;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncUDPClientTest {
+    private AsyncUDPClient client;
+    private DatagramSocket server;
+    private Thread serverThread;
+    private final AtomicInteger received = new AtomicInteger();
+
+    // replies with the request key as the value, optionally ignoring the first copy of each request
+    private void startServer(boolean dropFirst) throws SocketException {
+        server = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        serverThread = new Thread(() -> {
+            Set<ByteString> seen = new HashSet<>();
+            byte[] buf = new byte[MAX_MSG_SIZE];
+            while (!server.isClosed()) {
+                try {
+                    DatagramPacket packet = new DatagramPacket(buf, buf.length);
+                    server.receive(packet);
+                    received.incrementAndGet();
+                    Msg msg = Msg.parseFrom(Arrays.copyOf(buf, packet.getLength()));
+                    if (dropFirst && seen.add(msg.getMessageID())) {
+                        continue;
+                    }
+                    KVRequest request = KVRequest.parseFrom(msg.getPayload());
+                    KVResponse response = KVResponse.newBuilder().setErrCode(0)
+                            .setValue(request.getKey()).build();
+                    byte[] res = wrapMessage(msg.getMessageID(), response.toByteString()).toByteArray();
+                    server.send(new DatagramPacket(res, res.length, packet.getSocketAddress()));
+                } catch (Exception e) {
+                    return;
+                }
+            }
+        });
+        serverThread.start();
+    }
+
+    private InetSocketAddress serverAddress() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort());
+    }
+
+    private static KVRequest getRequest(int i) {
+        return KVRequest.newBuilder().setCommand(2)
+                .setKey(ByteString.copyFromUtf8("key" + i)).build();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        client = new AsyncUDPClient();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        if (server != null) {
+            server.close();
+            serverThread.join();
+        }
+    }
+
+    @Test
+    public void testPipelinedRequests() throws Exception {
+        startServer(false);
+        List<CompletableFuture<KVResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(client.send(getRequest(i), serverAddress()));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            KVResponse response = futures.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals(0, response.getErrCode());
+            assertEquals("key" + i, response.getValue().toStringUtf8());
+        }
+        assertEquals(0, client.inFlight());
+    }
+
+    @Test
+    public void testRetryAfterDroppedRequest() throws Exception {
+        startServer(true);
+        KVResponse response = client.send(getRequest(1), serverAddress()).get(5, TimeUnit.SECONDS);
+        assertEquals("key1", response.getValue().toStringUtf8());
+        assertEquals(2, received.get());
+    }
+
+    @Test
+    public void testTimeoutAfterMaxRetries() throws Exception {
+        // bound but never read, so every attempt goes unanswered
+        server = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        serverThread = new Thread(() -> { });
+        serverThread.start();
+        CompletableFuture<KVResponse> future = client.send(getRequest(1), serverAddress());
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected the request to time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertEquals(0, client.inFlight());
+    }
+}
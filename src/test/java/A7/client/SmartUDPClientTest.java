@@ -0,0 +1,154 @@
+package A7.client;
+
+import static A7.DistributedSystemConfiguration.MAX_MSG_SIZE;
+import static A7.DistributedSystemConfiguration.VIRTUAL_NODES;
+import static A7.utils.ProtocolBuffers.wrapMessage;
+import static org.junit.Assert.assertEquals;
+
+import A7.core.ConsistentHashRing;
+import A7.core.RoutingTable;
+import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.Membership.Member;
+import A7.proto.Membership.MembershipView;
+import A7.proto.Message.Msg;
+import com.google.protobuf.ByteString;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.After;
+import org.junit.Test;
+
+public class SmartUDPClientTest {
+    private static final String IP = InetAddress.getLoopbackAddress().getHostAddress();
+
+    private FakeNode nodeA;
+    private FakeNode nodeB;
+    private SmartUDPClient client;
+
+    // answers every request on a loopback socket with the handler's response
+    private static class FakeNode extends Thread {
+        private final DatagramSocket socket;
+        private volatile Function<KVRequest, KVResponse> handler;
+
+        FakeNode() throws Exception {
+            socket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+            start();
+        }
+
+        InetSocketAddress address() {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), socket.getLocalPort());
+        }
+
+        public void run() {
+            byte[] buf = new byte[MAX_MSG_SIZE];
+            while (!socket.isClosed()) {
+                try {
+                    DatagramPacket packet = new DatagramPacket(buf, buf.length);
+                    socket.receive(packet);
+                    Msg msg = Msg.parseFrom(Arrays.copyOf(buf, packet.getLength()));
+                    KVResponse response = handler.apply(KVRequest.parseFrom(msg.getPayload()));
+                    byte[] res = wrapMessage(msg.getMessageID(), response.toByteString())
+                        .toByteArray();
+                    socket.send(new DatagramPacket(res, res.length, packet.getSocketAddress()));
+                } catch (Exception e) {
+                    return;
+                }
+            }
+        }
+
+        void close() throws InterruptedException {
+            socket.close();
+            join();
+        }
+    }
+
+    private static Member member(FakeNode node) {
+        return Member.newBuilder().setIp(IP).setPort(node.address().getPort())
+            .setVnodes(VIRTUAL_NODES).setLive(true).build();
+    }
+
+    private static KVResponse value(String value) {
+        return KVResponse.newBuilder().setErrCode(0).setValue(ByteString.copyFromUtf8(value))
+            .build();
+    }
+
+    private static boolean ownedBy(RoutingTable table, ByteString key, FakeNode node) {
+        int index = table.ceilingIndex(ConsistentHashRing.hash(key));
+        return table.node(table.preference(index, 0)).getPort() == node.address().getPort();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    public void testRefreshOnNotOwner() throws Exception {
+        nodeA = new FakeNode();
+        nodeB = new FakeNode();
+        // the client first sees only A, while A already knows B joined
+        MembershipView staleView = MembershipView.newBuilder().setVersion(1)
+            .addMembers(member(nodeA)).build();
+        MembershipView view = MembershipView.newBuilder().setVersion(2)
+            .addMembers(member(nodeA)).addMembers(member(nodeB)).build();
+        RoutingTable table = SmartUDPClient.buildRoutingTable(view);
+
+        ByteString key = null;
+        for (int i = 0; key == null; i++) {
+            ByteString candidate = ByteString.copyFromUtf8("key" + i);
+            if (ownedBy(table, candidate, nodeB)) {
+                key = candidate;
+            }
+        }
+
+        AtomicInteger membershipRequests = new AtomicInteger();
+        AtomicInteger notOwner = new AtomicInteger();
+        nodeA.handler = request -> {
+            if (request.getCommand() == 0x21) {
+                MembershipView served = membershipRequests.getAndIncrement() == 0
+                    ? staleView : view;
+                return KVResponse.newBuilder().setErrCode(0).setValue(served.toByteString())
+                    .build();
+            }
+            if (request.getClientRouted() && !ownedBy(table, request.getKey(), nodeA)) {
+                notOwner.incrementAndGet();
+                return KVResponse.newBuilder().setErrCode(0x21).build();
+            }
+            return value("A");
+        };
+        nodeB.handler = request -> value("B");
+
+        client = new SmartUDPClient(nodeA.address());
+        client.refresh().get(5, TimeUnit.SECONDS);
+        assertEquals(nodeA.address(), client.getOwner(key));
+
+        KVRequest get = KVRequest.newBuilder().setCommand(2).setKey(key).build();
+        assertEquals("B", client.send(get).get(5, TimeUnit.SECONDS).getValue().toStringUtf8());
+        assertEquals(1, notOwner.get());
+        assertEquals(nodeB.address(), client.getOwner(key));
+
+        // the refreshed view is used directly from now on
+        assertEquals("B", client.send(get).get(5, TimeUnit.SECONDS).getValue().toStringUtf8());
+        assertEquals(1, notOwner.get());
+    }
+
+    @Test
+    public void testRequestWithoutKeyGoesToSeed() throws Exception {
+        nodeA = new FakeNode();
+        nodeB = new FakeNode();
+        nodeA.handler = request -> value("A");
+        nodeB.handler = request -> value("B");
+
+        client = new SmartUDPClient(nodeA.address());
+        KVRequest isAlive = KVRequest.newBuilder().setCommand(6).build();
+        assertEquals("A", client.send(isAlive).get(5, TimeUnit.SECONDS).getValue().toStringUtf8());
+    }
+}
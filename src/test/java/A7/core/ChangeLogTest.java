@@ -0,0 +1,61 @@
+package A7.core;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+public class ChangeLogTest {
+    private static ByteString key(int i) {
+        return ByteString.copyFromUtf8("Key" + i);
+    }
+
+    @org.junit.Test
+    public void testKeysSince() {
+        ChangeLog log = new ChangeLog(16);
+        log.append(key(1));
+        long position = log.head();
+        log.append(key(2));
+        log.append(key(3));
+        log.append(key(2));
+
+        LinkedHashSet<ByteString> keys = new LinkedHashSet<>();
+        assertEquals(4, log.keysSince(position, keys));
+        assertEquals(Arrays.asList(key(2), key(3)), new ArrayList<>(keys));
+
+        // a peer that is up to date gets nothing
+        List<ByteString> none = new ArrayList<>();
+        assertEquals(4, log.keysSince(log.head(), none));
+        assertEquals(0, none.size());
+    }
+
+    @org.junit.Test
+    public void testAgedOut() {
+        ChangeLog log = new ChangeLog(16);
+        for (int i = 0; i < 16; i++) {
+            log.append(key(i));
+        }
+        List<ByteString> keys = new ArrayList<>();
+        assertEquals(16, log.keysSince(0, keys));
+        assertEquals(16, keys.size());
+
+        log.append(key(16));
+        assertEquals(-1, log.keysSince(0, new ArrayList<>()));
+        assertEquals(17, log.keysSince(1, new ArrayList<>()));
+    }
+
+    @org.junit.Test
+    public void testTruncate() {
+        ChangeLog log = new ChangeLog(16);
+        log.append(key(1));
+        log.truncate();
+        assertEquals(-1, log.keysSince(0, new ArrayList<>()));
+        log.append(key(2));
+        List<ByteString> keys = new ArrayList<>();
+        assertEquals(2, log.keysSince(1, keys));
+        assertEquals(Arrays.asList(key(2)), keys);
+    }
+}
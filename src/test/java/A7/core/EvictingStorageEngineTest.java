@@ -0,0 +1,114 @@
+package A7.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class EvictingStorageEngineTest {
+    EvictingStorageEngine store;
+
+    @org.junit.Before
+    public void setUp() throws Exception {
+        // room for about 90 entries of 1kB
+        store = new EvictingStorageEngine(new HeapStorageEngine(100 * 1024));
+    }
+
+    private static ByteString key(int i) {
+        return ByteString.copyFromUtf8("Key" + i);
+    }
+
+    private static VersionedValue value(int version) {
+        return new VersionedValue(ByteString.copyFrom(new byte[1024]), version);
+    }
+
+    @org.junit.Test
+    public void testPutsEvictInsteadOfFailing() {
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(store.put(key(i), value(i)));
+        }
+        MemoryBudget budget = store.getMemoryBudget();
+        assertTrue(budget.getUsed() <= budget.getHighWatermark());
+        assertEquals(1000 - store.size(), store.getEvictions());
+        // the newest key is kept, the oldest is gone
+        assertNotNull(store.get(key(999)));
+        assertNull(store.get(key(0)));
+        assertEquals(1, store.getHits());
+        assertEquals(1, store.getMisses());
+    }
+
+    @org.junit.Test
+    public void testPutEvictsOnlyWhatItNeeds() {
+        for (int i = 0; i < 1000; i++) {
+            long before = store.getEvictions();
+            assertTrue(store.put(key(i), value(i)));
+            // entries are all the same size, so one victim always makes room
+            assertTrue(store.getEvictions() - before <= 1);
+        }
+        assertTrue(store.getEvictions() > 0);
+    }
+
+    @org.junit.Test
+    public void testScanDoesNotEvictWorkingSet() {
+        for (int i = 0; i < 20; i++) {
+            store.put(key(i), value(i));
+            // read once, so the key is promoted to the protected segment
+            store.get(key(i));
+        }
+        // a scan of one-off keys much larger than the store
+        for (int i = 1000; i < 2000; i++) {
+            store.put(key(i), value(i));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertNotNull(store.get(key(i)));
+        }
+    }
+
+    @org.junit.Test
+    public void testRemoveAndClear() {
+        store.put(key(1), value(1));
+        store.get(key(1));
+        store.put(key(2), value(2));
+        assertEquals(1, store.remove(key(1)).getVersion());
+        assertFalse(store.containsKey(key(1)));
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(0, store.getMemoryBudget().getUsed());
+        // nothing left to evict, removed keys are no longer tracked
+        for (int i = 0; i < 200; i++) {
+            assertTrue(store.put(key(i), value(i)));
+        }
+    }
+
+    @org.junit.Test
+    public void testConcurrentReadsAndPuts() throws Exception {
+        Thread[] threads = new Thread[4];
+        AtomicBoolean failed = new AtomicBoolean();
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t * 1000;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (!store.put(key(offset + i), value(i))) {
+                        failed.set(true);
+                    }
+                    // hot keys read far more often than the read buffer holds
+                    for (int j = 0; j < 10; j++) {
+                        store.get(key(offset + j));
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(failed.get());
+        MemoryBudget budget = store.getMemoryBudget();
+        assertTrue(budget.getUsed() <= budget.getHighWatermark());
+        assertEquals(4000 - store.size(), store.getEvictions());
+    }
+}
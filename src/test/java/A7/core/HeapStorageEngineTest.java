@@ -0,0 +1,71 @@
+package A7.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+import java.util.List;
+
+public class HeapStorageEngineTest {
+    HeapStorageEngine store;
+
+    @org.junit.Before
+    public void setUp() throws Exception {
+        store = new HeapStorageEngine(1024 * 1024);
+    }
+
+    @org.junit.Test
+    public void testRemoveExpiredKeepsFreshValue() {
+        ByteString key = ByteString.copyFromUtf8("Key1");
+        store.put(key, new VersionedValue(ByteString.copyFromUtf8("Value1"), 1, 1000));
+        // overwritten without a ttl before the sweeper got to it
+        store.put(key, new VersionedValue(ByteString.copyFromUtf8("Value2"), 2));
+        assertFalse(store.removeExpired(key, 2000));
+        assertEquals(2, store.get(key).getVersion());
+    }
+
+    @org.junit.Test
+    public void testOverwriteNearHighWatermark() {
+        ByteString value = ByteString.copyFrom(new byte[1000]);
+        MemoryBudget budget = store.getMemoryBudget();
+        int keys = 0;
+        while (budget.getUsed() + budget.entrySize(8, 1000) <= budget.getHighWatermark()) {
+            assertTrue(store.put(ByteString.copyFromUtf8(String.format("Key%05d", keys++)),
+                new VersionedValue(value, 1)));
+        }
+        long used = budget.getUsed();
+        ByteString key = ByteString.copyFromUtf8("Key00000");
+        // an overwrite of the same size does not need any room
+        assertTrue(store.put(key, new VersionedValue(value, 2)));
+        assertFalse(budget.isFull());
+        assertEquals(used, budget.getUsed());
+
+        // a new entry is refused and the budget stays full, a smaller overwrite still fits
+        assertFalse(store.put(ByteString.copyFromUtf8("KeyFull"), new VersionedValue(value, 1)));
+        assertTrue(budget.isFull());
+        assertTrue(store.put(key, new VersionedValue(ByteString.copyFrom(new byte[10]), 3)));
+        assertEquals(used - 990, budget.getUsed());
+        assertEquals(keys, store.size());
+    }
+
+    @org.junit.Test
+    public void testSweepExpired() {
+        for (int i = 0; i < 100; i++) {
+            store.put(ByteString.copyFromUtf8("Key" + i), new VersionedValue(
+                ByteString.copyFromUtf8("Value" + i), i, i < 30 ? 1000 : 0));
+        }
+        int swept = 0;
+        for (int i = 0; i < 10; i++) {
+            List<ByteString> expired = store.sweepExpired(2000, 20);
+            assertTrue(expired.size() <= 20);
+            swept += expired.size();
+        }
+        assertEquals(30, swept);
+        assertEquals(70, store.size());
+        assertNull(store.get(ByteString.copyFromUtf8("Key0")));
+        assertEquals(70 * store.getMemoryBudget().entrySize(5, 7),
+            store.getMemoryBudget().getUsed());
+    }
+}
@@ -0,0 +1,57 @@
+package A7.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import A7.utils.MsgWrapper;
+import com.google.protobuf.ByteString;
+import java.net.InetAddress;
+import java.util.Arrays;
+
+public class HintStoreTest {
+    MsgWrapper node;
+
+    @org.junit.Before
+    public void setUp() throws Exception {
+        node = new MsgWrapper(null, InetAddress.getByName("localhost"), 10129);
+    }
+
+    private static ByteString key(int i) {
+        return ByteString.copyFromUtf8("Key" + i);
+    }
+
+    @org.junit.Test
+    public void testPeekAndRemove() {
+        HintStore store = new HintStore(1024);
+        for (int i = 0; i < 5; i++) {
+            store.add(node, key(i));
+        }
+        assertEquals(1, store.getHints().size());
+        HintStore.Hints hints = store.getHints().iterator().next();
+        assertEquals(Arrays.asList(key(0), key(1), key(2)), hints.peek(3));
+
+        // a hint added while the first ones are replayed is kept
+        store.add(node, key(5));
+        hints.removeFirst(3);
+        assertEquals(Arrays.asList(key(3), key(4), key(5)), hints.peek(10));
+        hints.removeFirst(3);
+        assertTrue(hints.isEmpty());
+    }
+
+    @org.junit.Test
+    public void testOverflow() {
+        // room for four hints of 2 + 4 bytes
+        HintStore store = new HintStore(24);
+        for (int i = 0; i < 5; i++) {
+            store.add(node, key(i));
+        }
+        HintStore.Hints hints = store.getHints().iterator().next();
+        assertTrue(hints.isOverflowed());
+        assertFalse(hints.isEmpty());
+        hints.clear();
+        assertTrue(hints.isEmpty());
+        store.add(node, key(9));
+        assertEquals(Arrays.asList(key(9)), hints.peek(10));
+    }
+}
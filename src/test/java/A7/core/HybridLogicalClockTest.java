@@ -0,0 +1,39 @@
+package A7.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HybridLogicalClockTest {
+    private static final long NOW = 1700000000000L;
+
+    @Test
+    public void testTimestampsIncreaseWithinOneMillisecond() {
+        HybridLogicalClock clock = new HybridLogicalClock();
+        long first = clock.now(NOW);
+        long second = clock.now(NOW);
+        assertTrue(second > first);
+        assertEquals(NOW, HybridLogicalClock.wallMillisOf(first));
+        // a wall clock stepping back does not make versions go back
+        assertTrue(clock.now(NOW - 1000) > second);
+    }
+
+    @Test
+    public void testObservedVersionIsOvertaken() {
+        HybridLogicalClock clock = new HybridLogicalClock();
+        HybridLogicalClock remote = new HybridLogicalClock();
+        long observed = remote.now(NOW + 50);
+        clock.observe(observed, NOW);
+        assertTrue(clock.now(NOW) > observed);
+    }
+
+    @Test
+    public void testFarFutureVersionIsNotFollowed() {
+        HybridLogicalClock clock = new HybridLogicalClock();
+        long far = new HybridLogicalClock().now(NOW + 3600000);
+        clock.observe(far, NOW);
+        clock.observe(-1, NOW);
+        assertEquals(NOW, HybridLogicalClock.wallMillisOf(clock.now(NOW)));
+    }
+}
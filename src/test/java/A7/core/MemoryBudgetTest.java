@@ -0,0 +1,81 @@
+package A7.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+
+public class MemoryBudgetTest {
+    @org.junit.Test
+    public void testWatermarkHysteresis() {
+        MemoryBudget budget = new MemoryBudget(1000, 800, 0);
+        assertTrue(budget.reserve(900));
+        // would pass the high watermark
+        assertFalse(budget.reserve(200));
+        assertTrue(budget.isFull());
+        assertEquals(900, budget.getUsed());
+
+        // still above the low watermark, so even small entries are refused
+        budget.release(50);
+        assertFalse(budget.reserve(10));
+
+        budget.release(100);
+        assertTrue(budget.reserve(10));
+        assertFalse(budget.isFull());
+        assertEquals(760, budget.getUsed());
+    }
+
+    @org.junit.Test
+    public void testWithoutHysteresis() {
+        MemoryBudget budget = new MemoryBudget(1000, 800, 0);
+        budget.setHysteresis(false);
+        assertTrue(budget.reserve(900));
+        assertFalse(budget.reserve(200));
+        assertTrue(budget.isFull());
+
+        // above the low watermark, but the entry fits under the high one
+        budget.release(50);
+        assertTrue(budget.reserve(10));
+        assertFalse(budget.isFull());
+        assertEquals(860, budget.getUsed());
+    }
+
+    @org.junit.Test
+    public void testHeapEngineAccounting() {
+        HeapStorageEngine store = new HeapStorageEngine(1024 * 1024);
+        MemoryBudget budget = store.getMemoryBudget();
+        ByteString key = ByteString.copyFromUtf8("Key1");
+
+        store.put(key, new VersionedValue(ByteString.copyFrom(new byte[100]), 1));
+        assertEquals(4 + 100 + HeapStorageEngine.ENTRY_OVERHEAD, budget.getUsed());
+        // overwriting charges the new value and releases the old one
+        store.put(key, new VersionedValue(ByteString.copyFrom(new byte[10]), 2));
+        assertEquals(4 + 10 + HeapStorageEngine.ENTRY_OVERHEAD, budget.getUsed());
+        store.remove(key);
+        assertEquals(0, budget.getUsed());
+
+        for (int i = 0; i < 100; i++) {
+            store.put(ByteString.copyFromUtf8("Key" + i),
+                new VersionedValue(ByteString.copyFrom(new byte[100]), i));
+        }
+        store.clear();
+        assertEquals(0, budget.getUsed());
+    }
+
+    @org.junit.Test
+    public void testHeapEngineRefusesPastHighWatermark() {
+        HeapStorageEngine store = new HeapStorageEngine(100 * 1024);
+        byte[] value = new byte[1024];
+        int stored = 0;
+        while (store.put(ByteString.copyFromUtf8("Key" + stored),
+            new VersionedValue(ByteString.copyFrom(value), 0))) {
+            stored++;
+        }
+        MemoryBudget budget = store.getMemoryBudget();
+        assertTrue(budget.getUsed() <= budget.getHighWatermark());
+        assertEquals(stored, store.size());
+        assertNull(store.get(ByteString.copyFromUtf8("Key" + stored)));
+    }
+}
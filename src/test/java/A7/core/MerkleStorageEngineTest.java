@@ -0,0 +1,106 @@
+package A7.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import A7.utils.MsgWrapper;
+import com.google.protobuf.ByteString;
+import java.net.InetAddress;
+
+public class MerkleStorageEngineTest {
+    RoutingTable table;
+
+    @org.junit.Before
+    public void setUp() throws Exception {
+        MsgWrapper node = new MsgWrapper(null, InetAddress.getByName("localhost"), 10129);
+        table = new RoutingTable().withNode(ConsistentHashRing.nodeTokens("127.0.0.1", 10129, 8),
+            node, java.util.Collections.singleton(node.getAddress()), 1);
+    }
+
+    private static ByteString key(int i) {
+        return ByteString.copyFromUtf8("Key" + i);
+    }
+
+    private static VersionedValue value(int i) {
+        return new VersionedValue(ByteString.copyFromUtf8("Value" + i), i);
+    }
+
+    private static void assertSameTrees(MerkleTrees expected, MerkleTrees actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int range = 0; range < expected.size(); range++) {
+            assertArrayEquals(expected.leaves(range), actual.leaves(range));
+        }
+    }
+
+    @org.junit.Test
+    public void testTreesIndependentOfWriteOrder() {
+        MerkleStorageEngine first = new MerkleStorageEngine(new HeapStorageEngine());
+        MerkleStorageEngine second = new MerkleStorageEngine(new HeapStorageEngine());
+        first.getTrees(table);
+        for (int i = 0; i < 100; i++) {
+            first.put(key(i), value(i));
+        }
+        // overwritten and removed keys leave no trace
+        first.put(key(5), value(500));
+        first.put(key(5), value(5));
+        first.put(key(200), value(200));
+        first.remove(key(200));
+        for (int i = 99; i >= 0; i--) {
+            second.put(key(i), value(i));
+        }
+        // second's trees are built from the store on first use
+        assertSameTrees(first.getTrees(table), second.getTrees(table));
+    }
+
+    @org.junit.Test
+    public void testDifferenceIsOneLeaf() {
+        MerkleStorageEngine first = new MerkleStorageEngine(new HeapStorageEngine());
+        MerkleStorageEngine second = new MerkleStorageEngine(new HeapStorageEngine());
+        for (int i = 0; i < 100; i++) {
+            first.put(key(i), value(i));
+            second.put(key(i), value(i));
+        }
+        MerkleTrees firstTrees = first.getTrees(table);
+        MerkleTrees secondTrees = second.getTrees(table);
+        second.put(key(7), value(8));
+
+        long hash = ConsistentHashRing.hash(key(7));
+        int differing = 0;
+        for (int range = 0; range < firstTrees.size(); range++) {
+            if (firstTrees.root(range) != secondTrees.root(range)) {
+                assertEquals(firstTrees.range(hash), range);
+                long[] firstLeaves = firstTrees.leaves(range);
+                long[] secondLeaves = secondTrees.leaves(range);
+                for (int leaf = 0; leaf < firstLeaves.length; leaf++) {
+                    if (firstLeaves[leaf] != secondLeaves[leaf]) {
+                        assertEquals(firstTrees.leaf(hash), leaf);
+                        differing++;
+                    }
+                }
+            }
+        }
+        assertEquals(1, differing);
+    }
+
+    @org.junit.Test
+    public void testExpiringEntriesNotTracked() {
+        MerkleStorageEngine store = new MerkleStorageEngine(new HeapStorageEngine());
+        MerkleTrees trees = store.getTrees(table);
+        long[][] empty = new long[trees.size()][];
+        for (int range = 0; range < trees.size(); range++) {
+            empty[range] = trees.leaves(range);
+        }
+        store.put(key(1), new VersionedValue(ByteString.copyFromUtf8("Value1"), 1, 1));
+        store.put(key(2), value(2));
+        assertNotEquals(0, store.getTrees(table).leaves(trees.range(
+            ConsistentHashRing.hash(key(2))))[trees.leaf(ConsistentHashRing.hash(key(2)))]);
+        store.sweepExpired(System.currentTimeMillis(), 10);
+        store.remove(key(2));
+        assertSame(trees, store.getTrees(table));
+        for (int range = 0; range < trees.size(); range++) {
+            assertArrayEquals(empty[range], trees.leaves(range));
+        }
+    }
+}
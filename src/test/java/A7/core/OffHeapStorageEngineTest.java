@@ -0,0 +1,139 @@
+package A7.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class OffHeapStorageEngineTest {
+    OffHeapStorageEngine store;
+
+    @org.junit.Before
+    public void setUp() throws Exception {
+        store = new OffHeapStorageEngine(4 * 1024 * 1024, 64 * 1024);
+    }
+
+    @org.junit.Test
+    public void testPutGet() {
+        ByteString key = ByteString.copyFromUtf8("Key1");
+        VersionedValue value = new VersionedValue(ByteString.copyFromUtf8("Value1"), 1);
+        assertTrue(store.put(key, value));
+        assertEquals(value, store.get(key));
+        assertTrue(store.containsKey(key));
+        assertNull(store.get(ByteString.copyFromUtf8("Key2")));
+    }
+
+    @org.junit.Test
+    public void testOverwrite() {
+        ByteString key = ByteString.copyFromUtf8("Key1");
+        store.put(key, new VersionedValue(ByteString.copyFromUtf8("Value1"), 1));
+        // larger value moves the entry to a different size class
+        VersionedValue value = new VersionedValue(ByteString.copyFrom(new byte[10000]), 2);
+        assertTrue(store.put(key, value));
+        assertEquals(value, store.get(key));
+        assertEquals(1, store.size());
+    }
+
+    @org.junit.Test
+    public void testRemove() {
+        ByteString key = ByteString.copyFromUtf8("Key1");
+        VersionedValue value = new VersionedValue(ByteString.copyFromUtf8("Value1"), 1);
+        store.put(key, value);
+        assertEquals(value, store.remove(key));
+        assertNull(store.get(key));
+        assertNull(store.remove(key));
+        assertEquals(0, store.size());
+    }
+
+    @org.junit.Test
+    public void testManyEntries() {
+        // enough entries to grow every segment and exercise backward shift deletion
+        int count = 20000;
+        for (int i = 0; i < count; i++) {
+            assertTrue(store.put(ByteString.copyFromUtf8("Key" + i),
+                new VersionedValue(ByteString.copyFromUtf8("Value" + i), i)));
+        }
+        for (int i = 0; i < count; i += 2) {
+            assertEquals(i, store.remove(ByteString.copyFromUtf8("Key" + i)).getVersion());
+        }
+        assertEquals(count / 2, store.size());
+        for (int i = 0; i < count; i++) {
+            VersionedValue value = store.get(ByteString.copyFromUtf8("Key" + i));
+            if (i % 2 == 0) {
+                assertNull(value);
+            } else {
+                assertEquals(ByteString.copyFromUtf8("Value" + i), value.getValue());
+            }
+        }
+        ConcurrentHashMap<ByteString, VersionedValue> copy = store.asMap();
+        assertEquals(count / 2, copy.size());
+    }
+
+    @org.junit.Test
+    public void testOutOfSpace() {
+        VersionedValue value = new VersionedValue(ByteString.copyFrom(new byte[10000]), 1);
+        int stored = 0;
+        while (store.put(ByteString.copyFromUtf8("Key" + stored), value)) {
+            stored++;
+        }
+        // 4MB of 16kB chunks
+        assertEquals(256, stored);
+        assertFalse(store.put(ByteString.copyFromUtf8("Key" + stored), value));
+
+        // freed chunks are reused
+        store.remove(ByteString.copyFromUtf8("Key0"));
+        assertTrue(store.put(ByteString.copyFromUtf8("Key" + stored), value));
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertTrue(store.put(ByteString.copyFromUtf8("Key0"), value));
+    }
+
+    @org.junit.Test
+    public void testExpiry() throws Exception {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) {
+            store.put(ByteString.copyFromUtf8("Key" + i), new VersionedValue(
+                ByteString.copyFromUtf8("Value" + i), i, i % 2 == 0 ? now + 1000 : 0));
+        }
+        assertEquals(now + 1000, store.get(ByteString.copyFromUtf8("Key0")).getExpiresAt());
+        assertEquals(0, store.get(ByteString.copyFromUtf8("Key1")).getExpiresAt());
+
+        // not expired yet
+        assertFalse(store.removeExpired(ByteString.copyFromUtf8("Key0"), now));
+        assertTrue(store.removeExpired(ByteString.copyFromUtf8("Key0"), now + 1000));
+        assertFalse(store.removeExpired(ByteString.copyFromUtf8("Key1"), now + 1000));
+
+        // bounded steps, the sweep carries on where it stopped
+        int swept = 0;
+        for (int i = 0; i < 1000 && swept < 49; i++) {
+            swept += store.sweepExpired(now + 1000, 64).size();
+        }
+        assertEquals(49, swept);
+        assertEquals(50, store.size());
+        assertEquals(0, store.sweepExpired(now + 1000, 100000).size());
+        assertEquals(ByteString.copyFromUtf8("Value99"),
+            store.get(ByteString.copyFromUtf8("Key99")).getValue());
+    }
+
+    @org.junit.Test
+    public void testMemoryAccounting() {
+        MemoryBudget budget = store.getMemoryBudget();
+        ByteString key = ByteString.copyFromUtf8("Key1");
+        store.put(key, new VersionedValue(ByteString.copyFrom(new byte[100]), 1));
+        long entry = budget.getUsed();
+        assertTrue(entry > 104);
+        // the replaced record is released, not just the new one charged
+        store.put(key, new VersionedValue(ByteString.copyFrom(new byte[10]), 2));
+        assertEquals(entry - 90, budget.getUsed());
+        store.remove(key);
+        assertEquals(0, budget.getUsed());
+
+        store.put(key, new VersionedValue(ByteString.copyFrom(new byte[10]), 3));
+        store.clear();
+        assertEquals(0, budget.getUsed());
+    }
+}
@@ -0,0 +1,147 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.SNAPSHOT_BLOCK_ENTRIES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StoreSnapshotTest {
+    private static final int PORT = 10129;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = folder.newFolder("data");
+        Tombstones.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        WriteAheadLog.getInstance().close();
+    }
+
+    @Test
+    public void testWriteLoad() throws Exception {
+        // several blocks so the loader splits the file across threads
+        int count = SNAPSHOT_BLOCK_ENTRIES * 3 + 7;
+        StorageEngine store = new HeapStorageEngine();
+        long expiresAt = System.currentTimeMillis() + 3600000;
+        for (int i = 0; i < count; i++) {
+            store.put(ByteString.copyFromUtf8("Key" + i),
+                new VersionedValue(ByteString.copyFromUtf8("Value" + i), i,
+                    i % 3 == 0 ? expiresAt + i : 0));
+        }
+        File file = StoreSnapshot.snapshotFile(directory, PORT);
+        assertEquals(count, StoreSnapshot.write(store, file, 5));
+
+        StorageEngine loaded = new OffHeapStorageEngine(16 * 1024 * 1024, 1024 * 1024);
+        assertEquals(5, StoreSnapshot.load(file, loaded));
+        assertEquals(count, loaded.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(store.get(ByteString.copyFromUtf8("Key" + i)),
+                loaded.get(ByteString.copyFromUtf8("Key" + i)));
+        }
+    }
+
+    @Test
+    public void testWriteLoadLongKey() throws Exception {
+        StorageEngine store = new HeapStorageEngine();
+        ByteString key = ByteString.copyFrom(new byte[300]);
+        store.put(key, new VersionedValue(ByteString.copyFromUtf8("Value1"), 1));
+        store.put(ByteString.copyFromUtf8("Key2"),
+            new VersionedValue(ByteString.copyFromUtf8("Value2"), 2));
+        File file = StoreSnapshot.snapshotFile(directory, PORT);
+        StoreSnapshot.write(store, file, 1);
+
+        StorageEngine loaded = new HeapStorageEngine();
+        StoreSnapshot.load(file, loaded);
+        assertEquals(store.asMap(), loaded.asMap());
+    }
+
+    @Test
+    public void testLoadMissing() throws Exception {
+        StorageEngine store = new HeapStorageEngine();
+        assertEquals(0, StoreSnapshot.load(StoreSnapshot.snapshotFile(directory, PORT), store));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testRestartFromSnapshotAndLog() throws Exception {
+        WriteAheadLog wal = WriteAheadLog.getInstance();
+        StorageEngine store = new HeapStorageEngine();
+        wal.open(directory, PORT, store, 0);
+        putAndLog(store, "Key1", "Value1", 1);
+        putAndLog(store, "Key2", "Value2", 2);
+        Tombstones.getInstance().add(ByteString.copyFromUtf8("Key0"), 3);
+        StoreSnapshot.take(directory, PORT, store, wal);
+        // mutations after the snapshot are only in the log
+        putAndLog(store, "Key3", "Value3", 3);
+        store.remove(ByteString.copyFromUtf8("Key1"));
+        wal.logRemove(ByteString.copyFromUtf8("Key1"), 4);
+        wal.close();
+
+        Tombstones.getInstance().clear();
+        StorageEngine restarted = new HeapStorageEngine();
+        long generation = StoreSnapshot.load(StoreSnapshot.snapshotFile(directory, PORT), restarted);
+        wal.open(directory, PORT, restarted, generation);
+        assertEquals(store.asMap(), restarted.asMap());
+        assertNull(restarted.get(ByteString.copyFromUtf8("Key1")));
+        // tombstones come back from the snapshot and from the log
+        assertEquals(3, Tombstones.getInstance().version(ByteString.copyFromUtf8("Key0")));
+        assertEquals(4, Tombstones.getInstance().version(ByteString.copyFromUtf8("Key1")));
+    }
+
+    @Test
+    public void testSnapshotWaitsForLoggedPut() throws Exception {
+        WriteAheadLog wal = WriteAheadLog.getInstance();
+        StorageEngine store = new HeapStorageEngine();
+        wal.open(directory, PORT, store, 0);
+        ByteString key = ByteString.copyFromUtf8("Key1");
+        VersionedValue value = new VersionedValue(ByteString.copyFromUtf8("Value1"), 1);
+
+        // the put is logged to the current generation but not stored yet when the snapshot starts
+        wal.startApply();
+        wal.logPut(key, value);
+        Thread snapshot = new Thread(() -> {
+            try {
+                StoreSnapshot.take(directory, PORT, store, wal);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        snapshot.start();
+        snapshot.join(200);
+        assertTrue(snapshot.isAlive());
+        store.put(key, value);
+        wal.finishApply();
+        snapshot.join();
+        wal.close();
+
+        // the generation holding the put was deleted, the snapshot has it
+        StorageEngine restarted = new HeapStorageEngine();
+        long generation = StoreSnapshot.load(StoreSnapshot.snapshotFile(directory, PORT), restarted);
+        wal.open(directory, PORT, restarted, generation);
+        assertEquals(value, restarted.get(key));
+    }
+
+    private static void putAndLog(StorageEngine store, String key, String value, int version)
+        throws Exception {
+        VersionedValue versionedValue = new VersionedValue(ByteString.copyFromUtf8(value), version);
+        store.put(ByteString.copyFromUtf8(key), versionedValue);
+        WriteAheadLog.getInstance().logPut(ByteString.copyFromUtf8(key), versionedValue);
+    }
+}
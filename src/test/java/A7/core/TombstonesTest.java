@@ -0,0 +1,42 @@
+package A7.core;
+
+import static A7.DistributedSystemConfiguration.TOMBSTONE_GRACE_MS;
+import static org.junit.Assert.assertEquals;
+
+import com.google.protobuf.ByteString;
+import org.junit.Test;
+
+public class TombstonesTest {
+    private static final long NOW = 1700000000000L;
+
+    private static long version(long wallMillis) {
+        return new HybridLogicalClock().now(wallMillis);
+    }
+
+    @Test
+    public void testOldestDroppedPastCapacity() {
+        Tombstones tombstones = new Tombstones(2);
+        tombstones.add(ByteString.copyFromUtf8("Key1"), 1);
+        tombstones.add(ByteString.copyFromUtf8("Key2"), 2);
+        // raised above Key2, so Key2 is the oldest once Key3 arrives
+        tombstones.add(ByteString.copyFromUtf8("Key1"), 4);
+        tombstones.add(ByteString.copyFromUtf8("Key3"), 3);
+        assertEquals(2, tombstones.size());
+        assertEquals(4, tombstones.version(ByteString.copyFromUtf8("Key1")));
+        assertEquals(-1, tombstones.version(ByteString.copyFromUtf8("Key2")));
+        assertEquals(3, tombstones.version(ByteString.copyFromUtf8("Key3")));
+    }
+
+    @Test
+    public void testPurgeDropsExpired() {
+        Tombstones tombstones = new Tombstones(16);
+        tombstones.add(ByteString.copyFromUtf8("Old"), version(NOW - TOMBSTONE_GRACE_MS));
+        tombstones.add(ByteString.copyFromUtf8("Recent"), version(NOW));
+        // replaced by a newer put, not counted again by the purge
+        tombstones.add(ByteString.copyFromUtf8("Stored"), version(NOW - TOMBSTONE_GRACE_MS));
+        tombstones.remove(ByteString.copyFromUtf8("Stored"));
+        assertEquals(1, tombstones.purge(NOW));
+        assertEquals(1, tombstones.size());
+        assertEquals(-1, tombstones.version(ByteString.copyFromUtf8("Old")));
+    }
+}
@@ -0,0 +1,144 @@
+package A7.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import com.google.protobuf.ByteString;
+import java.io.File;
+import java.io.RandomAccessFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WriteAheadLogTest {
+    private static final int PORT = 10129;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    WriteAheadLog wal;
+    File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        wal = WriteAheadLog.getInstance();
+        directory = folder.newFolder("data");
+    }
+
+    @After
+    public void tearDown() {
+        wal.close();
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        wal.open(directory, PORT, new HeapStorageEngine(), 0);
+        wal.logPut(ByteString.copyFromUtf8("Key1"),
+            new VersionedValue(ByteString.copyFromUtf8("Value1"), 1));
+        wal.logPut(ByteString.copyFromUtf8("Key2"),
+            new VersionedValue(ByteString.copyFromUtf8("Value2"), 2));
+        wal.logPut(ByteString.copyFromUtf8("Key1"),
+            new VersionedValue(ByteString.copyFromUtf8("Value3"), 3));
+        wal.logRemove(ByteString.copyFromUtf8("Key2"), 4);
+        wal.close();
+
+        StorageEngine store = new HeapStorageEngine();
+        wal.open(directory, PORT, store, 0);
+        assertEquals(1, store.size());
+        assertEquals(new VersionedValue(ByteString.copyFromUtf8("Value3"), 3),
+            store.get(ByteString.copyFromUtf8("Key1")));
+        assertNull(store.get(ByteString.copyFromUtf8("Key2")));
+    }
+
+    @Test
+    public void testReplayLongKey() throws Exception {
+        // longer than a byte can count, as a peer running without the key limit may send
+        ByteString key = ByteString.copyFrom(new byte[300]);
+        wal.open(directory, PORT, new HeapStorageEngine(), 0);
+        wal.logPut(key, new VersionedValue(ByteString.copyFromUtf8("Value1"), 1));
+        wal.close();
+
+        StorageEngine store = new HeapStorageEngine();
+        wal.open(directory, PORT, store, 0);
+        assertEquals(new VersionedValue(ByteString.copyFromUtf8("Value1"), 1), store.get(key));
+    }
+
+    @Test
+    public void testReplayExpiring() throws Exception {
+        wal.open(directory, PORT, new HeapStorageEngine(), 0);
+        VersionedValue expiring = new VersionedValue(ByteString.copyFromUtf8("Value1"), 1,
+            System.currentTimeMillis() + 60000);
+        wal.logPut(ByteString.copyFromUtf8("Key1"), expiring);
+        wal.close();
+
+        StorageEngine store = new HeapStorageEngine();
+        wal.open(directory, PORT, store, 0);
+        assertEquals(expiring, store.get(ByteString.copyFromUtf8("Key1")));
+    }
+
+    @Test
+    public void testReplayClear() throws Exception {
+        wal.open(directory, PORT, new HeapStorageEngine(), 0);
+        wal.logPut(ByteString.copyFromUtf8("Key1"),
+            new VersionedValue(ByteString.copyFromUtf8("Value1"), 1));
+        wal.logClear();
+        wal.logPut(ByteString.copyFromUtf8("Key2"),
+            new VersionedValue(ByteString.copyFromUtf8("Value2"), 2));
+        wal.close();
+
+        StorageEngine store = new HeapStorageEngine();
+        wal.open(directory, PORT, store, 0);
+        assertEquals(1, store.size());
+        assertNull(store.get(ByteString.copyFromUtf8("Key1")));
+    }
+
+    @Test
+    public void testTornRecordDiscarded() throws Exception {
+        wal.open(directory, PORT, new HeapStorageEngine(), 0);
+        wal.logPut(ByteString.copyFromUtf8("Key1"),
+            new VersionedValue(ByteString.copyFromUtf8("Value1"), 1));
+        wal.logPut(ByteString.copyFromUtf8("Key2"),
+            new VersionedValue(ByteString.copyFromUtf8("Value2"), 2));
+        wal.close();
+
+        // simulate a crash part way through writing the last record
+        File log = WriteAheadLog.logFile(directory, PORT, 0);
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        StorageEngine store = new HeapStorageEngine();
+        wal.open(directory, PORT, store, 0);
+        assertEquals(1, store.size());
+
+        // appends continue after the last intact record
+        wal.logPut(ByteString.copyFromUtf8("Key3"),
+            new VersionedValue(ByteString.copyFromUtf8("Value3"), 3));
+        wal.close();
+        store = new HeapStorageEngine();
+        wal.open(directory, PORT, store, 0);
+        assertEquals(2, store.size());
+        assertEquals(3, store.get(ByteString.copyFromUtf8("Key3")).getVersion());
+    }
+
+    @Test
+    public void testRollAndDelete() throws Exception {
+        wal.open(directory, PORT, new HeapStorageEngine(), 0);
+        wal.logPut(ByteString.copyFromUtf8("Key1"),
+            new VersionedValue(ByteString.copyFromUtf8("Value1"), 1));
+        assertEquals(1, wal.roll());
+        wal.logPut(ByteString.copyFromUtf8("Key2"),
+            new VersionedValue(ByteString.copyFromUtf8("Value2"), 2));
+        wal.close();
+
+        // replaying from the new generation skips records appended before the roll
+        StorageEngine store = new HeapStorageEngine();
+        wal.open(directory, PORT, store, 1);
+        assertEquals(1, store.size());
+        assertNull(store.get(ByteString.copyFromUtf8("Key1")));
+        assertFalse(WriteAheadLog.logFile(directory, PORT, 0).exists());
+    }
+}
@@ -0,0 +1,248 @@
+package A7.resources;
+
+import static A7.DistributedSystemConfiguration.MAX_BATCH_KEYS;
+import static A7.DistributedSystemConfiguration.MAX_MSG_SIZE;
+import static A7.utils.ProtocolBuffers.wrapMessage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import A7.core.ConsistentHashRing;
+import A7.core.KeyValueStoreSingleton;
+import A7.core.NodesList;
+import A7.core.VersionedValue;
+import A7.proto.KeyValueRequest.KVEntry;
+import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.KeyValueResponse.KVResult;
+import A7.proto.Message.Msg;
+import A7.server.UDPServerThreadPool;
+import A7.utils.UniqueIdentifier;
+import com.google.protobuf.ByteString;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BatchKeyValueStoreResponseTest {
+    Map<InetAddress, Integer> liveNodes;
+    Map<String, Integer> allNodes;
+
+    @Before
+    public void setUp() {
+        // with no live nodes every key is served locally. The ring is built from the node list
+        // the first time it is used, which may be in this class
+        liveNodes = NodesList.getInstance().getLiveNodes();
+        allNodes = NodesList.getInstance().getAllNodes();
+        NodesList.getInstance().setAllNodes(new HashMap<String, Integer>());
+        NodesList.getInstance().setLiveNodes(new HashMap<InetAddress, Integer>());
+        KeyValueStoreSingleton.getInstance().getStore().clear();
+    }
+
+    @After
+    public void tearDown() {
+        KeyValueStoreSingleton.getInstance().getStore().clear();
+        NodesList.getInstance().setLiveNodes(liveNodes);
+        NodesList.getInstance().setAllNodes(allNodes);
+    }
+
+    private static List<ByteString> keys(String... keys) {
+        List<ByteString> list = new ArrayList<>();
+        for (String key : keys) {
+            list.add(ByteString.copyFromUtf8(key));
+        }
+        return list;
+    }
+
+    private static KVResponse serve(Msg request) throws Exception {
+        Msg response = ProtocolBufferKeyValueStoreResponse.serveRequest(request).getMessage();
+        assertTrue(response.getSerializedSize() <= MAX_MSG_SIZE);
+        return KVResponse.parseFrom(response.getPayload());
+    }
+
+    private static ByteString messageID() {
+        return ByteString.copyFrom(UniqueIdentifier.generateUniqueID());
+    }
+
+    @Test
+    public void testBatchPutGetRemove() throws Exception {
+        KVResponse put = serve(ProtocolBufferKeyValueStoreRequest.generateBatchPutRequest(
+            keys("a", "b", "c"), keys("1", "2", "3"), messageID()));
+        assertEquals(0, put.getErrCode());
+        assertEquals(3, put.getResultsCount());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, put.getResults(i).getErrCode());
+            assertFalse(put.getResults(i).hasValue());
+        }
+
+        // results come back in request order with per-key error codes
+        KVResponse get = serve(ProtocolBufferKeyValueStoreRequest.generateBatchGetRequest(
+            keys("c", "missing", "a"), messageID()));
+        assertEquals(0, get.getErrCode());
+        assertEquals("c", get.getResults(0).getKey().toStringUtf8());
+        assertEquals("3", get.getResults(0).getValue().toStringUtf8());
+        assertEquals(1, get.getResults(1).getErrCode());
+        assertEquals("1", get.getResults(2).getValue().toStringUtf8());
+
+        KVResponse remove = serve(ProtocolBufferKeyValueStoreRequest.generateBatchRemoveRequest(
+            keys("a", "missing"), messageID()));
+        assertEquals(0, remove.getResults(0).getErrCode());
+        assertEquals(1, remove.getResults(1).getErrCode());
+        assertNull(KeyValueStoreSingleton.getInstance().getStore().get(
+            ByteString.copyFromUtf8("a")));
+    }
+
+    @Test
+    public void testResponseFitsInMessage() throws Exception {
+        byte[] value = new byte[5000];
+        Arrays.fill(value, (byte) 7);
+        List<ByteString> keys = keys("k0", "k1", "k2", "k3", "k4");
+        for (ByteString key : keys) {
+            KeyValueStoreSingleton.getInstance().getStore().put(key,
+                new VersionedValue(ByteString.copyFrom(value), 0));
+        }
+
+        KVResponse get = serve(ProtocolBufferKeyValueStoreRequest.generateBatchGetRequest(
+            keys, messageID()));
+        assertEquals(5, get.getResultsCount());
+        // three values fit in MAX_MSG_SIZE, the others are left out
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, get.getResults(i).getErrCode());
+            assertEquals(value.length, get.getResults(i).getValue().size());
+        }
+        for (int i = 3; i < 5; i++) {
+            assertEquals(0x23, get.getResults(i).getErrCode());
+            assertFalse(get.getResults(i).hasValue());
+        }
+    }
+
+    @Test
+    public void testFanOutToOwners() throws Exception {
+        // the ring's local node and a second node at a socket answering for it
+        DatagramSocket owner = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        AtomicInteger subBatches = new AtomicInteger();
+        Thread ownerThread = new Thread(() -> {
+            byte[] buf = new byte[MAX_MSG_SIZE];
+            while (!owner.isClosed()) {
+                try {
+                    DatagramPacket packet = new DatagramPacket(buf, buf.length);
+                    owner.receive(packet);
+                    Msg msg = Msg.parseFrom(Arrays.copyOf(buf, packet.getLength()));
+                    KVRequest request = KVRequest.parseFrom(msg.getPayload());
+                    assertTrue(request.getClientRouted());
+                    subBatches.incrementAndGet();
+                    KVResponse.Builder response = KVResponse.newBuilder().setErrCode(0);
+                    for (KVEntry entry : request.getEntriesList()) {
+                        response.addResults(KVResult.newBuilder().setKey(entry.getKey())
+                            .setErrCode(0).setValue(ByteString.copyFromUtf8("remote")));
+                    }
+                    byte[] res = wrapMessage(msg.getMessageID(), response.build().toByteString())
+                        .toByteArray();
+                    owner.send(new DatagramPacket(res, res.length, packet.getSocketAddress()));
+                } catch (Exception e) {
+                    return;
+                }
+            }
+        });
+        ownerThread.start();
+
+        InetAddress localAddress = UDPServerThreadPool.localAddress;
+        String ip = InetAddress.getLocalHost().getHostAddress();
+        UDPServerThreadPool.localAddress = InetAddress.getByName(ip);
+        Map<InetAddress, Integer> live = new HashMap<>();
+        live.put(InetAddress.getByName(ip), 0);
+        NodesList.getInstance().setLiveNodes(live);
+        ConsistentHashRing ring = ConsistentHashRing.getInstance();
+        ring.addNode(ip, owner.getLocalPort());
+        try {
+            List<ByteString> keys = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                ByteString key = ByteString.copyFromUtf8("key" + i);
+                keys.add(key);
+                KeyValueStoreSingleton.getInstance().getStore().put(key,
+                    new VersionedValue(ByteString.copyFromUtf8("local"), 0));
+            }
+
+            KVResponse get = serve(ProtocolBufferKeyValueStoreRequest.generateBatchGetRequest(
+                keys, messageID()));
+            assertEquals(keys.size(), get.getResultsCount());
+            int remote = 0;
+            for (int i = 0; i < keys.size(); i++) {
+                assertEquals(keys.get(i), get.getResults(i).getKey());
+                boolean remoteKey = ring.getNode(keys.get(i)).getPort() == owner.getLocalPort();
+                assertEquals(remoteKey ? "remote" : "local",
+                    get.getResults(i).getValue().toStringUtf8());
+                remote += remoteKey ? 1 : 0;
+            }
+            assertTrue(remote > 0 && remote < keys.size());
+            // all of the owner's keys went in one sub-batch
+            assertEquals(1, subBatches.get());
+        } finally {
+            ring.removeNode(ip, owner.getLocalPort());
+            UDPServerThreadPool.localAddress = localAddress;
+            owner.close();
+            ownerThread.join();
+        }
+    }
+
+    @Test
+    public void testSilentOwnerIsUnreachable() throws Exception {
+        // bound but never read, so the owner never answers
+        DatagramSocket owner = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        InetAddress localAddress = UDPServerThreadPool.localAddress;
+        String ip = InetAddress.getLocalHost().getHostAddress();
+        UDPServerThreadPool.localAddress = InetAddress.getByName(ip);
+        Map<InetAddress, Integer> live = new HashMap<>();
+        live.put(InetAddress.getByName(ip), 0);
+        NodesList.getInstance().setLiveNodes(live);
+        ConsistentHashRing ring = ConsistentHashRing.getInstance();
+        ring.addNode(ip, owner.getLocalPort());
+        try {
+            List<ByteString> keys = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                keys.add(ByteString.copyFromUtf8("key" + i));
+            }
+
+            long start = System.nanoTime();
+            KVResponse get = serve(ProtocolBufferKeyValueStoreRequest.generateBatchGetRequest(
+                keys, messageID()));
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            // well short of the 1.5s the owner's retries would take, with slack for a slow machine
+            assertTrue(elapsedMs < 500);
+            int remote = 0;
+            for (int i = 0; i < keys.size(); i++) {
+                boolean remoteKey = ring.getNode(keys.get(i)).getPort() == owner.getLocalPort();
+                assertEquals(remoteKey ? 0x22 : 1, get.getResults(i).getErrCode());
+                remote += remoteKey ? 1 : 0;
+            }
+            assertTrue(remote > 0);
+        } finally {
+            ring.removeNode(ip, owner.getLocalPort());
+            UDPServerThreadPool.localAddress = localAddress;
+            owner.close();
+        }
+    }
+
+    @Test
+    public void testTooManyKeys() throws Exception {
+        List<ByteString> keys = new ArrayList<>();
+        for (int i = 0; i <= MAX_BATCH_KEYS; i++) {
+            keys.add(ByteString.copyFromUtf8("key" + i));
+        }
+        KVResponse get = serve(ProtocolBufferKeyValueStoreRequest.generateBatchGetRequest(
+            keys, messageID()));
+        // a request level code, not the per entry "response too large" (0x23)
+        assertEquals(0x25, get.getErrCode());
+        assertEquals(0, get.getResultsCount());
+    }
+}
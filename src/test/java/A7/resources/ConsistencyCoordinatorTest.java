@@ -0,0 +1,241 @@
+package A7.resources;
+
+import static A7.DistributedSystemConfiguration.MAX_MSG_SIZE;
+import static A7.utils.ProtocolBuffers.wrapMessage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import A7.core.ConsistentHashRing;
+import A7.core.KeyValueStoreSingleton;
+import A7.core.NodesList;
+import A7.core.Tombstones;
+import A7.core.VersionedValue;
+import A7.proto.KeyValueRequest.Consistency;
+import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.Message.Msg;
+import A7.server.UDPServerThreadPool;
+import A7.utils.UniqueIdentifier;
+import com.google.protobuf.ByteString;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConsistencyCoordinatorTest {
+    Map<InetAddress, Integer> liveNodes;
+    Map<String, Integer> allNodes;
+    InetAddress localAddress;
+    String ip;
+    DatagramSocket replica;
+    Thread replicaThread;
+    // requests the fake replica received, and whether it answers them
+    AtomicInteger received = new AtomicInteger();
+    AtomicLong lastVersion = new AtomicLong();
+    AtomicInteger lastCommand = new AtomicInteger();
+    AtomicBoolean answering = new AtomicBoolean(true);
+
+    @Before
+    public void setUp() throws Exception {
+        KeyValueStoreSingleton.getInstance().getStore().clear();
+        Tombstones.getInstance().clear();
+        // a second live node holding replicas, it stores nothing and answers every request with
+        // success and version 5
+        replica = new DatagramSocket();
+        replicaThread = new Thread(() -> {
+            byte[] buf = new byte[MAX_MSG_SIZE];
+            while (true) {
+                try {
+                    DatagramPacket packet = new DatagramPacket(buf, buf.length);
+                    replica.receive(packet);
+                    Msg msg = Msg.parseFrom(Arrays.copyOf(packet.getData(), packet.getLength()));
+                    KVRequest request = KVRequest.parseFrom(msg.getPayload());
+                    assertTrue(request.getNotReplicated());
+                    lastVersion.set(request.getVersion());
+                    lastCommand.set(request.getCommand());
+                    received.incrementAndGet();
+                    if (!answering.get()) {
+                        continue;
+                    }
+                    byte[] res = wrapMessage(msg.getMessageID(), KVResponse.newBuilder()
+                        .setErrCode(0).setValue(ByteString.copyFromUtf8("remote")).setVersion(5)
+                        .build().toByteString()).toByteArray();
+                    replica.send(new DatagramPacket(res, res.length, packet.getSocketAddress()));
+                } catch (Exception e) {
+                    return;
+                }
+            }
+        });
+        replicaThread.start();
+
+        // the ring is built from the node list the first time it is used, which may be here
+        liveNodes = NodesList.getInstance().getLiveNodes();
+        allNodes = NodesList.getInstance().getAllNodes();
+        NodesList.getInstance().setAllNodes(new HashMap<String, Integer>());
+        localAddress = UDPServerThreadPool.localAddress;
+        ip = InetAddress.getLocalHost().getHostAddress();
+        UDPServerThreadPool.localAddress = InetAddress.getByName(ip);
+        Map<InetAddress, Integer> live = new HashMap<>();
+        live.put(InetAddress.getByName(ip), 0);
+        NodesList.getInstance().setLiveNodes(live);
+        ConsistentHashRing.getInstance().addNode(ip, replica.getLocalPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ConsistentHashRing.getInstance().removeNode(ip, replica.getLocalPort());
+        NodesList.getInstance().setLiveNodes(liveNodes);
+        NodesList.getInstance().setAllNodes(allNodes);
+        UDPServerThreadPool.localAddress = localAddress;
+        replica.close();
+        replicaThread.join();
+        KeyValueStoreSingleton.getInstance().getStore().clear();
+    }
+
+    private static KVResponse coordinate(KVRequest request) throws Exception {
+        Msg response = ConsistencyCoordinator.coordinate(request,
+            ByteString.copyFrom(UniqueIdentifier.generateUniqueID()));
+        return KVResponse.parseFrom(response.getPayload());
+    }
+
+    private static KVRequest request(int cmd, Consistency level) {
+        return KVRequest.newBuilder()
+            .setCommand(cmd)
+            .setKey(ByteString.copyFromUtf8("key"))
+            .setValue(ByteString.copyFromUtf8("local"))
+            .setVersion(1)
+            .setConsistency(level)
+            .build();
+    }
+
+    @Test
+    public void testQuorumPutWaitsForReplica() throws Exception {
+        assertEquals(0, coordinate(request(1, Consistency.QUORUM)).getErrCode());
+        assertEquals(1, received.get());
+        assertEquals("local", KeyValueStoreSingleton.getInstance().getStore()
+            .get(ByteString.copyFromUtf8("key")).getValue().toStringUtf8());
+    }
+
+    @Test
+    public void testQuorumGetReturnsLatestVersion() throws Exception {
+        KeyValueStoreSingleton.getInstance().getStore().put(ByteString.copyFromUtf8("key"),
+            new VersionedValue(ByteString.copyFromUtf8("local"), 1));
+        KVResponse get = coordinate(request(2, Consistency.QUORUM));
+        assertEquals(0, get.getErrCode());
+        assertEquals("remote", get.getValue().toStringUtf8());
+        assertEquals(5, get.getVersion());
+    }
+
+    @Test
+    public void testQuorumGetRepairsStaleLocalCopy() throws Exception {
+        ByteString key = ByteString.copyFromUtf8("key");
+        KeyValueStoreSingleton.getInstance().getStore().put(key,
+            new VersionedValue(ByteString.copyFromUtf8("local"), 1));
+        coordinate(request(2, Consistency.QUORUM));
+        // the repair runs once the replica's reply settles the tally
+        for (int i = 0; i < 100 && KeyValueStoreSingleton.getInstance().getStore().get(key)
+                .getVersion() != 5; i++) {
+            Thread.sleep(10);
+        }
+        VersionedValue repaired = KeyValueStoreSingleton.getInstance().getStore().get(key);
+        assertEquals(5, repaired.getVersion());
+        assertEquals("remote", repaired.getValue().toStringUtf8());
+    }
+
+    @Test
+    public void testQuorumGetRepairsStaleReplica() throws Exception {
+        KeyValueStoreSingleton.getInstance().getStore().put(ByteString.copyFromUtf8("key"),
+            new VersionedValue(ByteString.copyFromUtf8("local"), 9));
+        KVResponse get = coordinate(request(2, Consistency.QUORUM));
+        assertEquals(9, get.getVersion());
+        // the get, then the put of version 9
+        for (int i = 0; i < 100 && received.get() < 2; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, received.get());
+        assertEquals(9, lastVersion.get());
+    }
+
+    @Test
+    public void testQuorumGetAfterRemoveRepairsReplica() throws Exception {
+        // removed here at version 9, the replica still answers with the value of version 5
+        Tombstones.getInstance().add(ByteString.copyFromUtf8("key"), 9);
+        KVResponse get = coordinate(request(2, Consistency.QUORUM));
+        assertEquals(1, get.getErrCode());
+        assertEquals(9, get.getVersion());
+        // the get, then the remove of version 9
+        for (int i = 0; i < 100 && received.get() < 2; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, received.get());
+        assertEquals(3, lastCommand.get());
+        assertEquals(9, lastVersion.get());
+    }
+
+    @Test
+    public void testQuorumGetRepairsOlderRemoval() throws Exception {
+        ByteString key = ByteString.copyFromUtf8("key");
+        Tombstones.getInstance().add(key, 2);
+        KVResponse get = coordinate(request(2, Consistency.QUORUM));
+        assertEquals(0, get.getErrCode());
+        assertEquals(5, get.getVersion());
+        for (int i = 0; i < 100
+                && KeyValueStoreSingleton.getInstance().getStore().get(key) == null; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(5, KeyValueStoreSingleton.getInstance().getStore().get(key).getVersion());
+    }
+
+    @Test
+    public void testUnansweredQuorumTimesOut() throws Exception {
+        answering.set(false);
+        assertEquals(0x24, coordinate(request(1, Consistency.QUORUM)).getErrCode());
+    }
+
+    @Test
+    public void testRetryWaitsForRunningRequest() throws Exception {
+        answering.set(false);
+        ByteString messageID = ByteString.copyFrom(UniqueIdentifier.generateUniqueID());
+        Msg[] first = new Msg[1];
+        Thread running = new Thread(() ->
+            first[0] = ConsistencyCoordinator.coordinate(request(1, Consistency.QUORUM),
+                messageID));
+        running.start();
+        // the first run has stored the put and is waiting for the replica
+        for (int i = 0; i < 100 && received.get() == 0; i++) {
+            Thread.sleep(10);
+        }
+        long version = KeyValueStoreSingleton.getInstance().getStore()
+            .get(ByteString.copyFromUtf8("key")).getVersion();
+
+        // a client retry with the same messageID gets the first run's reply
+        Msg retry = ConsistencyCoordinator.coordinate(request(1, Consistency.QUORUM), messageID);
+        running.join();
+        assertEquals(first[0], retry);
+        assertEquals(0x24, KVResponse.parseFrom(retry.getPayload()).getErrCode());
+        // the put was neither versioned nor sent to the replica again
+        assertEquals(version, KeyValueStoreSingleton.getInstance().getStore()
+            .get(ByteString.copyFromUtf8("key")).getVersion());
+        assertEquals(version, lastVersion.get());
+    }
+
+    @Test
+    public void testAllFailsFastWithTooFewLiveReplicas() throws Exception {
+        // two live nodes cannot acknowledge REP_FACTOR copies
+        assertEquals(0x24, coordinate(request(1, Consistency.ALL)).getErrCode());
+        assertEquals(0, received.get());
+        assertNull(KeyValueStoreSingleton.getInstance().getStore()
+            .get(ByteString.copyFromUtf8("key")));
+        assertFalse(ConsistencyCoordinator.isCoordinated(request(1, Consistency.ONE)));
+    }
+}
@@ -5,16 +5,29 @@ import static A7.resources.ProtocolBufferKeyValueStoreResponse.generatePutRespon
 import static A7.utils.Checksum.calculateProtocolBufferChecksum;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import A7.core.HeapStorageEngine;
+import A7.core.HybridLogicalClock;
 import A7.core.KeyValueStoreSingleton;
+import A7.core.NodesList;
+import A7.core.StorageEngine;
+import A7.core.Tombstones;
 import A7.core.VersionedValue;
+import A7.core.WriteAheadLog;
+import A7.proto.AntiEntropy.MerkleExchange;
 import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
 import A7.proto.Message.Msg;
+import A7.proto.Replication.ReplicatedEntry;
+import A7.proto.Replication.ReplicationBatch;
 import A7.server.SendReplication;
 import A7.utils.MsgWrapper;
 import A7.utils.UniqueIdentifier;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.File;
 import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
@@ -22,19 +35,35 @@ import java.net.InetAddress;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class ProtocolBufferKeyValueStoreResponseTest {
     ConcurrentHashMap<ByteString, VersionedValue> KVStore;
+    Map<InetAddress, Integer> liveNodes;
+    Map<String, Integer> allNodes;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
     SendReplication sendReplication;
 
     @Before
     public void setUp() throws Exception {
         KVStore = KeyValueStoreSingleton.getInstance().getMap();
+        Tombstones.getInstance().clear();
+        // the ring is built from the node list the first time it is used, which may be here
+        liveNodes = NodesList.getInstance().getLiveNodes();
+        allNodes = NodesList.getInstance().getAllNodes();
+        NodesList.getInstance().setAllNodes(new HashMap<String, Integer>());
+        NodesList.getInstance().setLiveNodes(new HashMap<InetAddress, Integer>());
         sendReplication = new SendReplication(null);
         KVStore.put(ByteString.copyFrom("Key1".getBytes()), new VersionedValue(ByteString.copyFrom("Value1".getBytes()), 1));
         KVStore.put(ByteString.copyFrom("Key2".getBytes()), new VersionedValue(ByteString.copyFrom("Value2".getBytes()), 2));
@@ -43,6 +72,12 @@ public class ProtocolBufferKeyValueStoreResponseTest {
         KVStore.put(ByteString.copyFrom("Key5".getBytes()), new VersionedValue(ByteString.copyFrom("Value5".getBytes()), 5));
     }
 
+    @After
+    public void tearDown() {
+        NodesList.getInstance().setLiveNodes(liveNodes);
+        NodesList.getInstance().setAllNodes(allNodes);
+    }
+
     @Test
     public void testGeneratePutResponse() throws NoSuchAlgorithmException {
         byte[] messageID = UniqueIdentifier.generateUniqueID();
@@ -61,6 +96,171 @@ public class ProtocolBufferKeyValueStoreResponseTest {
     }
 
 
+    @Test
+    public void testRejectsLongKey() throws Exception {
+        ByteString key = ByteString.copyFrom(new byte[33]);
+        KVRequest put = KVRequest.newBuilder().setCommand(1).setKey(key)
+            .setValue(ByteString.copyFromUtf8("Value")).build();
+        ByteString messageID = ByteString.copyFrom(UniqueIdentifier.generateUniqueID());
+        MsgWrapper reply = ProtocolBufferKeyValueStoreResponse.serveRequest(Msg.newBuilder()
+            .setMessageID(messageID)
+            .setPayload(put.toByteString())
+            .setCheckSum(calculateProtocolBufferChecksum(messageID, put.toByteString()))
+            .build());
+        assertEquals(6, KVResponse.parseFrom(reply.getMessage().getPayload()).getErrCode());
+        assertNull(KeyValueStoreSingleton.getInstance().getStore().get(key));
+    }
+
+    @Test
+    public void testPutWithTtl() throws Exception {
+        ByteString key = ByteString.copyFromUtf8("ExpiringKey");
+        ProtocolBufferKeyValueStoreResponse.put(key, ByteString.copyFromUtf8("Value"), 1, 60000);
+        assertEquals(0, ProtocolBufferKeyValueStoreResponse.get(key).getErrCode());
+
+        ProtocolBufferKeyValueStoreResponse.put(key, ByteString.copyFromUtf8("Value"), 2, 1);
+        Thread.sleep(5);
+        // expired keys are absent and removed on read
+        assertEquals(1, ProtocolBufferKeyValueStoreResponse.get(key).getErrCode());
+        assertNull(KeyValueStoreSingleton.getInstance().getStore().get(key));
+    }
+
+    @Test
+    public void testStaleWritesKeepNewerVersion() throws Exception {
+        ByteString key = ByteString.copyFromUtf8("Key3");
+        KVResponse put = ProtocolBufferKeyValueStoreResponse.put(key,
+            ByteString.copyFromUtf8("Older"), 2, 0);
+        assertEquals(0, put.getErrCode());
+        assertEquals(3, put.getVersion());
+        assertEquals("Value3", put.getValue().toStringUtf8());
+
+        // a replica batch holding an older copy gets the newer one back
+        ReplicationBatch batch = ReplicationBatch.newBuilder()
+            .addEntries(ReplicatedEntry.newBuilder()
+                .setKey(key).setValue(ByteString.copyFromUtf8("Older")).setVersion(1))
+            .addEntries(ReplicatedEntry.newBuilder()
+                .setKey(ByteString.copyFromUtf8("Key4"))
+                .setValue(ByteString.copyFromUtf8("Newer")).setVersion(7))
+            .build();
+        KVResponse dupes = KVResponse.parseFrom(ProtocolBufferKeyValueStoreResponse
+            .generatePutDupesResponse(batch.toByteString(),
+                ByteString.copyFrom(UniqueIdentifier.generateUniqueID()))
+            .getPayload());
+        assertEquals(0, dupes.getErrCode());
+        assertEquals(1, dupes.getResultsCount());
+        assertEquals(key, dupes.getResults(0).getKey());
+        assertEquals(3, dupes.getResults(0).getVersion());
+        assertEquals(new VersionedValue(ByteString.copyFromUtf8("Value3"), 3), KVStore.get(key));
+        assertEquals(7, KVStore.get(ByteString.copyFromUtf8("Key4")).getVersion());
+    }
+
+    @Test
+    public void testOwnerPutReplacesVersionAheadOfClock() throws Exception {
+        ByteString key = ByteString.copyFromUtf8("AheadKey");
+        // written by a node whose clock runs far ahead, too far for this clock to follow
+        long ahead = HybridLogicalClock.getInstance().now() + (1L << 50);
+        ProtocolBufferKeyValueStoreResponse.put(key, ByteString.copyFromUtf8("Ahead"), ahead, 0);
+
+        KVResponse put = ProtocolBufferKeyValueStoreResponse.putAsOwner(key,
+            ByteString.copyFromUtf8("Client"), 0);
+        assertEquals(0, put.getErrCode());
+        assertEquals(ahead + 1, put.getVersion());
+        assertEquals("Client", put.getValue().toStringUtf8());
+        assertEquals(new VersionedValue(ByteString.copyFromUtf8("Client"), ahead + 1),
+            KeyValueStoreSingleton.getInstance().getStore().get(key));
+    }
+
+    @Test
+    public void testRemovesOrderedByVersion() throws Exception {
+        ByteString key = ByteString.copyFromUtf8("VersionedRemoveKey");
+        ProtocolBufferKeyValueStoreResponse.put(key, ByteString.copyFromUtf8("Value"), 5, 0);
+
+        // a delayed remove older than the stored entry leaves it in place
+        KVResponse stale = ProtocolBufferKeyValueStoreResponse.remove(key, 3);
+        assertEquals(0, stale.getErrCode());
+        assertEquals(5, stale.getVersion());
+        assertNotNull(KeyValueStoreSingleton.getInstance().getStore().get(key));
+
+        KVResponse removed = ProtocolBufferKeyValueStoreResponse.remove(key, 7);
+        assertEquals(0, removed.getErrCode());
+        assertNull(KeyValueStoreSingleton.getInstance().getStore().get(key));
+
+        // a retried put older than the removal does not bring the key back
+        KVResponse put = ProtocolBufferKeyValueStoreResponse.put(key,
+            ByteString.copyFromUtf8("Value"), 6, 0);
+        assertEquals(1, put.getErrCode());
+        assertEquals(7, put.getVersion());
+        assertNull(KeyValueStoreSingleton.getInstance().getStore().get(key));
+
+        // the owner versions a put above the removal
+        put = ProtocolBufferKeyValueStoreResponse.putAsOwner(key, ByteString.copyFromUtf8("New"),
+            0);
+        assertEquals(0, put.getErrCode());
+        assertEquals(-1, Tombstones.getInstance().version(key));
+        assertNotNull(KeyValueStoreSingleton.getInstance().getStore().get(key));
+    }
+
+    @Test
+    public void testRemoveOfUnknownKeyLeavesNoTombstone() throws Exception {
+        ByteString key = ByteString.copyFromUtf8("UnknownKey");
+        KVResponse removed = ProtocolBufferKeyValueStoreResponse.removeAsOwner(key);
+        assertEquals(1, removed.getErrCode());
+        // versioned all the same, for the replicas that may hold the key
+        assertTrue(removed.hasVersion());
+        assertEquals(0, Tombstones.getInstance().size());
+    }
+
+    @Test
+    public void testLogFollowsStoreOrder() throws Exception {
+        WriteAheadLog wal = WriteAheadLog.getInstance();
+        File directory = folder.newFolder("data");
+        ByteString key = ByteString.copyFromUtf8("LoggedKey");
+        ByteString removedKey = ByteString.copyFromUtf8("RemovedKey");
+        wal.open(directory, 10129, new HeapStorageEngine(), 0);
+        try {
+            ProtocolBufferKeyValueStoreResponse.put(key, ByteString.copyFromUtf8("Newer"), 2, 0);
+            // stale, neither stored nor logged
+            ProtocolBufferKeyValueStoreResponse.put(key, ByteString.copyFromUtf8("Older"), 1, 0);
+            ProtocolBufferKeyValueStoreResponse.put(removedKey, ByteString.copyFromUtf8("Value"),
+                1, 0);
+            ProtocolBufferKeyValueStoreResponse.removeAsOwner(removedKey);
+        } finally {
+            wal.close();
+        }
+
+        StorageEngine replayed = new HeapStorageEngine();
+        wal.open(directory, 10129, replayed, 0);
+        wal.close();
+        assertEquals(new VersionedValue(ByteString.copyFromUtf8("Newer"), 2), replayed.get(key));
+        assertNull(replayed.get(removedKey));
+    }
+
+    @Test
+    public void testAntiEntropyPullReturnsHeldEntries() throws Exception {
+        // only a store with Merkle trees takes part in anti-entropy
+        KeyValueStoreSingleton.initialize("heap");
+        ByteString held = ByteString.copyFromUtf8("HeldKey");
+        ByteString expiring = ByteString.copyFromUtf8("HeldExpiringKey");
+        ByteString missing = ByteString.copyFromUtf8("MissingKey");
+        ProtocolBufferKeyValueStoreResponse.put(held, ByteString.copyFromUtf8("Value"), 3, 0);
+        ProtocolBufferKeyValueStoreResponse.put(expiring, ByteString.copyFromUtf8("Value"), 3,
+            60000);
+
+        MerkleExchange request = MerkleExchange.newBuilder()
+            .addPull(held)
+            .addPull(expiring)
+            .addPull(missing)
+            .build();
+        Msg reply = ProtocolBufferKeyValueStoreResponse.generateAntiEntropyResponse(
+            request.toByteString(), ByteString.copyFrom(UniqueIdentifier.generateUniqueID()));
+        MerkleExchange pulled = MerkleExchange.parseFrom(
+            KVResponse.parseFrom(reply.getPayload()).getValue());
+
+        // entries with a ttl are left to expire, keys not held are not answered
+        assertEquals(1, pulled.getEntriesCount());
+        assertEquals(held, pulled.getEntries(0).getKey());
+        assertEquals(3, pulled.getEntries(0).getVersion());
+    }
+
     @Test
     public void testGeneratePutDupesResponse() throws NoSuchAlgorithmException, IOException {
         Msg resMsg;
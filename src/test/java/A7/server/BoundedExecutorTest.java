@@ -0,0 +1,56 @@
+package A7.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class BoundedExecutorTest {
+    @Test
+    public void testRejectsWhenTooManyWaiting() throws Exception {
+        BoundedExecutor executor = new BoundedExecutor(Executors.newCachedThreadPool(), 1, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+
+        // holds the only permit
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            completed.incrementAndGet();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        executor.execute(completed::incrementAndGet);
+        executor.execute(completed::incrementAndGet);
+        try {
+            executor.execute(completed::incrementAndGet);
+            fail("Expected the third waiting task to be rejected");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (completed.get() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(3, completed.get());
+
+        // room again once the waiting tasks got their permits
+        executor.execute(completed::incrementAndGet);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(4, completed.get());
+    }
+}
@@ -1,18 +1,26 @@
 package A7.server;
 
+import static A7.DistributedSystemConfiguration.REP_FACTOR;
+import static A7.DistributedSystemConfiguration.VIRTUAL_NODES;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import A7.client.SmartUDPClient;
 import A7.core.ConsistentHashRing;
 import A7.core.NodesList;
+import A7.core.RoutingTable;
+import A7.proto.Membership.Member;
+import A7.proto.Membership.MembershipView;
 import A7.utils.MsgWrapper;
-import A7.utils.UniqueIdentifier;
 import com.google.protobuf.ByteString;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class ConsistentHashRingTest {
@@ -47,79 +55,211 @@ public class ConsistentHashRingTest {
     }
 
     @org.junit.Test
-    public void testAddNode() throws NoSuchAlgorithmException, UnknownHostException {
+    public void testAddNode() throws UnknownHostException {
         String ip = "198.133.224.147";
         int port = 10800;
-        String hashKey = UniqueIdentifier.MD5Hash(ip + ":" + port);
+        long token = ConsistentHashRing.nodeToken(ip, port);
         hashRing.addNode(ip, port);
 
         MsgWrapper expectedValue = new MsgWrapper(null, InetAddress.getByName(ip), port);
-        MsgWrapper actualValue = hashRing.getHashRing().get(hashKey);
+        MsgWrapper actualValue = hashRing.getRoutingTable().get(token);
 
         assertEquals(expectedValue, actualValue);
+        assertEquals(VIRTUAL_NODES, countTokens(expectedValue));
         // teardown
         hashRing.removeNode(ip, port);
     }
 
     @org.junit.Test
-    public void testRemoveNode() throws NoSuchAlgorithmException {
+    public void testAddWeightedNode() throws UnknownHostException {
+        String ip = "198.51.100.7";
+        int port = 10800;
+        Map<String, Integer> weights = new HashMap<>();
+        weights.put(ip + ":" + port, 3);
+        nodesList.setNodeWeights(weights);
+        hashRing.addNode(ip, port);
+
+        assertEquals(3 * VIRTUAL_NODES,
+            countTokens(new MsgWrapper(null, InetAddress.getByName(ip), port)));
+        // teardown
+        hashRing.removeNode(ip, port);
+        nodesList.setNodeWeights(null);
+    }
+
+    @org.junit.Test
+    public void testRemoveNode() throws UnknownHostException {
         String ip = "128.153.241.117";
         int port = 10800;
-        String hashKey = UniqueIdentifier.MD5Hash(ip + ":" + port);
+        long token = ConsistentHashRing.nodeToken(ip, port);
 
         hashRing.addNode(ip, port);
-        assertNotNull(hashRing.getHashRing().get(hashKey));
+        assertNotNull(hashRing.getRoutingTable().get(token));
 
         hashRing.removeNode(ip, port);
-        assertNull(hashRing.getHashRing().get(hashKey));
+        assertNull(hashRing.getRoutingTable().get(token));
+        assertEquals(0, countTokens(new MsgWrapper(null, InetAddress.getByName(ip), port)));
     }
 
     @org.junit.Test
-    public void testGetNodeEmptyKey() throws NoSuchAlgorithmException {
+    public void testGetNodeEmptyKey() {
         MsgWrapper actualValue = hashRing.getNode(ByteString.EMPTY);
         MsgWrapper expectedValue = new MsgWrapper(null, null, 0);
         assertEquals(actualValue, expectedValue);
     }
 
     @org.junit.Test
-    public void testGetNodeFirstSuccessor() throws NoSuchAlgorithmException {
+    public void testGetNodeDeadOwner() {
+        // the key hashes onto the first virtual node of a node that is not live
         String testKey = "141.212.113.178:10700";
-        String expectedKey = "128.208.4.99:10900";
+        RoutingTable ring = hashRing.getRoutingTable();
+        int index = ring.indexOf(ConsistentHashRing.nodeToken("141.212.113.178", 10700));
+        while (!nodesList.getLiveNodes().containsKey(ring.node(index).getAddress())) {
+            index = ring.next(index);
+        }
         MsgWrapper actualValue = hashRing.getNode(ByteString.copyFromUtf8(testKey));
-        MsgWrapper expectedValue = hashRing.getNode(ByteString.copyFromUtf8(expectedKey));
-        assertEquals(actualValue, expectedValue);
+        assertEquals(ring.node(index), actualValue);
     }
 
     @org.junit.Test
-    public void testGetNodeSecondSuccessor() throws NoSuchAlgorithmException {
-        String testKey = "128.208.4.70:11200";
-        String expectedKey = "128.208.4.99:10900";
+    public void testGetNodeLiveOwner() throws UnknownHostException {
+        String testKey = "129.97.74.12:10600";
         MsgWrapper actualValue = hashRing.getNode(ByteString.copyFromUtf8(testKey));
-        MsgWrapper expectedValue = hashRing.getNode(ByteString.copyFromUtf8(expectedKey));
+        MsgWrapper expectedValue =
+            new MsgWrapper(null, InetAddress.getByName("129.97.74.12"), 10600);
         assertEquals(actualValue, expectedValue);
     }
 
     @org.junit.Test
-    public void testGetNodeFirstKey() throws NoSuchAlgorithmException {
-        String testKey = "129.97.74.12:10600";
-        MsgWrapper actualValue = hashRing.getNode(ByteString.copyFromUtf8(testKey));
-        MsgWrapper expectedValue = hashRing.getNode(ByteString.copyFromUtf8(testKey));
+    public void testGetKeyExactMatch() {
+        String testKey = "128.208.4.197:10800";
+        long actualValue = hashRing.getKey(ByteString.copyFromUtf8(testKey));
+        long expectedValue = ConsistentHashRing.nodeToken("128.208.4.197", 10800);
         assertEquals(actualValue, expectedValue);
     }
 
     @org.junit.Test
-    public void testGetKeyExactMatch() throws NoSuchAlgorithmException {
-        String testKey = "128.208.4.197:10800";
-        String actualValue = hashRing.getKey(ByteString.copyFromUtf8(testKey));
-        String expectedValue = "408cadefe3bd2979ecc1afab6c336669";
-        assertEquals(actualValue, expectedValue);
+    public void testGetFirstSuccessorKey() {
+        long testKey = ConsistentHashRing.nodeToken("128.208.4.197", 10800);
+        RoutingTable ring = hashRing.getRoutingTable();
+        MsgWrapper origin = ring.get(testKey);
+        // first live token after the key that belongs to another physical node
+        int index = ring.higherIndex(testKey);
+        while (ring.node(index).equals(origin)
+                || !nodesList.getLiveNodes().containsKey(ring.node(index).getAddress())) {
+            index = ring.next(index);
+        }
+        long actualValue = hashRing.getSuccessorKey(testKey);
+        assertEquals(actualValue, ring.token(index));
     }
 
     @org.junit.Test
-    public void testGetFirstSuccessorKey() throws NoSuchAlgorithmException {
-        String testKey = "408cadefe3bd2979ecc1afab6c336669";
-        String actualValue = hashRing.getSuccessorKey(testKey);
-        String expectedValue = "9a030279e0c322a2db9240c46bceddb5";
-        assertEquals(actualValue, expectedValue);
+    public void testGetSuccessorKeysDistinctNodes() {
+        long testKey = ConsistentHashRing.nodeToken("128.208.4.197", 10800);
+        RoutingTable ring = hashRing.getRoutingTable();
+        // the three other live nodes, each once, however many virtual nodes they have
+        long[] successors = hashRing.getSuccessorKeys(testKey, REP_FACTOR + 1);
+        assertEquals(3, successors.length);
+
+        List<MsgWrapper> nodes = new ArrayList<>();
+        nodes.add(ring.get(testKey));
+        for (long successor : successors) {
+            assertFalse(nodes.contains(ring.get(successor)));
+            nodes.add(ring.get(successor));
+            assertTrue(nodesList.getLiveNodes().containsKey(ring.get(successor).getAddress()));
+        }
+    }
+
+    @org.junit.Test
+    public void testGetPreferenceList() throws UnknownHostException {
+        String testKey = "129.97.74.12:10600";
+        MsgWrapper[] preferenceList = hashRing.getPreferenceList(ByteString.copyFromUtf8(testKey));
+        assertEquals(REP_FACTOR, preferenceList.length);
+        assertEquals(new MsgWrapper(null, InetAddress.getByName("129.97.74.12"), 10600),
+            preferenceList[0]);
+
+        // followed by the owner's successors
+        long[] successors = hashRing.getSuccessorKeys(
+            ConsistentHashRing.nodeToken("129.97.74.12", 10600), REP_FACTOR - 1);
+        for (int i = 1; i < REP_FACTOR; i++) {
+            assertEquals(hashRing.getNodeByToken(successors[i - 1]), preferenceList[i]);
+        }
+    }
+
+    @org.junit.Test
+    public void testPreferenceListFollowsLiveNodes() throws UnknownHostException {
+        ByteString testKey = ByteString.copyFromUtf8("129.97.74.12:10600");
+        long version = hashRing.getRoutingTable().getVersion();
+
+        // gossip drops the owner, its keys move to the next live node
+        Map<InetAddress, Integer> liveNodes = new HashMap<>(nodesList.getLiveNodes());
+        liveNodes.remove(InetAddress.getByName("129.97.74.12"));
+        nodesList.setLiveNodes(liveNodes);
+
+        assertTrue(hashRing.getRoutingTable().getVersion() > version);
+        MsgWrapper[] preferenceList = hashRing.getPreferenceList(testKey);
+        assertEquals(REP_FACTOR, preferenceList.length);
+        for (MsgWrapper node : preferenceList) {
+            assertFalse(node.getAddress().equals(InetAddress.getByName("129.97.74.12")));
+        }
+
+        // and back to it once gossip sees it again
+        nodesList.addLiveNode(InetAddress.getByName("129.97.74.12"), 1);
+        assertEquals(new MsgWrapper(null, InetAddress.getByName("129.97.74.12"), 10600),
+            hashRing.getPreferenceList(testKey)[0]);
+    }
+
+    @org.junit.Test
+    public void testDownReplicasAreSkippedByPreferenceList() throws UnknownHostException {
+        InetAddress down = InetAddress.getByName("129.97.74.12");
+        ByteString testKey = ByteString.copyFromUtf8("129.97.74.12:10600");
+        assertFalse(hashRing.getDownReplicas(testKey).contains(new MsgWrapper(null, down, 10600)));
+
+        Map<InetAddress, Integer> liveNodes = new HashMap<>(nodesList.getLiveNodes());
+        liveNodes.remove(down);
+        nodesList.setLiveNodes(liveNodes);
+        try {
+            // the key's owner is down, so it is hinted while its successors take the write
+            List<MsgWrapper> downReplicas = hashRing.getDownReplicas(testKey);
+            assertTrue(downReplicas.contains(new MsgWrapper(null, down, 10600)));
+            for (MsgWrapper replica : downReplicas) {
+                assertFalse(nodesList.getLiveNodes().containsKey(replica.getAddress()));
+            }
+        } finally {
+            nodesList.addLiveNode(down, 1);
+        }
+    }
+
+    @org.junit.Test
+    public void testMembershipViewRebuildsRing() throws UnknownHostException {
+        MembershipView view = hashRing.getMembershipView();
+        assertEquals(hashRing.getRoutingTable().getVersion(), view.getVersion());
+        for (Member member : view.getMembersList()) {
+            MsgWrapper node = new MsgWrapper(null, InetAddress.getByName(member.getIp()),
+                member.getPort());
+            assertEquals(countTokens(node), member.getVnodes());
+            assertEquals(nodesList.getLiveNodes().containsKey(node.getAddress()),
+                member.getLive());
+        }
+
+        // a client rebuilding the table from the view routes every key like the ring does
+        RoutingTable clientTable = SmartUDPClient.buildRoutingTable(view);
+        assertEquals(hashRing.getRoutingTable().size(), clientTable.size());
+        for (int i = 0; i < 100; i++) {
+            ByteString key = ByteString.copyFromUtf8("key" + i);
+            int index = clientTable.ceilingIndex(ConsistentHashRing.hash(key));
+            assertEquals(hashRing.getPreferenceList(key)[0],
+                clientTable.node(clientTable.preference(index, 0)));
+        }
+    }
+
+    private int countTokens(MsgWrapper node) {
+        RoutingTable ring = hashRing.getRoutingTable();
+        int count = 0;
+        for (int i = 0; i < ring.size(); i++) {
+            if (ring.node(i).equals(node)) {
+                count++;
+            }
+        }
+        return count;
     }
 }
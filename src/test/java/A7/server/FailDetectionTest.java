@@ -5,15 +5,14 @@ import static org.junit.Assert.assertEquals;
 
 import A7.core.ConsistentHashRing;
 import A7.core.NodesList;
+import A7.core.RoutingTable;
 import A7.utils.MsgWrapper;
-import A7.utils.UniqueIdentifier;
 import java.net.InetAddress;
-import java.net.SocketException;
-import java.net.UnknownHostException;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.function.LongPredicate;
 public class FailDetectionTest {
     ConsistentHashRing hashRing;
     NodesList nodesList;
@@ -50,93 +49,116 @@ public class FailDetectionTest {
     }
     
     @org.junit.Test
-    public void successorsDuplicateTest() throws NoSuchAlgorithmException, SocketException, UnknownHostException {
-        String downedNode = UniqueIdentifier.MD5Hash("128.208.4.101:11300");
-        Entry<String, MsgWrapper> entry = hashRing.getInstance().getHashRing().lowerEntry(downedNode);
-        if (entry == null) {
-            entry = hashRing.getInstance().getHashRing().lastEntry();
-        }
-        String currentNodeHash = UniqueIdentifier.MD5Hash(
-                entry.getValue().getAddress().getHostAddress()
-                + ":" + entry.getValue().getPort());
-        MsgWrapper succTarget = GossipSenderThread.successorsDuplicate(currentNodeHash);
-        Entry<String, MsgWrapper> checkEntry = hashRing.getInstance().getHashRing().higherEntry(downedNode);
+    public void successorsDuplicateTest() throws Exception {
+        MsgWrapper downedNode = new MsgWrapper(null, InetAddress.getByName("128.208.4.101"), 11300);
+        RoutingTable ring = hashRing.getRoutingTable();
+        // a virtual node of a live node whose successor is the downed node
+        long currentNodeToken =
+            findToken(ring, token -> nodesAfter(ring, token).get(0).equals(downedNode));
+        MsgWrapper succTarget = GossipSenderThread.successorsDuplicate(currentNodeToken);
+        MsgWrapper check = firstLive(nodesAfter(ring, currentNodeToken));
 
-        assertEquals(succTarget.getAddress().getHostName(), checkEntry.getValue().getAddress().getHostAddress());
-        assertEquals(succTarget.getPort(), checkEntry.getValue().getPort());
+        assertEquals(succTarget.getAddress(), check.getAddress());
+        assertEquals(succTarget.getPort(), check.getPort());
     }
 
     @org.junit.Test
-    public void predecessorsDuplicateTest() throws NoSuchAlgorithmException, SocketException, UnknownHostException {
-        String downedNode = UniqueIdentifier.MD5Hash("128.208.4.101:11300");
-        Entry<String, MsgWrapper> entry = hashRing.getInstance().getHashRing().higherEntry(downedNode);
-        if (entry == null) {
-            entry = hashRing.getInstance().getHashRing().firstEntry();
-        }
-        String currentNodeHash = UniqueIdentifier.MD5Hash(
-                entry.getValue().getAddress().getHostAddress()
-                + ":" + entry.getValue().getPort());
-        MsgWrapper[] pred = GossipSenderThread.predessorsDuplicate(currentNodeHash);
+    public void predecessorsDuplicateTest() throws Exception {
+        MsgWrapper downedNode = new MsgWrapper(null, InetAddress.getByName("128.208.4.101"), 11300);
+        RoutingTable ring = hashRing.getRoutingTable();
+        // a virtual node of a live node whose only dead predecessor is the downed node
+        long currentNodeToken = findToken(ring, token -> {
+            List<MsgWrapper> before = nodesBefore(ring, token);
+            return before.get(0).equals(downedNode) && isLive(before.get(1));
+        });
+        MsgWrapper[] pred = GossipSenderThread.predessorsDuplicate(currentNodeToken);
 
-        // By logic, the node to duplicate onto is REP_FACTOR - 1 away
-        Entry<String, MsgWrapper> checkEntry = hashRing.getInstance().getHashRing().higherEntry(downedNode);
-        for (int skip = 0; skip < REP_FACTOR-1; skip++) {
-            checkEntry = hashRing.getInstance().getHashRing().higherEntry(checkEntry.getKey());
-            if (checkEntry == null) {
-                checkEntry = hashRing.getInstance().getHashRing().firstEntry();
-            }
-        }
+        // By logic, the node to duplicate onto is REP_FACTOR - 1 physical nodes away
+        List<MsgWrapper> after = nodesAfter(ring, currentNodeToken);
+        MsgWrapper check = firstLive(after.subList(REP_FACTOR - 2, after.size()));
         //Should only duplicate to 1, only one node down
         assertEquals(pred.length, 1);
-        assertEquals(pred[0].getAddress(), checkEntry.getValue().getAddress());
-        assertEquals(pred[0].getPort(), checkEntry.getValue().getPort());
+        assertEquals(pred[0].getAddress(), check.getAddress());
+        assertEquals(pred[0].getPort(), check.getPort());
     }
 
     @org.junit.Test
-    public void predecessorsDuplicateTest2() throws NoSuchAlgorithmException, SocketException, UnknownHostException {
-        String downedNode = UniqueIdentifier.MD5Hash("128.208.4.101:11300");
-        // Remove second in line of dead node to get 2 in a row dead nodes
-        Entry<String, MsgWrapper> entry = hashRing.getInstance().getHashRing().higherEntry(downedNode);
-        if (entry == null) {
-            entry = hashRing.getInstance().getHashRing().firstEntry();
-        }
-
-        liveNodes.remove(entry.getValue().getAddress());
+    public void predecessorsDuplicateTest2() throws Exception {
+        MsgWrapper downedNode = new MsgWrapper(null, InetAddress.getByName("128.208.4.101"), 11300);
+        RoutingTable ring = hashRing.getRoutingTable();
+        // a virtual node of a live node whose second predecessor is the downed node
+        long currentNodeToken = findToken(ring, token -> {
+            List<MsgWrapper> before = nodesBefore(ring, token);
+            return isLive(before.get(0)) && before.get(1).equals(downedNode);
+        });
+        // Remove the first predecessor to get 2 in a row dead nodes
+        liveNodes.remove(nodesBefore(ring, currentNodeToken).get(0).getAddress());
         assertEquals(liveNodes.size(), 6);
 
-        // CurrentNode is one more down from this one
-        entry = hashRing.getInstance().getHashRing().higherEntry(entry.getKey());
-        String currentNodeHash = UniqueIdentifier.MD5Hash(
-                entry.getValue().getAddress().getHostAddress()
-                + ":" + entry.getValue().getPort());
-        MsgWrapper[] pred = GossipSenderThread.predessorsDuplicate(currentNodeHash);
+        MsgWrapper[] pred = GossipSenderThread.predessorsDuplicate(currentNodeToken);
 
-        // By logic, the node to duplicate onto is REP_FACTOR - 1 away
-        // As well as REP_FACTOR -1 -1
-        Entry<String, MsgWrapper> checkEntry = hashRing.getInstance().getHashRing().higherEntry(currentNodeHash);
-        for (int skip = pred.length; skip < REP_FACTOR-1; skip++) {
-            checkEntry = hashRing.getInstance().getHashRing().higherEntry(checkEntry.getKey());
-            if (checkEntry == null) {
-                checkEntry = hashRing.getInstance().getHashRing().firstEntry();
+        // By logic, the nodes to duplicate onto are the next pred.length live physical nodes
+        List<MsgWrapper> after = nodesAfter(ring, currentNodeToken);
+        List<MsgWrapper> check = new ArrayList<>();
+        for (MsgWrapper node : after.subList(REP_FACTOR - 1 - pred.length, after.size())) {
+            if (isLive(node) && check.size() < pred.length) {
+                check.add(node);
             }
         }
-        // Next pred.length (including current) nodes that are alive by logic
-        for (int i = 0; i< pred.length; i++) {
-            while (!liveNodes.containsKey(checkEntry.getValue().getAddress())) {
-                checkEntry = hashRing.getInstance().getHashRing().higherEntry(checkEntry.getKey());
-                if (checkEntry == null) {
-                    checkEntry = hashRing.getInstance().getHashRing().firstEntry();
-                }
+        for (int i = 0; i < pred.length; i++) {
+            assertEquals(pred[i].getAddress(), check.get(i).getAddress());
+            assertEquals(pred[i].getPort(), check.get(i).getPort());
+        }
+        //Should only duplicate to 2, since max duplicates is 2 (as well 2 nodes down)
+        assertEquals(pred.length, 2);
+    }
+
+    private boolean isLive(MsgWrapper node) {
+        return liveNodes.containsKey(node.getAddress());
+    }
+
+    private MsgWrapper firstLive(List<MsgWrapper> nodes) {
+        for (MsgWrapper node : nodes) {
+            if (isLive(node)) {
+                return node;
             }
-            assertEquals(pred[i].getAddress(), checkEntry.getValue().getAddress());
-            assertEquals(pred[i].getPort(), checkEntry.getValue().getPort());
-            checkEntry = hashRing.getInstance().getHashRing().higherEntry(checkEntry.getKey());
-            if (checkEntry == null) {
-                checkEntry = hashRing.getInstance().getHashRing().firstEntry();
+        }
+        throw new AssertionError("No live node");
+    }
+
+    // Token of a live node's virtual node matching the condition
+    private long findToken(RoutingTable ring, LongPredicate condition) {
+        for (int i = 0; i < ring.size(); i++) {
+            if (isLive(ring.node(i)) && condition.test(ring.token(i))) {
+                return ring.token(i);
+            }
+        }
+        throw new AssertionError("No matching virtual node");
+    }
+
+    // Physical nodes in ring order after the token, each once and without the token's own node
+    private List<MsgWrapper> nodesAfter(RoutingTable ring, long token) {
+        List<MsgWrapper> nodes = new ArrayList<>();
+        int index = ring.higherIndex(token);
+        for (int i = 0; i < ring.size(); i++) {
+            if (!ring.node(index).equals(ring.get(token)) && !nodes.contains(ring.node(index))) {
+                nodes.add(ring.node(index));
             }
+            index = ring.next(index);
+        }
+        return nodes;
+    }
 
+    // Physical nodes in reverse ring order before the token, each once and without its own node
+    private List<MsgWrapper> nodesBefore(RoutingTable ring, long token) {
+        List<MsgWrapper> nodes = new ArrayList<>();
+        int index = ring.lowerIndex(token);
+        for (int i = 0; i < ring.size(); i++) {
+            if (!ring.node(index).equals(ring.get(token)) && !nodes.contains(ring.node(index))) {
+                nodes.add(ring.node(index));
+            }
+            index = ring.previous(index);
         }
-        //Should only duplicate to 2, since max duplicates is 2 (as well 2 nodes down)
-        assertEquals(pred.length, 2);
+        return nodes;
     }
 }
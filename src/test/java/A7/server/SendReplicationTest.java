@@ -1,28 +1,41 @@
 package A7.server;
 
 import static A7.DistributedSystemConfiguration.MAX_MSG_SIZE;
+import static A7.DistributedSystemConfiguration.MAX_REP_PAYLOAD_SIZE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
+import java.net.SocketTimeoutException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 
 import A7.core.KeyValueStoreSingleton;
+import A7.core.Tombstones;
+import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
 import A7.core.VersionedValue;
 import A7.proto.Message.Msg;
+import A7.proto.Replication.ReplicatedEntry;
+import A7.proto.Replication.ReplicationBatch;
+import A7.resources.ProtocolBufferKeyValueStoreResponse;
 import A7.utils.MsgWrapper;
+import A7.utils.ProtocolBuffers;
 import static A7.utils.Checksum.calculateProtocolBufferChecksum;
 
 public class SendReplicationTest {
@@ -32,70 +45,57 @@ public class SendReplicationTest {
 	@org.junit.Before
     public void setUp() throws Exception {
         KVStore = KeyValueStoreSingleton.getInstance().getMap();
-        sendReplication = new SendReplication(null);
+        Tombstones.getInstance().clear();
         KVStore.put(ByteString.copyFrom("Key1".getBytes()), new VersionedValue(ByteString.copyFrom("Value1".getBytes()), 1));
         KVStore.put(ByteString.copyFrom("Key2".getBytes()), new VersionedValue(ByteString.copyFrom("Value2".getBytes()), 2));
         KVStore.put(ByteString.copyFrom("Key3".getBytes()), new VersionedValue(ByteString.copyFrom("Value3".getBytes()), 3));
         KVStore.put(ByteString.copyFrom("Key4".getBytes()), new VersionedValue(ByteString.copyFrom("Value4".getBytes()), 4));
         KVStore.put(ByteString.copyFrom("Key5".getBytes()), new VersionedValue(ByteString.copyFrom("Value5".getBytes()), 5));    
+        sendReplication = new SendReplication(null);
 	}
 
 	@org.junit.Test
-	public void testCreateSubMap1() throws NoSuchAlgorithmException, IOException {
-	    int from = 0;
-	    int to = 1;
-	    ByteString key = null;
-        ByteString subMap = sendReplication.createSubMap(from, to);
-        ConcurrentHashMap<ByteString, VersionedValue> dupeMap =
-            new ConcurrentHashMap<ByteString, VersionedValue>();
-        // Parse ByteString back to Map
-        try {
-   		    ByteArrayInputStream byteIn = new ByteArrayInputStream(subMap.toByteArray());
-   	        ObjectInputStream in;
-            in = new ObjectInputStream(byteIn);
-   	        dupeMap = (ConcurrentHashMap<ByteString, VersionedValue>) in.readObject();
-   		} catch (IOException | ClassNotFoundException e) {
-   	        e.printStackTrace();
-   	    }
-        assertEquals(dupeMap.size(), to-from);
-        Object[] keySet = KeyValueStoreSingleton.getInstance().getMap().keySet().toArray();
-	    for(int i = from; i < to; i++) {
-            key = (ByteString) keySet[i];
-            assertEquals(dupeMap.get(key).getValue(), KVStore.get(key).getValue());
-        }
-    }
+	public void testPackBatches() throws Exception {
+	    ConcurrentHashMap<ByteString, VersionedValue> entries = new ConcurrentHashMap<>();
+	    for (int i = 0; i < 100; i++) {
+	        entries.put(ByteString.copyFromUtf8("Key" + i), new VersionedValue(
+	            ByteString.copyFrom(new byte[1000 + i]), i, i % 2 == 0 ? Long.MAX_VALUE : 0));
+	    }
+	    List<ByteString> batches = new ArrayList<>();
+	    SendReplication.BatchPacker packer = new SendReplication.BatchPacker(batches::add);
+	    entries.forEach(packer);
+	    packer.flush();
+
+	    ConcurrentHashMap<ByteString, VersionedValue> received = new ConcurrentHashMap<>();
+	    for (int i = 0; i < batches.size(); i++) {
+	        assertTrue(batches.get(i).size() <= MAX_REP_PAYLOAD_SIZE);
+	        ReplicationBatch batch = ReplicationBatch.parseFrom(batches.get(i));
+	        for (ReplicatedEntry entry : batch.getEntriesList()) {
+	            received.put(entry.getKey(), new VersionedValue(entry.getValue(),
+	                entry.getVersion(), entry.getExpiresAt()));
+	        }
+	        if (i + 1 < batches.size()) {
+	            // filled greedily, the first entry of the next batch did not fit
+	            ReplicatedEntry next = ReplicationBatch.parseFrom(batches.get(i + 1)).getEntries(0);
+	            assertTrue(batches.get(i).size() + CodedOutputStream.computeMessageSize(
+	                ReplicationBatch.ENTRIES_FIELD_NUMBER, next) > MAX_REP_PAYLOAD_SIZE);
+	        }
+	    }
+	    assertEquals(entries, received);
+	}
 
 	@org.junit.Test
-	public void testCreateSubMap2() throws NoSuchAlgorithmException, IOException {
-	    int from = 0;
-	    int to = 3;
-	    ByteString key = null;
-        ByteString subMap = sendReplication.createSubMap(from, to);
-        ConcurrentHashMap<ByteString, VersionedValue> dupeMap =
-            new ConcurrentHashMap<ByteString, VersionedValue>();
-        // Parse ByteString back to Map
-        try {
-   		    ByteArrayInputStream byteIn = new ByteArrayInputStream(subMap.toByteArray());
-   	        ObjectInputStream in;
-            in = new ObjectInputStream(byteIn);
-   	        dupeMap = (ConcurrentHashMap<ByteString, VersionedValue>) in.readObject();
-   		} catch (IOException | ClassNotFoundException e) {
-   	        e.printStackTrace();
-   	    }
-        assertEquals(dupeMap.size(), to-from);
-        Object[] keySet = KeyValueStoreSingleton.getInstance().getMap().keySet().toArray();
-	    for(int i = from; i < to; i++) {
-            key = (ByteString) keySet[i];
-            assertEquals(dupeMap.get(key).getValue(), KVStore.get(key).getValue());
-        }
-    }
+	public void testPackSkipsExpired() throws Exception {
+	    List<ByteString> batches = new ArrayList<>();
+	    SendReplication.BatchPacker packer = new SendReplication.BatchPacker(batches::add);
+	    packer.accept(ByteString.copyFromUtf8("Key1"),
+	        new VersionedValue(ByteString.copyFromUtf8("Value1"), 1, 1));
+	    packer.flush();
+	    assertEquals(0, batches.size());
+	}
 
 	@org.junit.Test
 	public void sendDupeRequestMsg() throws NoSuchAlgorithmException, IOException {
-		int from = 0;
-	    int to = 1;
-	    ByteString subMapByteString = sendReplication.createSubMap(from, to);
-		
 	    sendReplication = new SendReplication(new MsgWrapper(null, InetAddress.getByName("localhost"), 11111) );
         final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
 		executor.schedule(sendReplication, 2, TimeUnit.SECONDS);
@@ -127,4 +127,59 @@ public class SendReplicationTest {
 		socket.close();
 	}
     
+	// Acts as the peer for one round: stores nothing, acknowledges every batch and returns the
+	// entries received
+	private static List<ReplicatedEntry> serveRound(DatagramSocket socket, SendReplication round)
+	    throws IOException {
+	    round.run();
+	    List<ReplicatedEntry> received = new ArrayList<>();
+	    byte[] buf = new byte[MAX_MSG_SIZE];
+	    while (true) {
+	        DatagramPacket packet = new DatagramPacket(buf, buf.length);
+	        try {
+	            socket.receive(packet);
+	        } catch (SocketTimeoutException e) {
+	            return received;
+	        }
+	        Msg request = Msg.parseFrom(Arrays.copyOf(packet.getData(), packet.getLength()));
+	        KVRequest dupes = KVRequest.parseFrom(request.getPayload());
+	        received.addAll(ReplicationBatch.parseFrom(dupes.getValue()).getEntriesList());
+	        byte[] reply = ProtocolBuffers.wrapMessage(request.getMessageID(),
+	            KVResponse.newBuilder().setErrCode(0).build().toByteString()).toByteArray();
+	        socket.send(new DatagramPacket(reply, reply.length, packet.getSocketAddress()));
+	    }
+	}
+
+	@org.junit.Test
+	public void testDeltaAfterAcknowledgement() throws Exception {
+	    MsgWrapper peer = new MsgWrapper(null, InetAddress.getByName("localhost"), 11113);
+	    ByteString key1 = ByteString.copyFromUtf8("Key1");
+	    ByteString key6 = ByteString.copyFromUtf8("Key6");
+	    try (DatagramSocket socket = new DatagramSocket(11113)) {
+	        socket.setSoTimeout(500);
+
+	        // the first round copies the whole store
+	        List<ReplicatedEntry> full = serveRound(socket, new SendReplication(peer));
+	        assertTrue(full.size() >= 5);
+	        assertNotNull(SendReplication.getAcknowledged(peer));
+
+	        ProtocolBufferKeyValueStoreResponse.put(key6, ByteString.copyFromUtf8("Value6"), 6, 0);
+	        ProtocolBufferKeyValueStoreResponse.removeAsOwner(key1);
+	        List<ReplicatedEntry> delta = serveRound(socket, new SendReplication(peer));
+	        assertEquals(2, delta.size());
+	        assertEquals(key6, delta.get(0).getKey());
+	        assertFalse(delta.get(0).getRemoved());
+	        assertEquals(key1, delta.get(1).getKey());
+	        assertTrue(delta.get(1).getRemoved());
+
+	        // nothing changed since the last acknowledgement
+	        assertEquals(0, serveRound(socket, new SendReplication(peer)).size());
+
+	        // a peer that stops being a target is sent a full copy again
+	        SendReplication.retainPeers(new ArrayList<>());
+	        assertNull(SendReplication.getAcknowledged(peer));
+	    } finally {
+	        KVStore.remove(key6);
+	    }
+	}
 }
@@ -0,0 +1,64 @@
+package A7.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+public class SendSocketPoolTest {
+    private static DatagramPacket packet(int port) {
+        return new DatagramPacket(new byte[1], 1, InetAddress.getLoopbackAddress(), port);
+    }
+
+    @Test
+    public void testSequentialSendsReuseOneSocket() throws Exception {
+        try (DatagramSocket target = new DatagramSocket()) {
+            target.setSoTimeout(2000);
+            SendSocketPool pool = new SendSocketPool(1);
+            for (int i = 0; i < 10; i++) {
+                pool.send(packet(target.getLocalPort()));
+                target.receive(new DatagramPacket(new byte[1], 1));
+            }
+            assertEquals(1, pool.size());
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentSendsAllArrive() throws Exception {
+        try (DatagramSocket target = new DatagramSocket()) {
+            target.setSoTimeout(2000);
+            SendSocketPool pool = new SendSocketPool(1);
+            AtomicBoolean failed = new AtomicBoolean();
+            Thread[] workers = new Thread[4];
+            for (int t = 0; t < workers.length; t++) {
+                workers[t] = new Thread(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        try {
+                            pool.send(packet(target.getLocalPort()));
+                        } catch (Exception e) {
+                            failed.set(true);
+                        }
+                    }
+                });
+                workers[t].start();
+            }
+            // received while the workers send, so the receive buffer does not overflow
+            for (int i = 0; i < 100; i++) {
+                target.receive(new DatagramPacket(new byte[1], 1));
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            assertFalse(failed.get());
+            // never more sockets than workers sending at once
+            assertTrue(pool.size() <= workers.length);
+            pool.close();
+        }
+    }
+}
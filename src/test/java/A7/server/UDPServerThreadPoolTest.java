@@ -0,0 +1,91 @@
+package A7.server;
+
+import static A7.DistributedSystemConfiguration.MAX_MSG_SIZE;
+import static A7.utils.ProtocolBuffers.wrapMessage;
+import static org.junit.Assert.assertEquals;
+
+import A7.proto.KeyValueRequest.KVRequest;
+import A7.proto.KeyValueResponse.KVResponse;
+import A7.proto.Message.Msg;
+import A7.utils.UniqueIdentifier;
+import com.google.protobuf.ByteString;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UDPServerThreadPoolTest {
+    private static int port;
+    private DatagramSocket client;
+    private InetAddress localAddress;
+    private int localPort;
+
+    @Before
+    public void setUp() throws Exception {
+        localAddress = UDPServerThreadPool.localAddress;
+        localPort = UDPServerThreadPool.localPort;
+        // the receive threads never stop, so the nio transport is started once for the class
+        if (port == 0) {
+            try (DatagramSocket probe = new DatagramSocket(0)) {
+                port = probe.getLocalPort();
+            }
+            UDPServerThreadPool.initialize(port, "nio", 1);
+            Thread receiver = new Thread(() -> UDPServerThreadPool.getInstance().receive());
+            receiver.setDaemon(true);
+            receiver.start();
+        }
+        client = new DatagramSocket();
+        client.setSoTimeout(2000);
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+        UDPServerThreadPool.localAddress = localAddress;
+        UDPServerThreadPool.localPort = localPort;
+    }
+
+    // sends the request to the nio transport as a real datagram and parses the reply. Like a
+    // client it retries on "system overload", which a cold server answers past the queue deadline
+    private KVResponse send(KVRequest request) throws Exception {
+        ByteString messageID = ByteString.copyFrom(UniqueIdentifier.generateUniqueID());
+        byte[] req = wrapMessage(messageID, request.toByteString()).toByteArray();
+        KVResponse res = null;
+        for (int attempt = 0; attempt < 3 && (res == null || res.getErrCode() == 3); attempt++) {
+            client.send(
+                new DatagramPacket(req, req.length, InetAddress.getLoopbackAddress(), port));
+
+            byte[] buf = new byte[MAX_MSG_SIZE];
+            DatagramPacket reply = new DatagramPacket(buf, buf.length);
+            client.receive(reply);
+            Msg msg = Msg.parseFrom(Arrays.copyOf(buf, reply.getLength()));
+            assertEquals(messageID, msg.getMessageID());
+            res = KVResponse.parseFrom(msg.getPayload());
+        }
+        return res;
+    }
+
+    @Test
+    public void testNioTransportServesDatagram() throws Exception {
+        KVResponse res = send(KVRequest.newBuilder().setCommand(7).setNotReplicated(true).build());
+        assertEquals(0, res.getErrCode());
+        assertEquals(UniqueIdentifier.getCurrentPID(), res.getPid());
+    }
+
+    @Test
+    public void testNioTransportPutThenGet() throws Exception {
+        ByteString key = ByteString.copyFromUtf8("NioTransportKey");
+        ByteString value = ByteString.copyFrom(new byte[5000]);
+        KVResponse put = send(KVRequest.newBuilder().setCommand(1).setKey(key).setValue(value)
+            .setVersion(1).setNotReplicated(true).build());
+        assertEquals(0, put.getErrCode());
+
+        KVResponse get = send(KVRequest.newBuilder().setCommand(2).setKey(key)
+            .setNotReplicated(true).build());
+        assertEquals(0, get.getErrCode());
+        assertEquals(value, get.getValue());
+    }
+}
@@ -0,0 +1,25 @@
+package A7.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.protobuf.ByteString;
+
+public class ChecksumTest {
+    @org.junit.Test
+    public void testByteStringMatchesByteArray() {
+        byte[] messageID = new byte[16];
+        byte[] payload = new byte[1000];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i * 31);
+            messageID[i % messageID.length] ^= (byte) i;
+        }
+        // a rope ByteString is checksummed piece by piece
+        ByteString rope = ByteString.copyFrom(payload, 0, 400)
+            .concat(ByteString.copyFrom(payload, 400, 600));
+
+        assertEquals(Checksum.calculateProtocolBufferChecksum(messageID, payload),
+            Checksum.calculateProtocolBufferChecksum(ByteString.copyFrom(messageID), rope));
+        assertEquals(Checksum.calculateProtocolBufferChecksum(new byte[0], new byte[0]),
+            Checksum.calculateProtocolBufferChecksum(ByteString.EMPTY, ByteString.EMPTY));
+    }
+}
@@ -0,0 +1,53 @@
+package A7.utils;
+
+import static A7.DistributedSystemConfiguration.UNIQUE_ID_UDP_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class UniqueIdentifierTest {
+    @org.junit.Test
+    public void testIdSize() {
+        assertEquals(UNIQUE_ID_UDP_SIZE, UniqueIdentifier.generateUniqueID().length);
+    }
+
+    @org.junit.Test
+    public void testIdsAreUniqueAcrossThreads() throws InterruptedException {
+        int threads = 4;
+        int idsPerThread = 100000;
+        Set<ByteString> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> generators = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            // many IDs per millisecond, so the counter wraps and borrows later milliseconds
+            Thread generator = new Thread(() -> {
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids.add(ByteString.copyFrom(UniqueIdentifier.generateUniqueID()));
+                }
+            });
+            generators.add(generator);
+            generator.start();
+        }
+        for (Thread generator : generators) {
+            generator.join();
+        }
+        assertEquals(threads * idsPerThread, ids.size());
+    }
+
+    @org.junit.Test
+    public void testIdsIncreaseWithinThread() {
+        ByteString previous = ByteString.copyFrom(UniqueIdentifier.generateUniqueID());
+        for (int i = 0; i < 200000; i++) {
+            ByteString current = ByteString.copyFrom(UniqueIdentifier.generateUniqueID());
+            // same node and thread prefix, the timestamp and counter suffix only grows
+            assertEquals(previous.substring(0, 8), current.substring(0, 8));
+            assertTrue(Long.compareUnsigned(previous.substring(8).asReadOnlyByteBuffer().getLong(),
+                current.substring(8).asReadOnlyByteBuffer().getLong()) < 0);
+            previous = current;
+        }
+    }
+}
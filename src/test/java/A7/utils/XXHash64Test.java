@@ -0,0 +1,24 @@
+package A7.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.protobuf.ByteString;
+
+public class XXHash64Test {
+    @org.junit.Test
+    public void testReferenceVectors() {
+        assertEquals(0xEF46DB3751D8E999L, XXHash64.hash(ByteString.EMPTY));
+        assertEquals(0xD24EC4F1A98C6E5BL, XXHash64.hash(ByteString.copyFromUtf8("a")));
+        assertEquals(0x44BC2CF5AD770999L, XXHash64.hash(ByteString.copyFromUtf8("abc")));
+        // longer than one 32 byte stripe
+        assertEquals(0xFBCEA83C8A378BF1L, XXHash64.hash(
+            ByteString.copyFromUtf8("Nobody inspects the spammish repetition")));
+    }
+
+    @org.junit.Test
+    public void testSubstringMatchesCopy() {
+        ByteString bytes = ByteString.copyFromUtf8("prefix-Nobody inspects the spammish repetition");
+        assertEquals(XXHash64.hash(ByteString.copyFrom(bytes.substring(7).toByteArray())),
+            XXHash64.hash(bytes.substring(7)));
+    }
+}